@@ -0,0 +1,122 @@
+package com.app.account.batch;
+
+import com.app.account.entity.FdAccount;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Component;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Inserts newly opened accounts (and their empty aggregates) with JDBC batches
+ * (IDENTITY ids disable Hibernate insert batching, so bulk-opened accounts bypass the EntityManager)
+ */
+@Component
+public class AccountBulkWriter {
+
+    private static final String INSERT_ACCOUNT_SQL =
+            "INSERT INTO fd_accounts (account_number, iban_number, account_name, customer_id, customer_name, " +
+            "customer_email, customer_mobile, product_code, product_name, product_type, principal_amount, " +
+            "interest_rate, term_months, maturity_amount, interest_earned, current_balance, ledger_sequence, " +
+            "version, effective_date, maturity_date, calculation_type, compounding_frequency, tds_rate, " +
+            "tds_amount, tds_applicable, status, branch_code, branch_name, remarks, created_by, updated_by, " +
+            "created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_AGGREGATE_SQL =
+            "INSERT INTO fd_account_aggregates (account_id, transaction_count, interest_credit_count, " +
+            "interest_credit_total, tds_count, tds_total, updated_at) VALUES (?, 0, 0, 0, 0, 0, ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Insert the accounts in one batch and set their generated ids and timestamps
+     * Must be called inside a transaction
+     */
+    public void write(List<FdAccount> accounts) {
+        if (accounts.isEmpty()) {
+            return;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        Timestamp createdAt = Timestamp.valueOf(now);
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+
+        jdbcTemplate.batchUpdate(
+                con -> con.prepareStatement(INSERT_ACCOUNT_SQL, Statement.RETURN_GENERATED_KEYS),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        FdAccount account = accounts.get(i);
+                        ps.setString(1, account.getAccountNumber());
+                        ps.setString(2, account.getIbanNumber());
+                        ps.setString(3, account.getAccountName());
+                        ps.setLong(4, account.getCustomerId());
+                        ps.setString(5, account.getCustomerName());
+                        ps.setString(6, account.getCustomerEmail());
+                        ps.setString(7, account.getCustomerMobile());
+                        ps.setString(8, account.getProductCode());
+                        ps.setString(9, account.getProductName());
+                        ps.setString(10, account.getProductType());
+                        ps.setBigDecimal(11, account.getPrincipalAmount());
+                        ps.setBigDecimal(12, account.getInterestRate());
+                        ps.setInt(13, account.getTermMonths());
+                        ps.setBigDecimal(14, account.getMaturityAmount());
+                        ps.setBigDecimal(15, account.getInterestEarned());
+                        ps.setBigDecimal(16, account.getCurrentBalance());
+                        ps.setLong(17, account.getLedgerSequence());
+                        ps.setLong(18, account.getVersion());
+                        ps.setDate(19, Date.valueOf(account.getEffectiveDate()));
+                        ps.setDate(20, Date.valueOf(account.getMaturityDate()));
+                        ps.setString(21, account.getCalculationType());
+                        ps.setString(22, account.getCompoundingFrequency());
+                        ps.setBigDecimal(23, account.getTdsRate());
+                        ps.setBigDecimal(24, account.getTdsAmount());
+                        if (account.getTdsApplicable() != null) {
+                            ps.setBoolean(25, account.getTdsApplicable());
+                        } else {
+                            ps.setNull(25, Types.BOOLEAN);
+                        }
+                        ps.setString(26, account.getStatus().name());
+                        ps.setString(27, account.getBranchCode());
+                        ps.setString(28, account.getBranchName());
+                        ps.setString(29, account.getRemarks());
+                        ps.setString(30, account.getCreatedBy());
+                        ps.setString(31, account.getUpdatedBy());
+                        ps.setTimestamp(32, createdAt);
+                        ps.setTimestamp(33, createdAt);
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return accounts.size();
+                    }
+                },
+                keyHolder);
+
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        for (int i = 0; i < accounts.size(); i++) {
+            FdAccount account = accounts.get(i);
+            account.setId(((Number) keys.get(i).values().iterator().next()).longValue());
+            account.setCreatedAt(now);
+            account.setUpdatedAt(now);
+        }
+
+        jdbcTemplate.batchUpdate(INSERT_AGGREGATE_SQL, accounts, accounts.size(), (ps, account) -> {
+            ps.setLong(1, account.getId());
+            ps.setTimestamp(2, createdAt);
+        });
+    }
+}
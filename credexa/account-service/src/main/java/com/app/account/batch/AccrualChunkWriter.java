@@ -0,0 +1,83 @@
+package com.app.account.batch;
+
+import com.app.account.entity.FdTransaction;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.List;
+
+/**
+ * Writes a chunk of batch-generated transactions with a single JDBC batch insert
+ * (IDENTITY ids disable Hibernate insert batching, so batch rows bypass the EntityManager)
+ */
+@Component
+public class AccrualChunkWriter {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO fd_transactions (transaction_id, account_id, account_number, transaction_type, amount, " +
+            "balance_before, balance_after, status, description, remarks, initiated_by, approved_by, " +
+            "transaction_date, approval_date, value_date, channel, branch_code) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    // Accounts without an aggregate row are summarized from fd_transactions on first read,
+    // so only existing rows are incremented here
+    private static final String UPDATE_AGGREGATE_SQL =
+            "UPDATE fd_account_aggregates SET transaction_count = transaction_count + 1, " +
+            "interest_credit_count = interest_credit_count + 1, " +
+            "interest_credit_total = interest_credit_total + ?, updated_at = NOW() " +
+            "WHERE account_id = ?";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Insert all transactions of the chunk in one batch and bump the accounts' aggregates
+     * Must be called inside the chunk's transaction (only INTEREST_CREDIT rows are written here)
+     */
+    public int write(List<FdTransaction> transactions) {
+        if (transactions.isEmpty()) {
+            return 0;
+        }
+
+        jdbcTemplate.batchUpdate(INSERT_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                FdTransaction txn = transactions.get(i);
+                ps.setString(1, txn.getTransactionId());
+                ps.setLong(2, txn.getAccount().getId());
+                ps.setString(3, txn.getAccountNumber());
+                ps.setString(4, txn.getTransactionType().name());
+                ps.setBigDecimal(5, txn.getAmount());
+                ps.setBigDecimal(6, txn.getBalanceBefore());
+                ps.setBigDecimal(7, txn.getBalanceAfter());
+                ps.setString(8, txn.getStatus().name());
+                ps.setString(9, txn.getDescription());
+                ps.setString(10, txn.getRemarks());
+                ps.setString(11, txn.getInitiatedBy());
+                ps.setString(12, txn.getApprovedBy());
+                ps.setTimestamp(13, Timestamp.valueOf(txn.getTransactionDate()));
+                ps.setTimestamp(14, Timestamp.valueOf(txn.getApprovalDate()));
+                ps.setTimestamp(15, Timestamp.valueOf(txn.getValueDate()));
+                ps.setString(16, txn.getChannel());
+                ps.setString(17, txn.getBranchCode());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return transactions.size();
+            }
+        });
+
+        jdbcTemplate.batchUpdate(UPDATE_AGGREGATE_SQL, transactions, transactions.size(), (ps, txn) -> {
+            ps.setBigDecimal(1, txn.getAmount());
+            ps.setLong(2, txn.getAccount().getId());
+        });
+
+        return transactions.size();
+    }
+}
@@ -0,0 +1,144 @@
+package com.app.account.batch;
+
+import com.app.account.entity.BatchRunMarker.RunType;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Set-based idempotency ledger for batch runs (batch_run_markers)
+ * Replaces per-account transaction scans: "already processed" ids are fetched per chunk
+ * in one query, and markers are written insert-if-absent against the unique
+ * (account_id, run_type, business_date) key.
+ */
+@Component
+public class BatchRunLedger {
+
+    private static final String INSERT_IF_ABSENT_SQL =
+            "INSERT IGNORE INTO batch_run_markers (account_id, run_type, business_date, transaction_id, created_at) " +
+            "VALUES (?, ?, ?, ?, NOW())";
+
+    private static final String PROCESSED_IN_RANGE_SQL =
+            "SELECT DISTINCT account_id FROM batch_run_markers WHERE run_type = :runType " +
+            "AND business_date BETWEEN :fromDate AND :toDate AND account_id IN (:accountIds)";
+
+    private static final String PROCESSED_ANY_DATE_SQL =
+            "SELECT DISTINCT account_id FROM batch_run_markers WHERE run_type = :runType " +
+            "AND account_id IN (:accountIds)";
+
+    private static final String POSTED_AMOUNT_IN_RANGE_SQL =
+            "SELECT m.account_id, SUM(t.amount) AS total FROM batch_run_markers m " +
+            "JOIN fd_transactions t ON t.transaction_id = m.transaction_id " +
+            "WHERE m.run_type = :runType AND m.business_date BETWEEN :fromDate AND :toDate " +
+            "AND m.account_id IN (:accountIds) GROUP BY m.account_id";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    /**
+     * Account ids of the chunk already processed for the business date
+     */
+    public Set<Long> findProcessed(RunType runType, LocalDate businessDate, Collection<Long> accountIds) {
+        return findProcessed(runType, businessDate, businessDate, accountIds);
+    }
+
+    /**
+     * Account ids of the chunk processed on any business date in [fromDate, toDate]
+     */
+    public Set<Long> findProcessed(RunType runType, LocalDate fromDate, LocalDate toDate, Collection<Long> accountIds) {
+        if (accountIds.isEmpty()) {
+            return new HashSet<>();
+        }
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("runType", runType.name())
+                .addValue("fromDate", Date.valueOf(fromDate))
+                .addValue("toDate", Date.valueOf(toDate))
+                .addValue("accountIds", accountIds);
+        return new HashSet<>(namedParameterJdbcTemplate.queryForList(PROCESSED_IN_RANGE_SQL, params, Long.class));
+    }
+
+    /**
+     * Account ids of the chunk processed on any business date
+     */
+    public Set<Long> findProcessedAnyDate(RunType runType, Collection<Long> accountIds) {
+        if (accountIds.isEmpty()) {
+            return new HashSet<>();
+        }
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("runType", runType.name())
+                .addValue("accountIds", accountIds);
+        return new HashSet<>(namedParameterJdbcTemplate.queryForList(PROCESSED_ANY_DATE_SQL, params, Long.class));
+    }
+
+    /**
+     * Total amount of the transactions recorded by the run's markers in [fromDate, toDate], per account
+     * Accounts of the chunk without any such transaction are absent from the map
+     */
+    public Map<Long, BigDecimal> sumPostedAmounts(RunType runType, LocalDate fromDate, LocalDate toDate,
+                                                  Collection<Long> accountIds) {
+        Map<Long, BigDecimal> totals = new HashMap<>();
+        if (accountIds.isEmpty()) {
+            return totals;
+        }
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("runType", runType.name())
+                .addValue("fromDate", Date.valueOf(fromDate))
+                .addValue("toDate", Date.valueOf(toDate))
+                .addValue("accountIds", accountIds);
+        RowCallbackHandler collect = rs -> totals.put(rs.getLong("account_id"), rs.getBigDecimal("total"));
+        namedParameterJdbcTemplate.query(POSTED_AMOUNT_IN_RANGE_SQL, params, collect);
+        return totals;
+    }
+
+    /**
+     * Claim an account for a run - returns false if a marker already exists
+     * Must be called inside the transaction that performs the work
+     */
+    public boolean markIfAbsent(Long accountId, RunType runType, LocalDate businessDate, String transactionId) {
+        return jdbcTemplate.update(INSERT_IF_ABSENT_SQL, accountId, runType.name(),
+                Date.valueOf(businessDate), transactionId) > 0;
+    }
+
+    /**
+     * Write markers for a whole chunk in one JDBC batch
+     */
+    public void markAll(RunType runType, LocalDate businessDate, List<Long> accountIds, List<String> transactionIds) {
+        if (accountIds.isEmpty()) {
+            return;
+        }
+        Date date = Date.valueOf(businessDate);
+        jdbcTemplate.batchUpdate(INSERT_IF_ABSENT_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                ps.setLong(1, accountIds.get(i));
+                ps.setString(2, runType.name());
+                ps.setDate(3, date);
+                ps.setString(4, transactionIds.get(i));
+            }
+
+            @Override
+            public int getBatchSize() {
+                return accountIds.size();
+            }
+        });
+    }
+}
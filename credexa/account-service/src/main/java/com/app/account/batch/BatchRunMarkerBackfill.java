@@ -0,0 +1,88 @@
+package com.app.account.batch;
+
+import com.app.account.entity.BatchRunMarker.RunType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Seeds batch_run_markers from batch transactions posted before the ledger existed
+ * The batches only consult the ledger, so without markers a same-day accrual, same-quarter
+ * capitalization or maturity run right after the upgrade would post a second time.
+ *
+ * Runs at startup for each run type that has no markers yet. Each run type is one
+ * INSERT IGNORE ... SELECT (atomic, safe to repeat), keyed the way the batches key their markers:
+ * accrual by transaction date, capitalization by the quarter anniversary of the effective date,
+ * maturity by the account's maturity date.
+ */
+@Component
+public class BatchRunMarkerBackfill {
+
+    private static final Logger logger = LoggerFactory.getLogger(BatchRunMarkerBackfill.class);
+
+    private static final String HAS_MARKERS_SQL =
+            "SELECT EXISTS (SELECT 1 FROM batch_run_markers WHERE run_type = ?)";
+
+    private static final String INSERT_MARKERS =
+            "INSERT IGNORE INTO batch_run_markers (account_id, run_type, business_date, transaction_id, created_at) ";
+
+    private static final Map<RunType, String> BACKFILL_SQL = new LinkedHashMap<>();
+
+    static {
+        BACKFILL_SQL.put(RunType.INTEREST_ACCRUAL, INSERT_MARKERS +
+                "SELECT t.account_id, 'INTEREST_ACCRUAL', DATE(t.transaction_date), t.transaction_id, NOW() " +
+                "FROM fd_transactions t WHERE t.transaction_type = 'INTEREST_CREDIT' " +
+                "AND t.remarks LIKE '%Interest accrued but not credited%'");
+        BACKFILL_SQL.put(RunType.INTEREST_CAPITALIZATION, INSERT_MARKERS +
+                "SELECT t.account_id, 'INTEREST_CAPITALIZATION', " +
+                "DATE_ADD(a.effective_date, INTERVAL " +
+                "(TIMESTAMPDIFF(MONTH, a.effective_date, DATE(t.transaction_date)) DIV 3) * 3 MONTH), " +
+                "t.transaction_id, NOW() " +
+                "FROM fd_transactions t JOIN fd_accounts a ON a.id = t.account_id " +
+                "WHERE t.transaction_type = 'INTEREST_CREDIT' " +
+                "AND t.remarks LIKE '%Interest capitalized and added to principal%'");
+        BACKFILL_SQL.put(RunType.MATURITY, INSERT_MARKERS +
+                "SELECT t.account_id, 'MATURITY', a.maturity_date, t.transaction_id, NOW() " +
+                "FROM fd_transactions t JOIN fd_accounts a ON a.id = t.account_id " +
+                "WHERE t.transaction_type = 'MATURITY_CREDIT' AND a.maturity_date IS NOT NULL");
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${batch.run-ledger.backfill-on-startup:true}")
+    private boolean backfillOnStartup;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillOnStartup() {
+        if (backfillOnStartup) {
+            backfill();
+        }
+    }
+
+    /**
+     * Derive markers for every run type the ledger has never recorded
+     * Returns the number of markers written
+     */
+    public int backfill() {
+        int written = 0;
+        for (Map.Entry<RunType, String> entry : BACKFILL_SQL.entrySet()) {
+            RunType runType = entry.getKey();
+            if (Boolean.TRUE.equals(jdbcTemplate.queryForObject(HAS_MARKERS_SQL, Boolean.class, runType.name()))) {
+                continue;
+            }
+            int markers = jdbcTemplate.update(entry.getValue());
+            logger.info("📒 Backfilled {} {} markers from existing transactions", markers, runType);
+            written += markers;
+        }
+        return written;
+    }
+}
@@ -1,165 +1,359 @@
 package com.app.account.batch;
 
+import com.app.account.entity.BatchCheckpoint;
+import com.app.account.entity.BatchCheckpoint.CheckpointStatus;
+import com.app.account.entity.BatchRunMarker.RunType;
 import com.app.account.entity.FdAccount;
 import com.app.account.entity.FdTransaction;
+import com.app.account.repository.BatchCheckpointRepository;
 import com.app.account.repository.FdAccountRepository;
-import com.app.account.repository.FdTransactionRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.LocalDate;
-import java.time.LocalDateTime;
-import java.time.temporal.ChronoUnit;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Batch job for daily interest accrual
  * Disabled by default - set batch.interest-accrual.enabled=true to enable
+ *
+ * Active accounts are split into account-id partitions that run on a bounded worker pool.
+ * Each partition is keyset-paged in chunks; a chunk's accrual rows and its checkpoint are
+ * committed together, so a crashed run resumes from the last committed chunk.
+ * Already-accrued accounts are looked up per chunk in the batch run ledger.
+ *
+ * batch.interest-accrual.mode=SET_BASED replaces the per-entity chunk with one INSERT…SELECT
+ * per account-id window, followed by a sample reconciliation against the BigDecimal path.
  */
 @Component
 @ConditionalOnProperty(name = "batch.interest-accrual.enabled", havingValue = "true", matchIfMissing = false)
 public class InterestAccrualBatch {
 
     private static final Logger logger = LoggerFactory.getLogger(InterestAccrualBatch.class);
+    private static final String JOB_NAME = "INTEREST_ACCRUAL";
+    private static final DateTimeFormatter ID_DATE_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd");
 
     @Autowired
     private FdAccountRepository accountRepository;
 
     @Autowired
-    private FdTransactionRepository transactionRepository;
+    private BatchRunLedger runLedger;
+
+    @Autowired
+    private BatchCheckpointRepository checkpointRepository;
+
+    @Autowired
+    private AccrualChunkWriter chunkWriter;
+
+    @Autowired
+    private SetBasedAccrualWriter setBasedWriter;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
 
     @Autowired
     private BatchTimeService batchTimeService;
 
+    @Value("${batch.interest-accrual.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${batch.interest-accrual.partitions:8}")
+    private int partitionCount;
+
+    @Value("${batch.interest-accrual.worker-threads:4}")
+    private int workerThreads;
+
+    @Value("${batch.interest-accrual.mode:ENTITY}")
+    private AccrualMode mode;
+
+    @Value("${batch.interest-accrual.set-based-window:20000}")
+    private int setBasedWindow;
+
+    @Value("${batch.interest-accrual.reconciliation-sample-size:200}")
+    private int reconciliationSampleSize;
+
+    private final AtomicBoolean running = new AtomicBoolean(false);
+
     /**
      * Run daily at 1:00 AM (or manually triggered)
      */
     @Scheduled(cron = "${batch.interest-accrual.cron:0 0 1 * * ?}")
     public void processInterestAccrual() {
         LocalDate batchDate = batchTimeService.getBatchDate();
+
+        if (!running.compareAndSet(false, true)) {
+            logger.warn("⏭️ Interest Accrual Batch already running - skipping trigger for date: {}", batchDate);
+            return;
+        }
+
         logger.info("🕐 Starting Interest Accrual Batch for date: {}", batchDate);
-        
+
         long startTime = System.currentTimeMillis();
         int successCount = 0;
         int skipCount = 0;
-        int errorCount = 0;
+        int failedPartitions = 0;
+        ExecutorService workers = null;
 
         try {
-            // Get all active FD accounts
-            List<FdAccount> activeAccounts = accountRepository.findByStatus(FdAccount.AccountStatus.ACTIVE);
-            logger.info("📊 Found {} active accounts for interest accrual", activeAccounts.size());
-
-            for (FdAccount account : activeAccounts) {
-                try {
-                    // Process each account in its own transaction
-                    boolean processed = processAccountAccrual(account, batchDate);
-                    if (processed) {
-                        successCount++;
-                    } else {
-                        skipCount++;
-                    }
-
-                } catch (Exception e) {
-                    errorCount++;
-                    logger.error("❌ Error processing interest accrual for account {}: {}", 
-                            account.getAccountNumber(), e.getMessage(), e);
+            List<BatchCheckpoint> pending = planPartitions(batchDate).stream()
+                    .filter(checkpoint -> checkpoint.getStatus() != CheckpointStatus.COMPLETED)
+                    .toList();
+
+            if (pending.isEmpty()) {
+                logger.info("⏭️ No pending accrual partitions for date {} - nothing to do", batchDate);
+                return;
+            }
+
+            logger.info("📊 Processing {} accrual partitions with {} workers ({} mode)",
+                    pending.size(), Math.min(workerThreads, pending.size()), mode);
+
+            AtomicInteger threadCounter = new AtomicInteger();
+            workers = Executors.newFixedThreadPool(Math.max(1, Math.min(workerThreads, pending.size())),
+                    runnable -> new Thread(runnable, "accrual-worker-" + threadCounter.incrementAndGet()));
+
+            List<Future<PartitionResult>> results = new ArrayList<>();
+            for (BatchCheckpoint checkpoint : pending) {
+                results.add(workers.submit(() -> processPartition(checkpoint, batchDate)));
+            }
+
+            for (Future<PartitionResult> future : results) {
+                PartitionResult result = future.get();
+                successCount += result.accrued();
+                skipCount += result.skipped();
+                if (result.failed()) {
+                    failedPartitions++;
                 }
             }
 
             long duration = System.currentTimeMillis() - startTime;
-            logger.info("✅ Interest Accrual Batch completed in {}ms - Success: {}, Skipped: {}, Errors: {}", 
-                    duration, successCount, skipCount, errorCount);
+            logger.info("✅ Interest Accrual Batch completed in {}ms - Success: {}, Skipped: {}, Failed partitions: {}",
+                    duration, successCount, skipCount, failedPartitions);
+
+            if (mode == AccrualMode.SET_BASED && successCount > 0) {
+                reconcileSetBasedRun(batchDate, pending);
+            }
 
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.error("❌ Interest Accrual Batch interrupted: {}", e.getMessage(), e);
         } catch (Exception e) {
             logger.error("❌ Interest Accrual Batch failed: {}", e.getMessage(), e);
+        } finally {
+            if (workers != null) {
+                workers.shutdown();
+            }
+            running.set(false);
+        }
+    }
+
+    /**
+     * Load the partition checkpoints for the batch date, adding partitions for any
+     * active account ids not yet covered (first run of the day, or accounts opened since)
+     */
+    private List<BatchCheckpoint> planPartitions(LocalDate batchDate) {
+        List<BatchCheckpoint> checkpoints = new ArrayList<>(
+                checkpointRepository.findByJobNameAndBusinessDateOrderByPartitionNumber(JOB_NAME, batchDate));
+
+        Long minId = accountRepository.findMinIdByStatus(FdAccount.AccountStatus.ACTIVE);
+        Long maxId = accountRepository.findMaxIdByStatus(FdAccount.AccountStatus.ACTIVE);
+        if (minId == null || maxId == null) {
+            return checkpoints;
+        }
+
+        long coveredUpTo = checkpoints.isEmpty()
+                ? minId - 1
+                : checkpoints.get(checkpoints.size() - 1).getRangeEnd();
+
+        if (maxId <= coveredUpTo) {
+            if (!checkpoints.isEmpty()) {
+                logger.info("🔁 Resuming accrual run for {} from existing checkpoints", batchDate);
+            }
+            return checkpoints;
         }
+
+        long span = maxId - coveredUpTo;
+        int parts = (int) Math.min(partitionCount, span);
+        long width = (span + parts - 1) / parts;
+        int partitionNumber = checkpoints.size();
+
+        for (long start = coveredUpTo; start < maxId; start += width) {
+            BatchCheckpoint checkpoint = BatchCheckpoint.builder()
+                    .jobName(JOB_NAME)
+                    .businessDate(batchDate)
+                    .partitionNumber(partitionNumber++)
+                    .rangeStart(start)
+                    .rangeEnd(Math.min(start + width, maxId))
+                    .lastProcessedId(start)
+                    .processedCount(0L)
+                    .status(CheckpointStatus.PENDING)
+                    .build();
+            checkpoints.add(checkpointRepository.save(checkpoint));
+        }
+
+        return checkpoints;
     }
 
     /**
-     * Process accrual for a single account (in its own transaction)
+     * Process one partition chunk by chunk, resuming after its last committed account id
      */
-    @Transactional
-    private boolean processAccountAccrual(FdAccount account, LocalDate batchDate) {
-        // Skip if account effective date is after batch date
-        if (account.getEffectiveDate().isAfter(batchDate)) {
-            return false;
+    private PartitionResult processPartition(BatchCheckpoint checkpoint, LocalDate batchDate) {
+        int accrued = 0;
+        int skipped = 0;
+
+        try {
+            checkpoint.setStatus(CheckpointStatus.IN_PROGRESS);
+            checkpoint.setErrorMessage(null);
+            checkpointRepository.save(checkpoint);
+
+            boolean exhausted = false;
+            while (!exhausted) {
+                ChunkResult chunk = transactionTemplate.execute(status -> mode == AccrualMode.SET_BASED
+                        ? processSetBasedChunk(checkpoint, batchDate)
+                        : processChunk(checkpoint, batchDate));
+                // Only now is the chunk committed - advance the in-memory checkpoint to match
+                if (chunk.lastProcessedId() != null) {
+                    checkpoint.setLastProcessedId(chunk.lastProcessedId());
+                    checkpoint.setProcessedCount(checkpoint.getProcessedCount() + chunk.processed());
+                }
+                accrued += chunk.accrued();
+                skipped += chunk.skipped();
+                exhausted = chunk.exhausted();
+            }
+
+            checkpoint.setStatus(CheckpointStatus.COMPLETED);
+            checkpointRepository.save(checkpoint);
+            logger.debug("✅ Partition {} ({}, {}] completed - Accrued: {}, Skipped: {}",
+                    checkpoint.getPartitionNumber(), checkpoint.getRangeStart(), checkpoint.getRangeEnd(), accrued, skipped);
+            return new PartitionResult(accrued, skipped, false);
+
+        } catch (Exception e) {
+            logger.error("❌ Error processing accrual partition {} after account id {}: {}",
+                    checkpoint.getPartitionNumber(), checkpoint.getLastProcessedId(), e.getMessage(), e);
+            checkpoint.setStatus(CheckpointStatus.FAILED);
+            checkpoint.setErrorMessage(truncate(e.getMessage()));
+            checkpointRepository.save(checkpoint);
+            return new PartitionResult(accrued, skipped, true);
         }
+    }
+
+    /**
+     * Accrue one chunk of the partition and advance its stored checkpoint (runs in one transaction)
+     * The caller's checkpoint is left untouched until the transaction has committed
+     */
+    private ChunkResult processChunk(BatchCheckpoint checkpoint, LocalDate batchDate) {
+        List<FdAccount> accounts = accountRepository.findAccrualChunk(
+                FdAccount.AccountStatus.ACTIVE,
+                checkpoint.getLastProcessedId(),
+                checkpoint.getRangeEnd(),
+                batchDate,
+                PageRequest.of(0, chunkSize));
 
-        // Skip if account maturity date is before batch date
-        if (account.getMaturityDate().isBefore(batchDate)) {
-            return false;
+        if (accounts.isEmpty()) {
+            return new ChunkResult(0, 0, true, null, 0);
         }
 
-        // Check if already accrued for this date (idempotency check)
-        if (isAlreadyAccruedForDate(account, batchDate)) {
-            logger.debug("⏭️ Skipping account {} - already accrued for date {}", 
-                    account.getAccountNumber(), batchDate);
-            return false;
+        // Idempotency check for the whole chunk in one query
+        Set<Long> alreadyAccrued = runLedger.findProcessed(
+                RunType.INTEREST_ACCRUAL, batchDate, accounts.stream().map(FdAccount::getId).toList());
+
+        List<FdTransaction> accruals = new ArrayList<>(accounts.size());
+        for (FdAccount account : accounts) {
+            if (alreadyAccrued.contains(account.getId())) {
+                logger.debug("⏭️ Skipping account {} - already accrued for date {}",
+                        account.getAccountNumber(), batchDate);
+                continue;
+            }
+
+            BigDecimal dailyInterest = calculateDailyInterest(account.getPrincipalAmount(), account.getInterestRate());
+            if (dailyInterest.compareTo(BigDecimal.ZERO) > 0) {
+                // Interest accrual transaction (this doesn't credit to account yet)
+                accruals.add(buildInterestAccrualTransaction(account, dailyInterest, batchDate));
+            }
         }
 
-        // Calculate daily interest
-        BigDecimal dailyInterest = calculateDailyInterest(account, batchDate);
-        
-        if (dailyInterest.compareTo(BigDecimal.ZERO) > 0) {
-            // Create interest accrual transaction (this doesn't credit to account yet)
-            createInterestAccrualTransaction(account, dailyInterest, batchDate);
-            logger.debug("✅ Accrued interest {} for account {}", dailyInterest, account.getAccountNumber());
-            return true;
+        chunkWriter.write(accruals);
+        runLedger.markAll(RunType.INTEREST_ACCRUAL, batchDate,
+                accruals.stream().map(txn -> txn.getAccount().getId()).toList(),
+                accruals.stream().map(FdTransaction::getTransactionId).toList());
+
+        long lastId = accounts.get(accounts.size() - 1).getId();
+        checkpointRepository.advance(checkpoint.getId(), lastId, accounts.size());
+
+        return new ChunkResult(accruals.size(), accounts.size() - accruals.size(), accounts.size() < chunkSize,
+                lastId, accounts.size());
+    }
+
+    /**
+     * Accrue one account-id window of the partition with a single INSERT…SELECT (runs in one transaction)
+     * The caller's checkpoint is left untouched until the transaction has committed
+     */
+    private ChunkResult processSetBasedChunk(BatchCheckpoint checkpoint, LocalDate batchDate) {
+        long afterId = checkpoint.getLastProcessedId();
+        if (afterId >= checkpoint.getRangeEnd()) {
+            return new ChunkResult(0, 0, true, null, 0);
         }
-        
-        return false;
+
+        long upToId = Math.min(afterId + setBasedWindow, checkpoint.getRangeEnd());
+        int accrued = setBasedWriter.accrueRange(batchDate, afterId, upToId);
+
+        checkpointRepository.advance(checkpoint.getId(), upToId, accrued);
+
+        return new ChunkResult(accrued, 0, upToId >= checkpoint.getRangeEnd(), upToId, accrued);
     }
 
     /**
-     * Check if interest has already been accrued for this date (idempotency check)
+     * Check a sample of the set-based rows against the BigDecimal calculation
      */
-    private boolean isAlreadyAccruedForDate(FdAccount account, LocalDate date) {
-        // Check if an accrual transaction exists for this exact date
-        List<FdTransaction> transactions = transactionRepository
-                .findByAccountAndTransactionTypeAndTransactionDateBetween(
-                        account,
-                        FdTransaction.TransactionType.INTEREST_CREDIT,
-                        date.atStartOfDay(),
-                        date.atTime(23, 59, 59)
-                );
-        
-        // Check if any transaction is an accrual (not capitalization)
-        boolean hasAccrual = transactions.stream()
-                .anyMatch(txn -> txn.getRemarks() != null && 
-                        txn.getRemarks().contains("Interest accrued but not credited") &&
-                        txn.getDescription() != null &&
-                        txn.getDescription().contains(date.toString()));
-        
-        return hasAccrual;
+    private void reconcileSetBasedRun(LocalDate batchDate, List<BatchCheckpoint> partitions) {
+        long minId = partitions.get(0).getRangeStart() + 1;
+        long maxId = partitions.get(partitions.size() - 1).getRangeEnd();
+
+        SetBasedAccrualWriter.ReconciliationResult result =
+                setBasedWriter.reconcile(batchDate, minId, maxId, reconciliationSampleSize);
+
+        if (result.isBalanced()) {
+            logger.info("✅ Set-based accrual reconciled: {} sampled rows, total {}", result.sampled(), result.sqlTotal());
+        } else {
+            logger.error("❌ Set-based accrual reconciliation FAILED: {} of {} sampled rows differ (SQL total {}, Java total {})",
+                    result.mismatches(), result.sampled(), result.sqlTotal(), result.javaTotal());
+        }
     }
 
     /**
-     * Calculate daily interest for an account
+     * Calculate daily interest for a principal and annual rate
+     * (SetBasedAccrualWriter mirrors this arithmetic in SQL)
      */
-    private BigDecimal calculateDailyInterest(FdAccount account, LocalDate asOfDate) {
-        BigDecimal principal = account.getPrincipalAmount();
-        BigDecimal annualRate = account.getInterestRate();
-        
+    static BigDecimal calculateDailyInterest(BigDecimal principal, BigDecimal annualRate) {
         // Daily interest = (Principal × Annual Rate) / 365
         BigDecimal dailyRate = annualRate.divide(new BigDecimal("36500"), 10, RoundingMode.HALF_UP);
         BigDecimal dailyInterest = principal.multiply(dailyRate).setScale(2, RoundingMode.HALF_UP);
-        
+
         return dailyInterest;
     }
 
     /**
-     * Create interest accrual transaction (doesn't update account balance)
+     * Build interest accrual transaction (doesn't update account balance)
      */
-    private void createInterestAccrualTransaction(FdAccount account, BigDecimal interestAmount, LocalDate accrualDate) {
-        FdTransaction transaction = FdTransaction.builder()
-                .transactionId(generateTransactionId())
+    private FdTransaction buildInterestAccrualTransaction(FdAccount account, BigDecimal interestAmount, LocalDate accrualDate) {
+        return FdTransaction.builder()
+                .transactionId(generateTransactionId(account, accrualDate))
                 .account(account)
                 .accountNumber(account.getAccountNumber())
                 .transactionType(FdTransaction.TransactionType.INTEREST_CREDIT)
@@ -177,11 +371,40 @@ public class InterestAccrualBatch {
                 .channel("BATCH")
                 .branchCode(account.getBranchCode())
                 .build();
+    }
+
+    /**
+     * One accrual per account per day, so account id + date is unique
+     */
+    private String generateTransactionId(FdAccount account, LocalDate accrualDate) {
+        return accrualTransactionIdPrefix(accrualDate) + account.getId();
+    }
 
-        transactionRepository.save(transaction);
+    static String accrualTransactionIdPrefix(LocalDate accrualDate) {
+        return "TXN-ACR-" + accrualDate.format(ID_DATE_FORMAT) + "-";
+    }
+
+    private String truncate(String message) {
+        if (message == null) {
+            return null;
+        }
+        return message.length() > 500 ? message.substring(0, 500) : message;
+    }
+
+    /**
+     * Accrual Mode Enum
+     */
+    public enum AccrualMode {
+        ENTITY,       // Load each chunk as entities, compute in Java, JDBC batch insert
+        SET_BASED     // One INSERT…SELECT per account-id window
+    }
+
+    /**
+     * Outcome of one chunk; lastProcessedId is null when nothing was left to process
+     */
+    private record ChunkResult(int accrued, int skipped, boolean exhausted, Long lastProcessedId, long processed) {
     }
 
-    private String generateTransactionId() {
-        return "TXN-" + LocalDateTime.now().toString().replaceAll("[:-]", "").substring(0, 17);
+    private record PartitionResult(int accrued, int skipped, boolean failed) {
     }
 }
@@ -1,21 +1,27 @@
 package com.app.account.batch;
 
+import com.app.account.entity.BatchRunMarker.RunType;
 import com.app.account.entity.FdAccount;
 import com.app.account.entity.FdTransaction;
+import com.app.account.event.AccountBookChangedEvent;
 import com.app.account.repository.FdAccountRepository;
-import com.app.account.repository.FdTransactionRepository;
+import com.app.account.service.AccountLedgerService;
+import com.app.account.service.LedgerPostingTemplate;
+import com.app.common.util.IdGenerator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
-import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * Batch job for quarterly interest capitalization
@@ -31,11 +37,26 @@ public class InterestCapitalizationBatch {
     private FdAccountRepository accountRepository;
 
     @Autowired
-    private FdTransactionRepository transactionRepository;
+    private BatchRunLedger runLedger;
+
+    @Autowired
+    private AccountLedgerService ledgerService;
+
+    @Autowired
+    private IdGenerator idGenerator;
+
+    @Autowired
+    private LedgerPostingTemplate postingTemplate;
 
     @Autowired
     private BatchTimeService batchTimeService;
 
+    @Autowired
+    private ApplicationEventPublisher applicationEventPublisher;
+
+    @Value("${batch.interest-capitalization.chunk-size:500}")
+    private int chunkSize;
+
     /**
      * Run on 1st day of every quarter at 2:00 AM
      */
@@ -58,20 +79,50 @@ public class InterestCapitalizationBatch {
             
             logger.info("📊 Found {} compound interest accounts for capitalization", compoundAccounts.size());
 
-            for (FdAccount account : compoundAccounts) {
-                try {
-                    // Process each account in its own transaction
-                    boolean processed = processAccountCapitalization(account, batchDate);
-                    if (processed) {
-                        successCount++;
-                    } else {
-                        skipCount++;
+            for (int from = 0; from < compoundAccounts.size(); from += chunkSize) {
+                List<FdAccount> chunk = compoundAccounts.subList(from, Math.min(from + chunkSize, compoundAccounts.size()));
+                List<Long> accountIds = chunk.stream().map(FdAccount::getId).toList();
+
+                // Idempotency check for the whole chunk in one query
+                // (the current quarter's marker always falls within the last 3 months)
+                Set<Long> alreadyCapitalized = runLedger.findProcessed(
+                        RunType.INTEREST_CAPITALIZATION,
+                        batchDate.minusMonths(3).plusDays(1),
+                        batchDate,
+                        accountIds);
+
+                // Interest accrued over the quarter (accrual markers joined to their transactions),
+                // summed per account in one query for the chunk
+                Map<Long, BigDecimal> accruedInterest = runLedger.sumPostedAmounts(
+                        RunType.INTEREST_ACCRUAL,
+                        batchDate.minusMonths(3),
+                        batchDate,
+                        accountIds);
+
+                for (FdAccount account : chunk) {
+                    try {
+                        if (alreadyCapitalized.contains(account.getId())) {
+                            logger.info("⏭️ Skipping account {} - already capitalized for this quarter",
+                                    account.getAccountNumber());
+                            skipCount++;
+                            continue;
+                        }
+
+                        // Process each account in its own transaction (retried on posting conflicts)
+                        Boolean processed = postingTemplate.execute("capitalization",
+                                () -> processAccountCapitalization(account, batchDate,
+                                        accruedInterest.getOrDefault(account.getId(), BigDecimal.ZERO)));
+                        if (Boolean.TRUE.equals(processed)) {
+                            successCount++;
+                        } else {
+                            skipCount++;
+                        }
+
+                    } catch (Exception e) {
+                        errorCount++;
+                        logger.error("❌ Error processing interest capitalization for account {}: {}", 
+                                account.getAccountNumber(), e.getMessage(), e);
                     }
-
-                } catch (Exception e) {
-                    errorCount++;
-                    logger.error("❌ Error processing interest capitalization for account {}: {}", 
-                            account.getAccountNumber(), e.getMessage(), e);
                 }
             }
 
@@ -87,41 +138,39 @@ public class InterestCapitalizationBatch {
     /**
      * Process capitalization for a single account (in its own transaction)
      */
-    @Transactional
-    private boolean processAccountCapitalization(FdAccount account, LocalDate batchDate) {
+    private boolean processAccountCapitalization(FdAccount account, LocalDate batchDate, BigDecimal accruedInterest) {
         // Skip if not capitalization date for this account
-        if (!isCapitalizationDate(account, batchDate)) {
+        LocalDate quarterDate = getCapitalizationDate(account, batchDate);
+        if (quarterDate == null) {
             return false;
         }
 
-        // Check if already capitalized for this quarter (idempotency check)
-        if (isAlreadyCapitalizedForQuarter(account, batchDate)) {
-            logger.info("⏭️ Skipping account {} - already capitalized for this quarter", 
+        if (accruedInterest.compareTo(BigDecimal.ZERO) <= 0) {
+            logger.info("⏭️ Skipping account {} - no accrued interest for quarter", 
                     account.getAccountNumber());
             return false;
         }
 
-        // Get accrued interest for the quarter (ONLY accrual transactions, not capitalization)
-        BigDecimal accruedInterest = getAccruedInterestForQuarter(account, batchDate);
-        
-        if (accruedInterest.compareTo(BigDecimal.ZERO) > 0) {
-            // Capitalize interest (add to principal)
-            capitalizeInterest(account, accruedInterest, batchDate);
-            logger.info("✅ Capitalized interest {} for account {}", accruedInterest, account.getAccountNumber());
-            return true;
-        } else {
-            logger.info("⏭️ Skipping account {} - no accrued interest for quarter", 
-                    account.getAccountNumber());
+        // Claim the quarter in the idempotency ledger (loses if another run got there first)
+        String transactionId = idGenerator.nextId("TXN");
+        if (!runLedger.markIfAbsent(account.getId(), RunType.INTEREST_CAPITALIZATION, quarterDate, transactionId)) {
+            logger.info("🔒 Quarter {} already capitalized for account {}", quarterDate, account.getAccountNumber());
             return false;
         }
+
+        // Capitalize interest (add to principal)
+        capitalizeInterest(account, accruedInterest, batchDate, transactionId);
+        logger.info("✅ Capitalized interest {} for account {}", accruedInterest, account.getAccountNumber());
+        return true;
     }
 
     /**
-     * Check if today is a capitalization date for the account
-     * Returns true if we're at or past a quarter boundary (3, 6, 9, 12... months)
-     * Idempotency check prevents duplicate capitalization
+     * Get the quarter anniversary the account is due to capitalize for
+     * Returns the most recent quarter boundary (3, 6, 9, 12... months) on or before the date,
+     * or null if the account is not yet 3 months old
+     * The ledger marker for this date prevents duplicate capitalization
      */
-    private boolean isCapitalizationDate(FdAccount account, LocalDate date) {
+    private LocalDate getCapitalizationDate(FdAccount account, LocalDate date) {
         LocalDate effectiveDate = account.getEffectiveDate();
         
         // Calculate months between effective date and current date
@@ -129,110 +178,35 @@ public class InterestCapitalizationBatch {
         
         // Must be at least 3 months
         if (totalMonths < 3) {
-            return false;
+            return null;
         }
         
-        // Check if we've passed a quarter boundary (3, 6, 9, 12...)
-        // We capitalize on or after the quarter anniversary
+        // Most recent quarter date (MONTHS.between guarantees it is not after the date)
         long quartersPassed = totalMonths / 3;
-        
-        if (quartersPassed == 0) {
-            return false; // Less than 3 months
-        }
-        
-        // Calculate the most recent quarter date
-        LocalDate lastQuarterDate = effectiveDate.plusMonths(quartersPassed * 3);
-        
-        // Return true if current date is on or after the quarter date
-        // Idempotency check will prevent duplicate capitalization if already done
-        return !date.isBefore(lastQuarterDate);
-    }
-
-    /**
-     * Check if interest has already been capitalized for this quarter (idempotency check)
-     */
-    private boolean isAlreadyCapitalizedForQuarter(FdAccount account, LocalDate date) {
-        // Calculate quarter start and end dates
-        LocalDate quarterStart = date.minusMonths(3);
-        LocalDate quarterEnd = date;
-        
-        // Check if a capitalization transaction exists for this quarter
-        List<FdTransaction> capitalizationTransactions = transactionRepository
-                .findByAccountAndTransactionTypeAndTransactionDateBetween(
-                        account,
-                        FdTransaction.TransactionType.INTEREST_CREDIT,
-                        quarterStart.atStartOfDay(),
-                        quarterEnd.atTime(23, 59, 59)
-                );
-        
-        // Check if any transaction has capitalization remarks
-        boolean hasCapitalization = capitalizationTransactions.stream()
-                .anyMatch(txn -> txn.getRemarks() != null && 
-                        txn.getRemarks().contains("capitalized and added to principal"));
-        
-        if (hasCapitalization) {
-            logger.info("🔒 Quarter already capitalized for account {} (period: {} to {})", 
-                    account.getAccountNumber(), quarterStart, quarterEnd);
-        }
-        
-        return hasCapitalization;
-    }
-
-    /**
-     * Get accrued interest for the quarter from transactions (ONLY accrual, not capitalization)
-     */
-    private BigDecimal getAccruedInterestForQuarter(FdAccount account, LocalDate endDate) {
-        LocalDate startDate = endDate.minusMonths(3);
-        
-        // Get all interest credit transactions for the quarter
-        List<FdTransaction> interestTransactions = transactionRepository
-                .findByAccountAndTransactionTypeAndTransactionDateBetween(
-                        account,
-                        FdTransaction.TransactionType.INTEREST_CREDIT,
-                        startDate.atStartOfDay(),
-                        endDate.atTime(23, 59, 59)
-                );
-
-        // Sum ONLY accrual transactions (not capitalization transactions)
-        BigDecimal accruedInterest = interestTransactions.stream()
-                .filter(txn -> txn.getRemarks() != null && 
-                        txn.getRemarks().contains("Interest accrued but not credited"))
-                .map(FdTransaction::getAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-        
-        logger.info("📊 Found {} accrual transactions totaling {} for account {} (period: {} to {})", 
-                interestTransactions.stream()
-                    .filter(txn -> txn.getRemarks() != null && 
-                            txn.getRemarks().contains("Interest accrued but not credited"))
-                    .count(),
-                accruedInterest, 
-                account.getAccountNumber(), 
-                startDate, 
-                endDate);
-        
-        return accruedInterest;
+        return effectiveDate.plusMonths(quartersPassed * 3);
     }
 
     /**
      * Capitalize interest by adding to principal
      */
-    private void capitalizeInterest(FdAccount account, BigDecimal interestAmount, LocalDate capitalizationDate) {
-        BigDecimal oldPrincipal = account.getPrincipalAmount();
-        BigDecimal newPrincipal = oldPrincipal.add(interestAmount);
+    private void capitalizeInterest(FdAccount account, BigDecimal interestAmount, LocalDate capitalizationDate,
+                                    String transactionId) {
+        FdAccount lockedAccount = ledgerService.lockForPosting(account);
+        BigDecimal balanceBefore = ledgerService.getCurrentBalance(lockedAccount);
 
         // Update account principal
-        account.setPrincipalAmount(newPrincipal);
-        accountRepository.save(account);
+        lockedAccount.setPrincipalAmount(lockedAccount.getPrincipalAmount().add(interestAmount));
+        applicationEventPublisher.publishEvent(AccountBookChangedEvent.principalAdjusted(lockedAccount, interestAmount));
 
         // Create capitalization transaction
         FdTransaction transaction = FdTransaction.builder()
-                .transactionId(generateTransactionId())
+                .transactionId(transactionId)
                 .account(account)
                 .accountNumber(account.getAccountNumber())
                 .transactionType(FdTransaction.TransactionType.INTEREST_CREDIT)
                 .amount(interestAmount)
-                .balanceBefore(oldPrincipal)
-                .balanceAfter(newPrincipal)
+                .balanceBefore(balanceBefore)
+                .balanceAfter(balanceBefore.add(interestAmount))
                 .status(FdTransaction.TransactionStatus.COMPLETED)
                 .description("Quarterly interest capitalization")
                 .remarks("BATCH: Interest capitalized and added to principal")
@@ -245,10 +219,8 @@ public class InterestCapitalizationBatch {
                 .branchCode(account.getBranchCode())
                 .build();
 
-        transactionRepository.save(transaction);
+        // Post transaction (updates account balance and ledger sequence)
+        ledgerService.post(lockedAccount, transaction);
     }
 
-    private String generateTransactionId() {
-        return "TXN-" + LocalDateTime.now().toString().replaceAll("[:-]", "").substring(0, 17);
-    }
 }
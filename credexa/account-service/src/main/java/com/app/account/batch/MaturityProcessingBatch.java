@@ -1,21 +1,27 @@
 package com.app.account.batch;
 
+import com.app.account.entity.BatchRunMarker.RunType;
 import com.app.account.entity.FdAccount;
 import com.app.account.entity.FdTransaction;
+import com.app.account.event.AccountBookChangedEvent;
 import com.app.account.repository.FdAccountRepository;
 import com.app.account.repository.FdTransactionRepository;
+import com.app.account.service.AccountLedgerService;
+import com.app.account.service.LedgerPostingTemplate;
+import com.app.common.util.IdGenerator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
-import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Set;
 
 /**
  * Batch job for processing matured FD accounts
@@ -33,9 +39,27 @@ public class MaturityProcessingBatch {
     @Autowired
     private FdTransactionRepository transactionRepository;
 
+    @Autowired
+    private BatchRunLedger runLedger;
+
+    @Autowired
+    private AccountLedgerService ledgerService;
+
+    @Autowired
+    private IdGenerator idGenerator;
+
+    @Autowired
+    private LedgerPostingTemplate postingTemplate;
+
     @Autowired
     private BatchTimeService batchTimeService;
 
+    @Autowired
+    private ApplicationEventPublisher applicationEventPublisher;
+
+    @Value("${batch.maturity-processing.chunk-size:500}")
+    private int chunkSize;
+
     /**
      * Run daily at 3:00 AM
      */
@@ -58,20 +82,36 @@ public class MaturityProcessingBatch {
             
             logger.info("📊 Found {} accounts matured as of {}", maturedAccounts.size(), batchDate);
 
-            for (FdAccount account : maturedAccounts) {
-                try {
-                    // Process each account in its own transaction
-                    boolean processed = processAccountMaturity(account, batchDate);
-                    if (processed) {
-                        successCount++;
-                    } else {
-                        skipCount++;
+            for (int from = 0; from < maturedAccounts.size(); from += chunkSize) {
+                List<FdAccount> chunk = maturedAccounts.subList(from, Math.min(from + chunkSize, maturedAccounts.size()));
+
+                // Idempotency check for the whole chunk in one query
+                Set<Long> alreadyMatured = runLedger.findProcessedAnyDate(
+                        RunType.MATURITY, chunk.stream().map(FdAccount::getId).toList());
+
+                for (FdAccount account : chunk) {
+                    try {
+                        if (alreadyMatured.contains(account.getId())) {
+                            logger.info("⏭️ Skipping account {} - already has maturity transaction",
+                                    account.getAccountNumber());
+                            skipCount++;
+                            continue;
+                        }
+
+                        // Process each account in its own transaction (retried on posting conflicts)
+                        Boolean processed = postingTemplate.execute("maturity",
+                                () -> processAccountMaturity(account, batchDate));
+                        if (Boolean.TRUE.equals(processed)) {
+                            successCount++;
+                        } else {
+                            skipCount++;
+                        }
+
+                    } catch (Exception e) {
+                        errorCount++;
+                        logger.error("❌ Error processing maturity for account {}: {}", 
+                                account.getAccountNumber(), e.getMessage(), e);
                     }
-
-                } catch (Exception e) {
-                    errorCount++;
-                    logger.error("❌ Error processing maturity for account {}: {}", 
-                            account.getAccountNumber(), e.getMessage(), e);
                 }
             }
 
@@ -87,47 +127,27 @@ public class MaturityProcessingBatch {
     /**
      * Process maturity for a single account (in its own transaction)
      */
-    @Transactional
     private boolean processAccountMaturity(FdAccount account, LocalDate batchDate) {
-        // Check if already processed (idempotency check)
-        if (isAlreadyMatured(account)) {
-            logger.info("⏭️ Skipping account {} - already has maturity transaction", 
-                    account.getAccountNumber());
+        // Claim the account in the idempotency ledger (loses if another run got there first)
+        String transactionId = idGenerator.nextId("TXN");
+        if (!runLedger.markIfAbsent(account.getId(), RunType.MATURITY, account.getMaturityDate(), transactionId)) {
+            logger.info("🔒 Account {} already has maturity transaction", account.getAccountNumber());
             return false;
         }
 
         // Process maturity
-        processMaturity(account, batchDate);
+        processMaturity(account, batchDate, transactionId);
         logger.info("✅ Processed maturity for account {}", account.getAccountNumber());
         return true;
     }
 
-    /**
-     * Check if account already has a maturity transaction (idempotency check)
-     */
-    private boolean isAlreadyMatured(FdAccount account) {
-        // Check if a maturity credit transaction already exists
-        List<FdTransaction> maturityTransactions = transactionRepository
-                .findByAccountAndTransactionTypeAndTransactionDateBetween(
-                        account,
-                        FdTransaction.TransactionType.MATURITY_CREDIT,
-                        account.getEffectiveDate().atStartOfDay(),
-                        LocalDateTime.now().plusYears(10) // Far future date
-                );
-        
-        boolean hasMaturityTransaction = !maturityTransactions.isEmpty();
-        
-        if (hasMaturityTransaction) {
-            logger.info("🔒 Account {} already has maturity transaction", account.getAccountNumber());
-        }
-        
-        return hasMaturityTransaction;
-    }
-
     /**
      * Process maturity for an account
      */
-    private void processMaturity(FdAccount account, LocalDate maturityDate) {
+    private void processMaturity(FdAccount account, LocalDate maturityDate, String transactionId) {
+        FdAccount lockedAccount = ledgerService.lockForPosting(account);
+        BigDecimal balanceBefore = ledgerService.getCurrentBalance(lockedAccount);
+
         // Calculate maturity amount (principal + all interest)
         BigDecimal principal = account.getPrincipalAmount();
         BigDecimal maturityAmount = account.getMaturityAmount();
@@ -135,12 +155,12 @@ public class MaturityProcessingBatch {
 
         // Create maturity credit transaction
         FdTransaction transaction = FdTransaction.builder()
-                .transactionId(generateTransactionId())
+                .transactionId(transactionId)
                 .account(account)
                 .accountNumber(account.getAccountNumber())
                 .transactionType(FdTransaction.TransactionType.MATURITY_CREDIT)
                 .amount(maturityAmount)
-                .balanceBefore(principal)
+                .balanceBefore(balanceBefore)
                 .balanceAfter(maturityAmount)
                 .status(FdTransaction.TransactionStatus.COMPLETED)
                 .description("FD maturity processing")
@@ -155,15 +175,14 @@ public class MaturityProcessingBatch {
                 .branchCode(account.getBranchCode())
                 .build();
 
-        transactionRepository.save(transaction);
+        // Update account status to MATURED and post transaction (updates balance and ledger sequence)
+        LocalDate bookedMaturityDate = lockedAccount.getMaturityDate();
+        lockedAccount.setStatus(FdAccount.AccountStatus.MATURED);
+        lockedAccount.setMaturityDate(maturityDate);
+        ledgerService.post(lockedAccount, transaction);
 
-        // Update account status to MATURED
-        account.setStatus(FdAccount.AccountStatus.MATURED);
-        account.setMaturityDate(maturityDate);
-        accountRepository.save(account);
+        // Leaves the outstanding book under the date it was laddered on
+        applicationEventPublisher.publishEvent(AccountBookChangedEvent.removed(lockedAccount, bookedMaturityDate));
     }
 
-    private String generateTransactionId() {
-        return "TXN-" + LocalDateTime.now().toString().replaceAll("[:-]", "").substring(0, 17);
-    }
 }
@@ -0,0 +1,132 @@
+package com.app.account.batch;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Set-based daily accrual: one INSERT…SELECT per account-id window instead of loading entities
+ *
+ * The SQL reproduces InterestAccrualBatch.calculateDailyInterest exactly:
+ * rate / 36500 rounded HALF_UP to 10 places, times principal, rounded HALF_UP to 2 places.
+ * The rate is widened to DECIMAL(30,20) first so MySQL's division scale
+ * (dividend scale + div_precision_increment) cannot round before the 10th place.
+ */
+@Component
+public class SetBasedAccrualWriter {
+
+    private static final Logger logger = LoggerFactory.getLogger(SetBasedAccrualWriter.class);
+
+    private static final String DAILY_INTEREST_SQL =
+            "ROUND(a.principal_amount * ROUND(CAST(a.interest_rate AS DECIMAL(30,20)) / 36500, 10), 2)";
+
+    private static final String INSERT_ACCRUALS_SQL =
+            "INSERT INTO fd_transactions (transaction_id, account_id, account_number, transaction_type, amount, " +
+            "balance_before, balance_after, status, description, remarks, initiated_by, approved_by, " +
+            "transaction_date, approval_date, value_date, channel, branch_code) " +
+            "SELECT CONCAT(?, a.id), a.id, a.account_number, 'INTEREST_CREDIT', " + DAILY_INTEREST_SQL + ", " +
+            "a.principal_amount, a.principal_amount, 'COMPLETED', ?, 'BATCH: Interest accrued but not credited', " +
+            "'SYSTEM-BATCH', 'SYSTEM-BATCH', ?, ?, ?, 'BATCH', a.branch_code " +
+            "FROM fd_accounts a " +
+            "WHERE a.id > ? AND a.id <= ? AND a.status = 'ACTIVE' " +
+            "AND a.effective_date <= ? AND a.maturity_date >= ? " +
+            "AND " + DAILY_INTEREST_SQL + " > 0 " +
+            "AND NOT EXISTS (SELECT 1 FROM batch_run_markers m WHERE m.account_id = a.id " +
+            "AND m.run_type = 'INTEREST_ACCRUAL' AND m.business_date = ?)";
+
+    private static final String INSERT_MARKERS_SQL =
+            "INSERT IGNORE INTO batch_run_markers (account_id, run_type, business_date, transaction_id, created_at) " +
+            "SELECT t.account_id, 'INTEREST_ACCRUAL', ?, t.transaction_id, NOW() FROM fd_transactions t " +
+            "WHERE t.account_id > ? AND t.account_id <= ? AND t.transaction_id LIKE ?";
+
+    // Runs before the markers are written: rows of this date without a marker are exactly the ones just inserted
+    private static final String UPDATE_AGGREGATES_SQL =
+            "UPDATE fd_account_aggregates g JOIN fd_transactions t ON t.account_id = g.account_id " +
+            "SET g.transaction_count = g.transaction_count + 1, " +
+            "g.interest_credit_count = g.interest_credit_count + 1, " +
+            "g.interest_credit_total = g.interest_credit_total + t.amount, g.updated_at = NOW() " +
+            "WHERE t.account_id > ? AND t.account_id <= ? AND t.transaction_id LIKE ? " +
+            "AND NOT EXISTS (SELECT 1 FROM batch_run_markers m WHERE m.account_id = t.account_id " +
+            "AND m.run_type = 'INTEREST_ACCRUAL' AND m.business_date = ?)";
+
+    private static final String SAMPLE_SQL =
+            "SELECT t.amount, t.balance_before, a.interest_rate FROM fd_transactions t " +
+            "JOIN fd_accounts a ON a.id = t.account_id " +
+            "WHERE t.transaction_id LIKE ? AND t.account_id >= ? AND t.account_id <= ? ORDER BY t.account_id LIMIT ?";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Accrue every eligible account in (afterId, upToId], update its aggregate and record its ledger markers
+     * Must be called inside the chunk's transaction
+     */
+    public int accrueRange(LocalDate accrualDate, long afterId, long upToId) {
+        String idPrefix = InterestAccrualBatch.accrualTransactionIdPrefix(accrualDate);
+        Timestamp postedAt = Timestamp.valueOf(accrualDate.atTime(1, 0));
+        Date businessDate = Date.valueOf(accrualDate);
+
+        int inserted = jdbcTemplate.update(INSERT_ACCRUALS_SQL,
+                idPrefix, "Daily interest accrual for " + accrualDate,
+                postedAt, postedAt, postedAt,
+                afterId, upToId, businessDate, businessDate,
+                businessDate);
+
+        if (inserted > 0) {
+            jdbcTemplate.update(UPDATE_AGGREGATES_SQL, afterId, upToId, idPrefix + "%", businessDate);
+            jdbcTemplate.update(INSERT_MARKERS_SQL, businessDate, afterId, upToId, idPrefix + "%");
+        }
+        return inserted;
+    }
+
+    /**
+     * Compare a sample of set-based accrual rows against the Java BigDecimal calculation
+     * The sample stays inside [minAccountId, maxAccountId] (the caller's partition)
+     */
+    public ReconciliationResult reconcile(LocalDate accrualDate, long minAccountId, long maxAccountId, int sampleSize) {
+        long startId = maxAccountId > minAccountId
+                ? ThreadLocalRandom.current().nextLong(minAccountId, maxAccountId + 1)
+                : minAccountId;
+
+        List<BigDecimal[]> rows = jdbcTemplate.query(SAMPLE_SQL,
+                (rs, rowNum) -> new BigDecimal[] {
+                        rs.getBigDecimal("amount"), rs.getBigDecimal("balance_before"), rs.getBigDecimal("interest_rate")
+                },
+                InterestAccrualBatch.accrualTransactionIdPrefix(accrualDate) + "%", startId, maxAccountId, sampleSize);
+
+        BigDecimal sqlTotal = BigDecimal.ZERO;
+        BigDecimal javaTotal = BigDecimal.ZERO;
+        int mismatches = 0;
+
+        for (BigDecimal[] row : rows) {
+            BigDecimal expected = InterestAccrualBatch.calculateDailyInterest(row[1], row[2]);
+            sqlTotal = sqlTotal.add(row[0]);
+            javaTotal = javaTotal.add(expected);
+            if (row[0].compareTo(expected) != 0) {
+                mismatches++;
+                logger.warn("⚠️ Accrual mismatch: principal={}, rate={}, sql={}, java={}", row[1], row[2], row[0], expected);
+            }
+        }
+
+        return new ReconciliationResult(rows.size(), mismatches, sqlTotal, javaTotal);
+    }
+
+    /**
+     * Outcome of a set-based vs BigDecimal accrual reconciliation sample
+     */
+    public record ReconciliationResult(int sampled, int mismatches, BigDecimal sqlTotal, BigDecimal javaTotal) {
+
+        public boolean isBalanced() {
+            return mismatches == 0 && sqlTotal.compareTo(javaTotal) == 0;
+        }
+    }
+}
@@ -2,13 +2,16 @@ package com.app.account.client;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.stereotype.Component;
-import org.springframework.web.reactive.function.client.WebClient;
 
 import com.app.account.dto.external.CalculationRequest;
 import com.app.account.dto.external.CalculationResponse;
 import com.app.common.dto.ApiResponse;
+import com.app.common.http.DownstreamClient;
+import com.app.common.http.DownstreamClientFactory;
+
+import reactor.core.publisher.Mono;
 
 /**
  * Client for calculator-service integration
@@ -18,42 +21,45 @@ public class CalculatorServiceClient {
 
     private static final Logger logger = LoggerFactory.getLogger(CalculatorServiceClient.class);
 
-    private final WebClient webClient;
-    private final String calculatorServiceUrl;
+    private final DownstreamClient calculatorService;
 
-    public CalculatorServiceClient(WebClient.Builder webClientBuilder,
-                                    @Value("${integration.calculator-service.url}") String calculatorServiceUrl) {
-        this.calculatorServiceUrl = calculatorServiceUrl;
-        this.webClient = webClientBuilder.baseUrl(calculatorServiceUrl).build();
+    public CalculatorServiceClient(DownstreamClientFactory downstreamClients) {
+        this.calculatorService = downstreamClients.create("calculator-service");
     }
 
     /**
      * Calculate FD maturity details
      */
     public CalculationResponse calculateMaturity(CalculationRequest request) {
-        logger.info("🔍 Calculating FD maturity: Principal={}, Rate={}, Tenure={} {}", 
-                request.getPrincipalAmount(), request.getInterestRate(), request.getTenure(), request.getTenureUnit());
-
         try {
-            ApiResponse<CalculationResponse> response = webClient.post()
-                    .uri("/calculate/standalone")
-                    .bodyValue(request)
-                    .retrieve()
-                    .bodyToMono(new org.springframework.core.ParameterizedTypeReference<ApiResponse<CalculationResponse>>() {})
-                    .block();
-
-            if (response != null && response.isSuccess() && response.getData() != null) {
-                CalculationResponse calculation = response.getData();
-                logger.info("✅ Calculation completed: Maturity Amount={}, Interest={}", 
-                        calculation.getMaturityAmount(), calculation.getInterestEarned());
-                return calculation;
-            } else {
-                logger.error("❌ Calculation failed or invalid response");
-                throw new RuntimeException("Failed to calculate FD maturity");
-            }
+            CalculationResponse calculation = calculateMaturityAsync(request).block();
+            logger.info("✅ Calculation completed: Maturity Amount={}, Interest={}", 
+                    calculation.getMaturityAmount(), calculation.getInterestEarned());
+            return calculation;
         } catch (Exception e) {
             logger.error("❌ Error during FD calculation: {}", e.getMessage(), e);
             throw new RuntimeException("Failed to calculate FD maturity: " + e.getMessage(), e);
         }
     }
+
+    /**
+     * Calculate FD maturity details without blocking
+     */
+    public Mono<CalculationResponse> calculateMaturityAsync(CalculationRequest request) {
+        logger.info("🔍 Calculating FD maturity: Principal={}, Rate={}, Tenure={} {}", 
+                request.getPrincipalAmount(), request.getInterestRate(), request.getTenure(), request.getTenureUnit());
+
+        return calculatorService.call(calculatorService.webClient().post()
+                        .uri("/calculate/standalone")
+                        .bodyValue(request)
+                        .retrieve()
+                        .bodyToMono(new ParameterizedTypeReference<ApiResponse<CalculationResponse>>() {}))
+                .flatMap(response -> response.isSuccess() && response.getData() != null
+                        ? Mono.just(response.getData())
+                        : Mono.empty())
+                .switchIfEmpty(Mono.error(() -> {
+                    logger.error("❌ Calculation failed or invalid response");
+                    return new RuntimeException("Failed to calculate FD maturity");
+                }));
+    }
 }
@@ -1,67 +1,54 @@
 package com.app.account.client;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.stereotype.Component;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
-import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
 
 import com.app.account.dto.external.CustomerDto;
-import com.app.common.dto.ApiResponse;
+import com.app.common.http.DownstreamClient;
+import com.app.common.http.DownstreamClientFactory;
 
 import jakarta.servlet.http.HttpServletRequest;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 /**
  * Client for customer-service integration
+ * Each lookup has a non-blocking *Async variant for callers that fan out several calls at once
  */
 @Component
 public class CustomerServiceClient {
 
     private static final Logger logger = LoggerFactory.getLogger(CustomerServiceClient.class);
 
-    private final WebClient webClient;
-    private final String customerServiceUrl;
+    // Customer batches fetched concurrently by getCustomersByIds
+    private static final int BATCH_CONCURRENCY = 4;
+
+    private final DownstreamClient customerService;
+    private final int batchSize;
 
-    public CustomerServiceClient(WebClient.Builder webClientBuilder,
-                                  @Value("${integration.customer-service.url}") String customerServiceUrl) {
-        this.customerServiceUrl = customerServiceUrl;
-        this.webClient = webClientBuilder.baseUrl(customerServiceUrl).build();
+    public CustomerServiceClient(DownstreamClientFactory downstreamClients,
+                                  @Value("${integration.customer-service.batch-size:500}") int batchSize) {
+        this.customerService = downstreamClients.create("customer-service");
+        this.batchSize = batchSize;
     }
 
     /**
      * Get customer details by ID
      */
     public CustomerDto getCustomerById(Long customerId) {
-        logger.info("🔍 Fetching customer details for ID: {} from URL: {}/{}", customerId, customerServiceUrl, customerId);
-
         try {
-            CustomerDto customer = webClient.get()
-                    .uri("/{id}", customerId)
-                    .retrieve()
-                    .onStatus(status -> status.is4xxClientError(), 
-                            clientResponse -> {
-                                logger.error("❌ 4xx error from customer-service: {} {}", clientResponse.statusCode(), clientResponse.statusCode().value());
-                                return clientResponse.bodyToMono(String.class)
-                                        .flatMap(body -> {
-                                            logger.error("❌ 4xx Error Response Body: {}", body);
-                                            return Mono.error(new RuntimeException("Customer service returned " + clientResponse.statusCode() + ": " + body));
-                                        });
-                            })
-                    .onStatus(status -> status.is5xxServerError(),
-                            clientResponse -> {
-                                logger.error("❌ 5xx error from customer-service: {} {}", clientResponse.statusCode(), clientResponse.statusCode().value());
-                                return clientResponse.bodyToMono(String.class)
-                                        .flatMap(body -> {
-                                            logger.error("❌ 5xx Error Response Body: {}", body);
-                                            return Mono.error(new RuntimeException("Customer service error " + clientResponse.statusCode() + ": " + body));
-                                        });
-                            })
-                    .bodyToMono(CustomerDto.class)
-                    .doOnError(error -> logger.error("❌ WebClient error before response: {}", error.getMessage()))
-                    .block();
+            CustomerDto customer = getCustomerByIdAsync(customerId).block();
 
             if (customer != null) {
                 logger.info("✅ Customer details fetched successfully: {}", customer.getFullName());
@@ -76,6 +63,58 @@ public class CustomerServiceClient {
         }
     }
 
+    /**
+     * Get customer details by ID without blocking (empty if customer-service returns no body)
+     */
+    public Mono<CustomerDto> getCustomerByIdAsync(Long customerId) {
+        logger.info("🔍 Fetching customer details for ID: {} from URL: {}/{}", customerId, customerService.getUrl(), customerId);
+
+        return customerService.call(customerService.webClient().get()
+                .uri("/{id}", customerId)
+                .retrieve()
+                .bodyToMono(CustomerDto.class)
+                .doOnError(WebClientResponseException.class, error ->
+                        logger.error("❌ {} from customer-service, body: {}", error.getStatusCode(), error.getResponseBodyAsString())));
+    }
+
+    /**
+     * Get customer details for many IDs (one call per batch-size IDs, a few batches in flight at once)
+     * IDs unknown to customer-service are absent from the returned map
+     */
+    public Map<Long, CustomerDto> getCustomersByIds(Collection<Long> customerIds) {
+        List<Long> ids = new ArrayList<>(customerIds);
+        logger.info("🔍 Fetching {} customers in batches of {}", ids.size(), batchSize);
+
+        // Calls are prepared here, on the request thread, so each one carries the caller's JWT
+        List<Mono<List<CustomerDto>>> batches = new ArrayList<>();
+        for (int from = 0; from < ids.size(); from += batchSize) {
+            batches.add(getCustomerBatchAsync(ids.subList(from, Math.min(from + batchSize, ids.size()))));
+        }
+
+        try {
+            Map<Long, CustomerDto> customers = Flux.merge(Flux.fromIterable(batches), BATCH_CONCURRENCY)
+                    .flatMapIterable(found -> found)
+                    .collectMap(CustomerDto::getId)
+                    .block();
+
+            logger.info("✅ Fetched {} of {} customers", customers.size(), ids.size());
+            return customers;
+        } catch (Exception e) {
+            logger.error("❌ Error fetching customers in batches: {}", e.getMessage(), e);
+            throw new RuntimeException("Failed to fetch customer details: " + e.getMessage(), e);
+        }
+    }
+
+    private Mono<List<CustomerDto>> getCustomerBatchAsync(List<Long> batch) {
+        return customerService.call(customerService.webClient().post()
+                .uri("/batch")
+                .bodyValue(batch)
+                .retrieve()
+                .bodyToMono(new ParameterizedTypeReference<List<CustomerDto>>() {})
+                .defaultIfEmpty(List.of())
+                .doOnError(error -> logger.error("❌ Error fetching customer batch of {} IDs: {}", batch.size(), error.getMessage())));
+    }
+
     /**
      * Validate if customer exists
      */
@@ -93,31 +132,8 @@ public class CustomerServiceClient {
      * Get customer by username
      */
     public CustomerDto getCustomerByUsername(String username) {
-        logger.info("🔍 Fetching customer by username: {}", username);
-
         try {
-            // Extract JWT token from current request
-            String jwtToken = getCurrentJwtToken();
-            if (jwtToken == null) {
-                logger.error("❌ No JWT token found in current request context");
-                return null;
-            }
-
-            CustomerDto customer = webClient.get()
-                    .uri("/username/{username}", username)
-                    .header("Authorization", "Bearer " + jwtToken)
-                    .retrieve()
-                    .onStatus(status -> status.is4xxClientError(), 
-                            clientResponse -> {
-                                logger.error("❌ 4xx error from customer-service: {} {}", clientResponse.statusCode(), clientResponse.statusCode().value());
-                                return clientResponse.bodyToMono(String.class)
-                                        .flatMap(body -> {
-                                            logger.error("❌ 4xx Error Response Body: {}", body);
-                                            return Mono.error(new RuntimeException("Customer service returned " + clientResponse.statusCode() + ": " + body));
-                                        });
-                            })
-                    .bodyToMono(CustomerDto.class)
-                    .block();
+            CustomerDto customer = getCustomerByUsernameAsync(username).block();
 
             if (customer != null) {
                 logger.info("✅ Customer fetched successfully: {}", customer.getFullName());
@@ -132,6 +148,28 @@ public class CustomerServiceClient {
         }
     }
 
+    /**
+     * Get customer by username without blocking (empty if not found or no JWT token in the current request)
+     */
+    public Mono<CustomerDto> getCustomerByUsernameAsync(String username) {
+        logger.info("🔍 Fetching customer by username: {}", username);
+
+        // Extract JWT token from current request
+        String jwtToken = getCurrentJwtToken();
+        if (jwtToken == null) {
+            logger.error("❌ No JWT token found in current request context");
+            return Mono.empty();
+        }
+
+        return customerService.call(customerService.webClient().get()
+                .uri("/username/{username}", username)
+                .header("Authorization", "Bearer " + jwtToken)
+                .retrieve()
+                .bodyToMono(CustomerDto.class)
+                .doOnError(WebClientResponseException.class, error ->
+                        logger.error("❌ {} from customer-service, body: {}", error.getStatusCode(), error.getResponseBodyAsString())));
+    }
+
     /**
      * Extract JWT token from current HTTP request
      */
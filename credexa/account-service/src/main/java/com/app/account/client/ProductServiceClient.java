@@ -1,58 +1,185 @@
 package com.app.account.client;
 
+import java.util.List;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpHeaders;
 import org.springframework.stereotype.Component;
-import org.springframework.web.reactive.function.client.WebClient;
 
+import com.app.account.config.CacheConfig;
 import com.app.account.dto.external.ProductDto;
 import com.app.common.dto.ApiResponse;
+import com.app.common.http.DownstreamClient;
+import com.app.common.http.DownstreamClientFactory;
+import com.app.common.util.JwtUtil;
+
+import reactor.core.publisher.Mono;
 
 /**
  * Client for product-pricing-service integration
+ * Products are served from a local snapshot cache (warmed at startup, evicted on product-change events, TTL fallback)
+ *
+ * Every eviction bumps an eviction generation. A fetch only caches its result if no eviction happened since it
+ * started, so a change event that arrives while a fetch is in flight is not overwritten by the old snapshot.
  */
 @Component
 public class ProductServiceClient {
 
     private static final Logger logger = LoggerFactory.getLogger(ProductServiceClient.class);
 
-    private final WebClient webClient;
-    private final String productServiceUrl;
+    // Principal of the token used for calls made outside a user request (cache warm-up)
+    private static final String SERVICE_PRINCIPAL = "account-service";
+
+    private final DownstreamClient productService;
+    private final Cache products;
+    private final JwtUtil jwtUtil;
+    private final boolean warmOnStartup;
 
-    public ProductServiceClient(WebClient.Builder webClientBuilder,
-                                 @Value("${integration.product-service.url}") String productServiceUrl) {
-        this.productServiceUrl = productServiceUrl;
-        this.webClient = webClientBuilder.baseUrl(productServiceUrl).build();
+    // Guards evictionGeneration together with the cache writes that depend on it
+    private final Object evictionLock = new Object();
+    private long evictionGeneration;
+
+    public ProductServiceClient(DownstreamClientFactory downstreamClients,
+                                 CacheManager cacheManager,
+                                 JwtUtil jwtUtil,
+                                 @Value("${cache.products.warm-on-startup:true}") boolean warmOnStartup) {
+        this.productService = downstreamClients.create("product-service");
+        this.products = cacheManager.getCache(CacheConfig.PRODUCTS_BY_CODE);
+        this.jwtUtil = jwtUtil;
+        this.warmOnStartup = warmOnStartup;
     }
 
     /**
      * Get product details by product code
      */
     public ProductDto getProductByCode(String productCode) {
+        try {
+            ProductDto product = getProductByCodeAsync(productCode).block();
+            logger.info("✅ Product details fetched successfully: {} - {}", product.getProductCode(), product.getProductName());
+            return product;
+        } catch (Exception e) {
+            logger.error("❌ Error fetching product with code {}: {}", productCode, e.getMessage(), e);
+            throw new RuntimeException("Failed to fetch product details: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Get product details by product code without blocking
+     * Errors with "Product not found" if product-service has no such product
+     */
+    public Mono<ProductDto> getProductByCodeAsync(String productCode) {
+        ProductDto cached = products.get(productCode, ProductDto.class);
+        if (cached != null) {
+            logger.debug("📦 Product {} served from cache", productCode);
+            return Mono.just(cached);
+        }
+
         logger.info("🔍 Fetching product details for code: {}", productCode);
+        return fetchAndCache(productCode, null)
+                .switchIfEmpty(Mono.error(() -> {
+                    logger.error("❌ Product not found or invalid response for code: {}", productCode);
+                    return new RuntimeException("Product not found with code: " + productCode);
+                }));
+    }
 
+    /**
+     * Drop a product snapshot (next lookup re-fetches it)
+     */
+    public void evictProduct(String productCode) {
+        synchronized (evictionLock) {
+            evictionGeneration++;
+            products.evict(productCode);
+        }
+        logger.info("🧹 Evicted cached product: {}", productCode);
+    }
+
+    /**
+     * Drop all product snapshots
+     */
+    public void evictAllProducts() {
+        synchronized (evictionLock) {
+            evictionGeneration++;
+            products.clear();
+        }
+        logger.info("🧹 Evicted all cached products");
+    }
+
+    /**
+     * Load every active product into the cache once the service is up
+     * Runs without a user request, so it authenticates with a short service token (ROLE_SERVICE) of its own
+     * A failure only means the first openings per product go to product-service
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmCache() {
+        if (!warmOnStartup) {
+            return;
+        }
+
+        String authorization = "Bearer " + jwtUtil.generateServiceToken(SERVICE_PRINCIPAL);
         try {
-            ApiResponse<ProductDto> response = webClient.get()
-                    .uri("/code/{code}", productCode)
-                    .retrieve()
-                    .bodyToMono(new org.springframework.core.ParameterizedTypeReference<ApiResponse<ProductDto>>() {})
+            Long warmed = productService.call(productService.webClient().get()
+                            .uri("/active")
+                            .header(HttpHeaders.AUTHORIZATION, authorization)
+                            .retrieve()
+                            .bodyToMono(new ParameterizedTypeReference<ApiResponse<List<ProductDto>>>() {}))
+                    .flatMapIterable(response -> response.getData() != null ? response.getData() : List.<ProductDto>of())
+                    .map(ProductDto::getProductCode)
+                    .flatMap(code -> fetchAndCache(code, authorization), 4)
+                    .count()
                     .block();
-
-            if (response != null && response.isSuccess() && response.getData() != null) {
-                ProductDto product = response.getData();
-                logger.info("✅ Product details fetched successfully: {} - {}", product.getProductCode(), product.getProductName());
-                return product;
-            } else {
-                logger.error("❌ Product not found or invalid response for code: {}", productCode);
-                throw new RuntimeException("Product not found with code: " + productCode);
-            }
+            logger.info("🔥 Product cache warmed with {} active products", warmed);
         } catch (Exception e) {
-            logger.error("❌ Error fetching product with code {}: {}", productCode, e.getMessage(), e);
-            throw new RuntimeException("Failed to fetch product details: " + e.getMessage(), e);
+            logger.warn("⚠️ Product cache warm-up failed, products will be loaded on demand: {}", e.getMessage());
         }
     }
 
+    /**
+     * Fetch a product and cache it, unless an eviction happened while the fetch was in flight
+     */
+    private Mono<ProductDto> fetchAndCache(String productCode, String authorization) {
+        return Mono.defer(() -> {
+            long generation;
+            synchronized (evictionLock) {
+                generation = evictionGeneration;
+            }
+            return fetchProductByCode(productCode, authorization).doOnNext(product -> {
+                synchronized (evictionLock) {
+                    if (generation == evictionGeneration) {
+                        products.put(productCode, product);
+                    } else {
+                        logger.debug("📦 Product {} changed during fetch - not caching it", productCode);
+                    }
+                }
+            });
+        });
+    }
+
+    /**
+     * Fetch one product (empty if product-service has no such product)
+     * authorization is only needed outside a user request; otherwise the caller's JWT is forwarded
+     */
+    private Mono<ProductDto> fetchProductByCode(String productCode, String authorization) {
+        return productService.call(productService.webClient().get()
+                        .uri("/code/{code}", productCode)
+                        .headers(headers -> {
+                            if (authorization != null) {
+                                headers.set(HttpHeaders.AUTHORIZATION, authorization);
+                            }
+                        })
+                        .retrieve()
+                        .bodyToMono(new ParameterizedTypeReference<ApiResponse<ProductDto>>() {}))
+                .flatMap(response -> response.isSuccess() && response.getData() != null
+                        ? Mono.just(response.getData())
+                        : Mono.empty());
+    }
+
     /**
      * Validate product exists and is active
      */
@@ -0,0 +1,72 @@
+package com.app.account.config;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * Cache configuration using Caffeine
+ * Hit/miss statistics are recorded and exposed as cache.gets / cache.puts / cache.evictions in actuator metrics
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String CUSTOMER_IDS_BY_USERNAME = "customerIdsByUsername";
+    public static final String PRODUCTS_BY_CODE = "productsByCode";
+    public static final String MATURITY_LADDERS = "maturityLadders";
+
+    @Value("${cache.customer-ids.maximum-size:10000}")
+    private long customerIdsMaximumSize;
+
+    @Value("${cache.customer-ids.ttl:PT15M}")
+    private Duration customerIdsTtl;
+
+    @Value("${cache.products.maximum-size:500}")
+    private long productsMaximumSize;
+
+    @Value("${cache.products.ttl:PT30M}")
+    private Duration productsTtl;
+
+    @Value("${cache.maturity-ladder.maximum-size:200}")
+    private long maturityLadderMaximumSize;
+
+    @Value("${cache.maturity-ladder.ttl:PT15M}")
+    private Duration maturityLadderTtl;
+
+    @Bean
+    public CacheManager cacheManager() {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+
+        // username -> customerId for RBAC checks (bounded; TTL caps staleness if a mapping ever changes)
+        cacheManager.registerCustomCache(CUSTOMER_IDS_BY_USERNAME, Caffeine.newBuilder()
+            .maximumSize(customerIdsMaximumSize)
+            .expireAfterWrite(customerIdsTtl)
+            .recordStats()
+            .build());
+
+        // productCode -> product snapshot; evicted on product-change events, TTL covers missed events
+        cacheManager.registerCustomCache(PRODUCTS_BY_CODE, Caffeine.newBuilder()
+            .maximumSize(productsMaximumSize)
+            .expireAfterWrite(productsTtl)
+            .recordStats()
+            .build());
+
+        // (business date, branch, product) -> daily maturity book; follows this instance's committed deltas,
+        // expires TTL after load so changes committed by other instances show up within the TTL
+        cacheManager.registerCustomCache(MATURITY_LADDERS, Caffeine.newBuilder()
+            .maximumSize(maturityLadderMaximumSize)
+            .expireAfterWrite(maturityLadderTtl)
+            .recordStats()
+            .build());
+
+        return cacheManager;
+    }
+}
@@ -1,7 +1,6 @@
 package com.app.account.config;
 
 import java.io.IOException;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
@@ -17,6 +16,7 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import com.app.common.util.JwtUtil;
+import com.app.common.util.VerifiedJwt;
 
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -54,34 +54,30 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             String jwt = authHeader.substring(7);
             logger.debug("🔍 JWT token received: {}...", jwt.substring(0, Math.min(jwt.length(), 20)));
 
-            String username = jwtUtil.extractUsername(jwt);
+            // Signature and expiry are checked once here; an invalid token throws
+            VerifiedJwt token = jwtUtil.verify(jwt);
+            String username = token.username();
             logger.debug("🔍 Extracted username: {}", username);
 
             if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                if (jwtUtil.validateToken(jwt, username)) {
-                    logger.debug("✅ JWT token is valid for user: {}", username);
-
-            // Extract roles from JWT
-            List<String> roles = jwtUtil.extractRoles(jwt);
-            logger.debug("🔍 Extracted roles: {}", roles);
-
-            // Convert roles to GrantedAuthority
-            List<SimpleGrantedAuthority> authorities = roles == null ?
-                new ArrayList<>() :
-                roles.stream()
-                 .map(r -> new SimpleGrantedAuthority(r.startsWith("ROLE_") ? r : "ROLE_" + r))
-                 .collect(Collectors.toList());
-
-            // Create authentication token with authorities
-            UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                username, null, authorities);
-                    authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-
-                    SecurityContextHolder.getContext().setAuthentication(authToken);
-                    logger.debug("✅ Security context set for user: {}", username);
-                } else {
-                    logger.error("❌ JWT token validation failed for user: {}", username);
-                }
+                logger.debug("✅ JWT token is valid for user: {}", username);
+
+                // Extract roles from JWT
+                List<String> roles = token.roles();
+                logger.debug("🔍 Extracted roles: {}", roles);
+
+                // Convert roles to GrantedAuthority
+                List<SimpleGrantedAuthority> authorities = roles.stream()
+                        .map(r -> new SimpleGrantedAuthority(r.startsWith("ROLE_") ? r : "ROLE_" + r))
+                        .collect(Collectors.toList());
+
+                // Create authentication token with authorities
+                UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
+                        username, null, authorities);
+                authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+
+                SecurityContextHolder.getContext().setAuthentication(authToken);
+                logger.debug("✅ Security context set for user: {}", username);
             }
         } catch (Exception e) {
             logger.error("❌ JWT authentication error: {}", e.getMessage(), e);
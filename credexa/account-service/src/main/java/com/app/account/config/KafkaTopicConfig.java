@@ -1,6 +1,7 @@
 package com.app.account.config;
 
 import org.apache.kafka.clients.admin.NewTopic;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -37,4 +38,13 @@ public class KafkaTopicConfig {
                 .replicas(1)
                 .build();
     }
+
+    // Published by product-pricing-service; declared here too so the listener can subscribe first
+    @Bean
+    public NewTopic productChangedTopic(@Value("${kafka.topics.product-changed:product-changed}") String topic) {
+        return TopicBuilder.name(topic)
+                .partitions(1)
+                .replicas(1)
+                .build();
+    }
 }
@@ -1,6 +1,9 @@
 package com.app.account.controller;
 
+import java.io.IOException;
 import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -9,11 +12,14 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -25,8 +31,13 @@ import org.springframework.web.bind.annotation.RestController;
 import com.app.account.dto.AccountInquiryRequest;
 import com.app.account.dto.AccountResponse;
 import com.app.account.dto.BalanceResponse;
+import com.app.account.dto.BulkCreateAccountResponse;
 import com.app.account.dto.CreateAccountRequest;
+import com.app.account.dto.MaturityLadderResponse;
+import com.app.account.dto.MaturityLadderResponse.Granularity;
 import com.app.account.service.AccountService;
+import com.app.account.service.BulkAccountService;
+import com.app.account.service.MaturityLadderService;
 import com.app.common.dto.ApiResponse;
 
 import io.swagger.v3.oas.annotations.Operation;
@@ -34,6 +45,7 @@ import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 
 /**
@@ -49,6 +61,12 @@ public class AccountController {
     @Autowired
     private AccountService accountService;
 
+    @Autowired
+    private BulkAccountService bulkAccountService;
+
+    @Autowired
+    private MaturityLadderService maturityLadderService;
+
     /**
      * Health check endpoint
      */
@@ -136,6 +154,47 @@ public class AccountController {
         }
     }
 
+    /**
+     * Bulk account opening - JSON array of requests (default values from product)
+     */
+    @PostMapping(value = "/create/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @PreAuthorize("hasRole('ADMIN') or hasRole('MANAGER') or hasRole('CUSTOMER_MANAGER')")
+    @SecurityRequirement(name = "Bearer Authentication")
+    @Operation(
+        summary = "Bulk Create FD Accounts",
+        description = "Opens many FD accounts with default values from their products. " +
+                      "Customers, products and maturity calculations are looked up once per distinct value. " +
+                      "Each row is reported as CREATED or FAILED; a failed row does not affect the others. " +
+                      "Send Content-Type application/x-ndjson to stream one request per line instead."
+    )
+    public ResponseEntity<ApiResponse<BulkCreateAccountResponse>> createAccountsBulk(
+            @RequestBody List<CreateAccountRequest> requests) {
+        String currentUser = getCurrentUsername();
+        BulkCreateAccountResponse response = bulkAccountService.createAccounts(requests, currentUser);
+        return ResponseEntity.ok(ApiResponse.success(bulkSummary(response), response));
+    }
+
+    /**
+     * Bulk account opening - NDJSON stream (one request per line)
+     */
+    @PostMapping(value = "/create/bulk", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    @PreAuthorize("hasRole('ADMIN') or hasRole('MANAGER') or hasRole('CUSTOMER_MANAGER')")
+    @SecurityRequirement(name = "Bearer Authentication")
+    @Operation(summary = "Bulk Create FD Accounts (NDJSON)",
+               description = "Streamed variant of bulk account opening: one CreateAccountRequest JSON object per line.")
+    public ResponseEntity<ApiResponse<BulkCreateAccountResponse>> createAccountsBulkNdjson(
+            HttpServletRequest httpRequest) {
+        try {
+            String currentUser = getCurrentUsername();
+            BulkCreateAccountResponse response = bulkAccountService.createAccounts(httpRequest.getInputStream(), currentUser);
+            return ResponseEntity.ok(ApiResponse.success(bulkSummary(response), response));
+        } catch (IOException e) {
+            logger.error("❌ Error reading bulk account stream: {}", e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(ApiResponse.error("Failed to read request body: " + e.getMessage()));
+        }
+    }
+
     /**
      * Account Inquiry - Find by flexible ID type
      */
@@ -342,6 +401,88 @@ public class AccountController {
         }
     }
 
+    /**
+     * Evict cached username -> customer ID mappings
+     * Use after a customer profile is re-linked to a different login
+     */
+    @DeleteMapping("/cache/customer-ids")
+    @PreAuthorize("hasRole('ADMIN')")
+    @SecurityRequirement(name = "Bearer Authentication")
+    @Operation(
+        summary = "Evict Customer ID Cache",
+        description = "Evict the cached customer ID for one username, or all cached mappings when no username is given"
+    )
+    public ResponseEntity<ApiResponse<String>> evictCustomerIdCache(
+            @Parameter(description = "Username to evict (omit to evict all)")
+            @RequestParam(required = false) String username) {
+        if (username != null && !username.isBlank()) {
+            accountService.evictCustomerId(username);
+            return ResponseEntity.ok(ApiResponse.success("Customer ID cache evicted", username));
+        }
+        accountService.evictAllCustomerIds();
+        return ResponseEntity.ok(ApiResponse.success("Customer ID cache evicted", "ALL"));
+    }
+
+    /**
+     * Portfolio maturity ladder - projected maturity cash flows of the ACTIVE book
+     */
+    @GetMapping("/portfolio/maturity-ladder")
+    @PreAuthorize("hasAnyRole('MANAGER', 'ADMIN')")
+    @SecurityRequirement(name = "Bearer Authentication")
+    @Operation(
+        summary = "Portfolio Maturity Ladder",
+        description = "Outstanding (ACTIVE) FDs grouped by maturity date into day, week or month buckets from the " +
+                      "business date, with principal, projected payout and interest per bucket. " +
+                      "Accounts past their maturity date but not yet processed are reported as overdue."
+    )
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Ladder calculated"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Invalid date range"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "503", description = "Accounts kept changing while the book was loading - retry"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "401", description = "Unauthorized"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "403", description = "Forbidden")
+    })
+    public ResponseEntity<ApiResponse<MaturityLadderResponse>> getMaturityLadder(
+            @Parameter(description = "Bucket size (DAY, WEEK or MONTH)", example = "MONTH")
+            @RequestParam(defaultValue = "MONTH") Granularity granularity,
+            @Parameter(description = "Branch code filter", example = "BR001")
+            @RequestParam(required = false) String branchCode,
+            @Parameter(description = "Product code filter", example = "FD-STD-1Y")
+            @RequestParam(required = false) String productCode,
+            @Parameter(description = "Last maturity date to include (yyyy-MM-dd)", example = "2026-12-31")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        try {
+            MaturityLadderResponse ladder = maturityLadderService.getLadder(granularity, branchCode, productCode, to);
+            return ResponseEntity.ok(ApiResponse.success(
+                    String.format("Maturity ladder with %d buckets", ladder.getBuckets().size()), ladder));
+        } catch (IllegalArgumentException e) {
+            logger.error("❌ Invalid maturity ladder request: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(ApiResponse.error(e.getMessage()));
+        } catch (IllegalStateException e) {
+            logger.warn("⚠️ Maturity ladder unavailable: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(ApiResponse.error(e.getMessage()));
+        } catch (Exception e) {
+            logger.error("❌ Error building maturity ladder: {}", e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error("Failed to build maturity ladder: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * Evict cached maturity ladders
+     */
+    @DeleteMapping("/cache/maturity-ladders")
+    @PreAuthorize("hasRole('ADMIN')")
+    @SecurityRequirement(name = "Bearer Authentication")
+    @Operation(
+        summary = "Evict Maturity Ladder Cache",
+        description = "Drop every cached maturity ladder; the next request reloads the book from the database"
+    )
+    public ResponseEntity<ApiResponse<String>> evictMaturityLadderCache() {
+        maturityLadderService.evictAll();
+        return ResponseEntity.ok(ApiResponse.success("Maturity ladder cache evicted", "ALL"));
+    }
+
     /**
      * Get current username from security context
      */
@@ -402,4 +543,8 @@ public class AccountController {
         
         return hasAccess;
     }
+
+    private String bulkSummary(BulkCreateAccountResponse response) {
+        return String.format("Bulk account opening completed: %d created, %d failed", response.getCreated(), response.getFailed());
+    }
 }
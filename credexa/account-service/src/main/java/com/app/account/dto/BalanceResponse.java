@@ -31,6 +31,9 @@ public class BalanceResponse {
     @Schema(description = "Principal amount", example = "50000")
     private BigDecimal principalAmount;
 
+    @Schema(description = "Current ledger balance", example = "50000.00")
+    private BigDecimal currentBalance;
+
     @Schema(description = "Interest earned", example = "3750.00")
     private BigDecimal interestEarned;
 
@@ -0,0 +1,44 @@
+package com.app.account.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of one row of a bulk account-opening request
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Result of one row of a bulk account-opening request")
+public class BulkAccountResult {
+
+    @Schema(description = "1-based row number in the request", example = "1")
+    private int rowNumber;
+
+    @Schema(description = "Row outcome", example = "CREATED")
+    private RowStatus status;
+
+    @Schema(description = "Account internal ID (created rows only)", example = "101")
+    private Long accountId;
+
+    @Schema(description = "Account number (created rows only)")
+    private String accountNumber;
+
+    @Schema(description = "IBAN (created rows only)")
+    private String ibanNumber;
+
+    @Schema(description = "Customer ID from the row", example = "1")
+    private Long customerId;
+
+    @Schema(description = "Failure reason (failed rows only)")
+    private String message;
+
+    public enum RowStatus {
+        CREATED,
+        FAILED
+    }
+}
@@ -0,0 +1,32 @@
+package com.app.account.dto;
+
+import java.util.List;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Response DTO for bulk account opening
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Summary and per-row results of a bulk account-opening request")
+public class BulkCreateAccountResponse {
+
+    @Schema(description = "Rows received", example = "1000")
+    private int totalRows;
+
+    @Schema(description = "Accounts created", example = "998")
+    private int created;
+
+    @Schema(description = "Rows rejected", example = "2")
+    private int failed;
+
+    @Schema(description = "Result per row, in request order")
+    private List<BulkAccountResult> results;
+}
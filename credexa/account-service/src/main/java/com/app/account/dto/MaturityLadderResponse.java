@@ -0,0 +1,109 @@
+package com.app.account.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Response DTO for the portfolio maturity ladder (projected cash outflows of the ACTIVE book)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Maturity ladder: outstanding FDs grouped by when they mature")
+public class MaturityLadderResponse {
+
+    @Schema(description = "Business date the ladder is projected from", example = "2025-11-08")
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    private LocalDate businessDate;
+
+    @Schema(description = "Bucket size", example = "MONTH")
+    private Granularity granularity;
+
+    @Schema(description = "Branch filter (null = all branches)", example = "BR001")
+    private String branchCode;
+
+    @Schema(description = "Product filter (null = all products)", example = "FD-STD-1Y")
+    private String productCode;
+
+    @Schema(description = "Last maturity date included (null = whole book)", example = "2026-11-30")
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    private LocalDate to;
+
+    @Schema(description = "When the underlying book was loaded from the database (later changes are applied incrementally)")
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    private LocalDateTime bookLoadedAt;
+
+    @Schema(description = "ACTIVE accounts whose maturity date is before the business date (not yet processed by the maturity batch)")
+    private Bucket overdue;
+
+    @Schema(description = "Buckets from the business date onwards, in date order (empty buckets are omitted)")
+    private List<Bucket> buckets;
+
+    @Schema(description = "Totals over the overdue bucket and all listed buckets")
+    private Bucket total;
+
+    /**
+     * Maturities falling in one date range
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Bucket {
+
+        @Schema(description = "First date of the bucket", example = "2025-12-01")
+        @JsonFormat(pattern = "yyyy-MM-dd")
+        private LocalDate startDate;
+
+        @Schema(description = "Last date of the bucket", example = "2025-12-31")
+        @JsonFormat(pattern = "yyyy-MM-dd")
+        private LocalDate endDate;
+
+        @Schema(description = "Accounts maturing in the bucket", example = "42")
+        private long accountCount;
+
+        @Schema(description = "Principal outstanding", example = "2100000.00")
+        private BigDecimal principalAmount;
+
+        @Schema(description = "Projected payout (maturity amount)", example = "2257500.00")
+        private BigDecimal maturityAmount;
+
+        @Schema(description = "Projected interest (maturity - principal)", example = "157500.00")
+        private BigDecimal interestAmount;
+    }
+
+    /**
+     * Bucket size: single days, ISO weeks (Monday - Sunday) or calendar months
+     */
+    public enum Granularity {
+        DAY, WEEK, MONTH;
+
+        public LocalDate bucketStart(LocalDate date) {
+            return switch (this) {
+                case DAY -> date;
+                case WEEK -> date.minusDays(date.getDayOfWeek().getValue() - 1L);
+                case MONTH -> date.withDayOfMonth(1);
+            };
+        }
+
+        public LocalDate bucketEnd(LocalDate start) {
+            return switch (this) {
+                case DAY -> start;
+                case WEEK -> start.plusDays(6);
+                case MONTH -> start.with(TemporalAdjusters.lastDayOfMonth());
+            };
+        }
+    }
+}
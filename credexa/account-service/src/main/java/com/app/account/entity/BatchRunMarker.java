@@ -0,0 +1,70 @@
+package com.app.account.entity;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import org.hibernate.annotations.CreationTimestamp;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Batch Run Marker Entity
+ * Idempotency ledger - one row per account per batch run type per business date
+ */
+@Entity
+@Table(name = "batch_run_markers",
+        uniqueConstraints = {
+                @UniqueConstraint(columnNames = {"account_id", "run_type", "business_date"})
+        },
+        indexes = {
+                @Index(name = "idx_marker_run_date", columnList = "run_type, business_date")
+        })
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchRunMarker {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "account_id", nullable = false)
+    private Long accountId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "run_type", nullable = false, length = 30)
+    private RunType runType;
+
+    @Column(name = "business_date", nullable = false)
+    private LocalDate businessDate;
+
+    @Column(length = 50)
+    private String transactionId;
+
+    @CreationTimestamp
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    /**
+     * Batch Run Type Enum
+     */
+    public enum RunType {
+        INTEREST_ACCRUAL,
+        INTEREST_CAPITALIZATION,
+        MATURITY
+    }
+}
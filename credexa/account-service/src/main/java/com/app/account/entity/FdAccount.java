@@ -14,7 +14,9 @@ import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -25,7 +27,12 @@ import lombok.NoArgsConstructor;
  * Simplified version with denormalized data for performance
  */
 @Entity
-@Table(name = "fd_accounts")
+@Table(name = "fd_accounts",
+        indexes = {
+                // Maturity ladder GROUP BY (status, maturity date) reads only this index
+                @Index(name = "idx_account_status_maturity",
+                        columnList = "status, maturity_date, branch_code, product_code, principal_amount, maturity_amount")
+        })
 @Data
 @Builder
 @NoArgsConstructor
@@ -84,6 +91,18 @@ public class FdAccount {
     @Column(precision = 15, scale = 2)
     private BigDecimal interestEarned;
 
+    // Ledger (maintained with every balance-affecting FdTransaction posting)
+    @Column(precision = 15, scale = 2)
+    private BigDecimal currentBalance;
+
+    @Column
+    private Long ledgerSequence;
+
+    // Optimistic guard for writers that update the account without taking the posting lock
+    @Version
+    @Column(nullable = false)
+    private long version;
+
     // Dates
     @Column(nullable = false)
     private LocalDate effectiveDate;
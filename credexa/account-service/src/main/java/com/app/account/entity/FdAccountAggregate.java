@@ -0,0 +1,52 @@
+package com.app.account.entity;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import org.hibernate.annotations.UpdateTimestamp;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * FD Account Aggregate Entity
+ * Transaction counts and sums per account, maintained in the same transaction as each posting
+ * so inquiries do not re-scan the account's transaction history
+ */
+@Entity
+@Table(name = "fd_account_aggregates")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FdAccountAggregate {
+
+    @Id
+    @Column(name = "account_id")
+    private Long accountId;
+
+    @Column(nullable = false)
+    private Long transactionCount;
+
+    @Column(nullable = false)
+    private Long interestCreditCount;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal interestCreditTotal;
+
+    @Column(nullable = false)
+    private Long tdsCount;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal tdsTotal;
+
+    @UpdateTimestamp
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -15,6 +15,7 @@ import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -25,7 +26,9 @@ import lombok.NoArgsConstructor;
  * Tracks all transactions on FD accounts (deposits, interest credits, withdrawals, closures)
  */
 @Entity
-@Table(name = "fd_transactions")
+@Table(name = "fd_transactions", uniqueConstraints = {
+        @UniqueConstraint(columnNames = {"account_id", "ledger_sequence"})
+})
 @Data
 @Builder
 @NoArgsConstructor
@@ -59,6 +62,10 @@ public class FdTransaction {
     @Column(precision = 15, scale = 2)
     private BigDecimal balanceAfter;
 
+    // Per-account posting order (null for memo rows such as batch accruals)
+    @Column
+    private Long ledgerSequence;
+
     @Enumerated(EnumType.STRING)
     @Column(nullable = false, length = 20)
     private TransactionStatus status;
@@ -0,0 +1,52 @@
+package com.app.account.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import com.app.account.entity.FdAccount;
+
+/**
+ * In-process event: the outstanding (ACTIVE) book changed on one maturity date
+ * Carries signed deltas so cached maturity ladders can be adjusted without re-querying
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AccountBookChangedEvent {
+    private String branchCode;
+    private String productCode;
+    private LocalDate maturityDate;
+    private long accountCountDelta;
+    private BigDecimal principalDelta;
+    private BigDecimal maturityDelta;
+
+    /**
+     * An ACTIVE account was opened
+     */
+    public static AccountBookChangedEvent opened(FdAccount account) {
+        return new AccountBookChangedEvent(account.getBranchCode(), account.getProductCode(),
+                account.getMaturityDate(), 1, account.getPrincipalAmount(), account.getMaturityAmount());
+    }
+
+    /**
+     * An ACTIVE account left the book (matured or closed) - maturityDate is the date it was bucketed under
+     */
+    public static AccountBookChangedEvent removed(FdAccount account, LocalDate maturityDate) {
+        return new AccountBookChangedEvent(account.getBranchCode(), account.getProductCode(),
+                maturityDate, -1, account.getPrincipalAmount().negate(), account.getMaturityAmount().negate());
+    }
+
+    /**
+     * An ACTIVE account's principal changed (e.g. interest capitalized)
+     */
+    public static AccountBookChangedEvent principalAdjusted(FdAccount account, BigDecimal principalDelta) {
+        return new AccountBookChangedEvent(account.getBranchCode(), account.getProductCode(),
+                account.getMaturityDate(), 0, principalDelta, BigDecimal.ZERO);
+    }
+}
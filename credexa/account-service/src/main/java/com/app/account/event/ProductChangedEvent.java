@@ -0,0 +1,26 @@
+package com.app.account.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Event consumed when product-pricing-service creates, updates, re-statuses or deletes a product
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductChangedEvent {
+    private Long productId;
+    private String productCode;
+    // Code before the change when it renamed the product
+    private String previousProductCode;
+    private String changeType;
+    private String status;
+    private String changedBy;
+    private LocalDateTime changedAt;
+}
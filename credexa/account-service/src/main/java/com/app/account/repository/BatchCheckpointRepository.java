@@ -0,0 +1,33 @@
+package com.app.account.repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.app.account.entity.BatchCheckpoint;
+
+/**
+ * Repository for batch partition checkpoints
+ */
+@Repository
+public interface BatchCheckpointRepository extends JpaRepository<BatchCheckpoint, Long> {
+
+    /**
+     * Find all partition checkpoints of a job for a business date
+     */
+    List<BatchCheckpoint> findByJobNameAndBusinessDateOrderByPartitionNumber(String jobName, LocalDate businessDate);
+
+    /**
+     * Record a committed chunk: move the partition past lastProcessedId and add to its processed count
+     * (runs in the chunk's transaction, so it rolls back with the chunk)
+     */
+    @Modifying
+    @Query("UPDATE BatchCheckpoint c SET c.lastProcessedId = :lastProcessedId, " +
+           "c.processedCount = c.processedCount + :processed, c.updatedAt = CURRENT_TIMESTAMP WHERE c.id = :id")
+    int advance(@Param("id") Long id, @Param("lastProcessedId") Long lastProcessedId, @Param("processed") long processed);
+}
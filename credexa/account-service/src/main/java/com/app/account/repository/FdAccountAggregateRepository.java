@@ -0,0 +1,74 @@
+package com.app.account.repository;
+
+import java.math.BigDecimal;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.app.account.entity.FdAccountAggregate;
+
+/**
+ * Repository for per-account transaction aggregates
+ */
+@Repository
+public interface FdAccountAggregateRepository extends JpaRepository<FdAccountAggregate, Long> {
+
+    /**
+     * Compute an account's aggregate from its transactions in one GROUP BY pass
+     * (used when no aggregate row exists yet, e.g. accounts opened before aggregates were maintained)
+     */
+    @Query(value = "SELECT COUNT(*) AS transactionCount, " +
+           "COALESCE(SUM(CASE WHEN transaction_type = 'INTEREST_CREDIT' THEN 1 ELSE 0 END), 0) AS interestCreditCount, " +
+           "COALESCE(SUM(CASE WHEN transaction_type = 'INTEREST_CREDIT' THEN amount ELSE 0 END), 0) AS interestCreditTotal, " +
+           "COALESCE(SUM(CASE WHEN transaction_type = 'TDS_DEDUCTION' THEN 1 ELSE 0 END), 0) AS tdsCount, " +
+           "COALESCE(SUM(CASE WHEN transaction_type = 'TDS_DEDUCTION' THEN amount ELSE 0 END), 0) AS tdsTotal " +
+           "FROM fd_transactions WHERE account_id = :accountId", nativeQuery = true)
+    AggregateView summarizeTransactions(@Param("accountId") Long accountId);
+
+    /**
+     * Apply one posting to an account's aggregate in place (same increment shape as the accrual writers,
+     * so concurrent postings and accrual chunks never overwrite each other's counts)
+     * @return rows updated (0 if the account has no aggregate row yet)
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = "UPDATE fd_account_aggregates SET transaction_count = transaction_count + 1, " +
+           "interest_credit_count = interest_credit_count + :interestCreditCount, " +
+           "interest_credit_total = interest_credit_total + :interestCreditAmount, " +
+           "tds_count = tds_count + :tdsCount, " +
+           "tds_total = tds_total + :tdsAmount, updated_at = NOW() " +
+           "WHERE account_id = :accountId", nativeQuery = true)
+    int incrementPosting(@Param("accountId") Long accountId,
+                         @Param("interestCreditCount") int interestCreditCount,
+                         @Param("interestCreditAmount") BigDecimal interestCreditAmount,
+                         @Param("tdsCount") int tdsCount,
+                         @Param("tdsAmount") BigDecimal tdsAmount);
+
+    /**
+     * Create an account's missing aggregate row from its transactions in one INSERT … SELECT
+     * (the locking read also blocks accrual inserts for the account until commit, so none is dropped)
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = "INSERT INTO fd_account_aggregates (account_id, transaction_count, interest_credit_count, " +
+           "interest_credit_total, tds_count, tds_total, updated_at) " +
+           "SELECT :accountId, COUNT(*), " +
+           "COALESCE(SUM(CASE WHEN transaction_type = 'INTEREST_CREDIT' THEN 1 ELSE 0 END), 0), " +
+           "COALESCE(SUM(CASE WHEN transaction_type = 'INTEREST_CREDIT' THEN amount ELSE 0 END), 0), " +
+           "COALESCE(SUM(CASE WHEN transaction_type = 'TDS_DEDUCTION' THEN 1 ELSE 0 END), 0), " +
+           "COALESCE(SUM(CASE WHEN transaction_type = 'TDS_DEDUCTION' THEN amount ELSE 0 END), 0), NOW() " +
+           "FROM fd_transactions WHERE account_id = :accountId", nativeQuery = true)
+    int insertSummary(@Param("accountId") Long accountId);
+
+    /**
+     * Projection of the GROUP BY summary
+     */
+    interface AggregateView {
+        Long getTransactionCount();
+        Long getInterestCreditCount();
+        BigDecimal getInterestCreditTotal();
+        Long getTdsCount();
+        BigDecimal getTdsTotal();
+    }
+}
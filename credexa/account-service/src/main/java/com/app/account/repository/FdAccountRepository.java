@@ -1,5 +1,6 @@
 package com.app.account.repository;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
@@ -7,10 +8,15 @@ import java.util.Optional;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.app.account.entity.FdAccount;
 
+import jakarta.persistence.LockModeType;
+
 /**
  * Repository for FD Account operations
  */
@@ -22,6 +28,13 @@ public interface FdAccountRepository extends JpaRepository<FdAccount, Long> {
      */
     Optional<FdAccount> findByAccountNumber(String accountNumber);
 
+    /**
+     * Find account by ID and lock its row for a ledger posting (SELECT … FOR UPDATE)
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM FdAccount a WHERE a.id = :id")
+    Optional<FdAccount> findByIdForUpdate(@Param("id") Long id);
+
     /**
      * Find account by IBAN number
      */
@@ -56,4 +69,54 @@ public interface FdAccountRepository extends JpaRepository<FdAccount, Long> {
      * Find accounts by status and maturity date less than or equal to (for batch processing)
      */
     List<FdAccount> findByStatusAndMaturityDateLessThanEqual(FdAccount.AccountStatus status, LocalDate maturityDate);
+
+    /**
+     * Lowest account ID with the given status (for batch partitioning)
+     */
+    @Query("SELECT MIN(a.id) FROM FdAccount a WHERE a.status = :status")
+    Long findMinIdByStatus(@Param("status") FdAccount.AccountStatus status);
+
+    /**
+     * Highest account ID with the given status (for batch partitioning)
+     */
+    @Query("SELECT MAX(a.id) FROM FdAccount a WHERE a.status = :status")
+    Long findMaxIdByStatus(@Param("status") FdAccount.AccountStatus status);
+
+    /**
+     * Next chunk of accounts eligible for accrual on a date, keyset-paged by ID within (afterId, upToId]
+     */
+    @Query("SELECT a FROM FdAccount a WHERE a.status = :status " +
+           "AND a.id > :afterId AND a.id <= :upToId " +
+           "AND a.effectiveDate <= :accrualDate AND a.maturityDate >= :accrualDate " +
+           "ORDER BY a.id")
+    List<FdAccount> findAccrualChunk(
+            @Param("status") FdAccount.AccountStatus status,
+            @Param("afterId") Long afterId,
+            @Param("upToId") Long upToId,
+            @Param("accrualDate") LocalDate accrualDate,
+            Pageable pageable);
+
+    /**
+     * Outstanding book per maturity date in one GROUP BY pass (branch / product filters are optional)
+     */
+    @Query("SELECT a.maturityDate AS maturityDate, COUNT(a) AS accountCount, " +
+           "SUM(a.principalAmount) AS principalTotal, SUM(a.maturityAmount) AS maturityTotal " +
+           "FROM FdAccount a WHERE a.status = :status " +
+           "AND (:branchCode IS NULL OR a.branchCode = :branchCode) " +
+           "AND (:productCode IS NULL OR a.productCode = :productCode) " +
+           "GROUP BY a.maturityDate")
+    List<MaturityDateView> summarizeByMaturityDate(
+            @Param("status") FdAccount.AccountStatus status,
+            @Param("branchCode") String branchCode,
+            @Param("productCode") String productCode);
+
+    /**
+     * Projection of the per-maturity-date summary
+     */
+    interface MaturityDateView {
+        LocalDate getMaturityDate();
+        Long getAccountCount();
+        BigDecimal getPrincipalTotal();
+        BigDecimal getMaturityTotal();
+    }
 }
@@ -0,0 +1,76 @@
+package com.app.account.service;
+
+import java.math.BigDecimal;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.app.account.entity.FdAccount;
+import com.app.account.entity.FdAccountAggregate;
+import com.app.account.entity.FdTransaction;
+import com.app.account.repository.FdAccountAggregateRepository;
+
+/**
+ * Maintains per-account transaction counts and interest/TDS sums
+ * Postings update the aggregate incrementally; reads are a primary-key lookup
+ */
+@Service
+public class AccountAggregateService {
+
+    @Autowired
+    private FdAccountAggregateRepository aggregateRepository;
+
+    /**
+     * Aggregate for an account (read-only - accounts without a row are summarized, not persisted)
+     */
+    public FdAccountAggregate getAggregate(FdAccount account) {
+        return aggregateRepository.findById(account.getId())
+                .orElseGet(() -> summarize(account.getId()));
+    }
+
+    /**
+     * Create the empty aggregate for a newly opened account
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void initialize(FdAccount account) {
+        aggregateRepository.save(FdAccountAggregate.builder()
+                .accountId(account.getId())
+                .transactionCount(0L)
+                .interestCreditCount(0L)
+                .interestCreditTotal(BigDecimal.ZERO)
+                .tdsCount(0L)
+                .tdsTotal(BigDecimal.ZERO)
+                .build());
+    }
+
+    /**
+     * Apply a saved posting to the account's aggregate with an in-place increment
+     * Accounts without a row yet are backfilled from fd_transactions (which already includes this posting)
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordPosting(FdAccount lockedAccount, FdTransaction transaction) {
+        boolean interestCredit = transaction.getTransactionType() == FdTransaction.TransactionType.INTEREST_CREDIT;
+        boolean tds = transaction.getTransactionType() == FdTransaction.TransactionType.TDS_DEDUCTION;
+
+        int updated = aggregateRepository.incrementPosting(lockedAccount.getId(),
+                interestCredit ? 1 : 0, interestCredit ? transaction.getAmount() : BigDecimal.ZERO,
+                tds ? 1 : 0, tds ? transaction.getAmount() : BigDecimal.ZERO);
+        if (updated == 0) {
+            aggregateRepository.insertSummary(lockedAccount.getId());
+        }
+    }
+
+    private FdAccountAggregate summarize(Long accountId) {
+        FdAccountAggregateRepository.AggregateView view = aggregateRepository.summarizeTransactions(accountId);
+        return FdAccountAggregate.builder()
+                .accountId(accountId)
+                .transactionCount(view.getTransactionCount())
+                .interestCreditCount(view.getInterestCreditCount())
+                .interestCreditTotal(view.getInterestCreditTotal())
+                .tdsCount(view.getTdsCount())
+                .tdsTotal(view.getTdsTotal())
+                .build();
+    }
+}
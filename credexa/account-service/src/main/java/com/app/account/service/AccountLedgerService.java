@@ -0,0 +1,118 @@
+package com.app.account.service;
+
+import java.math.BigDecimal;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.app.account.entity.FdAccount;
+import com.app.account.entity.FdTransaction;
+import com.app.account.repository.FdAccountRepository;
+import com.app.account.repository.FdTransactionRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+/**
+ * Maintains the running balance and ledger sequence on FdAccount
+ * Every balance-affecting FdTransaction is posted through here, under the account row lock,
+ * so balance reads are a primary-key lookup and concurrent postings get a deterministic order
+ */
+@Service
+public class AccountLedgerService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AccountLedgerService.class);
+
+    @Autowired
+    private FdAccountRepository accountRepository;
+
+    @Autowired
+    private FdTransactionRepository transactionRepository;
+
+    @Autowired
+    private AccountAggregateService aggregateService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Current balance of an account (no transaction scan once the ledger column is populated)
+     */
+    public BigDecimal getCurrentBalance(FdAccount account) {
+        if (account.getCurrentBalance() != null) {
+            return account.getCurrentBalance();
+        }
+        return legacyBalance(account);
+    }
+
+    /**
+     * Re-read the account with a row lock for the rest of the caller's transaction
+     * Accounts opened before the ledger columns existed are backfilled here
+     * Time spent waiting for the row lock is recorded as ledger.lock.wait
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public FdAccount lockForPosting(FdAccount account) {
+        boolean alreadyLoaded = entityManager.contains(account);
+
+        Timer.Sample lockWait = Timer.start(meterRegistry);
+        FdAccount locked = accountRepository.findByIdForUpdate(account.getId())
+                .orElseThrow(() -> new IllegalArgumentException("Account not found with ID: " + account.getId()));
+        lockWait.stop(meterRegistry.timer("ledger.lock.wait"));
+
+        // The lock query returns the instance already in the persistence context without re-reading it,
+        // so an account loaded before the lock may hold a balance another posting has since moved
+        if (alreadyLoaded) {
+            entityManager.refresh(locked);
+        }
+
+        if (locked.getCurrentBalance() == null) {
+            locked.setCurrentBalance(legacyBalance(locked));
+            logger.info("🔧 Backfilled ledger balance {} for account {}", locked.getCurrentBalance(), locked.getAccountNumber());
+        }
+        if (locked.getLedgerSequence() == null) {
+            locked.setLedgerSequence(0L);
+        }
+        return locked;
+    }
+
+    /**
+     * Post a transaction against a locked account: assigns the next ledger sequence and
+     * moves the account's current balance to the transaction's balanceAfter
+     * The account's aggregate is incremented in place (or backfilled, including this posting, if missing)
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public FdTransaction post(FdAccount lockedAccount, FdTransaction transaction) {
+        long sequence = lockedAccount.getLedgerSequence() + 1;
+
+        transaction.setAccount(lockedAccount);
+        transaction.setLedgerSequence(sequence);
+        FdTransaction saved = transactionRepository.save(transaction);
+
+        lockedAccount.setLedgerSequence(sequence);
+        lockedAccount.setCurrentBalance(transaction.getBalanceAfter());
+        accountRepository.save(lockedAccount);
+        aggregateService.recordPosting(lockedAccount, saved);
+
+        logger.debug("📒 Posted {} #{} on account {}: {} -> {}", transaction.getTransactionType(), sequence,
+                lockedAccount.getAccountNumber(), transaction.getBalanceBefore(), transaction.getBalanceAfter());
+        return saved;
+    }
+
+    /**
+     * Balance from the latest transaction, or principal if none (pre-ledger accounts only)
+     */
+    private BigDecimal legacyBalance(FdAccount account) {
+        return transactionRepository.findFirstByAccountNumberOrderByTransactionDateDesc(account.getAccountNumber())
+                .map(FdTransaction::getBalanceAfter)
+                .orElse(account.getPrincipalAmount());
+    }
+}
@@ -8,14 +8,17 @@ import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import com.app.account.client.CalculatorServiceClient;
 import com.app.account.client.CustomerServiceClient;
 import com.app.account.client.ProductServiceClient;
+import com.app.account.config.CacheConfig;
 import com.app.account.dto.AccountInquiryRequest;
 import com.app.account.dto.AccountResponse;
 import com.app.account.dto.BalanceResponse;
@@ -25,11 +28,15 @@ import com.app.account.dto.external.CalculationResponse;
 import com.app.account.dto.external.CustomerDto;
 import com.app.account.dto.external.ProductDto;
 import com.app.account.entity.FdAccount;
+import com.app.account.event.AccountBookChangedEvent;
 import com.app.account.event.AccountCreatedEvent;
 import com.app.account.event.AlertEvent;
 import com.app.account.repository.FdAccountRepository;
 import com.app.account.util.AccountNumberGenerator;
 
+import reactor.core.publisher.Mono;
+import reactor.util.function.Tuple2;
+
 /**
  * Service layer for FD Account operations
  */
@@ -48,101 +55,56 @@ public class AccountService {
     private ProductServiceClient productServiceClient;
 
     @Autowired
-    private CalculatorServiceClient calculatorServiceClient;
+    private MaturityCalculationService maturityCalculationService;
 
     @Autowired
     private AccountNumberGenerator accountNumberGenerator;
 
+    @Autowired
+    private AccountLedgerService ledgerService;
+
+    @Autowired
+    private AccountAggregateService aggregateService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ApplicationEventPublisher applicationEventPublisher;
+
     @Autowired(required = false)
     private EventPublisher eventPublisher;
 
     /**
      * Create FD Account - VERSION 1: All values defaulted from product
+     * Remote lookups and the maturity calculation run before the database transaction is opened
      */
-    @Transactional
     public AccountResponse createAccountWithDefaults(CreateAccountRequest request, String currentUser) {
         logger.info("📝 Creating FD account with default values for customer: {}", request.getCustomerId());
 
-        // 1. Validate and fetch customer
-        CustomerDto customer = customerServiceClient.getCustomerById(request.getCustomerId());
-        if (customer == null) {
-            throw new RuntimeException("Customer not found with ID: " + request.getCustomerId());
-        }
-
-        // 2. Validate and fetch product
-        ProductDto product = productServiceClient.getProductByCode(request.getProductCode());
-        if (product == null || product.getCurrentlyActive() == null || !product.getCurrentlyActive()) {
+        // 1-2. Fetch customer and product concurrently (no transaction is open while waiting)
+        Tuple2<CustomerDto, ProductDto> remote = fetchCustomerAndProduct(request);
+        CustomerDto customer = remote.getT1();
+        ProductDto product = remote.getT2();
+        if (product.getCurrentlyActive() == null || !product.getCurrentlyActive()) {
             throw new RuntimeException("Product not found or inactive: " + request.getProductCode());
         }
 
         // 3. Validate product constraints (use defaults)
         validateProductConstraints(request, product);
 
-        // 4. Generate account numbers
-        String accountNumber = accountNumberGenerator.generateStandardAccountNumber();
-        String ibanNumber = accountNumberGenerator.generateIBANAccountNumber();
+        // 4. Calculate maturity (in-process, calculator-service as fallback)
+        CalculationResponse calculation = maturityCalculationService.calculateMaturity(
+                defaultCalculationRequest(request, product), request.getEffectiveDate());
 
-        // 5. Calculate maturity using calculator-service
-        CalculationRequest calculationRequest = CalculationRequest.builder()
-                .principalAmount(request.getPrincipalAmount())
-                .interestRate(product.getBaseInterestRate()) // Use product's base rate
-                .tenure(request.getTermMonths())
-                .tenureUnit("MONTHS")
-                .calculationType(product.getInterestCalculationMethod() != null ? 
-                        product.getInterestCalculationMethod() : "SIMPLE")
-                .compoundingFrequency("QUARTERLY") // Default
-                .tdsRate(product.getTdsRate() != null ? product.getTdsRate() : BigDecimal.ZERO)
-                .customerClassifications(null) // TODO: Get from customer if available
-                .build();
-
-        CalculationResponse calculation = calculatorServiceClient.calculateMaturity(calculationRequest);
-
-        // 6. Create FD Account entity
-        FdAccount account = FdAccount.builder()
-                .accountNumber(accountNumber)
-                .ibanNumber(ibanNumber)
-                .accountName(request.getAccountName())
-                // Customer details (denormalized)
-                .customerId(customer.getId())
-                .customerName(customer.getFullName())
-                .customerEmail(customer.getEmail())
-                .customerMobile(customer.getMobileNumber())
-                // Product details (denormalized)
-                .productCode(product.getProductCode())
-                .productName(product.getProductName())
-                .productType(product.getProductType())
-                // Financial details
-                .principalAmount(request.getPrincipalAmount())
-                .interestRate(product.getBaseInterestRate())
-                .termMonths(request.getTermMonths())
-                .maturityAmount(calculation.getMaturityAmount())
-                .interestEarned(calculation.getInterestEarned())
-                // Dates
-                .effectiveDate(request.getEffectiveDate())
-                .maturityDate(calculation.getMaturityDate())
-                // Calculation details
-                .calculationType(calculation.getCalculationType())
-                .compoundingFrequency(calculation.getCompoundingFrequency())
-                // TDS
-                .tdsRate(calculation.getTdsRate())
-                .tdsAmount(calculation.getTdsAmount())
-                .tdsApplicable(product.getTdsApplicable())
-                // Status
-                .status(FdAccount.AccountStatus.ACTIVE)
-                // Branch
-                .branchCode(request.getBranchCode())
-                .branchName(request.getBranchName())
-                // Metadata
-                .remarks(request.getRemarks())
-                .createdBy(currentUser)
-                .updatedBy(currentUser)
-                .build();
+        // 5. Create FD Account entity (generates account numbers)
+        FdAccount account = buildAccountWithDefaults(request, customer, product, calculation, currentUser);
 
-        // 7. Save account
-        FdAccount savedAccount = accountRepository.save(account);
+        // 6. Save account
+        FdAccount savedAccount = saveNewAccount(account);
         logger.info("✅ Account created successfully: {} (IBAN: {})", savedAccount.getAccountNumber(), savedAccount.getIbanNumber());
 
-        // 8. Publish events (if Kafka enabled)
+        // 7. Publish events (if Kafka enabled)
         publishAccountCreatedEvents(savedAccount);
 
         return mapToAccountResponse(savedAccount);
@@ -150,8 +112,8 @@ public class AccountService {
 
     /**
      * Create FD Account - VERSION 2: Customized interest rate within product purview
+     * Remote lookups and the maturity calculation run before the database transaction is opened
      */
-    @Transactional
     public AccountResponse createAccountWithCustomization(CreateAccountRequest request, 
                                                           BigDecimal customInterestRate,
                                                           String customCalculationType,
@@ -159,15 +121,11 @@ public class AccountService {
                                                           String currentUser) {
         logger.info("📝 Creating FD account with customized values for customer: {}", request.getCustomerId());
 
-        // 1. Validate and fetch customer
-        CustomerDto customer = customerServiceClient.getCustomerById(request.getCustomerId());
-        if (customer == null) {
-            throw new RuntimeException("Customer not found with ID: " + request.getCustomerId());
-        }
-
-        // 2. Validate and fetch product
-        ProductDto product = productServiceClient.getProductByCode(request.getProductCode());
-        if (product == null || product.getCurrentlyActive() == null || !product.getCurrentlyActive()) {
+        // 1-2. Fetch customer and product concurrently (no transaction is open while waiting)
+        Tuple2<CustomerDto, ProductDto> remote = fetchCustomerAndProduct(request);
+        CustomerDto customer = remote.getT1();
+        ProductDto product = remote.getT2();
+        if (product.getCurrentlyActive() == null || !product.getCurrentlyActive()) {
             throw new RuntimeException("Product not found or inactive: " + request.getProductCode());
         }
 
@@ -194,7 +152,8 @@ public class AccountService {
                 .customerClassifications(null) // TODO: Get from customer if available
                 .build();
 
-        CalculationResponse calculation = calculatorServiceClient.calculateMaturity(calculationRequest);
+        CalculationResponse calculation = maturityCalculationService.calculateMaturity(
+                calculationRequest, request.getEffectiveDate());
 
         // 7. Create FD Account entity
         FdAccount account = FdAccount.builder()
@@ -212,6 +171,8 @@ public class AccountService {
                 .productType(product.getProductType())
                 // Financial details (with custom rate)
                 .principalAmount(request.getPrincipalAmount())
+                .currentBalance(request.getPrincipalAmount())
+                .ledgerSequence(0L)
                 .interestRate(finalInterestRate)
                 .termMonths(request.getTermMonths())
                 .maturityAmount(calculation.getMaturityAmount())
@@ -238,7 +199,7 @@ public class AccountService {
                 .build();
 
         // 8. Save account
-        FdAccount savedAccount = accountRepository.save(account);
+        FdAccount savedAccount = saveNewAccount(account);
         logger.info("✅ Account created with customization: {} (Rate: {}%)", savedAccount.getAccountNumber(), finalInterestRate);
 
         // 9. Publish events (if Kafka enabled)
@@ -247,6 +208,31 @@ public class AccountService {
         return mapToAccountResponse(savedAccount);
     }
 
+    /**
+     * Fetch the request's customer and product with both calls in flight at once
+     */
+    private Tuple2<CustomerDto, ProductDto> fetchCustomerAndProduct(CreateAccountRequest request) {
+        Mono<CustomerDto> customer = customerServiceClient.getCustomerByIdAsync(request.getCustomerId())
+                .switchIfEmpty(Mono.error(() -> new RuntimeException("Customer not found with ID: " + request.getCustomerId())))
+                .onErrorMap(e -> new RuntimeException("Failed to fetch customer details: " + e.getMessage(), e));
+        Mono<ProductDto> product = productServiceClient.getProductByCodeAsync(request.getProductCode())
+                .onErrorMap(e -> new RuntimeException("Failed to fetch product details: " + e.getMessage(), e));
+
+        return Mono.zip(customer, product).block();
+    }
+
+    /**
+     * Insert a new account and its aggregate row in one short transaction
+     */
+    private FdAccount saveNewAccount(FdAccount account) {
+        return transactionTemplate.execute(status -> {
+            FdAccount savedAccount = accountRepository.save(account);
+            aggregateService.initialize(savedAccount);
+            applicationEventPublisher.publishEvent(AccountBookChangedEvent.opened(savedAccount));
+            return savedAccount;
+        });
+    }
+
     /**
      * Account Inquiry - Find by flexible ID type
      */
@@ -336,6 +322,7 @@ public class AccountService {
                 .accountNumber(account.getAccountNumber())
                 .accountName(account.getAccountName())
                 .principalAmount(account.getPrincipalAmount())
+                .currentBalance(ledgerService.getCurrentBalance(account))
                 .interestEarned(account.getInterestEarned())
                 .maturityAmount(account.getMaturityAmount())
                 .tdsAmount(account.getTdsAmount())
@@ -347,10 +334,78 @@ public class AccountService {
                 .build();
     }
 
+    /**
+     * Calculator request for an account opened with the product's default values
+     */
+    CalculationRequest defaultCalculationRequest(CreateAccountRequest request, ProductDto product) {
+        return CalculationRequest.builder()
+                .principalAmount(request.getPrincipalAmount())
+                .interestRate(product.getBaseInterestRate()) // Use product's base rate
+                .tenure(request.getTermMonths())
+                .tenureUnit("MONTHS")
+                .calculationType(product.getInterestCalculationMethod() != null ? 
+                        product.getInterestCalculationMethod() : "SIMPLE")
+                .compoundingFrequency("QUARTERLY") // Default
+                .tdsRate(product.getTdsRate() != null ? product.getTdsRate() : BigDecimal.ZERO)
+                .customerClassifications(null) // TODO: Get from customer if available
+                .build();
+    }
+
+    /**
+     * Build an unsaved FD account with default values from the product (generates account numbers)
+     */
+    FdAccount buildAccountWithDefaults(CreateAccountRequest request, CustomerDto customer, ProductDto product,
+                                       CalculationResponse calculation, String currentUser) {
+        String accountNumber = accountNumberGenerator.generateStandardAccountNumber();
+        String ibanNumber = accountNumberGenerator.generateIBANAccountNumber();
+
+        return FdAccount.builder()
+                .accountNumber(accountNumber)
+                .ibanNumber(ibanNumber)
+                .accountName(request.getAccountName())
+                // Customer details (denormalized)
+                .customerId(customer.getId())
+                .customerName(customer.getFullName())
+                .customerEmail(customer.getEmail())
+                .customerMobile(customer.getMobileNumber())
+                // Product details (denormalized)
+                .productCode(product.getProductCode())
+                .productName(product.getProductName())
+                .productType(product.getProductType())
+                // Financial details
+                .principalAmount(request.getPrincipalAmount())
+                .currentBalance(request.getPrincipalAmount())
+                .ledgerSequence(0L)
+                .interestRate(product.getBaseInterestRate())
+                .termMonths(request.getTermMonths())
+                .maturityAmount(calculation.getMaturityAmount())
+                .interestEarned(calculation.getInterestEarned())
+                // Dates
+                .effectiveDate(request.getEffectiveDate())
+                .maturityDate(calculation.getMaturityDate())
+                // Calculation details
+                .calculationType(calculation.getCalculationType())
+                .compoundingFrequency(calculation.getCompoundingFrequency())
+                // TDS
+                .tdsRate(calculation.getTdsRate())
+                .tdsAmount(calculation.getTdsAmount())
+                .tdsApplicable(product.getTdsApplicable())
+                // Status
+                .status(FdAccount.AccountStatus.ACTIVE)
+                // Branch
+                .branchCode(request.getBranchCode())
+                .branchName(request.getBranchName())
+                // Metadata
+                .remarks(request.getRemarks())
+                .createdBy(currentUser)
+                .updatedBy(currentUser)
+                .build();
+    }
+
     /**
      * Validate product constraints
      */
-    private void validateProductConstraints(CreateAccountRequest request, ProductDto product) {
+    void validateProductConstraints(CreateAccountRequest request, ProductDto product) {
         // Validate amount range
         if (product.getMinAmount() != null && request.getPrincipalAmount().compareTo(product.getMinAmount()) < 0) {
             throw new RuntimeException(String.format("Principal amount %.2f is below minimum %.2f for product %s",
@@ -401,7 +456,7 @@ public class AccountService {
     /**
      * Map entity to response DTO
      */
-    private AccountResponse mapToAccountResponse(FdAccount account) {
+    AccountResponse mapToAccountResponse(FdAccount account) {
         return AccountResponse.builder()
                 .id(account.getId())
                 .accountNumber(account.getAccountNumber())
@@ -440,12 +495,30 @@ public class AccountService {
 
     /**
      * Get customer ID by username
+     * Cached per username; unknown users are not cached so a newly created customer profile is picked up
      */
+    @Cacheable(value = CacheConfig.CUSTOMER_IDS_BY_USERNAME, key = "#username", unless = "#result == null")
     public Long getCustomerIdByUsername(String username) {
         CustomerDto customer = customerServiceClient.getCustomerByUsername(username);
         return customer != null ? customer.getId() : null;
     }
 
+    /**
+     * Drop a cached username -> customer ID mapping
+     */
+    @CacheEvict(value = CacheConfig.CUSTOMER_IDS_BY_USERNAME, key = "#username")
+    public void evictCustomerId(String username) {
+        logger.info("🧹 Evicted cached customer ID for user: {}", username);
+    }
+
+    /**
+     * Drop all cached username -> customer ID mappings
+     */
+    @CacheEvict(value = CacheConfig.CUSTOMER_IDS_BY_USERNAME, allEntries = true)
+    public void evictAllCustomerIds() {
+        logger.info("🧹 Evicted all cached customer IDs");
+    }
+
     /**
      * Get account by account number (for RBAC checks)
      */
@@ -498,39 +571,51 @@ public class AccountService {
 
         try {
             // 1. Publish AccountCreatedEvent
-            AccountCreatedEvent accountEvent = AccountCreatedEvent.builder()
-                    .accountNumber(account.getAccountNumber())
-                    .accountName(account.getAccountName())
-                    .customerId(account.getCustomerId())
-                    .customerEmail(account.getCustomerEmail())
-                    .productCode(account.getProductCode())
-                    .principalAmount(account.getPrincipalAmount())
-                    .interestRate(account.getInterestRate().doubleValue())
-                    .termMonths(account.getTermMonths())
-                    .status(account.getStatus().toString())
-                    .createdAt(account.getCreatedAt())
-                    .eventType("ACCOUNT_CREATED")
-                    .build();
-            eventPublisher.publishAccountCreated(accountEvent);
+            eventPublisher.publishAccountCreated(accountCreatedEvent(account));
 
             // 2. Publish AlertEvent for customer
-            AlertEvent alertEvent = AlertEvent.builder()
-                    .customerId(account.getCustomerId())
-                    .customerEmail(account.getCustomerEmail())
-                    .alertType("ACCOUNT_CREATED")
-                    .subject("FD Account Created Successfully")
-                    .message(String.format("Your Fixed Deposit account %s has been created with principal amount ₹%s",
-                            account.getAccountNumber(), account.getPrincipalAmount()))
-                    .accountNumber(account.getAccountNumber())
-                    .severity("INFO")
-                    .timestamp(account.getCreatedAt())
-                    .eventType("ALERT")
-                    .build();
-            eventPublisher.publishAlert(alertEvent);
+            eventPublisher.publishAlert(accountCreatedAlert(account));
 
         } catch (Exception e) {
             // Don't fail account creation if event publishing fails
             logger.error("❌ Error publishing account events (non-critical): {}", e.getMessage());
         }
     }
+
+    /**
+     * AccountCreatedEvent for a saved account
+     */
+    AccountCreatedEvent accountCreatedEvent(FdAccount account) {
+        return AccountCreatedEvent.builder()
+                .accountNumber(account.getAccountNumber())
+                .accountName(account.getAccountName())
+                .customerId(account.getCustomerId())
+                .customerEmail(account.getCustomerEmail())
+                .productCode(account.getProductCode())
+                .principalAmount(account.getPrincipalAmount())
+                .interestRate(account.getInterestRate().doubleValue())
+                .termMonths(account.getTermMonths())
+                .status(account.getStatus().toString())
+                .createdAt(account.getCreatedAt())
+                .eventType("ACCOUNT_CREATED")
+                .build();
+    }
+
+    /**
+     * Customer alert for a saved account
+     */
+    AlertEvent accountCreatedAlert(FdAccount account) {
+        return AlertEvent.builder()
+                .customerId(account.getCustomerId())
+                .customerEmail(account.getCustomerEmail())
+                .alertType("ACCOUNT_CREATED")
+                .subject("FD Account Created Successfully")
+                .message(String.format("Your Fixed Deposit account %s has been created with principal amount ₹%s",
+                        account.getAccountNumber(), account.getPrincipalAmount()))
+                .accountNumber(account.getAccountNumber())
+                .severity("INFO")
+                .timestamp(account.getCreatedAt())
+                .eventType("ALERT")
+                .build();
+    }
 }
@@ -0,0 +1,359 @@
+package com.app.account.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.app.account.batch.AccountBulkWriter;
+import com.app.account.client.CustomerServiceClient;
+import com.app.account.client.ProductServiceClient;
+import com.app.account.dto.BulkAccountResult;
+import com.app.account.dto.BulkAccountResult.RowStatus;
+import com.app.account.dto.BulkCreateAccountResponse;
+import com.app.account.dto.CreateAccountRequest;
+import com.app.account.dto.external.CalculationResponse;
+import com.app.account.dto.external.CustomerDto;
+import com.app.account.dto.external.ProductDto;
+import com.app.account.entity.FdAccount;
+import com.app.account.event.AccountBookChangedEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+/**
+ * Bulk FD account opening (branch migrations, corporate onboarding files)
+ *
+ * Rows are processed in chunks. Per chunk, distinct customers are fetched with one batch call,
+ * each distinct product code is resolved once per request, maturities are calculated in-process,
+ * and the chunk's accounts are inserted with JDBC batches in one transaction. If that insert fails,
+ * the chunk's rows are retried one transaction each, so every row gets its own result -
+ * a bad row never fails its neighbours.
+ */
+@Service
+public class BulkAccountService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BulkAccountService.class);
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private CustomerServiceClient customerServiceClient;
+
+    @Autowired
+    private ProductServiceClient productServiceClient;
+
+    @Autowired
+    private MaturityCalculationService maturityCalculationService;
+
+    @Autowired
+    private AccountBulkWriter bulkWriter;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ApplicationEventPublisher applicationEventPublisher;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired(required = false)
+    private EventPublisher eventPublisher;
+
+    @Value("${bulk-account.chunk-size:500}")
+    private int chunkSize;
+
+    /**
+     * Open accounts for a list of requests (all with product default values)
+     */
+    public BulkCreateAccountResponse createAccounts(List<CreateAccountRequest> requests, String currentUser) {
+        logger.info("📦 Bulk account opening: {} rows by {}", requests.size(), currentUser);
+
+        BulkContext context = new BulkContext(currentUser);
+        List<Row> chunk = new ArrayList<>(chunkSize);
+        for (int i = 0; i < requests.size(); i++) {
+            chunk.add(new Row(i + 1, requests.get(i), null));
+            if (chunk.size() == chunkSize) {
+                processChunk(chunk, context);
+                chunk.clear();
+            }
+        }
+        processChunk(chunk, context);
+
+        return context.toResponse();
+    }
+
+    /**
+     * Open accounts from an NDJSON stream (one CreateAccountRequest per line)
+     * The body is read chunk by chunk, so the whole file is never held in memory as requests
+     */
+    public BulkCreateAccountResponse createAccounts(InputStream ndjson, String currentUser) throws IOException {
+        logger.info("📦 Bulk account opening from NDJSON stream by {}", currentUser);
+
+        BulkContext context = new BulkContext(currentUser);
+        List<Row> chunk = new ArrayList<>(chunkSize);
+        BufferedReader reader = new BufferedReader(new InputStreamReader(ndjson, StandardCharsets.UTF_8));
+
+        String line;
+        int rowNumber = 0;
+        while ((line = reader.readLine()) != null) {
+            if (line.isBlank()) {
+                continue;
+            }
+            rowNumber++;
+            try {
+                chunk.add(new Row(rowNumber, objectMapper.readValue(line, CreateAccountRequest.class), null));
+            } catch (JsonProcessingException e) {
+                chunk.add(new Row(rowNumber, null, "Invalid JSON: " + e.getOriginalMessage()));
+            }
+            if (chunk.size() == chunkSize) {
+                processChunk(chunk, context);
+                chunk.clear();
+            }
+        }
+        processChunk(chunk, context);
+
+        return context.toResponse();
+    }
+
+    private void processChunk(List<Row> rows, BulkContext context) {
+        if (rows.isEmpty()) {
+            return;
+        }
+
+        // 1. Bean validation per row
+        List<Row> valid = new ArrayList<>(rows.size());
+        for (Row row : rows) {
+            String error = row.error() != null ? row.error() : validate(row.request());
+            if (error != null) {
+                context.fail(row, error);
+            } else {
+                valid.add(row);
+            }
+        }
+
+        // 2. Resolve distinct products and customers not seen in earlier chunks
+        resolveProducts(valid, context);
+        try {
+            resolveCustomers(valid, context);
+        } catch (RuntimeException e) {
+            // customer-service unavailable: fail this chunk's rows and carry on, earlier chunks stay reported
+            logger.error("❌ Customer lookup for bulk chunk of {} rows failed: {}", valid.size(), e.getMessage(), e);
+            valid.forEach(row -> context.fail(row, "Failed to fetch customer details: " + e.getMessage()));
+            return;
+        }
+
+        // 3. Build accounts
+        List<FdAccount> accounts = new ArrayList<>(valid.size());
+        List<Row> accountRows = new ArrayList<>(valid.size());
+        for (Row row : valid) {
+            try {
+                accounts.add(buildAccount(row.request(), context));
+                accountRows.add(row);
+            } catch (RuntimeException e) {
+                context.fail(row, e.getMessage());
+            }
+        }
+
+        // 4. Insert the chunk in one transaction; if that fails, retry row by row so only bad rows are rejected
+        List<FdAccount> saved = accounts;
+        List<Row> savedRows = accountRows;
+        try {
+            insert(accounts);
+        } catch (RuntimeException e) {
+            logger.warn("⚠️ Bulk insert of {} accounts failed, retrying row by row: {}", accounts.size(), e.getMessage());
+            saved = new ArrayList<>(accounts.size());
+            savedRows = new ArrayList<>(accounts.size());
+            for (int i = 0; i < accounts.size(); i++) {
+                try {
+                    insert(List.of(accounts.get(i)));
+                    saved.add(accounts.get(i));
+                    savedRows.add(accountRows.get(i));
+                } catch (RuntimeException rowError) {
+                    context.fail(accountRows.get(i), "Failed to save account: " + rowError.getMessage());
+                }
+            }
+        }
+
+        for (int i = 0; i < saved.size(); i++) {
+            context.created(savedRows.get(i), saved.get(i));
+        }
+        logger.info("✅ Bulk chunk saved: {} accounts created, {} rows rejected", saved.size(), rows.size() - saved.size());
+
+        // 5. Publish the chunk's events together (if Kafka enabled)
+        publishEvents(saved);
+    }
+
+    /**
+     * Insert accounts in one transaction (all or none)
+     */
+    private void insert(List<FdAccount> accounts) {
+        transactionTemplate.executeWithoutResult(status -> {
+            bulkWriter.write(accounts);
+            accounts.forEach(account -> applicationEventPublisher.publishEvent(AccountBookChangedEvent.opened(account)));
+        });
+    }
+
+    private String validate(CreateAccountRequest request) {
+        if (request == null) {
+            // A JSON null row (array element or NDJSON line)
+            return "Empty row: expected a CreateAccountRequest object";
+        }
+        Set<ConstraintViolation<CreateAccountRequest>> violations = validator.validate(request);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    private void resolveProducts(List<Row> rows, BulkContext context) {
+        Set<String> codes = rows.stream()
+                .map(row -> row.request().getProductCode())
+                .filter(code -> !context.products.containsKey(code) && !context.productErrors.containsKey(code))
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+
+        for (String code : codes) {
+            try {
+                ProductDto product = productServiceClient.getProductByCode(code);
+                if (product == null || product.getCurrentlyActive() == null || !product.getCurrentlyActive()) {
+                    context.productErrors.put(code, "Product not found or inactive: " + code);
+                } else {
+                    context.products.put(code, product);
+                }
+            } catch (RuntimeException e) {
+                context.productErrors.put(code, "Product not found or inactive: " + code);
+            }
+        }
+    }
+
+    private void resolveCustomers(List<Row> rows, BulkContext context) {
+        Set<Long> ids = rows.stream()
+                .map(row -> row.request().getCustomerId())
+                .filter(id -> !context.customers.containsKey(id) && !context.missingCustomers.contains(id))
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        if (ids.isEmpty()) {
+            return;
+        }
+
+        Map<Long, CustomerDto> found = customerServiceClient.getCustomersByIds(ids);
+        context.customers.putAll(found);
+        ids.stream().filter(id -> !found.containsKey(id)).forEach(context.missingCustomers::add);
+    }
+
+    private FdAccount buildAccount(CreateAccountRequest request, BulkContext context) {
+        CustomerDto customer = context.customers.get(request.getCustomerId());
+        if (customer == null) {
+            throw new RuntimeException("Customer not found with ID: " + request.getCustomerId());
+        }
+
+        ProductDto product = context.products.get(request.getProductCode());
+        if (product == null) {
+            throw new RuntimeException(context.productErrors.get(request.getProductCode()));
+        }
+
+        accountService.validateProductConstraints(request, product);
+
+        CalculationResponse calculation = maturityCalculationService.calculateMaturity(
+                accountService.defaultCalculationRequest(request, product), request.getEffectiveDate());
+
+        return accountService.buildAccountWithDefaults(request, customer, product, calculation, context.currentUser);
+    }
+
+    private void publishEvents(List<FdAccount> accounts) {
+        if (eventPublisher == null || accounts.isEmpty()) {
+            return;
+        }
+
+        try {
+            eventPublisher.publishAccountsCreated(
+                    accounts.stream().map(accountService::accountCreatedEvent).toList(),
+                    accounts.stream().map(accountService::accountCreatedAlert).toList());
+        } catch (Exception e) {
+            // Don't fail account creation if event publishing fails
+            logger.error("❌ Error publishing bulk account events (non-critical): {}", e.getMessage());
+        }
+    }
+
+    /**
+     * One input row (request is null when the row could not be parsed)
+     */
+    private record Row(int rowNumber, CreateAccountRequest request, String error) {
+    }
+
+    /**
+     * Lookups and results shared by all chunks of one bulk request
+     */
+    private static class BulkContext {
+
+        private final String currentUser;
+        private final Map<String, ProductDto> products = new HashMap<>();
+        private final Map<String, String> productErrors = new HashMap<>();
+        private final Map<Long, CustomerDto> customers = new HashMap<>();
+        private final Set<Long> missingCustomers = new LinkedHashSet<>();
+        private final List<BulkAccountResult> results = new ArrayList<>();
+        private int created;
+
+        BulkContext(String currentUser) {
+            this.currentUser = currentUser;
+        }
+
+        void created(Row row, FdAccount account) {
+            created++;
+            results.add(BulkAccountResult.builder()
+                    .rowNumber(row.rowNumber())
+                    .status(RowStatus.CREATED)
+                    .accountId(account.getId())
+                    .accountNumber(account.getAccountNumber())
+                    .ibanNumber(account.getIbanNumber())
+                    .customerId(account.getCustomerId())
+                    .build());
+        }
+
+        void fail(Row row, String message) {
+            results.add(BulkAccountResult.builder()
+                    .rowNumber(row.rowNumber())
+                    .status(RowStatus.FAILED)
+                    .customerId(row.request() != null ? row.request().getCustomerId() : null)
+                    .message(message)
+                    .build());
+        }
+
+        BulkCreateAccountResponse toResponse() {
+            results.sort((a, b) -> Integer.compare(a.getRowNumber(), b.getRowNumber()));
+            logger.info("📦 Bulk account opening completed: {} rows, {} created, {} failed",
+                    results.size(), created, results.size() - created);
+            return BulkCreateAccountResponse.builder()
+                    .totalRows(results.size())
+                    .created(created)
+                    .failed(results.size() - created)
+                    .results(results)
+                    .build();
+        }
+    }
+}
@@ -13,6 +13,11 @@ import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
 /**
  * Simple Kafka event publisher
  * Only activates if kafka.enabled=true
@@ -97,4 +102,56 @@ public class EventPublisher {
             logger.error("❌ Error serializing AlertEvent: {}", e.getMessage());
         }
     }
+
+    /**
+     * Publish account created events and customer alerts for a bulk of accounts
+     * Sends are handed to the producer back to back so they share producer batches;
+     * each event is serialized and sent on its own (a bad event does not drop the others),
+     * and one summary line with the acknowledged counts is logged when all sends have completed
+     */
+    public void publishAccountsCreated(List<AccountCreatedEvent> events, List<AlertEvent> alerts) {
+        List<CompletableFuture<?>> sends = new ArrayList<>(events.size() + alerts.size());
+        AtomicInteger publishedEvents = new AtomicInteger();
+        AtomicInteger publishedAlerts = new AtomicInteger();
+
+        for (AccountCreatedEvent event : events) {
+            try {
+                String eventJson = objectMapper.writeValueAsString(event);
+                sends.add(kafkaTemplate.send(accountCreatedTopic, event.getAccountNumber(), eventJson)
+                        .whenComplete((result, ex) -> {
+                            if (ex == null) {
+                                publishedEvents.incrementAndGet();
+                            } else {
+                                logger.error("❌ Failed to publish AccountCreatedEvent for account {}: {}",
+                                        event.getAccountNumber(), ex.getMessage());
+                            }
+                        }));
+            } catch (JsonProcessingException e) {
+                logger.error("❌ Error serializing AccountCreatedEvent for account {}: {}",
+                        event.getAccountNumber(), e.getMessage());
+            }
+        }
+
+        for (AlertEvent alert : alerts) {
+            try {
+                String alertJson = objectMapper.writeValueAsString(alert);
+                sends.add(kafkaTemplate.send(alertTopic, alert.getCustomerId().toString(), alertJson)
+                        .whenComplete((result, ex) -> {
+                            if (ex == null) {
+                                publishedAlerts.incrementAndGet();
+                            } else {
+                                logger.error("❌ Failed to publish AlertEvent for customer {}: {}",
+                                        alert.getCustomerId(), ex.getMessage());
+                            }
+                        }));
+            } catch (JsonProcessingException e) {
+                logger.error("❌ Error serializing AlertEvent for customer {}: {}", alert.getCustomerId(), e.getMessage());
+            }
+        }
+
+        // allOf completes once every send has completed, successfully or not
+        CompletableFuture.allOf(sends.toArray(new CompletableFuture[0]))
+                .whenComplete((result, ex) -> logger.info("✅ Published {}/{} AccountCreatedEvents and {}/{} AlertEvents",
+                        publishedEvents.get(), events.size(), publishedAlerts.get(), alerts.size()));
+    }
 }
@@ -8,25 +8,25 @@ import java.time.format.DateTimeFormatter;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.concurrent.atomic.AtomicLong;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import com.app.account.dto.InterestCalculationRequest;
 import com.app.account.dto.InterestCalculationResponse;
 import com.app.account.entity.FdAccount;
 import com.app.account.entity.FdAccount.AccountStatus;
+import com.app.account.entity.FdAccountAggregate;
 import com.app.account.entity.FdTransaction;
 import com.app.account.entity.FdTransaction.TransactionStatus;
 import com.app.account.entity.FdTransaction.TransactionType;
 import com.app.account.repository.FdAccountRepository;
 import com.app.account.repository.FdTransactionRepository;
 
+import com.app.common.util.IdGenerator;
+
 import jakarta.servlet.http.HttpServletRequest;
 
 /**
@@ -37,7 +37,6 @@ import jakarta.servlet.http.HttpServletRequest;
 public class InterestCalculationService {
 
     private static final Logger logger = LoggerFactory.getLogger(InterestCalculationService.class);
-    private static final AtomicLong transactionCounter = new AtomicLong(6000);
     private static final int DAYS_IN_YEAR = 365;
 
     @Autowired
@@ -46,14 +45,32 @@ public class InterestCalculationService {
     @Autowired
     private FdTransactionRepository transactionRepository;
 
+    @Autowired
+    private AccountLedgerService ledgerService;
+
+    @Autowired
+    private IdGenerator idGenerator;
+
+    @Autowired
+    private LedgerPostingTemplate postingTemplate;
+
+    @Autowired
+    private AccountAggregateService aggregateService;
+
     @Autowired(required = false)
     private HttpServletRequest httpServletRequest;
 
     /**
      * Calculate and optionally credit interest for an FD account
      */
-    @Transactional
     public InterestCalculationResponse calculateInterest(InterestCalculationRequest request, String currentUser) {
+        return postingTemplate.execute("interest", () -> processInterest(request, currentUser));
+    }
+
+    /**
+     * Calculate and post interest (one attempt, inside the posting template's transaction)
+     */
+    private InterestCalculationResponse processInterest(InterestCalculationRequest request, String currentUser) {
         logger.info("💰 Processing interest calculation: Account={}, CreditInterest={}, ApplyTDS={}", 
                 request.getAccountNumber(), 
                 request.getCreditInterestOrDefault(), 
@@ -62,6 +79,10 @@ public class InterestCalculationService {
         // 1. Find account
         FdAccount account = accountRepository.findByAccountNumber(request.getAccountNumber())
                 .orElseThrow(() -> new IllegalArgumentException("Account not found: " + request.getAccountNumber()));
+        if (request.getCreditInterestOrDefault()) {
+            // Lock the account row - this request posts to the ledger
+            account = ledgerService.lockForPosting(account);
+        }
 
         // 2. Validate account is active
         if (account.getStatus() == AccountStatus.CLOSED) {
@@ -126,23 +147,13 @@ public class InterestCalculationService {
         }
 
         // 6. Get current balance
-        BigDecimal balanceBefore = getCurrentBalance(account);
-
-        // 7. Get previous interest/TDS summary
-        BigDecimal totalInterestCredited = transactionRepository
-                .findByAccountNumberAndTransactionType(account.getAccountNumber(), TransactionType.INTEREST_CREDIT, Pageable.unpaged())
-                .stream()
-                .map(FdTransaction::getAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        BigDecimal balanceBefore = ledgerService.getCurrentBalance(account);
 
-        BigDecimal totalTdsDeducted = transactionRepository
-                .findByAccountNumberAndTransactionType(account.getAccountNumber(), TransactionType.TDS_DEDUCTION, Pageable.unpaged())
-                .stream()
-                .map(FdTransaction::getAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        Long previousInterestCredits = transactionRepository
-                .countByAccountNumberAndTransactionType(account.getAccountNumber(), TransactionType.INTEREST_CREDIT);
+        // 7. Get previous interest/TDS summary (read before posting - the aggregate moves with each posting)
+        FdAccountAggregate aggregate = aggregateService.getAggregate(account);
+        BigDecimal totalInterestCredited = aggregate.getInterestCreditTotal();
+        BigDecimal totalTdsDeducted = aggregate.getTdsTotal();
+        Long previousInterestCredits = aggregate.getInterestCreditCount();
 
         // 8. Credit interest and deduct TDS (if requested)
         String interestTransactionId = null;
@@ -271,7 +282,7 @@ public class InterestCalculationService {
                                             LocalDate fromDate, LocalDate toDate,
                                             String paymentReference, String remarks,
                                             String currentUser) {
-        String transactionId = generateTransactionId();
+        String transactionId = idGenerator.nextId("TXN");
         String description = String.format("Interest for period %s to %s (%d days)", 
                 fromDate, toDate, ChronoUnit.DAYS.between(fromDate, toDate));
 
@@ -297,7 +308,7 @@ public class InterestCalculationService {
                 .ipAddress(getClientIpAddress())
                 .build();
 
-        transactionRepository.save(transaction);
+        ledgerService.post(account, transaction);
         return transactionId;
     }
 
@@ -308,7 +319,7 @@ public class InterestCalculationService {
                                        BigDecimal balanceBefore, BigDecimal balanceAfter,
                                        LocalDate fromDate, LocalDate toDate,
                                        String paymentReference, String currentUser) {
-        String transactionId = generateTransactionId();
+        String transactionId = idGenerator.nextId("TXN");
         String description = String.format("TDS on interest for period %s to %s", fromDate, toDate);
 
         FdTransaction transaction = FdTransaction.builder()
@@ -333,28 +344,10 @@ public class InterestCalculationService {
                 .ipAddress(getClientIpAddress())
                 .build();
 
-        transactionRepository.save(transaction);
+        ledgerService.post(account, transaction);
         return transactionId;
     }
 
-    /**
-     * Get current balance from latest transaction or principal
-     */
-    private BigDecimal getCurrentBalance(FdAccount account) {
-        return transactionRepository.findFirstByAccountNumberOrderByTransactionDateDesc(account.getAccountNumber())
-                .map(FdTransaction::getBalanceAfter)
-                .orElse(account.getPrincipalAmount());
-    }
-
-    /**
-     * Generate unique transaction ID
-     */
-    private String generateTransactionId() {
-        String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMddHHmmss"));
-        long counter = transactionCounter.incrementAndGet();
-        return "TXN-" + timestamp + "-" + String.format("%04d", counter);
-    }
-
     /**
      * Get client IP address
      */
@@ -0,0 +1,84 @@
+package com.app.account.service;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Runs a ledger posting in its own transaction and retries it on concurrency failures
+ * (optimistic version conflicts on FdAccount, lock wait timeouts and deadlocks on the account row)
+ * Must be the outermost transaction boundary - a retry inside a caller's transaction cannot succeed
+ */
+@Component
+public class LedgerPostingTemplate {
+
+    private static final Logger logger = LoggerFactory.getLogger(LedgerPostingTemplate.class);
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${ledger.posting.max-attempts:3}")
+    private int maxAttempts;
+
+    @Value("${ledger.posting.retry-backoff-ms:20}")
+    private long retryBackoffMs;
+
+    /**
+     * Execute the posting, retrying up to ledger.posting.max-attempts times
+     */
+    public <T> T execute(String operation, Supplier<T> posting) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> posting.get());
+            } catch (ConcurrencyFailureException e) {
+                String reason = e instanceof OptimisticLockingFailureException ? "optimistic" : "lock";
+
+                if (attempt >= maxAttempts) {
+                    counter("ledger.posting.failures", operation, reason).increment();
+                    logger.error("❌ Ledger posting {} failed after {} attempts ({}): {}",
+                            operation, attempt, reason, e.getMessage());
+                    throw e;
+                }
+
+                counter("ledger.posting.retries", operation, reason).increment();
+                logger.warn("🔁 Ledger posting {} hit a {} conflict, retrying (attempt {}/{})",
+                        operation, reason, attempt + 1, maxAttempts);
+                backoff(attempt);
+            }
+        }
+    }
+
+    private Counter counter(String name, String operation, String reason) {
+        return Counter.builder(name)
+                .tag("operation", operation)
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Linear backoff with jitter so colliding postings do not retry in lockstep
+     */
+    private void backoff(int attempt) {
+        long delay = retryBackoffMs * attempt + ThreadLocalRandom.current().nextLong(retryBackoffMs + 1);
+        try {
+            Thread.sleep(delay);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while retrying ledger posting", e);
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.app.account.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.app.account.client.CalculatorServiceClient;
+import com.app.account.dto.external.CalculationRequest;
+import com.app.account.dto.external.CalculationResponse;
+import com.app.common.calculation.FdMaturityCalculator;
+import com.app.common.calculation.MaturityResult;
+
+/**
+ * Maturity calculation for account opening
+ * Computed in-process with the shared FdMaturityCalculator; calculator-service is only called
+ * for requests the shared math does not cover (customer classification bonuses, non-month tenures)
+ * or when local calculation is switched off
+ */
+@Service
+public class MaturityCalculationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(MaturityCalculationService.class);
+
+    // calculator-service caps standalone calculations at 8.5% - applied here so both paths agree
+    private static final BigDecimal STANDALONE_MAX_RATE = BigDecimal.valueOf(8.5);
+
+    @Autowired
+    private CalculatorServiceClient calculatorServiceClient;
+
+    @Value("${integration.calculator-service.local-calculation:true}")
+    private boolean localCalculation;
+
+    @Value("${integration.calculator-service.remote-fallback:true}")
+    private boolean remoteFallback;
+
+    /**
+     * Calculate maturity for a deposit starting on startDate
+     */
+    public CalculationResponse calculateMaturity(CalculationRequest request, LocalDate startDate) {
+        if (!localCalculation) {
+            return calculateRemotely(request, startDate);
+        }
+
+        try {
+            return calculateLocally(request, startDate);
+        } catch (IllegalArgumentException e) {
+            if (!remoteFallback) {
+                throw new RuntimeException("Failed to calculate FD maturity: " + e.getMessage(), e);
+            }
+            logger.info("↪️ Falling back to calculator-service: {}", e.getMessage());
+            return calculateRemotely(request, startDate);
+        }
+    }
+
+    private CalculationResponse calculateLocally(CalculationRequest request, LocalDate startDate) {
+        if (!"MONTHS".equalsIgnoreCase(request.getTenureUnit())) {
+            throw new IllegalArgumentException("Tenure unit " + request.getTenureUnit() + " is not supported in-process");
+        }
+        if (request.getCustomerClassifications() != null && !request.getCustomerClassifications().isEmpty()) {
+            throw new IllegalArgumentException("Customer classification bonuses are only applied by calculator-service");
+        }
+
+        BigDecimal rate = request.getInterestRate().min(STANDALONE_MAX_RATE);
+        MaturityResult result = FdMaturityCalculator.calculate(request.getPrincipalAmount(), rate, request.getTenure(),
+                request.getCalculationType(), request.getCompoundingFrequency(), request.getTdsRate(), startDate);
+
+        logger.debug("🧮 In-process maturity: Principal={}, Rate={}, Term={}m -> Maturity={}",
+                result.principalAmount(), rate, result.termMonths(), result.maturityAmount());
+
+        return CalculationResponse.builder()
+                .principalAmount(result.principalAmount())
+                .interestRate(rate)
+                .tenureMonths(result.termMonths())
+                .calculationType(request.getCalculationType().toUpperCase())
+                .compoundingFrequency(request.getCompoundingFrequency())
+                .maturityAmount(result.maturityAmount())
+                .interestEarned(result.interestEarned())
+                .tdsAmount(result.tdsAmount())
+                .tdsRate(result.tdsRate())
+                .startDate(result.startDate())
+                .maturityDate(result.maturityDate())
+                .effectiveInterestRate(rate)
+                .build();
+    }
+
+    private CalculationResponse calculateRemotely(CalculationRequest request, LocalDate startDate) {
+        CalculationResponse calculation = calculatorServiceClient.calculateMaturity(request);
+
+        // calculator-service dates the deposit from today; the account always runs from its effective date
+        if ("MONTHS".equalsIgnoreCase(request.getTenureUnit())) {
+            calculation.setStartDate(startDate);
+            calculation.setMaturityDate(startDate.plusMonths(request.getTenure()));
+        }
+        return calculation;
+    }
+}
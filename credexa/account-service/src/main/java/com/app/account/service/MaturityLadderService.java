@@ -0,0 +1,379 @@
+package com.app.account.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.app.account.batch.BatchTimeService;
+import com.app.account.config.CacheConfig;
+import com.app.account.dto.MaturityLadderResponse;
+import com.app.account.dto.MaturityLadderResponse.Bucket;
+import com.app.account.dto.MaturityLadderResponse.Granularity;
+import com.app.account.entity.FdAccount.AccountStatus;
+import com.app.account.event.AccountBookChangedEvent;
+import com.app.account.repository.FdAccountRepository;
+import com.app.account.repository.FdAccountRepository.MaturityDateView;
+import com.github.benmanes.caffeine.cache.Cache;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Portfolio maturity ladder (projected maturity cash flows of the ACTIVE book)
+ *
+ * The book is aggregated per maturity date with one GROUP BY query and cached per
+ * (business date, branch, product). Opens, maturities, closures and capitalizations publish
+ * AccountBookChangedEvent inside their transaction; the delta is applied to every matching cached
+ * book once that transaction commits, so reads never re-scan fd_accounts.
+ *
+ * A load is only accepted if no change to its branch / product was in flight when it finished and
+ * none completed while it ran - otherwise the query may or may not have seen that change, and the
+ * load is retried (outside the cache's compute, so a retry never holds the key). A change that starts
+ * after the check commits after the query and is applied as a delta, so a cached book tracks every
+ * change made through this instance. Day / week / month buckets are rolled up from the daily book on
+ * each request.
+ *
+ * AccountBookChangedEvent is an in-JVM event: changes committed by other account-service instances
+ * are not applied here. Books expire cache.maturity-ladder.ttl after they were loaded, which bounds
+ * how far a cached ladder can drift from the database when several instances write.
+ */
+@Service
+public class MaturityLadderService {
+
+    private static final Logger logger = LoggerFactory.getLogger(MaturityLadderService.class);
+
+    @Autowired
+    private FdAccountRepository accountRepository;
+
+    @Autowired
+    private BatchTimeService batchTimeService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Value("${cache.maturity-ladder.load-attempts:5}")
+    private int loadAttempts;
+
+    @Value("${cache.maturity-ladder.load-retry-backoff-ms:50}")
+    private long loadRetryBackoffMs;
+
+    private Cache<Object, Object> ladders;
+
+    // Guards changesInFlight, loadingBooks and every DailyBook's state
+    private final Object bookLock = new Object();
+
+    // Book changes published in a transaction that has not completed yet, per (branch, product)
+    private final Map<ChangeScope, Integer> changesInFlight = new HashMap<>();
+
+    // Books being loaded, or loaded but not yet visible in the cache
+    private final Set<DailyBook> loadingBooks = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    @PostConstruct
+    void init() {
+        ladders = ((CaffeineCache) cacheManager.getCache(CacheConfig.MATURITY_LADDERS)).getNativeCache();
+    }
+
+    /**
+     * Ladder of the ACTIVE book from the current business date
+     *
+     * @param branchCode optional branch filter
+     * @param productCode optional product filter
+     * @param to optional last maturity date to include
+     * @throws IllegalArgumentException if to is before the business date
+     * @throws IllegalStateException if the filtered book kept changing during every load attempt
+     */
+    public MaturityLadderResponse getLadder(Granularity granularity, String branchCode, String productCode, LocalDate to) {
+        LocalDate businessDate = batchTimeService.getBatchDate();
+        if (to != null && to.isBefore(businessDate)) {
+            throw new IllegalArgumentException("'to' (" + to + ") must not be before the business date " + businessDate);
+        }
+
+        LadderKey key = new LadderKey(businessDate, blankToNull(branchCode), blankToNull(productCode));
+        DailyBook book = getOrLoad(key);
+        if (!book.installed) {
+            synchronized (bookLock) {
+                loadingBooks.remove(book);
+                book.installed = true;
+            }
+        }
+
+        NavigableMap<LocalDate, DayTotals> days = to != null ? book.days.headMap(to, true) : book.days;
+        Totals overdue = new Totals(null, businessDate.minusDays(1));
+        Totals total = new Totals(null, to);
+        List<Bucket> buckets = new ArrayList<>();
+        Totals current = null;
+
+        for (Map.Entry<LocalDate, DayTotals> day : days.entrySet()) {
+            LocalDate date = day.getKey();
+            total.add(day.getValue());
+            if (date.isBefore(businessDate)) {
+                overdue.add(day.getValue());
+                continue;
+            }
+
+            LocalDate start = granularity.bucketStart(date);
+            if (current == null || !current.startDate.equals(start)) {
+                if (current != null) {
+                    buckets.add(current.toBucket());
+                }
+                current = new Totals(start, granularity.bucketEnd(start));
+            }
+            current.add(day.getValue());
+        }
+        if (current != null) {
+            buckets.add(current.toBucket());
+        }
+
+        return MaturityLadderResponse.builder()
+                .businessDate(businessDate)
+                .granularity(granularity)
+                .branchCode(key.branchCode())
+                .productCode(key.productCode())
+                .to(to)
+                .bookLoadedAt(book.loadedAt)
+                .overdue(overdue.toBucket())
+                .buckets(buckets)
+                .total(total.toBucket())
+                .build();
+    }
+
+    /**
+     * Track a book change published inside a transaction and apply it to every matching book
+     * once the transaction commits (directly when published outside a transaction)
+     */
+    @EventListener
+    public void onBookChanged(AccountBookChangedEvent event) {
+        if (event.getMaturityDate() == null) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            synchronized (bookLock) {
+                applyLocked(event);
+            }
+            return;
+        }
+
+        ChangeScope scope = new ChangeScope(event.getBranchCode(), event.getProductCode());
+        synchronized (bookLock) {
+            changesInFlight.merge(scope, 1, Integer::sum);
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                synchronized (bookLock) {
+                    if (status == STATUS_COMMITTED) {
+                        applyLocked(event);
+                    } else if (status == STATUS_UNKNOWN) {
+                        loadingBooks.forEach(book -> book.overlapped = true);
+                    }
+                    changesInFlight.computeIfPresent(scope, (s, count) -> count > 1 ? count - 1 : null);
+                }
+                if (status == STATUS_UNKNOWN) {
+                    // Cannot tell whether the change reached the database - rebuild from scratch
+                    // (outside bookLock: invalidation waits for in-flight loads, which take it)
+                    ladders.invalidateAll();
+                }
+            }
+        });
+    }
+
+    private void applyLocked(AccountBookChangedEvent event) {
+        DayTotals delta = new DayTotals(event.getAccountCountDelta(),
+                zeroIfNull(event.getPrincipalDelta()), zeroIfNull(event.getMaturityDelta()));
+
+        Set<DailyBook> books = Collections.newSetFromMap(new IdentityHashMap<>());
+        ladders.asMap().values().forEach(book -> books.add((DailyBook) book));
+        books.addAll(loadingBooks);
+
+        for (DailyBook book : books) {
+            if (!book.key.matches(event.getBranchCode(), event.getProductCode())) {
+                continue;
+            }
+            if (book.ready) {
+                book.apply(event.getMaturityDate(), delta);
+            } else {
+                // The running query may or may not include this change
+                book.overlapped = true;
+            }
+        }
+    }
+
+    /**
+     * Drop every cached ladder (next request reloads from the database)
+     */
+    public void evictAll() {
+        ladders.invalidateAll();
+        logger.info("🧹 Maturity ladder cache cleared");
+    }
+
+    /**
+     * Cached book for the key, loading it if absent; an overlapped load leaves the key empty
+     * and is retried here with backoff, outside the cache's compute
+     */
+    private DailyBook getOrLoad(LadderKey key) {
+        for (int attempt = 1; attempt <= loadAttempts; attempt++) {
+            DailyBook book = (DailyBook) ladders.get(key, k -> loadOnce((LadderKey) k));
+            if (book != null) {
+                return book;
+            }
+            logger.debug("🔁 Maturity ladder load {} for {} overlapped a book change, retrying", attempt, key);
+            if (attempt < loadAttempts) {
+                sleep(loadRetryBackoffMs * attempt);
+            }
+        }
+
+        throw new IllegalStateException("Maturity ladder could not be loaded: accounts kept changing during "
+                + loadAttempts + " attempts, try again shortly");
+    }
+
+    /**
+     * One GROUP BY load; null (nothing cached) if a matching change overlapped it
+     */
+    private DailyBook loadOnce(LadderKey key) {
+        long startTime = System.currentTimeMillis();
+        DailyBook book = new DailyBook(key);
+        synchronized (bookLock) {
+            loadingBooks.add(book);
+        }
+
+        try {
+            for (MaturityDateView view : accountRepository.summarizeByMaturityDate(
+                    AccountStatus.ACTIVE, key.branchCode(), key.productCode())) {
+                book.days.put(view.getMaturityDate(), new DayTotals(view.getAccountCount(),
+                        zeroIfNull(view.getPrincipalTotal()), zeroIfNull(view.getMaturityTotal())));
+            }
+        } catch (RuntimeException e) {
+            synchronized (bookLock) {
+                loadingBooks.remove(book);
+            }
+            throw e;
+        }
+
+        synchronized (bookLock) {
+            boolean changeInFlight = changesInFlight.keySet().stream()
+                    .anyMatch(scope -> key.matches(scope.branchCode(), scope.productCode()));
+            if (book.overlapped || changeInFlight) {
+                loadingBooks.remove(book);
+                return null;
+            }
+            // Stays in loadingBooks (receiving deltas) until the cache has installed it
+            book.ready = true;
+        }
+        logger.info("📊 Maturity ladder loaded for {} (branch: {}, product: {}): {} maturity dates in {}ms",
+                key.businessDate(), key.branchCode(), key.productCode(), book.days.size(),
+                System.currentTimeMillis() - startTime);
+        return book;
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while loading the maturity ladder", e);
+        }
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+
+    private static BigDecimal zeroIfNull(BigDecimal value) {
+        return value != null ? value : BigDecimal.ZERO;
+    }
+
+    private record LadderKey(LocalDate businessDate, String branchCode, String productCode) {
+
+        boolean matches(String changedBranchCode, String changedProductCode) {
+            return (branchCode == null || branchCode.equals(changedBranchCode))
+                    && (productCode == null || productCode.equals(changedProductCode));
+        }
+    }
+
+    private record ChangeScope(String branchCode, String productCode) {
+    }
+
+    /**
+     * ACTIVE book per maturity date; days are replaced atomically so readers never see a partial update
+     * (ready / overlapped / installed are guarded by bookLock)
+     */
+    private static final class DailyBook {
+        private final LadderKey key;
+        private final LocalDateTime loadedAt = LocalDateTime.now();
+        private final ConcurrentSkipListMap<LocalDate, DayTotals> days = new ConcurrentSkipListMap<>();
+        private boolean ready;
+        private boolean overlapped;
+        private volatile boolean installed;
+
+        DailyBook(LadderKey key) {
+            this.key = key;
+        }
+
+        void apply(LocalDate maturityDate, DayTotals delta) {
+            days.compute(maturityDate, (date, totals) -> {
+                DayTotals updated = totals != null ? totals.plus(delta) : delta;
+                return updated.accountCount() > 0 ? updated : null;
+            });
+        }
+    }
+
+    private record DayTotals(long accountCount, BigDecimal principal, BigDecimal maturity) {
+
+        DayTotals plus(DayTotals other) {
+            return new DayTotals(accountCount + other.accountCount,
+                    principal.add(other.principal), maturity.add(other.maturity));
+        }
+    }
+
+    /**
+     * Running sums for one bucket
+     */
+    private static final class Totals {
+        private final LocalDate startDate;
+        private final LocalDate endDate;
+        private long accountCount;
+        private BigDecimal principal = BigDecimal.ZERO;
+        private BigDecimal maturity = BigDecimal.ZERO;
+
+        Totals(LocalDate startDate, LocalDate endDate) {
+            this.startDate = startDate;
+            this.endDate = endDate;
+        }
+
+        void add(DayTotals day) {
+            accountCount += day.accountCount();
+            principal = principal.add(day.principal());
+            maturity = maturity.add(day.maturity());
+        }
+
+        Bucket toBucket() {
+            return Bucket.builder()
+                    .startDate(startDate)
+                    .endDate(endDate)
+                    .accountCount(accountCount)
+                    .principalAmount(principal)
+                    .maturityAmount(maturity)
+                    .interestAmount(maturity.subtract(principal))
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.app.account.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Service;
+
+import com.app.account.client.ProductServiceClient;
+import com.app.account.event.ProductChangedEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Evicts cached product snapshots when product-pricing-service announces a change
+ * Only activates if kafka.enabled=true (otherwise the cache TTL bounds staleness)
+ * Every instance uses its own consumer group so each one sees every change
+ */
+@Service
+@ConditionalOnProperty(name = "kafka.enabled", havingValue = "true", matchIfMissing = false)
+public class ProductChangeListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProductChangeListener.class);
+
+    @Autowired
+    private ProductServiceClient productServiceClient;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @KafkaListener(
+            topics = "${kafka.topics.product-changed:product-changed}",
+            groupId = "account-service-product-cache-${random.uuid}",
+            properties = "auto.offset.reset=latest")
+    public void onProductChanged(String message) {
+        try {
+            ProductChangedEvent event = objectMapper.readValue(message, ProductChangedEvent.class);
+            logger.info("📨 Product {} {} - evicting cached snapshot", event.getProductCode(), event.getChangeType());
+            if (event.getProductCode() != null) {
+                productServiceClient.evictProduct(event.getProductCode());
+                if (event.getPreviousProductCode() != null) {
+                    // Renamed: the snapshot is still cached under its old code
+                    productServiceClient.evictProduct(event.getPreviousProductCode());
+                }
+            } else {
+                productServiceClient.evictAllProducts();
+            }
+        } catch (JsonProcessingException e) {
+            // Unreadable event: drop everything rather than risk serving a changed product
+            logger.error("❌ Unreadable ProductChangedEvent, evicting all products: {}", e.getMessage());
+            productServiceClient.evictAllProducts();
+        }
+    }
+}
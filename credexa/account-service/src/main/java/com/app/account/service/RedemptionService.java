@@ -4,13 +4,12 @@ import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 import java.time.temporal.ChronoUnit;
-import java.util.concurrent.atomic.AtomicLong;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -21,12 +20,16 @@ import com.app.account.dto.RedemptionProcessRequest;
 import com.app.account.dto.RedemptionProcessResponse;
 import com.app.account.entity.FdAccount;
 import com.app.account.entity.FdAccount.AccountStatus;
+import com.app.account.entity.FdAccountAggregate;
 import com.app.account.entity.FdTransaction;
 import com.app.account.entity.FdTransaction.TransactionStatus;
 import com.app.account.entity.FdTransaction.TransactionType;
+import com.app.account.event.AccountBookChangedEvent;
 import com.app.account.repository.FdAccountRepository;
 import com.app.account.repository.FdTransactionRepository;
 
+import com.app.common.util.IdGenerator;
+
 import jakarta.servlet.http.HttpServletRequest;
 
 /**
@@ -37,7 +40,6 @@ import jakarta.servlet.http.HttpServletRequest;
 public class RedemptionService {
 
     private static final Logger logger = LoggerFactory.getLogger(RedemptionService.class);
-    private static final AtomicLong transactionCounter = new AtomicLong(5000);
 
     @Autowired
     private FdAccountRepository accountRepository;
@@ -45,6 +47,21 @@ public class RedemptionService {
     @Autowired
     private FdTransactionRepository transactionRepository;
 
+    @Autowired
+    private AccountLedgerService ledgerService;
+
+    @Autowired
+    private IdGenerator idGenerator;
+
+    @Autowired
+    private LedgerPostingTemplate postingTemplate;
+
+    @Autowired
+    private AccountAggregateService aggregateService;
+
+    @Autowired
+    private ApplicationEventPublisher applicationEventPublisher;
+
     @Autowired(required = false)
     private HttpServletRequest httpServletRequest;
 
@@ -64,29 +81,20 @@ public class RedemptionService {
             throw new IllegalStateException("Account is already closed. Cannot perform redemption inquiry.");
         }
 
-        // 3. Get transaction summary
-        Long totalTransactions = transactionRepository.countByAccountNumber(account.getAccountNumber());
-        Long interestCredits = transactionRepository.countByAccountNumberAndTransactionType(
-                account.getAccountNumber(), TransactionType.INTEREST_CREDIT);
-        Long tdsDeductions = transactionRepository.countByAccountNumberAndTransactionType(
-                account.getAccountNumber(), TransactionType.TDS_DEDUCTION);
-
-        // 4. Calculate current balance
-        BigDecimal currentBalance = getCurrentBalance(account);
-
-        // 5. Calculate interest earned (sum of all interest credits)
-        BigDecimal interestEarned = transactionRepository.findByAccountNumberAndTransactionType(
-                account.getAccountNumber(), TransactionType.INTEREST_CREDIT, org.springframework.data.domain.Pageable.unpaged())
-                .stream()
-                .map(FdTransaction::getAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        // 6. Calculate TDS deducted (sum of all TDS deductions)
-        BigDecimal tdsDeducted = transactionRepository.findByAccountNumberAndTransactionType(
-                account.getAccountNumber(), TransactionType.TDS_DEDUCTION, org.springframework.data.domain.Pageable.unpaged())
-                .stream()
-                .map(FdTransaction::getAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        // 3. Get transaction summary (maintained per account)
+        FdAccountAggregate aggregate = aggregateService.getAggregate(account);
+        Long totalTransactions = aggregate.getTransactionCount();
+        Long interestCredits = aggregate.getInterestCreditCount();
+        Long tdsDeductions = aggregate.getTdsCount();
+
+        // 4. Current balance (maintained on the account)
+        BigDecimal currentBalance = ledgerService.getCurrentBalance(account);
+
+        // 5. Interest earned (sum of all interest credits)
+        BigDecimal interestEarned = aggregate.getInterestCreditTotal();
+
+        // 6. TDS deducted (sum of all TDS deductions)
+        BigDecimal tdsDeducted = aggregate.getTdsTotal();
 
         // 7. Calculate dates and tenure
         LocalDate today = LocalDate.now();
@@ -177,13 +185,20 @@ public class RedemptionService {
     /**
      * Process redemption (full or partial)
      */
-    @Transactional
     public RedemptionProcessResponse processRedemption(RedemptionProcessRequest request, String currentUser) {
+        return postingTemplate.execute("redemption", () -> postRedemption(request, currentUser));
+    }
+
+    /**
+     * Post the redemption (one attempt, inside the posting template's transaction)
+     */
+    private RedemptionProcessResponse postRedemption(RedemptionProcessRequest request, String currentUser) {
         logger.info("💰 Processing redemption: ID Type={}, ID Value={}, Type={}", 
                 request.getIdTypeOrDefault(), request.getIdValue(), request.getRedemptionType());
 
-        // 1. Find account
-        FdAccount account = findAccountByIdType(request.getIdTypeOrDefault(), request.getIdValue());
+        // 1. Find account and lock it for posting
+        FdAccount account = ledgerService.lockForPosting(
+                findAccountByIdType(request.getIdTypeOrDefault(), request.getIdValue()));
 
         // 2. Validate account status
         if (account.getStatus() == AccountStatus.CLOSED) {
@@ -209,7 +224,7 @@ public class RedemptionService {
         RedemptionInquiryResponse inquiry = getRedemptionInquiry(inquiryRequest);
 
         // 5. Get current balance
-        BigDecimal balanceBefore = getCurrentBalance(account);
+        BigDecimal balanceBefore = ledgerService.getCurrentBalance(account);
 
         // 6. Calculate redemption amounts
         BigDecimal redemptionAmount;
@@ -244,7 +259,7 @@ public class RedemptionService {
         }
 
         // 7. Generate transaction ID
-        String transactionId = generateTransactionId();
+        String transactionId = idGenerator.nextId("TXN");
 
         // 8. Get IP address
         String ipAddress = getClientIpAddress();
@@ -282,15 +297,17 @@ public class RedemptionService {
                 .ipAddress(ipAddress)
                 .build();
 
-        FdTransaction savedTransaction = transactionRepository.save(transaction);
-
-        // 11. Update account status
+        // 11. Update account status and post transaction (updates balance and ledger sequence)
+        boolean leavesBook = account.getStatus() == AccountStatus.ACTIVE && newStatus != AccountStatus.ACTIVE;
         account.setStatus(newStatus);
         if (newStatus == AccountStatus.CLOSED) {
             account.setClosureDate(redemptionDateTime.toLocalDate());
         }
         account.setUpdatedBy(currentUser);
-        accountRepository.save(account);
+        FdTransaction savedTransaction = ledgerService.post(account, transaction);
+        if (leavesBook) {
+            applicationEventPublisher.publishEvent(AccountBookChangedEvent.removed(account, account.getMaturityDate()));
+        }
 
         // 12. Build calculation breakdown
         RedemptionProcessResponse.CalculationBreakdown breakdown = RedemptionProcessResponse.CalculationBreakdown.builder()
@@ -352,24 +369,6 @@ public class RedemptionService {
         };
     }
 
-    /**
-     * Get current balance from latest transaction or principal
-     */
-    private BigDecimal getCurrentBalance(FdAccount account) {
-        return transactionRepository.findFirstByAccountNumberOrderByTransactionDateDesc(account.getAccountNumber())
-                .map(FdTransaction::getBalanceAfter)
-                .orElse(account.getPrincipalAmount());
-    }
-
-    /**
-     * Generate unique transaction ID
-     */
-    private String generateTransactionId() {
-        String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMddHHmmss"));
-        long counter = transactionCounter.incrementAndGet();
-        return "TXN-" + timestamp + "-" + String.format("%04d", counter);
-    }
-
     /**
      * Get client IP address
      */
@@ -2,9 +2,6 @@ package com.app.account.service;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
-import java.util.Optional;
-import java.util.concurrent.atomic.AtomicLong;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -12,7 +9,6 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import com.app.account.dto.AccountInquiryRequest;
 import com.app.account.dto.AccountInquiryRequest.AccountIdType;
@@ -27,6 +23,8 @@ import com.app.account.event.TransactionEvent;
 import com.app.account.repository.FdAccountRepository;
 import com.app.account.repository.FdTransactionRepository;
 
+import com.app.common.util.IdGenerator;
+
 import jakarta.servlet.http.HttpServletRequest;
 
 /**
@@ -36,7 +34,6 @@ import jakarta.servlet.http.HttpServletRequest;
 public class TransactionService {
 
     private static final Logger logger = LoggerFactory.getLogger(TransactionService.class);
-    private static final AtomicLong transactionCounter = new AtomicLong(1000);
 
     @Autowired
     private FdTransactionRepository transactionRepository;
@@ -44,6 +41,15 @@ public class TransactionService {
     @Autowired
     private FdAccountRepository accountRepository;
 
+    @Autowired
+    private AccountLedgerService ledgerService;
+
+    @Autowired
+    private IdGenerator idGenerator;
+
+    @Autowired
+    private LedgerPostingTemplate postingTemplate;
+
     @Autowired(required = false)
     private HttpServletRequest httpServletRequest;
 
@@ -53,23 +59,37 @@ public class TransactionService {
     /**
      * Create transaction using Account ID type
      */
-    @Transactional
     public TransactionResponse createTransaction(AccountIdType idType, String idValue,
                                                   CreateTransactionRequest request, String currentUser) {
+        FdTransaction savedTransaction = postingTemplate.execute("transaction",
+                () -> postTransaction(idType, idValue, request, currentUser));
+
+        // Publish events (if Kafka enabled) only once the posting has committed,
+        // so a rolled-back or retried attempt never reaches consumers
+        publishTransactionEvents(savedTransaction, savedTransaction.getAccount());
+
+        return mapToTransactionResponse(savedTransaction, savedTransaction.getAccount().getAccountName());
+    }
+
+    /**
+     * Post the transaction (one attempt, inside the posting template's transaction)
+     */
+    private FdTransaction postTransaction(AccountIdType idType, String idValue,
+                                                CreateTransactionRequest request, String currentUser) {
         logger.info("💳 Creating transaction: Type={}, Amount={}, Account ID Type={}, ID Value={}", 
                 request.getTransactionType(), request.getAmount(), idType, idValue);
 
-        // 1. Find account by ID type
-        FdAccount account = findAccountByIdType(idType, idValue);
+        // 1. Find account by ID type and lock it for posting
+        FdAccount account = ledgerService.lockForPosting(findAccountByIdType(idType, idValue));
 
-        // 2. Get current balance (from latest transaction or principal)
-        BigDecimal currentBalance = getCurrentBalance(account);
+        // 2. Get current balance (maintained on the account)
+        BigDecimal currentBalance = ledgerService.getCurrentBalance(account);
 
         // 3. Calculate new balance based on transaction type
         BigDecimal newBalance = calculateNewBalance(currentBalance, request.getAmount(), request.getTransactionType());
 
         // 4. Generate transaction ID
-        String transactionId = generateTransactionId();
+        String transactionId = idGenerator.nextId("TXN");
 
         // 5. Get IP address
         String ipAddress = getClientIpAddress();
@@ -97,17 +117,14 @@ public class TransactionService {
                 .ipAddress(ipAddress)
                 .build();
 
-        // 7. Save transaction
-        FdTransaction savedTransaction = transactionRepository.save(transaction);
+        // 7. Post transaction (updates account balance and ledger sequence)
+        FdTransaction savedTransaction = ledgerService.post(account, transaction);
         logger.info("✅ Transaction created successfully: {} - {} - Amount: {}", 
                 savedTransaction.getTransactionId(), 
                 savedTransaction.getTransactionType(), 
                 savedTransaction.getAmount());
 
-        // 8. Publish events (if Kafka enabled)
-        publishTransactionEvents(savedTransaction, account);
-
-        return mapToTransactionResponse(savedTransaction, account.getAccountName());
+        return savedTransaction;
     }
 
     /**
@@ -243,21 +260,6 @@ public class TransactionService {
         return account;
     }
 
-    /**
-     * Get current balance from latest transaction or principal
-     */
-    private BigDecimal getCurrentBalance(FdAccount account) {
-        Optional<FdTransaction> latestTransaction = transactionRepository
-                .findFirstByAccountNumberOrderByTransactionDateDesc(account.getAccountNumber());
-
-        if (latestTransaction.isPresent()) {
-            return latestTransaction.get().getBalanceAfter();
-        } else {
-            // No transactions yet, use principal amount
-            return account.getPrincipalAmount();
-        }
-    }
-
     /**
      * Calculate new balance based on transaction type
      */
@@ -284,15 +286,6 @@ public class TransactionService {
         }
     }
 
-    /**
-     * Generate unique transaction ID
-     */
-    private String generateTransactionId() {
-        String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMddHHmmss"));
-        String sequence = String.format("%04d", transactionCounter.getAndIncrement() % 10000);
-        return String.format("TXN-%s-%s", timestamp, sequence);
-    }
-
     /**
      * Get client IP address from request
      */
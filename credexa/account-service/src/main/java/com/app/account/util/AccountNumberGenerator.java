@@ -1,31 +1,36 @@
 package com.app.account.util;
 
-import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
-import java.util.concurrent.atomic.AtomicLong;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import com.app.common.util.IdGenerator;
+
 /**
  * Account Number Generator using Check Digit algorithm
  * Generates unique account numbers with Luhn check digit validation
+ * Uniqueness comes from the shared IdGenerator (unique across instances with distinct node ids)
  */
 @Component
 public class AccountNumberGenerator {
 
     private static final Logger logger = LoggerFactory.getLogger(AccountNumberGenerator.class);
-    private static final AtomicLong counter = new AtomicLong(1000);
+
+    @Autowired
+    private IdGenerator idGenerator;
 
     /**
      * Generate standard account number with check digit
-     * Format: FD-YYYYMMDDHHMMSS-NNNN-C
-     * Where C is the Luhn check digit
+     * Format: FD-YYYYMMDD-N...N-C
+     * Where N...N is a unique id and C is the Luhn check digit
      */
     public String generateStandardAccountNumber() {
-        String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMddHHmmss"));
-        String sequence = String.format("%04d", counter.getAndIncrement() % 10000);
+        long id = idGenerator.nextId();
+        String timestamp = IdGenerator.timestampOf(id).format(DateTimeFormatter.ofPattern("yyyyMMdd"));
+        String sequence = String.valueOf(id);
         
         String baseNumber = "FD" + timestamp + sequence;
         int checkDigit = calculateLuhnCheckDigit(baseNumber);
@@ -39,15 +44,14 @@ public class AccountNumberGenerator {
     /**
      * Generate IBAN format account number
      * Format: IN<check-digit><bank-code><branch><account-number>
-     * Example: IN29CRED0001FD202511080001
+     * Example: IN29CRED0001FD81985529216486895 (at most 34 characters)
      */
     public String generateIBANAccountNumber() {
-        String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMddHHmm"));
-        String sequence = String.format("%04d", counter.getAndIncrement() % 10000);
+        long id = idGenerator.nextId();
         
         String bankCode = "CRED"; // Credexa Bank
         String branchCode = "0001"; // Default branch
-        String accountPart = "FD" + timestamp.substring(2) + sequence; // Remove century from year
+        String accountPart = "FD" + id;
         
         // Calculate IBAN check digits (simplified)
         String baseIBAN = bankCode + branchCode + accountPart;
@@ -0,0 +1,270 @@
+package com.app.account.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.app.account.batch.BatchTimeService;
+import com.app.account.config.CacheConfig;
+import com.app.account.dto.MaturityLadderResponse;
+import com.app.account.dto.MaturityLadderResponse.Bucket;
+import com.app.account.dto.MaturityLadderResponse.Granularity;
+import com.app.account.entity.FdAccount;
+import com.app.account.entity.FdAccount.AccountStatus;
+import com.app.account.event.AccountBookChangedEvent;
+import com.app.account.repository.FdAccountRepository;
+import com.app.account.repository.FdAccountRepository.MaturityDateView;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+class MaturityLadderServiceTest {
+
+    // A Saturday: its ISO week started on 2025-11-03
+    private static final LocalDate BUSINESS_DATE = LocalDate.of(2025, 11, 8);
+    private static final LocalDate MATURES = LocalDate.of(2026, 5, 8);
+    private static final LocalDate MATURES_LATER = LocalDate.of(2026, 11, 8);
+
+    private final FdAccountRepository accountRepository = mock(FdAccountRepository.class);
+    private final BatchTimeService batchTimeService = mock(BatchTimeService.class);
+    private final MaturityLadderService ladderService = new MaturityLadderService();
+
+    @BeforeEach
+    void setUp() {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.registerCustomCache(CacheConfig.MATURITY_LADDERS, Caffeine.newBuilder().build());
+
+        ReflectionTestUtils.setField(ladderService, "accountRepository", accountRepository);
+        ReflectionTestUtils.setField(ladderService, "batchTimeService", batchTimeService);
+        ReflectionTestUtils.setField(ladderService, "cacheManager", cacheManager);
+        ReflectionTestUtils.setField(ladderService, "loadAttempts", 3);
+        ReflectionTestUtils.setField(ladderService, "loadRetryBackoffMs", 0L);
+        ladderService.init();
+
+        when(batchTimeService.getBatchDate()).thenReturn(BUSINESS_DATE);
+    }
+
+    @AfterEach
+    void clearTransaction() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void deltasFollowOpenCapitalizeMatureAndRedeem() {
+        FdAccount first = account(MATURES, "100000.00", "107000.00");
+        FdAccount second = account(MATURES, "50000.00", "53500.00");
+        bookReturns(view(MATURES, 2, "150000.00", "160500.00"));
+        assertThat(day(MATURES)).isEqualTo(bucket(MATURES, 2, "150000.00", "160500.00"));
+
+        FdAccount opened = account(MATURES_LATER, "200000.00", "230000.00");
+        ladderService.onBookChanged(AccountBookChangedEvent.opened(opened));
+        assertThat(day(MATURES_LATER)).isEqualTo(bucket(MATURES_LATER, 1, "200000.00", "230000.00"));
+
+        ladderService.onBookChanged(AccountBookChangedEvent.principalAdjusted(first, new BigDecimal("1750.00")));
+        assertThat(day(MATURES)).isEqualTo(bucket(MATURES, 2, "151750.00", "160500.00"));
+
+        ladderService.onBookChanged(AccountBookChangedEvent.removed(second, MATURES));
+        assertThat(day(MATURES)).isEqualTo(bucket(MATURES, 1, "101750.00", "107000.00"));
+
+        ladderService.onBookChanged(AccountBookChangedEvent.removed(opened, MATURES_LATER));
+        MaturityLadderResponse ladder = ladderService.getLadder(Granularity.DAY, null, null, null);
+        assertThat(ladder.getBuckets()).extracting(Bucket::getStartDate).containsExactly(MATURES);
+        assertThat(ladder.getTotal().getAccountCount()).isEqualTo(1);
+
+        verify(accountRepository, times(1)).summarizeByMaturityDate(any(), any(), any());
+    }
+
+    @Test
+    void deltaIsAppliedWhenItsTransactionCommits() {
+        bookReturns(view(MATURES, 2, "150000.00", "160500.00"));
+        ladderService.getLadder(Granularity.DAY, null, null, null);
+
+        TransactionSynchronizationManager.initSynchronization();
+        ladderService.onBookChanged(AccountBookChangedEvent.opened(account(MATURES, "10000.00", "10700.00")));
+        assertThat(day(MATURES).getAccountCount()).isEqualTo(2);
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+        assertThat(day(MATURES).getAccountCount()).isEqualTo(3);
+
+        TransactionSynchronizationManager.initSynchronization();
+        ladderService.onBookChanged(AccountBookChangedEvent.opened(account(MATURES, "10000.00", "10700.00")));
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+        assertThat(day(MATURES).getAccountCount()).isEqualTo(3);
+    }
+
+    @Test
+    void deltaOnlyReachesMatchingBooks() {
+        bookReturns(view(MATURES, 1, "100000.00", "107000.00"));
+        ladderService.getLadder(Granularity.DAY, "BR001", null, null);
+        ladderService.getLadder(Granularity.DAY, "BR002", null, null);
+        ladderService.getLadder(Granularity.DAY, null, "FD-OTHER", null);
+
+        ladderService.onBookChanged(AccountBookChangedEvent.opened(account(MATURES, "10000.00", "10700.00")));
+
+        assertThat(ladderService.getLadder(Granularity.DAY, "BR001", null, null).getTotal().getAccountCount()).isEqualTo(2);
+        assertThat(ladderService.getLadder(Granularity.DAY, "BR002", null, null).getTotal().getAccountCount()).isEqualTo(1);
+        assertThat(ladderService.getLadder(Granularity.DAY, null, "FD-OTHER", null).getTotal().getAccountCount()).isEqualTo(1);
+    }
+
+    @Test
+    void changeCommittedDuringALoadIsCountedOnce() {
+        FdAccount opened = account(MATURES, "10000.00", "10700.00");
+        // The first query runs while the open commits and already sees it; the retry sees it too
+        when(accountRepository.summarizeByMaturityDate(AccountStatus.ACTIVE, null, null))
+                .thenAnswer(invocation -> {
+                    ladderService.onBookChanged(AccountBookChangedEvent.opened(opened));
+                    return List.of(view(MATURES, 3, "160000.00", "171200.00"));
+                })
+                .thenReturn(List.of(view(MATURES, 3, "160000.00", "171200.00")));
+
+        assertThat(day(MATURES)).isEqualTo(bucket(MATURES, 3, "160000.00", "171200.00"));
+        verify(accountRepository, times(2)).summarizeByMaturityDate(any(), any(), any());
+    }
+
+    @Test
+    void changeCommittedAfterTheQueryReadIsNotLost() {
+        FdAccount opened = account(MATURES, "10000.00", "10700.00");
+        // The first query reads before the open commits; the retry sees it
+        when(accountRepository.summarizeByMaturityDate(AccountStatus.ACTIVE, null, null))
+                .thenAnswer(invocation -> {
+                    List<MaturityDateView> before = List.of(view(MATURES, 2, "150000.00", "160500.00"));
+                    ladderService.onBookChanged(AccountBookChangedEvent.opened(opened));
+                    return before;
+                })
+                .thenReturn(List.of(view(MATURES, 3, "160000.00", "171200.00")));
+
+        assertThat(day(MATURES)).isEqualTo(bucket(MATURES, 3, "160000.00", "171200.00"));
+    }
+
+    @Test
+    void loadIsRejectedWhileAMatchingChangeIsInFlight() {
+        bookReturns(view(MATURES, 2, "150000.00", "160500.00"));
+        TransactionSynchronizationManager.initSynchronization();
+        ladderService.onBookChanged(AccountBookChangedEvent.opened(account(MATURES, "10000.00", "10700.00")));
+
+        assertThatThrownBy(() -> ladderService.getLadder(Granularity.DAY, null, null, null))
+                .isInstanceOf(IllegalStateException.class);
+        verify(accountRepository, times(3)).summarizeByMaturityDate(any(), any(), any());
+        // Another branch's book is not held up by the change
+        assertThat(ladderService.getLadder(Granularity.DAY, "BR002", null, null).getTotal().getAccountCount())
+                .isEqualTo(2);
+
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+        bookReturns(view(MATURES, 3, "160000.00", "171200.00"));
+        assertThat(day(MATURES).getAccountCount()).isEqualTo(3);
+    }
+
+    @Test
+    void bucketsFollowCalendarBoundaries() {
+        LocalDate overdue = BUSINESS_DATE.minusDays(1);
+        LocalDate sunday = LocalDate.of(2025, 11, 9);
+        LocalDate monday = LocalDate.of(2025, 11, 10);
+        LocalDate monthEnd = LocalDate.of(2025, 11, 30);
+        LocalDate nextMonth = LocalDate.of(2025, 12, 1);
+        bookReturns(view(overdue, 1, "1000.00", "1100.00"),
+                view(BUSINESS_DATE, 1, "2000.00", "2200.00"),
+                view(sunday, 1, "3000.00", "3300.00"),
+                view(monday, 1, "4000.00", "4400.00"),
+                view(monthEnd, 1, "5000.00", "5500.00"),
+                view(nextMonth, 1, "6000.00", "6600.00"));
+
+        MaturityLadderResponse weeks = ladderService.getLadder(Granularity.WEEK, null, null, null);
+        assertThat(weeks.getOverdue()).isEqualTo(Bucket.builder().endDate(overdue).accountCount(1)
+                .principalAmount(new BigDecimal("1000.00")).maturityAmount(new BigDecimal("1100.00"))
+                .interestAmount(new BigDecimal("100.00")).build());
+        assertThat(weeks.getBuckets()).extracting(Bucket::getStartDate, Bucket::getEndDate, Bucket::getAccountCount)
+                .containsExactly(
+                        tuple(LocalDate.of(2025, 11, 3), sunday, 2L),
+                        tuple(monday, LocalDate.of(2025, 11, 16), 1L),
+                        tuple(LocalDate.of(2025, 11, 24), monthEnd, 1L),
+                        tuple(nextMonth, LocalDate.of(2025, 12, 7), 1L));
+        assertThat(weeks.getTotal().getAccountCount()).isEqualTo(6);
+
+        MaturityLadderResponse months = ladderService.getLadder(Granularity.MONTH, null, null, monthEnd);
+        assertThat(months.getBuckets()).extracting(Bucket::getStartDate, Bucket::getEndDate, Bucket::getAccountCount)
+                .containsExactly(tuple(LocalDate.of(2025, 11, 1), monthEnd, 4L));
+        assertThat(months.getTotal().getAccountCount()).isEqualTo(5);
+        assertThat(months.getTotal().getPrincipalAmount()).isEqualByComparingTo("15000.00");
+
+        assertThatThrownBy(() -> ladderService.getLadder(Granularity.DAY, null, null, overdue))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private Bucket day(LocalDate date) {
+        return ladderService.getLadder(Granularity.DAY, null, null, null).getBuckets().stream()
+                .filter(bucket -> bucket.getStartDate().equals(date))
+                .findFirst()
+                .orElse(null);
+    }
+
+    private void bookReturns(MaturityDateView... views) {
+        when(accountRepository.summarizeByMaturityDate(any(), any(), any())).thenReturn(List.of(views));
+    }
+
+    private static void complete(int status) {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(synchronization -> synchronization.afterCompletion(status));
+    }
+
+    private static FdAccount account(LocalDate maturityDate, String principal, String maturity) {
+        return FdAccount.builder()
+                .branchCode("BR001")
+                .productCode("FD-STD-1Y")
+                .maturityDate(maturityDate)
+                .principalAmount(new BigDecimal(principal))
+                .maturityAmount(new BigDecimal(maturity))
+                .build();
+    }
+
+    private static Bucket bucket(LocalDate date, long accountCount, String principal, String maturity) {
+        return Bucket.builder()
+                .startDate(date)
+                .endDate(date)
+                .accountCount(accountCount)
+                .principalAmount(new BigDecimal(principal))
+                .maturityAmount(new BigDecimal(maturity))
+                .interestAmount(new BigDecimal(maturity).subtract(new BigDecimal(principal)))
+                .build();
+    }
+
+    private static MaturityDateView view(LocalDate maturityDate, long accountCount, String principal, String maturity) {
+        return new MaturityDateView() {
+            @Override
+            public LocalDate getMaturityDate() {
+                return maturityDate;
+            }
+
+            @Override
+            public Long getAccountCount() {
+                return accountCount;
+            }
+
+            @Override
+            public BigDecimal getPrincipalTotal() {
+                return new BigDecimal(principal);
+            }
+
+            @Override
+            public BigDecimal getMaturityTotal() {
+                return new BigDecimal(maturity);
+            }
+        };
+    }
+}
@@ -0,0 +1,145 @@
+package com.app.common.calculation;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * Compound growth factors in exact decimal arithmetic
+ *
+ * (1 + r/n)^k is evaluated with BigDecimal.pow at 34 significant digits (DECIMAL128) instead of
+ * double Math.pow, so a maturity rounded to paise follows the exact formula. Only the fractional part
+ * of a period count (DAILY compounding, or a tenure that is not a whole number of periods) has no
+ * finite decimal form; it is taken from Math.pow on a factor close to 1 (relative error ~1e-16,
+ * far below a paisa for any deposit). The growth math itself is FdMaturityCalculator.compoundGrowth.
+ *
+ * Factors are cached per (rate, periods per year) and can be reused across a whole schedule.
+ */
+public final class CompoundInterestEngine {
+
+    public static final MathContext PRECISION = FdMaturityCalculator.PRECISION;
+
+    private static final Cache<RateKey, GrowthFactors> FACTORS = Caffeine.newBuilder()
+            .maximumSize(1024)
+            .build();
+
+    private CompoundInterestEngine() {
+    }
+
+    /**
+     * Growth factors for an annual rate (%) compounded periodsPerYear times a year
+     */
+    public static GrowthFactors factors(BigDecimal annualRate, int periodsPerYear) {
+        return FACTORS.get(new RateKey(annualRate.stripTrailingZeros(), periodsPerYear),
+                key -> new GrowthFactors(key.annualRate(), key.periodsPerYear()));
+    }
+
+    /**
+     * Whole rupee amount in paise, or -1 if it has fractions of a paisa or is too large for long paise math
+     */
+    public static long toPaise(BigDecimal amount) {
+        if (amount.signum() < 0 || amount.compareTo(GrowthFactors.MAX_PAISE_AMOUNT) > 0) {
+            return -1;
+        }
+        try {
+            return amount.movePointRight(2).longValueExact();
+        } catch (ArithmeticException fractionalPaise) {
+            return -1;
+        }
+    }
+
+    private record RateKey(BigDecimal annualRate, int periodsPerYear) {
+    }
+
+    /**
+     * Precomputed values for one (rate, periods per year) pair; immutable and thread-safe
+     */
+    public static final class GrowthFactors {
+
+        // Largest amount (₹10^12) handled in long paise; larger amounts stay in BigDecimal
+        static final BigDecimal MAX_PAISE_AMOUNT = BigDecimal.TEN.pow(12);
+
+        private final BigDecimal annualRate;
+        private final int periodsPerYear;
+        private final BigDecimal onePlusRatePerPeriod;
+
+        // Month-of-simple-interest as a long fraction: opening × rateUnscaled / simpleDivisor
+        private final long rateUnscaled;
+        private final long simpleDivisor;
+
+        private GrowthFactors(BigDecimal annualRate, int periodsPerYear) {
+            this.annualRate = annualRate;
+            this.periodsPerYear = periodsPerYear;
+            this.onePlusRatePerPeriod = FdMaturityCalculator.onePlusRatePerPeriod(annualRate, periodsPerYear);
+
+            BigDecimal rate = annualRate.scale() < 0 ? annualRate.setScale(0) : annualRate;
+            if (rate.signum() >= 0 && rate.scale() <= 6 && rate.precision() <= 9) {
+                this.rateUnscaled = rate.unscaledValue().longValueExact();
+                this.simpleDivisor = 1200L * BigDecimal.TEN.pow(rate.scale()).longValueExact();
+            } else {
+                this.rateUnscaled = -1;
+                this.simpleDivisor = -1;
+            }
+        }
+
+        public int getPeriodsPerYear() {
+            return periodsPerYear;
+        }
+
+        /**
+         * (1 + r/n)^periods
+         */
+        public BigDecimal growth(double periods) {
+            return FdMaturityCalculator.compoundGrowth(onePlusRatePerPeriod, periods);
+        }
+
+        /**
+         * Maturity before TDS: principal × (1 + r/n)^periods, rounded HALF_UP to paise
+         */
+        public BigDecimal maturity(BigDecimal principal, double periods) {
+            return grow(principal, growth(periods));
+        }
+
+        /**
+         * principal × growth, rounded HALF_UP to paise
+         */
+        public BigDecimal grow(BigDecimal principal, BigDecimal growth) {
+            return principal.multiply(growth, PRECISION).setScale(2, RoundingMode.HALF_UP);
+        }
+
+        /**
+         * principalPaise × growth in paise, rounded HALF_UP
+         */
+        public long growPaise(long principalPaise, BigDecimal growth) {
+            return BigDecimal.valueOf(principalPaise).multiply(growth, PRECISION)
+                    .setScale(0, RoundingMode.HALF_UP).longValueExact();
+        }
+
+        /**
+         * One month of simple interest (opening × r / 12 / 100), rounded HALF_UP to paise
+         */
+        public BigDecimal simpleMonthInterest(BigDecimal opening) {
+            return opening.multiply(annualRate).divide(BigDecimal.valueOf(1200), 2, RoundingMode.HALF_UP);
+        }
+
+        /**
+         * One month of simple interest in paise, in long arithmetic when it cannot overflow
+         */
+        public long simpleMonthInterestPaise(long openingPaise) {
+            if (rateUnscaled >= 0) {
+                try {
+                    long numerator = Math.multiplyExact(openingPaise, rateUnscaled);
+                    long quotient = numerator / simpleDivisor;
+                    long remainder = numerator % simpleDivisor;
+                    return remainder * 2 >= simpleDivisor ? quotient + 1 : quotient;
+                } catch (ArithmeticException overflow) {
+                    // fall through to BigDecimal
+                }
+            }
+            return simpleMonthInterest(BigDecimal.valueOf(openingPaise, 2)).movePointRight(2).longValueExact();
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.app.common.calculation;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+
+/**
+ * FD interest and maturity math shared by calculator-service and account-service
+ * Dependency-free (JDK only) so any service can compute maturities in-process
+ *
+ * Simple:   Interest = P × r × t / 100
+ * Compound: M = P × (1 + r/n)^(nt), Interest = M - P
+ * TDS:      Interest × tdsRate / 100
+ * All amounts are rounded HALF_UP to 2 places, exactly as calculator-service has always done.
+ * Compound growth is evaluated in decimal arithmetic (see compoundGrowth); CompoundInterestEngine
+ * reuses the same math with factors cached per rate for callers that price many deposits.
+ */
+public final class FdMaturityCalculator {
+
+    public static final MathContext PRECISION = MathContext.DECIMAL128;
+
+    private static final BigDecimal HUNDRED = BigDecimal.valueOf(100);
+
+    // Period counts this close to a whole number are treated as whole (double noise from n * years)
+    private static final double WHOLE_PERIOD_TOLERANCE = 1e-9;
+
+    private FdMaturityCalculator() {
+    }
+
+    /**
+     * Simple interest for a tenure expressed in years
+     */
+    public static BigDecimal simpleInterest(BigDecimal principal, BigDecimal rate, double tenureInYears) {
+        return principal
+                .multiply(rate)
+                .multiply(BigDecimal.valueOf(tenureInYears))
+                .divide(HUNDRED, 2, RoundingMode.HALF_UP);
+    }
+
+    /**
+     * Compound maturity amount before TDS for a tenure expressed in years
+     */
+    public static BigDecimal compoundMaturityBeforeTds(BigDecimal principal, BigDecimal rate,
+                                                       double tenureInYears, int periodsPerYear) {
+        double numberOfPeriods = periodsPerYear * tenureInYears; // nt
+        BigDecimal growth = compoundGrowth(onePlusRatePerPeriod(rate, periodsPerYear), numberOfPeriods);
+        return principal.multiply(growth, PRECISION).setScale(2, RoundingMode.HALF_UP);
+    }
+
+    /**
+     * 1 + r/n for an annual rate (%) compounded periodsPerYear times a year
+     */
+    public static BigDecimal onePlusRatePerPeriod(BigDecimal annualRate, int periodsPerYear) {
+        BigDecimal ratePerPeriod = annualRate.divide(HUNDRED.multiply(BigDecimal.valueOf(periodsPerYear)), PRECISION);
+        return BigDecimal.ONE.add(ratePerPeriod, PRECISION);
+    }
+
+    /**
+     * (1 + r/n)^periods at 34 significant digits
+     * Only the fractional part of a period count has no finite decimal form; it is taken from Math.pow
+     * on a factor close to 1 (relative error ~1e-16, far below a paisa for any deposit).
+     */
+    public static BigDecimal compoundGrowth(BigDecimal onePlusRatePerPeriod, double periods) {
+        double nearest = Math.rint(periods);
+        if (Math.abs(periods - nearest) < WHOLE_PERIOD_TOLERANCE) {
+            return onePlusRatePerPeriod.pow((int) nearest, PRECISION);
+        }
+
+        int whole = (int) Math.floor(periods);
+        BigDecimal fractional = BigDecimal.valueOf(Math.pow(onePlusRatePerPeriod.doubleValue(), periods - whole));
+        return onePlusRatePerPeriod.pow(whole, PRECISION).multiply(fractional, PRECISION);
+    }
+
+    /**
+     * Compound interest for a tenure expressed in years
+     */
+    public static BigDecimal compoundInterest(BigDecimal principal, BigDecimal rate,
+                                              double tenureInYears, int periodsPerYear) {
+        return compoundMaturityBeforeTds(principal, rate, tenureInYears, periodsPerYear).subtract(principal);
+    }
+
+    /**
+     * TDS on interest (zero when no TDS rate applies)
+     */
+    public static BigDecimal tds(BigDecimal interest, BigDecimal tdsRate) {
+        if (tdsRate == null || tdsRate.compareTo(BigDecimal.ZERO) == 0) {
+            return BigDecimal.ZERO;
+        }
+        return interest.multiply(tdsRate).divide(HUNDRED, 2, RoundingMode.HALF_UP);
+    }
+
+    /**
+     * Compounding periods per year for a frequency name
+     * Accepts calculator-service names (DAILY, MONTHLY, QUARTERLY, SEMI_ANNUALLY, ANNUALLY)
+     * and the HALF_YEARLY / YEARLY aliases used by product configuration
+     */
+    public static int periodsPerYear(String compoundingFrequency) {
+        if (compoundingFrequency == null) {
+            return 4; // QUARTERLY default
+        }
+        return switch (compoundingFrequency.trim().toUpperCase()) {
+            case "DAILY" -> 365;
+            case "MONTHLY" -> 12;
+            case "QUARTERLY" -> 4;
+            case "SEMI_ANNUALLY", "HALF_YEARLY" -> 2;
+            case "ANNUALLY", "YEARLY" -> 1;
+            default -> throw new IllegalArgumentException("Unsupported compounding frequency: " + compoundingFrequency);
+        };
+    }
+
+    /**
+     * Full maturity calculation for a tenure in months
+     * @param calculationType SIMPLE or COMPOUND
+     * @param compoundingFrequency used for COMPOUND only (QUARTERLY when null)
+     * @param startDate deposit start date; maturity date is startDate + termMonths
+     */
+    public static MaturityResult calculate(BigDecimal principal, BigDecimal rate, int termMonths,
+                                           String calculationType, String compoundingFrequency,
+                                           BigDecimal tdsRate, LocalDate startDate) {
+        double tenureInYears = termMonths / 12.0;
+
+        BigDecimal interest;
+        if ("SIMPLE".equalsIgnoreCase(calculationType)) {
+            interest = simpleInterest(principal, rate, tenureInYears);
+        } else if ("COMPOUND".equalsIgnoreCase(calculationType)) {
+            interest = compoundInterest(principal, rate, tenureInYears, periodsPerYear(compoundingFrequency));
+        } else {
+            throw new IllegalArgumentException("Unsupported calculation type: " + calculationType);
+        }
+
+        BigDecimal effectiveTdsRate = tdsRate != null ? tdsRate : BigDecimal.ZERO;
+        BigDecimal tdsAmount = tds(interest, effectiveTdsRate);
+        BigDecimal netInterest = interest.subtract(tdsAmount);
+
+        return new MaturityResult(principal, rate, termMonths, interest, effectiveTdsRate, tdsAmount,
+                netInterest, principal.add(netInterest), startDate, startDate.plusMonths(termMonths));
+    }
+}
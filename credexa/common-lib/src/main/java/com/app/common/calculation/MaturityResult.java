@@ -0,0 +1,20 @@
+package com.app.common.calculation;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Result of an in-process maturity calculation (see FdMaturityCalculator)
+ */
+public record MaturityResult(
+        BigDecimal principalAmount,
+        BigDecimal interestRate,
+        int termMonths,
+        BigDecimal interestEarned,
+        BigDecimal tdsRate,
+        BigDecimal tdsAmount,
+        BigDecimal netInterest,
+        BigDecimal maturityAmount,
+        LocalDate startDate,
+        LocalDate maturityDate) {
+}
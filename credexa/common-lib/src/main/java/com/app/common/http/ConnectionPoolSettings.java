@@ -0,0 +1,23 @@
+package com.app.common.http;
+
+import lombok.Data;
+
+/**
+ * Settings for the connection pool shared by all downstream clients of a service
+ * Bound from <prefix>.connection-pool
+ */
+@Data
+public class ConnectionPoolSettings {
+
+    // Maximum open connections per remote host
+    private int maxConnections = 100;
+
+    // Milliseconds a request may wait for a free pooled connection
+    private long pendingAcquireTimeoutMs = 2000;
+
+    // Milliseconds an idle connection is kept before being closed
+    private long maxIdleTimeMs = 30000;
+
+    // Milliseconds after which a connection is retired regardless of use
+    private long maxLifeTimeMs = 300000;
+}
@@ -0,0 +1,111 @@
+package com.app.common.http;
+
+import java.time.Duration;
+import java.util.concurrent.TimeoutException;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.reactor.bulkhead.operator.BulkheadOperator;
+import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+/**
+ * Pooled, time-bounded WebClient for one downstream service (see DownstreamClientFactory)
+ *
+ * Build the request with webClient() and pass it through call(): the result is guarded by the
+ * downstream's bulkhead and circuit breaker, retried with jittered backoff on transient failures,
+ * and carries the current request's Authorization header. call() never blocks, so several
+ * downstream calls can be zipped and awaited together.
+ */
+public class DownstreamClient {
+
+    static final String AUTHORIZATION_CONTEXT_KEY = DownstreamClient.class.getName() + ".authorization";
+
+    private final String name;
+    private final WebClient webClient;
+    private final DownstreamSettings settings;
+    private final CircuitBreaker circuitBreaker;
+    private final Bulkhead bulkhead;
+
+    DownstreamClient(String name, WebClient webClient, DownstreamSettings settings,
+                     CircuitBreaker circuitBreaker, Bulkhead bulkhead) {
+        this.name = name;
+        this.webClient = webClient;
+        this.settings = settings;
+        this.circuitBreaker = circuitBreaker;
+        this.bulkhead = bulkhead;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getUrl() {
+        return settings.getUrl();
+    }
+
+    public WebClient webClient() {
+        return webClient;
+    }
+
+    /**
+     * Guard a request built from webClient()
+     * Must be called on the thread handling the incoming request so its Authorization header is captured
+     */
+    public <T> Mono<T> call(Mono<T> request) {
+        Mono<T> guarded = request
+                .transformDeferred(BulkheadOperator.of(bulkhead))
+                .transformDeferred(CircuitBreakerOperator.of(circuitBreaker));
+
+        if (settings.getMaxRetries() > 0) {
+            guarded = guarded.retryWhen(Retry.backoff(settings.getMaxRetries(), Duration.ofMillis(settings.getRetryBackoffMs()))
+                    .jitter(0.5)
+                    .filter(DownstreamClient::isRetryable)
+                    .onRetryExhaustedThrow((spec, signal) -> signal.failure()));
+        }
+
+        String authorization = currentAuthorization();
+        return authorization == null ? guarded : guarded.contextWrite(context -> context.put(AUTHORIZATION_CONTEXT_KEY, authorization));
+    }
+
+    /**
+     * Failures that say the downstream is unhealthy (counted by the circuit breaker)
+     * 4xx responses are the caller's problem and do not count
+     */
+    static boolean isDownstreamFailure(Throwable error) {
+        if (error instanceof WebClientResponseException responseError) {
+            return responseError.getStatusCode().is5xxServerError();
+        }
+        return error instanceof WebClientRequestException || error instanceof TimeoutException;
+    }
+
+    /**
+     * Failures worth another attempt: the request never got an answer, or the downstream
+     * (or a proxy in front of it) reported a temporary condition
+     */
+    static boolean isRetryable(Throwable error) {
+        if (error instanceof WebClientResponseException responseError) {
+            int status = responseError.getStatusCode().value();
+            return status == 502 || status == 503 || status == 504;
+        }
+        return error instanceof WebClientRequestException || error instanceof TimeoutException;
+    }
+
+    private static String currentAuthorization() {
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes) {
+            String authHeader = attributes.getRequest().getHeader(HttpHeaders.AUTHORIZATION);
+            if (authHeader != null && authHeader.startsWith("Bearer ")) {
+                return authHeader;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,120 @@
+package com.app.common.http;
+
+import java.time.Duration;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.netty.channel.ChannelOption;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+/**
+ * Builds DownstreamClients that share one pooled Reactor Netty connection provider
+ * Each client gets its own connect/response timeouts, circuit breaker and bulkhead,
+ * and forwards the caller's Authorization header to the downstream service
+ *
+ * Settings are read from the service's own config section, e.g. for prefix "integration":
+ *   integration.connection-pool.*   shared pool (ConnectionPoolSettings)
+ *   integration.customer-service.*  one downstream (DownstreamSettings)
+ */
+public class DownstreamClientFactory implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(DownstreamClientFactory.class);
+
+    private final WebClient.Builder webClientBuilder;
+    private final Binder binder;
+    private final String prefix;
+    private final ConnectionProvider connectionProvider;
+
+    public DownstreamClientFactory(WebClient.Builder webClientBuilder, Environment environment, String prefix) {
+        this.webClientBuilder = webClientBuilder;
+        this.binder = Binder.get(environment);
+        this.prefix = prefix;
+
+        ConnectionPoolSettings pool = binder.bind(prefix + ".connection-pool", ConnectionPoolSettings.class)
+                .orElseGet(ConnectionPoolSettings::new);
+        this.connectionProvider = ConnectionProvider.builder(prefix + "-downstream")
+                .maxConnections(pool.getMaxConnections())
+                .pendingAcquireTimeout(Duration.ofMillis(pool.getPendingAcquireTimeoutMs()))
+                .maxIdleTime(Duration.ofMillis(pool.getMaxIdleTimeMs()))
+                .maxLifeTime(Duration.ofMillis(pool.getMaxLifeTimeMs()))
+                .evictInBackground(Duration.ofSeconds(30))
+                .build();
+        logger.info("🔌 Downstream connection pool '{}' - max {} connections per host", prefix, pool.getMaxConnections());
+    }
+
+    /**
+     * Client for the downstream configured under <prefix>.<name>
+     */
+    public DownstreamClient create(String name) {
+        DownstreamSettings settings = binder.bind(prefix + "." + name, DownstreamSettings.class)
+                .orElseThrow(() -> new IllegalArgumentException("No downstream configured at " + prefix + "." + name));
+        if (settings.getUrl() == null) {
+            throw new IllegalArgumentException(prefix + "." + name + ".url is required");
+        }
+
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, settings.getConnectTimeout())
+                .responseTimeout(Duration.ofMillis(settings.getTimeout()));
+
+        WebClient webClient = webClientBuilder.clone()
+                .baseUrl(settings.getUrl())
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .filter(forwardAuthorization())
+                .build();
+
+        CircuitBreaker circuitBreaker = CircuitBreaker.of(name, CircuitBreakerConfig.custom()
+                .failureRateThreshold(settings.getFailureRateThreshold())
+                .slidingWindowSize(settings.getSlidingWindowSize())
+                .minimumNumberOfCalls(Math.min(10, settings.getSlidingWindowSize()))
+                .waitDurationInOpenState(Duration.ofMillis(settings.getOpenStateMs()))
+                .recordException(DownstreamClient::isDownstreamFailure)
+                .build());
+        circuitBreaker.getEventPublisher().onStateTransition(event ->
+                logger.warn("⚡ Circuit breaker '{}' {}", name, event.getStateTransition()));
+
+        // Reactive calls must not park the caller, so a full bulkhead rejects instead of waiting
+        Bulkhead bulkhead = Bulkhead.of(name, BulkheadConfig.custom()
+                .maxConcurrentCalls(settings.getMaxConcurrentCalls())
+                .maxWaitDuration(Duration.ZERO)
+                .build());
+
+        logger.info("🔌 Downstream '{}' -> {} (connect {}ms, response {}ms, retries {})", name, settings.getUrl(),
+                settings.getConnectTimeout(), settings.getTimeout(), settings.getMaxRetries());
+        return new DownstreamClient(name, webClient, settings, circuitBreaker, bulkhead);
+    }
+
+    /**
+     * Adds the Authorization header captured by DownstreamClient.call (held in the Reactor context,
+     * so it survives retries and calls subscribed off the request thread)
+     */
+    private ExchangeFilterFunction forwardAuthorization() {
+        return (request, next) -> Mono.deferContextual(context -> {
+            if (request.headers().containsKey(HttpHeaders.AUTHORIZATION)
+                    || !context.hasKey(DownstreamClient.AUTHORIZATION_CONTEXT_KEY)) {
+                return next.exchange(request);
+            }
+            return next.exchange(ClientRequest.from(request)
+                    .header(HttpHeaders.AUTHORIZATION, context.<String>get(DownstreamClient.AUTHORIZATION_CONTEXT_KEY))
+                    .build());
+        });
+    }
+
+    @Override
+    public void close() {
+        connectionProvider.dispose();
+    }
+}
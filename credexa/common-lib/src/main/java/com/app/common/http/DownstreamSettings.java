@@ -0,0 +1,37 @@
+package com.app.common.http;
+
+import lombok.Data;
+
+/**
+ * Connection, timeout and resilience settings for one downstream service
+ * Bound from <prefix>.<name> (e.g. integration.customer-service); every field except url has a default
+ */
+@Data
+public class DownstreamSettings {
+
+    private String url;
+
+    // Milliseconds to wait for a response once the request is sent
+    private int timeout = 5000;
+
+    // Milliseconds to establish a TCP connection
+    private int connectTimeout = 2000;
+
+    // Extra attempts on connection errors, timeouts and 502/503/504 (0 disables retries)
+    private int maxRetries = 0;
+
+    // First retry delay; later retries back off exponentially with jitter
+    private long retryBackoffMs = 100;
+
+    // Failure percentage over the sliding window that opens the circuit
+    private int failureRateThreshold = 50;
+
+    // Calls in the circuit breaker's sliding window
+    private int slidingWindowSize = 20;
+
+    // Milliseconds the circuit stays open before letting trial calls through
+    private long openStateMs = 10000;
+
+    // Concurrent in-flight calls allowed to this downstream; excess calls are rejected immediately
+    private int maxConcurrentCalls = 50;
+}
@@ -0,0 +1,105 @@
+package com.app.common.util;
+
+import java.lang.management.ManagementFactory;
+import java.net.InetAddress;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.Profiles;
+import org.springframework.stereotype.Component;
+
+/**
+ * Snowflake-style unique id generator
+ * Shared across all microservices
+ *
+ * Layout (63 bits): 41 bits milliseconds since 2024-01-01 | 10 bits node id | 12 bits sequence
+ * Lock-free: the last (timestamp, sequence) pair is advanced with a single CAS. A sequence overflow
+ * or a clock step backwards borrows the next millisecond, so ids stay unique and increasing per node.
+ * Set id-generator.node-id to a distinct value (0-1023) on every instance of a service: two instances
+ * sharing a node id can hand out the same id. Startup fails if it is missing, except under a dev,
+ * local or test profile (single instance), where a node id is derived from host and process.
+ * Lazy, so services that never generate ids do not need the property.
+ */
+@Component
+@Lazy
+public class IdGenerator {
+
+    private static final Logger logger = LoggerFactory.getLogger(IdGenerator.class);
+
+    private static final long EPOCH = 1704067200000L; // 2024-01-01T00:00:00Z
+    private static final int NODE_BITS = 10;
+    private static final int SEQUENCE_BITS = 12;
+    private static final long MAX_NODE_ID = (1L << NODE_BITS) - 1;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+    // Profiles that run a single instance and may fall back to a derived node id
+    private static final Profiles SINGLE_INSTANCE_PROFILES = Profiles.of("dev", "local", "test");
+
+    private final long nodeId;
+
+    // (milliseconds since EPOCH << SEQUENCE_BITS) | sequence of the last id handed out
+    private final AtomicLong lastState = new AtomicLong();
+
+    public IdGenerator(@Value("${id-generator.node-id:-1}") long nodeId, Environment environment) {
+        if (nodeId < 0) {
+            if (!environment.acceptsProfiles(SINGLE_INSTANCE_PROFILES)) {
+                throw new IllegalStateException("id-generator.node-id must be set to a value between 0 and "
+                        + MAX_NODE_ID + " that is unique per instance (only dev, local and test profiles may omit it)");
+            }
+            nodeId = deriveNodeId();
+            logger.warn("⚠️ id-generator.node-id not set - derived node id {} from host and process", nodeId);
+        } else if (nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("id-generator.node-id must be between 0 and " + MAX_NODE_ID);
+        }
+        this.nodeId = nodeId;
+    }
+
+    /**
+     * Next unique id
+     */
+    public long nextId() {
+        long now = (System.currentTimeMillis() - EPOCH) << SEQUENCE_BITS;
+        long state = lastState.updateAndGet(last -> Math.max(last + 1, now));
+
+        return ((state >>> SEQUENCE_BITS) << (NODE_BITS + SEQUENCE_BITS))
+                | (nodeId << SEQUENCE_BITS)
+                | (state & SEQUENCE_MASK);
+    }
+
+    /**
+     * Next unique id with a prefix
+     * Example: nextId("TXN") -> TXN-81985529216486895
+     */
+    public String nextId(String prefix) {
+        return prefix + "-" + nextId();
+    }
+
+    /**
+     * Time component of an id generated by this class
+     */
+    public static LocalDateTime timestampOf(long id) {
+        long millis = (id >>> (NODE_BITS + SEQUENCE_BITS)) + EPOCH;
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), ZoneId.systemDefault());
+    }
+
+    public long getNodeId() {
+        return nodeId;
+    }
+
+    private static long deriveNodeId() {
+        String identity;
+        try {
+            identity = InetAddress.getLocalHost().getHostName() + "/" + ManagementFactory.getRuntimeMXBean().getName();
+        } catch (Exception e) {
+            identity = ManagementFactory.getRuntimeMXBean().getName();
+        }
+        return Math.floorMod(identity.hashCode(), MAX_NODE_ID + 1);
+    }
+}
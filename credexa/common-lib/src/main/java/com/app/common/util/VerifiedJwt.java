@@ -0,0 +1,27 @@
+package com.app.common.util;
+
+import java.util.Date;
+import java.util.List;
+
+import io.jsonwebtoken.Claims;
+
+/**
+ * Claims of a token whose signature and expiry have been checked (see JwtUtil.verify)
+ * Parse once per request and read username/roles from here instead of re-parsing the token
+ */
+public record VerifiedJwt(String username, List<String> roles, Date expiration, Claims claims) {
+
+    @SuppressWarnings("unchecked")
+    static VerifiedJwt from(Claims claims) {
+        List<String> roles = claims.get("roles", List.class);
+        return new VerifiedJwt(
+                claims.getSubject(),
+                roles == null ? List.of() : List.copyOf(roles),
+                claims.getExpiration(),
+                claims);
+    }
+
+    public boolean isExpired() {
+        return expiration != null && expiration.getTime() <= System.currentTimeMillis();
+    }
+}
@@ -0,0 +1,109 @@
+package com.app.common.calculation;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.app.common.calculation.CompoundInterestEngine.GrowthFactors;
+
+/**
+ * CompoundInterestEngine throughput: 1M maturities per invocation and 120-month schedules
+ * Run from common-lib: mvn -Pbenchmark test -Djmh.benchmarks=CompoundInterestEngineBenchmark
+ *
+ * millionMaturities is timed against the former double / Math.pow formula on the same inputs.
+ * schedule120Months walks a quarterly-compounding schedule the way fd-calculator-service's
+ * CompoundInterestCalculator does: one step-factor multiply per compounding month, long paise
+ * simple interest otherwise.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CompoundInterestEngineBenchmark {
+
+    private static final int MATURITIES = 1_000_000;
+    private static final int[] PERIODS_PER_YEAR = {1, 2, 4, 12};
+    private static final int SCHEDULE_MONTHS = 120;
+    private static final int SCHEDULE_INPUTS = 1024;
+
+    private BigDecimal[] principals;
+    private BigDecimal[] rates;
+    private double[] tenuresInYears;
+    private int[] periodsPerYear;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(19);
+        principals = new BigDecimal[MATURITIES];
+        rates = new BigDecimal[MATURITIES];
+        tenuresInYears = new double[MATURITIES];
+        periodsPerYear = new int[MATURITIES];
+        for (int i = 0; i < MATURITIES; i++) {
+            principals[i] = BigDecimal.valueOf(random.nextInt(10_000_000) + 1);
+            // A few hundred distinct rates, as on a real rate card
+            rates[i] = BigDecimal.valueOf(random.nextInt(300) * 5 + 5, 2);
+            tenuresInYears[i] = (random.nextInt(120) + 1) / 12.0;
+            periodsPerYear[i] = PERIODS_PER_YEAR[random.nextInt(PERIODS_PER_YEAR.length)];
+        }
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public void millionMaturities(Blackhole blackhole) {
+        for (int i = 0; i < MATURITIES; i++) {
+            blackhole.consume(CompoundInterestEngine.factors(rates[i], periodsPerYear[i])
+                    .maturity(principals[i], periodsPerYear[i] * tenuresInYears[i]));
+        }
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public void millionMaturitiesFormerDouble(Blackhole blackhole) {
+        for (int i = 0; i < MATURITIES; i++) {
+            double ratePerPeriod = rates[i].doubleValue() / 100.0 / periodsPerYear[i];
+            double compoundFactor = Math.pow(1 + ratePerPeriod, periodsPerYear[i] * tenuresInYears[i]);
+            blackhole.consume(BigDecimal.valueOf(principals[i].doubleValue() * compoundFactor)
+                    .setScale(2, RoundingMode.HALF_UP));
+        }
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public long schedule120Months() {
+        int i = next;
+        next = (next + 1) & (SCHEDULE_INPUTS - 1);
+
+        GrowthFactors factors = CompoundInterestEngine.factors(rates[i], 4);
+        BigDecimal stepGrowth = factors.growth(1);
+        long principalPaise = CompoundInterestEngine.toPaise(principals[i]);
+
+        BigDecimal growth = BigDecimal.ONE;
+        long closingPaise = principalPaise;
+        long checksum = 0;
+        for (int month = 1; month <= SCHEDULE_MONTHS; month++) {
+            if (month % 3 == 0) {
+                growth = growth.multiply(stepGrowth, CompoundInterestEngine.PRECISION);
+                closingPaise = factors.growPaise(principalPaise, growth);
+            } else {
+                closingPaise += factors.simpleMonthInterestPaise(closingPaise);
+            }
+            checksum += closingPaise;
+        }
+        return checksum;
+    }
+}
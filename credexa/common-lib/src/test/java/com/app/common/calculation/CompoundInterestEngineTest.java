@@ -0,0 +1,143 @@
+package com.app.common.calculation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import com.app.common.calculation.CompoundInterestEngine.GrowthFactors;
+
+class CompoundInterestEngineTest {
+
+    private static final int[] PERIODS_PER_YEAR = {1, 2, 4, 12, 365};
+    private static final BigDecimal ONE_PAISA = new BigDecimal("0.01");
+
+    /**
+     * Former FdMaturityCalculator.compoundMaturityBeforeTds, before CompoundInterestEngine
+     */
+    private static BigDecimal legacyMaturity(BigDecimal principal, BigDecimal rate, double tenureInYears, int periodsPerYear) {
+        double ratePerPeriod = rate.doubleValue() / 100.0 / periodsPerYear;
+        double numberOfPeriods = periodsPerYear * tenureInYears;
+
+        double compoundFactor = Math.pow(1 + ratePerPeriod, numberOfPeriods);
+        double maturityValue = principal.doubleValue() * compoundFactor;
+
+        return BigDecimal.valueOf(maturityValue).setScale(2, RoundingMode.HALF_UP);
+    }
+
+    @Test
+    void agreesWithFormerDoubleImplementationToAPaisa() {
+        Random random = new Random(19);
+        int inputs = 200_000;
+        int differing = 0;
+
+        for (int i = 0; i < inputs; i++) {
+            BigDecimal principal = randomPrincipal(random);
+            BigDecimal rate = BigDecimal.valueOf(random.nextInt(1500) + 1, 2);
+            int periodsPerYear = PERIODS_PER_YEAR[random.nextInt(PERIODS_PER_YEAR.length)];
+            // Month-based tenures, plus day-based ones that leave a fractional period
+            double tenureInYears = random.nextBoolean()
+                    ? (random.nextInt(120) + 1) / 12.0
+                    : (random.nextInt(3650) + 7) / 365.0;
+
+            BigDecimal current = FdMaturityCalculator.compoundMaturityBeforeTds(principal, rate, tenureInYears, periodsPerYear);
+            BigDecimal legacy = legacyMaturity(principal, rate, tenureInYears, periodsPerYear);
+
+            assertThat(CompoundInterestEngine.factors(rate, periodsPerYear)
+                    .maturity(principal, periodsPerYear * tenureInYears)).isEqualTo(current);
+            assertThat(current.subtract(legacy).abs())
+                    .as("P=%s r=%s years=%s n=%d", principal, rate, tenureInYears, periodsPerYear)
+                    .isLessThanOrEqualTo(ONE_PAISA);
+            if (current.compareTo(legacy) != 0) {
+                differing++;
+            }
+        }
+
+        assertThat(differing).isLessThan(inputs / 10_000);
+    }
+
+    @Test
+    void wholePeriodMaturitiesAreCorrectlyRounded() {
+        Random random = new Random(7);
+        MathContext reference = new MathContext(60);
+
+        for (int i = 0; i < 100_000; i++) {
+            BigDecimal principal = randomPrincipal(random);
+            BigDecimal rate = BigDecimal.valueOf(random.nextInt(1500) + 1, 2);
+            int periodsPerYear = PERIODS_PER_YEAR[random.nextInt(4)];
+            int years = random.nextInt(10) + 1;
+
+            BigDecimal growth = BigDecimal.ONE
+                    .add(rate.divide(BigDecimal.valueOf(100L * periodsPerYear), reference))
+                    .pow(periodsPerYear * years, reference);
+            BigDecimal expected = principal.multiply(growth, reference).setScale(2, RoundingMode.HALF_UP);
+
+            assertThat(FdMaturityCalculator.compoundMaturityBeforeTds(principal, rate, years, periodsPerYear))
+                    .as("P=%s r=%s years=%d n=%d", principal, rate, years, periodsPerYear)
+                    .isEqualTo(expected);
+        }
+    }
+
+    /**
+     * Exact half-paisa maturities: the double product lands just below the tie and used to round down
+     */
+    @ParameterizedTest
+    @CsvSource({
+            "3584542, 9.75, 3934034.84, 3934034.85",
+            "4124385, 1.30, 4178002.00, 4178002.01",
+            "8797619, 4.50, 9193511.85, 9193511.86",
+            "7461225, 1.50, 7573143.37, 7573143.38",
+    })
+    void halfPaisaTiesRoundUp(BigDecimal principal, BigDecimal rate, BigDecimal legacy, BigDecimal expected) {
+        assertThat(legacyMaturity(principal, rate, 1, 1)).isEqualTo(legacy);
+        assertThat(FdMaturityCalculator.compoundMaturityBeforeTds(principal, rate, 1, 1)).isEqualTo(expected);
+    }
+
+    @Test
+    void paiseArithmeticMatchesDecimalArithmetic() {
+        Random random = new Random(11);
+
+        for (int i = 0; i < 100_000; i++) {
+            BigDecimal opening = randomPrincipal(random);
+            long openingPaise = CompoundInterestEngine.toPaise(opening);
+            GrowthFactors factors = CompoundInterestEngine.factors(
+                    BigDecimal.valueOf(random.nextInt(1500) + 1, 2), 12);
+            BigDecimal growth = factors.growth(random.nextInt(120) + 1);
+
+            assertThat(BigDecimal.valueOf(factors.simpleMonthInterestPaise(openingPaise), 2))
+                    .isEqualTo(factors.simpleMonthInterest(opening));
+            assertThat(BigDecimal.valueOf(factors.growPaise(openingPaise, growth), 2))
+                    .isEqualTo(factors.grow(opening, growth));
+        }
+    }
+
+    @Test
+    void toPaiseRejectsFractionalNegativeAndOversizedAmounts() {
+        assertThat(CompoundInterestEngine.toPaise(new BigDecimal("1234.56"))).isEqualTo(123456);
+        assertThat(CompoundInterestEngine.toPaise(new BigDecimal("100"))).isEqualTo(10000);
+        assertThat(CompoundInterestEngine.toPaise(new BigDecimal("0.005"))).isEqualTo(-1);
+        assertThat(CompoundInterestEngine.toPaise(new BigDecimal("-1"))).isEqualTo(-1);
+        assertThat(CompoundInterestEngine.toPaise(new BigDecimal("1000000000000.01"))).isEqualTo(-1);
+    }
+
+    @Test
+    void factorsAreSharedAcrossEqualRates() {
+        assertThat(CompoundInterestEngine.factors(new BigDecimal("7.50"), 4))
+                .isSameAs(CompoundInterestEngine.factors(new BigDecimal("7.5"), 4));
+        assertThat(CompoundInterestEngine.factors(new BigDecimal("7.5"), 12))
+                .isNotSameAs(CompoundInterestEngine.factors(new BigDecimal("7.5"), 4));
+    }
+
+    // Up to ₹1 crore, in whole rupees or with paise
+    private static BigDecimal randomPrincipal(Random random) {
+        return random.nextBoolean()
+                ? BigDecimal.valueOf(random.nextInt(10_000_000) + 1)
+                : BigDecimal.valueOf(random.nextInt(1_000_000_000) + 1, 2);
+    }
+}
@@ -0,0 +1,73 @@
+package com.app.common.util;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.env.MockEnvironment;
+
+/**
+ * IdGenerator throughput, uncontended and with 8 threads sharing one generator
+ * Run from common-lib: mvn -Pbenchmark test -Djmh.benchmarks=IdGeneratorBenchmark
+ *
+ * Every benchmark thread fails the run if an id does not increase over its previous one, so a
+ * reported score is a rate of distinct ids; IdGeneratorTest covers uniqueness across threads.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class IdGeneratorBenchmark {
+
+    private IdGenerator generator;
+
+    @Setup
+    public void setUp() {
+        generator = new IdGenerator(1, new MockEnvironment());
+    }
+
+    /**
+     * Last id handed to one benchmark thread
+     */
+    @State(Scope.Thread)
+    public static class LastId {
+        long value;
+
+        long next(long id) {
+            if (id <= value) {
+                throw new IllegalStateException("id " + id + " does not increase over " + value);
+            }
+            value = id;
+            return id;
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public long nextId(LastId last) {
+        return last.next(generator.nextId());
+    }
+
+    @Benchmark
+    @Threads(8)
+    public long nextIdContended(LastId last) {
+        return last.next(generator.nextId());
+    }
+
+    @Benchmark
+    @Threads(1)
+    public String nextPrefixedId() {
+        return generator.nextId("TXN");
+    }
+}
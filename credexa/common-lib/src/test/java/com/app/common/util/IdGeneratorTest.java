@@ -0,0 +1,141 @@
+package com.app.common.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+class IdGeneratorTest {
+
+    private static final int THREADS = 8;
+    private static final int IDS_PER_THREAD = 250_000;
+
+    @Test
+    void idsAreUniqueAcrossThreadsAndIncreasingPerThread() throws Exception {
+        IdGenerator generator = new IdGenerator(7, new MockEnvironment());
+        long[][] perThread = generateConcurrently(generator);
+
+        for (long[] ids : perThread) {
+            for (int i = 1; i < ids.length; i++) {
+                assertThat(ids[i]).isGreaterThan(ids[i - 1]);
+            }
+        }
+        assertAllDistinct(perThread);
+    }
+
+    @Test
+    void instancesWithDistinctNodeIdsNeverCollide() throws Exception {
+        IdGenerator first = new IdGenerator(1, new MockEnvironment());
+        IdGenerator second = new IdGenerator(2, new MockEnvironment());
+
+        // Same milliseconds, same sequence numbers - only the node bits differ
+        long[][] ids = new long[2][];
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<long[]> a = executor.submit(() -> generate(first, IDS_PER_THREAD));
+            Future<long[]> b = executor.submit(() -> generate(second, IDS_PER_THREAD));
+            ids[0] = a.get();
+            ids[1] = b.get();
+        } finally {
+            executor.shutdownNow();
+        }
+        assertAllDistinct(ids);
+    }
+
+    @Test
+    void sequenceOverflowBorrowsTheNextMillisecond() throws Exception {
+        IdGenerator generator = new IdGenerator(3, new MockEnvironment());
+        long[][] perThread = generateConcurrently(generator);
+
+        // Overflowing 4096 ids in a millisecond borrows the next one instead of repeating an id
+        assertAllDistinct(perThread);
+        long last = Arrays.stream(perThread).mapToLong(ids -> ids[ids.length - 1]).max().orElseThrow();
+        assertThat(IdGenerator.timestampOf(last)).isBefore(LocalDateTime.now().plus(Duration.ofMinutes(1)));
+    }
+
+    @Test
+    void missingNodeIdFailsOutsideSingleInstanceProfiles() {
+        assertThatThrownBy(() -> new IdGenerator(-1, new MockEnvironment()))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("id-generator.node-id");
+
+        MockEnvironment production = new MockEnvironment();
+        production.setActiveProfiles("prod");
+        assertThatThrownBy(() -> new IdGenerator(-1, production))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void missingNodeIdIsDerivedInDevProfile() {
+        MockEnvironment dev = new MockEnvironment();
+        dev.setActiveProfiles("dev");
+
+        assertThat(new IdGenerator(-1, dev).getNodeId()).isBetween(0L, 1023L);
+    }
+
+    @Test
+    void nodeIdAboveTenBitsIsRejected() {
+        assertThatThrownBy(() -> new IdGenerator(1024, new MockEnvironment()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void timestampIsRecoveredFromId() {
+        IdGenerator generator = new IdGenerator(0, new MockEnvironment());
+        LocalDateTime before = LocalDateTime.now().minusSeconds(1);
+
+        LocalDateTime timestamp = IdGenerator.timestampOf(generator.nextId());
+
+        assertThat(timestamp).isAfter(before).isBefore(LocalDateTime.now().plusSeconds(1));
+        assertThat(generator.nextId("TXN")).startsWith("TXN-");
+    }
+
+    private static long[][] generateConcurrently(IdGenerator generator) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<long[]>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return generate(generator, IDS_PER_THREAD);
+                }));
+            }
+            start.countDown();
+
+            long[][] perThread = new long[THREADS][];
+            for (int t = 0; t < THREADS; t++) {
+                perThread[t] = futures.get(t).get();
+            }
+            return perThread;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static long[] generate(IdGenerator generator, int count) {
+        long[] ids = new long[count];
+        for (int i = 0; i < count; i++) {
+            ids[i] = generator.nextId();
+        }
+        return ids;
+    }
+
+    private static void assertAllDistinct(long[][] groups) {
+        long[] all = Arrays.stream(groups).flatMapToLong(Arrays::stream).sorted().toArray();
+        for (int i = 1; i < all.length; i++) {
+            assertThat(all[i]).as("duplicate id").isNotEqualTo(all[i - 1]);
+        }
+    }
+}
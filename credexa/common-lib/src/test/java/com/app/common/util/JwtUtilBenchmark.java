@@ -0,0 +1,95 @@
+package com.app.common.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import javax.crypto.SecretKey;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+
+/**
+ * Per-request authentication cost of a service filter, before and after JwtUtil.verify
+ * Run from common-lib: mvn -Pbenchmark test -Djmh.benchmarks=JwtUtilBenchmark
+ *
+ * threeParses: the former filter - extractUsername, validateToken and extractRoles each rebuilt
+ * the HMAC key and parsed the token. singleVerifyUncached: one parse with the prebuilt key (a
+ * verification-cache miss). singleVerifyCached: JwtUtil.verify for a token already verified.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtUtilBenchmark {
+
+    private static final String SECRET = "benchmarkSecretKeyForCredexaJwtUtilMustBe256BitsLongForHS256";
+
+    private JwtUtil jwtUtil;
+    private JwtParser parser;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "secret", SECRET);
+        ReflectionTestUtils.setField(jwtUtil, "expiration", 3_600_000L);
+        ReflectionTestUtils.setField(jwtUtil, "verificationCacheSize", 10_000L);
+        jwtUtil.init();
+
+        parser = Jwts.parser().verifyWith(signingKey()).build();
+        token = jwtUtil.generateToken("alice", List.of("ROLE_CUSTOMER"));
+        jwtUtil.verify(token);
+    }
+
+    @Benchmark
+    @SuppressWarnings("unchecked")
+    public void threeParses(Blackhole blackhole) {
+        blackhole.consume(legacyClaims().getSubject());
+        blackhole.consume(legacyClaims().getExpiration().getTime() > System.currentTimeMillis());
+        blackhole.consume(legacyClaims().get("roles", List.class));
+    }
+
+    @Benchmark
+    public void singleVerifyUncached(Blackhole blackhole) {
+        VerifiedJwt verified = VerifiedJwt.from(parser.parseSignedClaims(token).getPayload());
+        consume(blackhole, verified);
+    }
+
+    @Benchmark
+    public void singleVerifyCached(Blackhole blackhole) {
+        consume(blackhole, jwtUtil.verify(token));
+    }
+
+    // What each former accessor did: build the key, build a parser, verify the signature
+    private Claims legacyClaims() {
+        return Jwts.parser().verifyWith(signingKey()).build().parseSignedClaims(token).getPayload();
+    }
+
+    private static SecretKey signingKey() {
+        return Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void consume(Blackhole blackhole, VerifiedJwt verified) {
+        blackhole.consume(verified.username());
+        blackhole.consume(verified.isExpired());
+        blackhole.consume(verified.roles());
+    }
+}
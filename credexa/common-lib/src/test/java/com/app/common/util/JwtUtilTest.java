@@ -0,0 +1,93 @@
+package com.app.common.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.security.SignatureException;
+
+class JwtUtilTest {
+
+    private static final String SECRET = "testSecretKeyForCredexaJwtUtilMustBe256BitsLongForHS256";
+    private static final long SERVICE_EXPIRATION_MS = 300_000;
+
+    @Test
+    void repeatVerificationIsServedFromTheCache() {
+        JwtUtil jwtUtil = jwtUtil(3_600_000);
+        String token = jwtUtil.generateToken("alice", List.of("ROLE_CUSTOMER"));
+
+        VerifiedJwt first = jwtUtil.verify(token);
+
+        assertThat(jwtUtil.verify(token)).isSameAs(first);
+        assertThat(first.username()).isEqualTo("alice");
+        assertThat(first.roles()).containsExactly("ROLE_CUSTOMER");
+    }
+
+    @Test
+    void cachedTokenStopsVerifyingOnceExpired() throws InterruptedException {
+        JwtUtil jwtUtil = jwtUtil(1_000);
+        String token = jwtUtil.generateToken("alice", List.of("ROLE_CUSTOMER"));
+        VerifiedJwt verified = jwtUtil.verify(token);
+        assertThat(jwtUtil.validateToken(token)).isTrue();
+
+        // exp has second precision; wait until it has passed
+        Thread.sleep(verified.expiration().getTime() - System.currentTimeMillis() + 50);
+
+        assertThat(jwtUtil.validateToken(token)).isFalse();
+        assertThatThrownBy(() -> jwtUtil.verify(token)).isInstanceOf(ExpiredJwtException.class);
+    }
+
+    @Test
+    void tamperedTokenIsRejectedEvenWhenTheOriginalIsCached() {
+        JwtUtil jwtUtil = jwtUtil(3_600_000);
+        String token = jwtUtil.generateToken("alice", List.of("ROLE_CUSTOMER"));
+        jwtUtil.verify(token);
+
+        String forged = jwtUtil(3_600_000, "anotherSecretKeyForCredexaJwtUtilMustBe256BitsLongForHS256")
+                .generateToken("alice", List.of("ROLE_ADMIN"));
+
+        assertThatThrownBy(() -> jwtUtil.verify(forged)).isInstanceOf(SignatureException.class);
+        assertThat(jwtUtil.validateToken(forged)).isFalse();
+        // A failed verification does not disturb the cached entry
+        assertThat(jwtUtil.extractRoles(token)).containsExactly("ROLE_CUSTOMER");
+    }
+
+    @Test
+    void serviceTokenCarriesOnlyTheServiceRole() {
+        JwtUtil jwtUtil = jwtUtil(3_600_000);
+
+        VerifiedJwt verified = jwtUtil.verify(jwtUtil.generateServiceToken("product-pricing-service"));
+
+        assertThat(verified.username()).isEqualTo("product-pricing-service");
+        assertThat(verified.roles()).containsExactly(JwtUtil.SERVICE_ROLE);
+    }
+
+    @Test
+    void serviceTokenUsesTheShortServiceLifetime() {
+        JwtUtil jwtUtil = jwtUtil(3_600_000);
+
+        VerifiedJwt verified = jwtUtil.verify(jwtUtil.generateServiceToken("account-service"));
+
+        long lifetimeMs = verified.expiration().getTime() - System.currentTimeMillis();
+        assertThat(lifetimeMs).isPositive().isLessThanOrEqualTo(SERVICE_EXPIRATION_MS);
+    }
+
+    private static JwtUtil jwtUtil(long expirationMs) {
+        return jwtUtil(expirationMs, SECRET);
+    }
+
+    private static JwtUtil jwtUtil(long expirationMs, String secret) {
+        JwtUtil jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "secret", secret);
+        ReflectionTestUtils.setField(jwtUtil, "expiration", expirationMs);
+        ReflectionTestUtils.setField(jwtUtil, "serviceExpiration", SERVICE_EXPIRATION_MS);
+        ReflectionTestUtils.setField(jwtUtil, "verificationCacheSize", 100L);
+        jwtUtil.init();
+        return jwtUtil;
+    }
+}
@@ -13,6 +13,7 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import com.app.common.util.JwtUtil;
+import com.app.common.util.VerifiedJwt;
 
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -66,37 +67,35 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         try {
             // Extract JWT token
             jwt = authHeader.substring(7);
-            username = jwtUtil.extractUsername(jwt);
+
+            // Verify signature and expiry once; an invalid token throws
+            VerifiedJwt token = jwtUtil.verify(jwt);
+            username = token.username();
 
             // If username is extracted and no authentication is set
             if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                // Validate token
-                if (jwtUtil.validateToken(jwt)) {
-                    // Extract roles from JWT
-                    List<String> roles = jwtUtil.extractRoles(jwt);
-                    
-                    // Convert roles to GrantedAuthority
-                    List<GrantedAuthority> authorities = roles.stream()
-                            .map(SimpleGrantedAuthority::new)
-                            .collect(Collectors.toList());
-
-                    // Create authentication token
-                    UsernamePasswordAuthenticationToken authToken = 
-                            new UsernamePasswordAuthenticationToken(
-                                    username, 
-                                    null, 
-                                    authorities
-                            );
-                    
-                    authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                    
-                    // Set authentication in SecurityContext
-                    SecurityContextHolder.getContext().setAuthentication(authToken);
-                    
-                    log.debug("JWT authentication successful for user: {} with roles: {}", username, roles);
-                } else {
-                    log.warn("Invalid JWT token");
-                }
+                // Extract roles from JWT
+                List<String> roles = token.roles();
+                
+                // Convert roles to GrantedAuthority
+                List<GrantedAuthority> authorities = roles.stream()
+                        .map(SimpleGrantedAuthority::new)
+                        .collect(Collectors.toList());
+
+                // Create authentication token
+                UsernamePasswordAuthenticationToken authToken = 
+                        new UsernamePasswordAuthenticationToken(
+                                username, 
+                                null, 
+                                authorities
+                        );
+                
+                authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                
+                // Set authentication in SecurityContext
+                SecurityContextHolder.getContext().setAuthentication(authToken);
+                
+                log.debug("JWT authentication successful for user: {} with roles: {}", username, roles);
             }
         } catch (Exception e) {
             log.error("Cannot set user authentication: {}", e.getMessage());
@@ -38,6 +38,8 @@ import lombok.extern.slf4j.Slf4j;
 @SecurityRequirement(name = "Bearer Authentication")
 public class CustomerController {
 
+    private static final int MAX_BATCH_IDS = 1000;
+
     private final CustomerService customerService;
 
     /**
@@ -125,6 +127,21 @@ public class CustomerController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Get customers by IDs - bulk lookup for other services (e.g. bulk account opening)
+     */
+    @PostMapping("/batch")
+    @PreAuthorize("hasAnyRole('MANAGER', 'ADMIN')")
+    @Operation(summary = "Get customers by IDs", description = "Retrieve up to " + MAX_BATCH_IDS + " customers in one call. Unknown IDs are omitted from the result.")
+    public ResponseEntity<java.util.List<CustomerResponse>> getCustomersByIds(@RequestBody java.util.List<Long> ids) {
+        if (ids.size() > MAX_BATCH_IDS) {
+            log.warn("Rejected batch lookup of {} customer IDs (max {})", ids.size(), MAX_BATCH_IDS);
+            return ResponseEntity.badRequest().build();
+        }
+        log.info("Retrieving {} customers by ID", ids.size());
+        return ResponseEntity.ok(customerService.getCustomersByIds(new java.util.LinkedHashSet<>(ids)));
+    }
+
     @GetMapping("/user/{userId}")
     @PreAuthorize("hasAnyRole('CUSTOMER', 'MANAGER', 'ADMIN')")
     @Operation(summary = "Get customer by user ID", description = "Retrieve customer details by user ID from login-service. Customers can only view their own profile.")
@@ -0,0 +1,26 @@
+package com.app.customer.event;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Event published after a customer's classification is set (profile created) or changed
+ * Consumers caching classifications or rate categories (e.g. fd-calculator-service) evict the customer on receipt
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CustomerClassificationChangedEvent {
+
+    private Long customerId;
+    private String username;
+    private String previousClassification;
+    private String classification;
+    private String changedBy;
+    private LocalDateTime changedAt;
+}
@@ -0,0 +1,51 @@
+package com.app.customer.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.app.customer.event.CustomerClassificationChangedEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Forwards customer classification changes to Kafka once the change has committed
+ * Only activates if kafka.enabled=true
+ * Fails gracefully if Kafka is not available (subscribers fall back to their cache TTL)
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnProperty(name = "kafka.enabled", havingValue = "true", matchIfMissing = false)
+public class CustomerEventPublisher {
+
+    private final KafkaTemplate<String, String> kafkaTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Value("${kafka.topics.customer-classification-changed:customer-classification-changed}")
+    private String classificationChangedTopic;
+
+    @TransactionalEventListener
+    public void publishClassificationChanged(CustomerClassificationChangedEvent event) {
+        try {
+            String eventJson = objectMapper.writeValueAsString(event);
+            kafkaTemplate.send(classificationChangedTopic, String.valueOf(event.getCustomerId()), eventJson)
+                    .whenComplete((result, ex) -> {
+                        if (ex == null) {
+                            log.info("Published CustomerClassificationChangedEvent for customer {}: {} -> {}",
+                                    event.getCustomerId(), event.getPreviousClassification(), event.getClassification());
+                        } else {
+                            log.error("Failed to publish CustomerClassificationChangedEvent for customer {}: {}",
+                                    event.getCustomerId(), ex.getMessage());
+                        }
+                    });
+        } catch (JsonProcessingException e) {
+            log.error("Error serializing CustomerClassificationChangedEvent: {}", e.getMessage());
+        }
+    }
+}
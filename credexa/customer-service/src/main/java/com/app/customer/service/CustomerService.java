@@ -2,8 +2,10 @@ package com.app.customer.service;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.Period;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -14,6 +16,7 @@ import com.app.customer.dto.CustomerClassificationResponse;
 import com.app.customer.dto.CustomerResponse;
 import com.app.customer.dto.UpdateCustomerRequest;
 import com.app.customer.entity.Customer;
+import com.app.customer.event.CustomerClassificationChangedEvent;
 import com.app.customer.exception.CustomerNotFoundException;
 import com.app.customer.exception.DuplicateCustomerException;
 import com.app.customer.repository.CustomerRepository;
@@ -31,6 +34,7 @@ public class CustomerService {
 
     private final CustomerRepository customerRepository;
     private final LoginServiceClient loginServiceClient;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Create a new customer
@@ -159,6 +163,7 @@ public class CustomerService {
 
         Customer savedCustomer = customerRepository.save(customer);
         log.info("Customer created successfully with ID: {}", savedCustomer.getId());
+        publishClassificationChange(savedCustomer, null, authenticatedUsername);
 
         return CustomerResponse.fromEntity(savedCustomer);
     }
@@ -174,6 +179,18 @@ public class CustomerService {
         return CustomerResponse.fromEntity(customer);
     }
 
+    /**
+     * Get customers by IDs in one query (bulk lookups from other services)
+     * Unknown IDs are simply absent from the result
+     */
+    @Transactional(readOnly = true)
+    public java.util.List<CustomerResponse> getCustomersByIds(java.util.Collection<Long> ids) {
+        log.info("Fetching {} customers by ID", ids.size());
+        return customerRepository.findAllById(ids).stream()
+                .map(CustomerResponse::fromEntity)
+                .collect(java.util.stream.Collectors.toList());
+    }
+
     /**
      * Get customer by user ID
      */
@@ -206,6 +223,8 @@ public class CustomerService {
         log.debug("User '{}' (Admin: {}) authorized to update customer for userId: {}", 
                 authenticatedUsername, isAdmin, customer.getUserId());
 
+        Customer.CustomerClassification previousClassification = customer.getClassification();
+
         // Update only non-null fields
         if (request.getFullName() != null) {
             customer.setFullName(request.getFullName());
@@ -298,6 +317,9 @@ public class CustomerService {
 
         Customer updatedCustomer = customerRepository.save(customer);
         log.info("Customer updated successfully with ID: {}", updatedCustomer.getId());
+        if (updatedCustomer.getClassification() != previousClassification) {
+            publishClassificationChange(updatedCustomer, previousClassification, authenticatedUsername);
+        }
 
         return CustomerResponse.fromEntity(updatedCustomer);
     }
@@ -368,6 +390,22 @@ public class CustomerService {
                 .build();
     }
 
+    /**
+     * Announce a new or changed classification (forwarded to Kafka after commit by CustomerEventPublisher)
+     */
+    private void publishClassificationChange(Customer customer, Customer.CustomerClassification previousClassification,
+                                             String changedBy) {
+        log.info("Customer {} classification: {} -> {}", customer.getId(), previousClassification, customer.getClassification());
+        eventPublisher.publishEvent(CustomerClassificationChangedEvent.builder()
+                .customerId(customer.getId())
+                .username(customer.getUsername())
+                .previousClassification(previousClassification != null ? previousClassification.name() : null)
+                .classification(customer.getClassification() != null ? customer.getClassification().name() : null)
+                .changedBy(changedBy)
+                .changedAt(LocalDateTime.now())
+                .build());
+    }
+
     /**
      * Validate duplicate customer (checking mobile, email, PAN, Aadhar)
      * Note: userId is already checked in createCustomer method
@@ -1,14 +1,22 @@
 package com.app.calculator.config;
 
-import java.util.concurrent.TimeUnit;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.cache.caffeine.CaffeineCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
 
 import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 
 /**
  * Cache configuration using Caffeine
@@ -17,20 +25,54 @@ import com.github.benmanes.caffeine.cache.Caffeine;
 @EnableCaching
 public class CacheConfig {
     
+    /**
+     * Memoized calculation results, keyed by normalized inputs (see FdCalculatorService)
+     */
+    public static final String CALCULATION_RESULTS = "calculationResults";
+    
+    // Used for any cache without its own entry under cache.specs
+    private static final String DEFAULT_SPEC = "maximumSize=500,expireAfterWrite=24h";
+    
+    private static final List<String> CACHE_NAMES = List.of(
+        "products", 
+        "interestRates", 
+        "customerClassifications",
+        "customerCategories"
+    );
+    
+    @Value("${calculator.result-cache.maximum-size:10000}")
+    private long calculationResultsMaximumSize;
+    
+    /**
+     * One Caffeine cache per name, each sized by its own spec (cache.specs.{name}), all recording stats
+     */
     @Bean
-    public CacheManager cacheManager() {
-        CaffeineCacheManager cacheManager = new CaffeineCacheManager(
-            "products", 
-            "interestRates", 
-            "customerClassifications",
-            "customerCategories"
-        );
+    public CacheManager cacheManager(Environment environment) {
+        Map<String, String> specs = Binder.get(environment)
+            .bind("cache.specs", Bindable.mapOf(String.class, String.class))
+            .orElse(Map.of());
+        
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.setCaffeine(withStats(DEFAULT_SPEC));
+        for (String name : CACHE_NAMES) {
+            cacheManager.registerCustomCache(name, withStats(specs.getOrDefault(name, DEFAULT_SPEC)).build());
+        }
         
-        cacheManager.setCaffeine(Caffeine.newBuilder()
-            .maximumSize(500)
-            .expireAfterWrite(24, TimeUnit.HOURS)
-            .recordStats());
+        // Results carry the start date (today), so they expire at the next midnight
+        cacheManager.registerCustomCache(CALCULATION_RESULTS, Caffeine.newBuilder()
+            .maximumSize(calculationResultsMaximumSize)
+            .expireAfter(Expiry.creating((key, value) -> untilMidnight(LocalDateTime.now())))
+            .recordStats()
+            .build());
         
         return cacheManager;
     }
+    
+    private static Caffeine<Object, Object> withStats(String spec) {
+        return spec.contains("recordStats") ? Caffeine.from(spec) : Caffeine.from(spec).recordStats();
+    }
+    
+    static Duration untilMidnight(LocalDateTime now) {
+        return Duration.between(now, now.toLocalDate().plusDays(1).atStartOfDay());
+    }
 }
@@ -1,25 +1,42 @@
 package com.app.calculator.controller;
 
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.util.List; // Lab L11
+import java.util.NoSuchElementException;
+import java.util.concurrent.RejectedExecutionException;
 
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.app.calculator.dto.BatchCalculationRequest;
+import com.app.calculator.dto.BatchCalculationResult;
 import com.app.calculator.dto.CalculationResponse;
 import com.app.calculator.dto.ComparisonRequest;
 import com.app.calculator.dto.ComparisonResponse;
 import com.app.calculator.dto.ProductBasedCalculationRequest;
+import com.app.calculator.dto.ReportHandle;
+import com.app.calculator.dto.ScheduleResponse;
 import com.app.calculator.dto.StandaloneCalculationRequest;
+import com.app.calculator.service.BatchCalculationService;
 import com.app.calculator.service.FdCalculatorService;
 import com.app.calculator.service.FdReportService; // Lab L11
+import com.app.calculator.service.ScheduleService;
 import com.app.common.dto.ApiResponse;
 
 import io.swagger.v3.oas.annotations.Operation;
@@ -46,6 +63,8 @@ public class FdCalculatorController {
     
     private final FdCalculatorService fdCalculatorService;
     private final FdReportService fdReportService; // Lab L11
+    private final BatchCalculationService batchCalculationService;
+    private final ScheduleService scheduleService;
     
     /**
      * Lab L6 Specification: /api/fd/calculate endpoint
@@ -286,24 +305,109 @@ public class FdCalculatorController {
         ));
     }
     
+    @PostMapping(value = "/calculate/batch", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @PreAuthorize("hasAnyAuthority('ROLE_CUSTOMER', 'ROLE_MANAGER', 'ROLE_ADMIN')")
+    @Operation(
+        summary = "Batch FD calculation",
+        description = "Price many standalone deposits in one request. Columns (principals, rates, tenures, ...) " +
+                     "are read row by row; a single-element column applies to every row. Rows are computed in " +
+                     "parallel and streamed back as NDJSON (one result or error per line, in row order). " +
+                     "The monthly breakdown is skipped unless includeBreakdown is true. " +
+                     "Requires CUSTOMER, MANAGER, or ADMIN role."
+    )
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "200",
+            description = "NDJSON stream of BatchCalculationResult lines",
+            content = @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE,
+                               schema = @Schema(implementation = BatchCalculationResult.class))
+        ),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "400",
+            description = "Columns do not line up or the batch is too large"
+        )
+    })
+    public ResponseEntity<?> calculateBatch(
+            @Valid @RequestBody @Parameter(description = "Columnar batch of calculations")
+            BatchCalculationRequest request,
+            Authentication authentication) {
+        
+        log.info("Batch calculation request from user: {}", authentication.getName());
+        
+        try {
+            StreamingResponseBody body = batchCalculationService.calculate(request);
+            return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(ApiResponse.error("Invalid batch request", e.getMessage()));
+        }
+    }
+    
+    @GetMapping("/calculate/{calculationId}/schedule")
+    @PreAuthorize("hasAnyAuthority('ROLE_CUSTOMER', 'ROLE_MANAGER', 'ROLE_ADMIN')")
+    @Operation(
+        summary = "Monthly schedule of a calculation",
+        description = "Page through the month-by-month breakdown of a recent calculation, using the calculationId " +
+                     "from its response. Rows are generated on demand for months from..to (inclusive, 1-based); " +
+                     "without to, one full page is returned and nextFromMonth points at the next one. " +
+                     "Any tenure length is supported. Requires CUSTOMER, MANAGER, or ADMIN role."
+    )
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "200",
+            description = "Schedule page",
+            content = @Content(schema = @Schema(implementation = ScheduleResponse.class))
+        ),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "400",
+            description = "Invalid month range"
+        ),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "404",
+            description = "Unknown or expired calculation ID"
+        )
+    })
+    public ResponseEntity<ApiResponse<ScheduleResponse>> getSchedule(
+            @PathVariable @Parameter(description = "Calculation ID") String calculationId,
+            @RequestParam(required = false) @Parameter(description = "First month (default 1)") Integer from,
+            @RequestParam(required = false) @Parameter(description = "Last month (default: one page)") Integer to) {
+        
+        try {
+            ScheduleResponse schedule = scheduleService.getSchedule(calculationId, from, to);
+            return ResponseEntity.ok(ApiResponse.success(
+                String.format("Schedule months %d-%d of %d", schedule.getFromMonth(), schedule.getToMonth(),
+                              schedule.getTenureMonths()),
+                schedule
+            ));
+        } catch (NoSuchElementException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(ApiResponse.error("Schedule not found", e.getMessage()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error("Invalid schedule range", e.getMessage()));
+        }
+    }
+    
     /**
-     * Lab L11: Generate FD calculation report using Python script
+     * Lab L11: Generate FD calculation report
      * POST /calculate/report
      * Requires CUSTOMER role and valid JWT authentication
-     * Executes Python script via Runtime.exec() to generate CSV report
+     * The CSV is written in the background; poll /report/{reportId} and download when COMPLETED
      */
     @PostMapping("/report")
     @PreAuthorize("hasAuthority('ROLE_CUSTOMER')")
     @Operation(
         summary = "Generate FD Calculation Report (Lab L11)",
-        description = "Generate CSV report from FD calculation data using Python script execution. " +
-                     "Requires CUSTOMER role. Executes Python script via Runtime.exec() to create CSV report."
+        description = "Queue a CSV report of the given FD calculations. Returns a report handle immediately; " +
+                     "the report is written in the background and can be downloaded from " +
+                     "/report/{reportId}/download once its status is COMPLETED. Requires CUSTOMER role."
     )
     @ApiResponses(value = {
         @io.swagger.v3.oas.annotations.responses.ApiResponse(
-            responseCode = "200", 
-            description = "Report generated successfully",
-            content = @Content(schema = @Schema(implementation = ApiResponse.class))
+            responseCode = "202", 
+            description = "Report queued",
+            content = @Content(schema = @Schema(implementation = ReportHandle.class))
         ),
         @io.swagger.v3.oas.annotations.responses.ApiResponse(
             responseCode = "400", 
@@ -318,11 +422,11 @@ public class FdCalculatorController {
             description = "Forbidden - User does not have CUSTOMER role"
         ),
         @io.swagger.v3.oas.annotations.responses.ApiResponse(
-            responseCode = "500", 
-            description = "Report generation failed"
+            responseCode = "503", 
+            description = "Too many reports queued - retry later"
         )
     })
-    public ResponseEntity<ApiResponse<String>> generateReport(
+    public ResponseEntity<ApiResponse<ReportHandle>> generateReport(
             @RequestBody @Parameter(description = "List of FD calculations to include in report") 
             List<CalculationResponse> calculations,
             Authentication authentication) {
@@ -331,25 +435,53 @@ public class FdCalculatorController {
         log.info("Lab L11: Generating report for user: {} with {} calculations", username, calculations.size());
         
         try {
-            String reportPath = fdReportService.generateReport(calculations, username);
-            
-            if (reportPath == null) {
-                return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                    .body(ApiResponse.error("Failed to generate report. Check logs for details."));
-            }
-            
-            return ResponseEntity.ok(ApiResponse.success(
-                String.format("Report generated successfully for %s with %d calculations", username, calculations.size()),
-                reportPath
+            ReportHandle report = fdReportService.submitReport(calculations, username);
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(ApiResponse.success(
+                String.format("Report queued for %s with %d calculations", username, calculations.size()),
+                report
             ));
-            
-        } catch (Exception e) {
-            log.error("Lab L11: Error generating report for user {}: {}", username, e.getMessage(), e);
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                .body(ApiResponse.error("Error generating report: " + e.getMessage()));
+        } catch (RejectedExecutionException e) {
+            log.warn("Lab L11: Report queue full, rejecting report for user {}", username);
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .body(ApiResponse.error("Too many reports in progress. Please retry shortly."));
         }
     }
     
+    @GetMapping("/report/{reportId}")
+    @PreAuthorize("hasAuthority('ROLE_CUSTOMER')")
+    @Operation(
+        summary = "Report status",
+        description = "Status of a report requested by the current user (PENDING, COMPLETED or FAILED)."
+    )
+    public ResponseEntity<ApiResponse<ReportHandle>> getReport(
+            @PathVariable @Parameter(description = "Report ID") String reportId,
+            Authentication authentication) {
+        
+        return fdReportService.getReport(reportId, authentication.getName())
+            .map(report -> ResponseEntity.ok(ApiResponse.success("Report " + report.getStatus(), report)))
+            .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(ApiResponse.error("Report not found", "Unknown or expired report: " + reportId)));
+    }
+    
+    @GetMapping(value = "/report/{reportId}/download", produces = "text/csv")
+    @PreAuthorize("hasAuthority('ROLE_CUSTOMER')")
+    @Operation(
+        summary = "Download report",
+        description = "Download a COMPLETED report requested by the current user as CSV."
+    )
+    public ResponseEntity<Resource> downloadReport(
+            @PathVariable @Parameter(description = "Report ID") String reportId,
+            Authentication authentication) {
+        
+        return fdReportService.getReportFile(reportId, authentication.getName())
+            .map(file -> ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                    .filename("fd_report_" + reportId + ".csv").build().toString())
+                .contentType(new MediaType("text", "csv", StandardCharsets.UTF_8))
+                .<Resource>body(new FileSystemResource(file)))
+            .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+    
     @GetMapping("/health")
     @Operation(
         summary = "Health check",
@@ -0,0 +1,62 @@
+package com.app.calculator.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import com.app.calculator.enums.CalculationType;
+import com.app.calculator.enums.CompoundingFrequency;
+import com.app.calculator.enums.TenureUnit;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Columnar batch of standalone FD calculations
+ * Row i takes element i of every column; a column with a single element applies to all rows
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Columnar batch of standalone FD calculations (row i = element i of each column)")
+public class BatchCalculationRequest {
+    
+    @NotEmpty(message = "Principal amounts are required")
+    @Schema(description = "Principal amounts", example = "[100000, 250000]", required = true)
+    private List<BigDecimal> principalAmounts;
+    
+    @NotEmpty(message = "Interest rates are required")
+    @Schema(description = "Annual interest rates (%)", example = "[7.5, 7.25]", required = true)
+    private List<BigDecimal> interestRates;
+    
+    @NotEmpty(message = "Tenures are required")
+    @Schema(description = "Tenures", example = "[12, 24]", required = true)
+    private List<Integer> tenures;
+    
+    @Schema(description = "Tenure units (default MONTHS)", example = "[\"MONTHS\"]")
+    private List<TenureUnit> tenureUnits;
+    
+    @Schema(description = "Calculation types (default COMPOUND)", example = "[\"COMPOUND\"]")
+    private List<CalculationType> calculationTypes;
+    
+    @Schema(description = "Compounding frequencies (default QUARTERLY)", example = "[\"QUARTERLY\"]")
+    private List<CompoundingFrequency> compoundingFrequencies;
+    
+    @Schema(description = "TDS rates (%) - optional", example = "[10.0]")
+    private List<BigDecimal> tdsRates;
+    
+    @Schema(description = "Customer IDs whose classification adds a rate bonus - optional, entries may be null",
+            example = "[1, 2]")
+    private List<Long> customerIds;
+    
+    @Schema(description = "Include the monthly breakdown in each result, up to one schedule page of months", example = "false")
+    private boolean includeBreakdown;
+
+    @Schema(description = "Register each row's schedule under a calculation ID for GET /calculate/{id}/schedule "
+            + "(off by default so large batches do not crowd out interactive calculations)", example = "false")
+    private boolean registerSchedules;
+}
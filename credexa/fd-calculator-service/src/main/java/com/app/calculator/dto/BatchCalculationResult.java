@@ -0,0 +1,30 @@
+package com.app.calculator.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One line of a batch calculation response (NDJSON): the result or the error for one row
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(description = "Result of one batch row")
+public class BatchCalculationResult {
+    
+    @Schema(description = "Row index in the request", example = "0")
+    private Integer index;
+    
+    @Schema(description = "Calculation result (absent if the row failed)")
+    private CalculationResponse result;
+    
+    @Schema(description = "Why the row failed (absent on success)", example = "principalAmount: Minimum principal amount is ₹1000")
+    private String error;
+}
@@ -25,6 +25,10 @@ import lombok.NoArgsConstructor;
 @Schema(description = "FD calculation results with detailed breakdown")
 public class CalculationResponse {
     
+    @Schema(description = "Calculation ID, used to page the monthly schedule via /calculate/{calculationId}/schedule",
+            example = "3f1c2a9e-6b7d-4f0a-9c1e-2d5b8a7e4c10")
+    private String calculationId;
+    
     @Schema(description = "Principal/Investment amount", example = "100000.00")
     private BigDecimal principalAmount;
     
@@ -87,6 +91,11 @@ public class CalculationResponse {
     @Schema(description = "Customer classifications applied", example = "[\"SENIOR_CITIZEN\"]")
     private List<String> customerClassifications;
     
-    @Schema(description = "Monthly interest breakdown (optional)")
+    @Schema(description = "Monthly interest breakdown (only when includeBreakdown is requested; "
+            + "at most calculator.schedule.max-page-size months, the rest is paged by calculation ID)")
     private List<MonthlyBreakdown> monthlyBreakdown;
+    
+    @Schema(description = "First month not in monthlyBreakdown (page the rest from here), null when it is complete",
+            example = "361")
+    private Integer breakdownNextFromMonth;
 }
@@ -63,4 +63,7 @@ public class ProductBasedCalculationRequest {
     
     @Schema(description = "Apply TDS calculation", example = "true")
     private Boolean applyTds;
+    
+    @Schema(description = "Include the monthly breakdown in the response, up to one schedule page (page the rest via /calculate/{calculationId}/schedule)", example = "false")
+    private Boolean includeBreakdown;
 }
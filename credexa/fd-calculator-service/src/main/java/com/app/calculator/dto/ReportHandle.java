@@ -0,0 +1,48 @@
+package com.app.calculator.dto;
+
+import java.time.LocalDateTime;
+
+import com.app.calculator.enums.ReportStatus;
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Handle to a report generated in the background
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(description = "Status and download location of an FD calculation report")
+public class ReportHandle {
+    
+    @Schema(description = "Report ID", example = "8c0e7f3a-2b4d-4e61-9f5a-1d3c6b7a9e20")
+    private String reportId;
+    
+    @Schema(description = "Report status", example = "COMPLETED")
+    private ReportStatus status;
+    
+    @Schema(description = "Calculations in the report", example = "25")
+    private Integer rowCount;
+    
+    @Schema(description = "Download path (relative to the calculator context path)", example = "/report/8c0e7f3a-2b4d-4e61-9f5a-1d3c6b7a9e20/download")
+    private String downloadUrl;
+    
+    @Schema(description = "Failure reason (FAILED reports only)")
+    private String error;
+    
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    @Schema(description = "When the report was requested", example = "2025-01-20 10:15:30")
+    private LocalDateTime requestedAt;
+    
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    @Schema(description = "When the report finished", example = "2025-01-20 10:15:30")
+    private LocalDateTime completedAt;
+}
@@ -0,0 +1,38 @@
+package com.app.calculator.dto;
+
+import java.util.List;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One page of a calculation's monthly schedule
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Page of monthly breakdown rows for a calculation")
+public class ScheduleResponse {
+    
+    @Schema(description = "Calculation ID (from the calculation response)", example = "3f1c2a9e-6b7d-4f0a-9c1e-2d5b8a7e4c10")
+    private String calculationId;
+    
+    @Schema(description = "Total months in the schedule", example = "60")
+    private Integer tenureMonths;
+    
+    @Schema(description = "First month in this page", example = "1")
+    private Integer fromMonth;
+    
+    @Schema(description = "Last month in this page", example = "12")
+    private Integer toMonth;
+    
+    @Schema(description = "First month of the next page (absent on the last page)", example = "13")
+    private Integer nextFromMonth;
+    
+    @Schema(description = "Monthly interest breakdown rows")
+    private List<MonthlyBreakdown> rows;
+}
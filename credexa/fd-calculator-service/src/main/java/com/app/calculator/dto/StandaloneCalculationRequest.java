@@ -67,4 +67,7 @@ public class StandaloneCalculationRequest {
     @Schema(description = "Customer classifications for additional interest (max 2)", example = "[\"SENIOR_CITIZEN\", \"PREMIUM\"]")
     @Size(max = 2, message = "Maximum 2 customer classifications allowed")
     private List<String> customerClassifications;
+    
+    @Schema(description = "Include the monthly breakdown in the response, up to one schedule page (page the rest via /calculate/{calculationId}/schedule)", example = "false")
+    private Boolean includeBreakdown;
 }
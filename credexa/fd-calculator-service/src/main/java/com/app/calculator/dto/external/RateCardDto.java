@@ -0,0 +1,33 @@
+package com.app.calculator.dto.external;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for the versioned rate card exported by product-pricing-service
+ * Slabs are ordered best first: the first slab that applies to a request is its rate
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RateCardDto {
+
+    private Long version;
+    private List<ProductRateCard> products;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ProductRateCard {
+
+        private Long productId;
+        private Long version;
+        private List<InterestRateDto> slabs;
+    }
+}
@@ -0,0 +1,20 @@
+package com.app.calculator.enums;
+
+/**
+ * Lifecycle of an asynchronously generated report
+ */
+public enum ReportStatus {
+    PENDING("Queued or being written"),
+    COMPLETED("Ready for download"),
+    FAILED("Generation failed");
+    
+    private final String description;
+    
+    ReportStatus(String description) {
+        this.description = description;
+    }
+    
+    public String getDescription() {
+        return description;
+    }
+}
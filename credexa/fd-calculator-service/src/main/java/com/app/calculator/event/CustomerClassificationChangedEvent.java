@@ -0,0 +1,24 @@
+package com.app.calculator.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Event consumed when customer-service sets or changes a customer's classification
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CustomerClassificationChangedEvent {
+    private Long customerId;
+    private String username;
+    private String previousClassification;
+    private String classification;
+    private String changedBy;
+    private LocalDateTime changedAt;
+}
@@ -13,6 +13,7 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import com.app.common.util.JwtUtil;
+import com.app.common.util.VerifiedJwt;
 
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -63,40 +64,38 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         try {
             // Extract JWT token
             jwt = authHeader.substring(7);
-            username = jwtUtil.extractUsername(jwt);
+
+            // Verify signature and expiry once; an invalid token throws
+            VerifiedJwt token = jwtUtil.verify(jwt);
+            username = token.username();
 
             // If username is extracted and no authentication is set
             if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                // Validate token
-                if (jwtUtil.validateToken(jwt, username)) {
-                    // Extract roles from JWT
-                    List<String> roles = jwtUtil.extractRoles(jwt);
-                    
-                    // Convert roles to GrantedAuthority
-                    // Note: If roles already have ROLE_ prefix (e.g., ROLE_CUSTOMER), keep them as-is
-                    // Spring Security's hasRole() will add ROLE_ prefix, so we need to use hasAuthority() in @PreAuthorize
-                    List<GrantedAuthority> authorities = roles.stream()
-                            .map(SimpleGrantedAuthority::new)
-                            .collect(Collectors.toList());
+                // Extract roles from JWT
+                List<String> roles = token.roles();
+                
+                // Convert roles to GrantedAuthority
+                // Note: If roles already have ROLE_ prefix (e.g., ROLE_CUSTOMER), keep them as-is
+                // Spring Security's hasRole() will add ROLE_ prefix, so we need to use hasAuthority() in @PreAuthorize
+                List<GrantedAuthority> authorities = roles.stream()
+                        .map(SimpleGrantedAuthority::new)
+                        .collect(Collectors.toList());
 
-                    // Create authentication token
-                    UsernamePasswordAuthenticationToken authToken = 
-                            new UsernamePasswordAuthenticationToken(
-                                    username, 
-                                    null, 
-                                    authorities
-                            );
-                    
-                    authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                    
-                    // Set authentication in SecurityContext
-                    SecurityContextHolder.getContext().setAuthentication(authToken);
-                    
-                    log.info("✅ JWT authentication successful for user: {} with roles: {} on path: {}", 
-                             username, roles, requestPath);
-                } else {
-                    log.error("❌ Invalid JWT token for path: {}", requestPath);
-                }
+                // Create authentication token
+                UsernamePasswordAuthenticationToken authToken = 
+                        new UsernamePasswordAuthenticationToken(
+                                username, 
+                                null, 
+                                authorities
+                        );
+                
+                authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                
+                // Set authentication in SecurityContext
+                SecurityContextHolder.getContext().setAuthentication(authToken);
+                
+                log.info("✅ JWT authentication successful for user: {} with roles: {} on path: {}", 
+                         username, roles, requestPath);
             }
         } catch (Exception e) {
             log.error("Cannot set user authentication: {}", e.getMessage());
@@ -0,0 +1,221 @@
+package com.app.calculator.service;
+
+import com.app.calculator.dto.BatchCalculationRequest;
+import com.app.calculator.dto.BatchCalculationResult;
+import com.app.calculator.dto.CalculationResponse;
+import com.app.calculator.dto.StandaloneCalculationRequest;
+import com.app.calculator.enums.CalculationType;
+import com.app.calculator.enums.CompoundingFrequency;
+import com.app.calculator.enums.TenureUnit;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Batch (columnar) FD calculations
+ * Rows are priced in parallel, in chunks, on a dedicated ForkJoin pool and streamed back as NDJSON in
+ * row order while later chunks are still computing. Only a bounded window of chunks is in flight: the
+ * next chunk is submitted once the oldest one has been written, so a slow client holds back pricing
+ * instead of letting finished results pile up in memory. Customer classifications are looked up once
+ * per distinct customer before any row is priced.
+ */
+@Service
+@Slf4j
+public class BatchCalculationService {
+
+    private static final byte[] NEWLINE = {'\n'};
+
+    // Customer lookups in flight at once while resolving a batch's classifications
+    private static final int LOOKUP_CONCURRENCY = 8;
+
+    private final FdCalculatorService fdCalculatorService;
+    private final CustomerIntegrationService customerIntegrationService;
+    private final Validator validator;
+    private final ObjectWriter lineWriter;
+    private final ForkJoinPool pool;
+    private final int maxRows;
+    private final int chunkSize;
+    private final int chunksInFlight;
+
+    public BatchCalculationService(FdCalculatorService fdCalculatorService,
+                                   CustomerIntegrationService customerIntegrationService,
+                                   Validator validator,
+                                   ObjectMapper objectMapper,
+                                   @Value("${calculator.batch.parallelism:0}") int parallelism,
+                                   @Value("${calculator.batch.max-rows:10000}") int maxRows,
+                                   @Value("${calculator.batch.chunk-size:256}") int chunkSize,
+                                   @Value("${calculator.batch.chunks-in-flight:0}") int chunksInFlight) {
+        this.fdCalculatorService = fdCalculatorService;
+        this.customerIntegrationService = customerIntegrationService;
+        this.validator = validator;
+        this.lineWriter = objectMapper.writerFor(BatchCalculationResult.class);
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+        this.maxRows = maxRows;
+        this.chunkSize = chunkSize;
+        this.chunksInFlight = chunksInFlight > 0 ? chunksInFlight : 2 * pool.getParallelism();
+    }
+
+    /**
+     * Validate the batch shape, resolve customer classifications and return the NDJSON body
+     * Runs the lookups on the calling (request) thread so they carry the caller's JWT
+     * @throws IllegalArgumentException if the columns do not line up or the batch is too large
+     */
+    public StreamingResponseBody calculate(BatchCalculationRequest request) {
+        int rows = rowCount(request);
+        Map<Long, String> classifications = resolveClassifications(request.getCustomerIds());
+        log.info("Batch calculation: {} rows, {} customers, breakdown: {}",
+                rows, classifications.size(), request.isIncludeBreakdown());
+
+        return out -> writeResults(request, rows, classifications, out);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    private void writeResults(BatchCalculationRequest request, int rows,
+                              Map<Long, String> classifications, OutputStream out) throws IOException {
+        long startTime = System.currentTimeMillis();
+        Deque<ForkJoinTask<List<BatchCalculationResult>>> chunks = new ArrayDeque<>(chunksInFlight);
+        int nextRow = 0;
+
+        try {
+            while (nextRow < rows || !chunks.isEmpty()) {
+                // Top the window up; the oldest chunk is written before anything further is submitted
+                while (nextRow < rows && chunks.size() < chunksInFlight) {
+                    int start = nextRow;
+                    int end = Math.min(nextRow + chunkSize, rows);
+                    chunks.add(pool.submit(() -> calculateRows(request, start, end, classifications)));
+                    nextRow = end;
+                }
+
+                ForkJoinTask<List<BatchCalculationResult>> chunk = chunks.poll();
+                for (BatchCalculationResult result : chunk.join()) {
+                    out.write(lineWriter.writeValueAsBytes(result));
+                    out.write(NEWLINE);
+                }
+                out.flush();
+            }
+            log.info("Batch calculation of {} rows completed in {}ms", rows, System.currentTimeMillis() - startTime);
+        } finally {
+            // Client went away (or a write failed): stop pricing rows nobody will read
+            chunks.forEach(chunk -> chunk.cancel(false));
+        }
+    }
+
+    private List<BatchCalculationResult> calculateRows(BatchCalculationRequest request, int start, int end,
+                                                       Map<Long, String> classifications) {
+        List<BatchCalculationResult> results = new ArrayList<>(end - start);
+        for (int row = start; row < end; row++) {
+            results.add(calculateRow(request, row, classifications));
+        }
+        return results;
+    }
+
+    private BatchCalculationResult calculateRow(BatchCalculationRequest request, int row,
+                                                Map<Long, String> classifications) {
+        Long customerId = column(request.getCustomerIds(), row, null);
+        String classification = customerId != null ? classifications.get(customerId) : null;
+        StandaloneCalculationRequest calculation = StandaloneCalculationRequest.builder()
+            .principalAmount(column(request.getPrincipalAmounts(), row, null))
+            .interestRate(column(request.getInterestRates(), row, null))
+            .tenure(column(request.getTenures(), row, null))
+            .tenureUnit(column(request.getTenureUnits(), row, TenureUnit.MONTHS))
+            .calculationType(column(request.getCalculationTypes(), row, CalculationType.COMPOUND))
+            .compoundingFrequency(column(request.getCompoundingFrequencies(), row, CompoundingFrequency.QUARTERLY))
+            .tdsRate(column(request.getTdsRates(), row, null))
+            .customerClassifications(classification != null ? List.of(classification) : null)
+            .build();
+
+        Set<ConstraintViolation<StandaloneCalculationRequest>> violations = validator.validate(calculation);
+        if (!violations.isEmpty()) {
+            return BatchCalculationResult.builder()
+                .index(row)
+                .error(violations.stream()
+                    .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining("; ")))
+                .build();
+        }
+
+        try {
+            CalculationResponse result = fdCalculatorService.calculateStandalone(calculation,
+                request.isIncludeBreakdown(), request.isRegisterSchedules());
+            return BatchCalculationResult.builder().index(row).result(result).build();
+        } catch (Exception e) {
+            return BatchCalculationResult.builder().index(row).error(e.getMessage()).build();
+        }
+    }
+
+    /**
+     * Rows in the batch: every column must have one element (applies to all rows) or one per row
+     */
+    private int rowCount(BatchCalculationRequest request) {
+        List<List<?>> columns = Stream.of(request.getPrincipalAmounts(), request.getInterestRates(),
+                request.getTenures(), request.getTenureUnits(), request.getCalculationTypes(),
+                request.getCompoundingFrequencies(), request.getTdsRates(), request.getCustomerIds())
+            .filter(column -> column != null && !column.isEmpty())
+            .<List<?>>map(column -> column)
+            .toList();
+
+        int rows = columns.stream().mapToInt(List::size).max().orElse(0);
+        if (columns.stream().anyMatch(column -> column.size() != 1 && column.size() != rows)) {
+            throw new IllegalArgumentException("Every column must have 1 or " + rows + " elements");
+        }
+        if (rows > maxRows) {
+            throw new IllegalArgumentException("Batch of " + rows + " rows exceeds the maximum of " + maxRows);
+        }
+        return rows;
+    }
+
+    /**
+     * Classification per distinct customer (customers without one, or whose lookup fails, are left out)
+     */
+    private Map<Long, String> resolveClassifications(List<Long> customerIds) {
+        if (customerIds == null || customerIds.isEmpty()) {
+            return Map.of();
+        }
+
+        Map<Long, String> classifications = Flux.fromStream(customerIds.stream().filter(Objects::nonNull).distinct())
+            .flatMap(customerId -> customerIntegrationService.getCustomerClassificationAsync(customerId)
+                .map(classification -> Map.entry(customerId, classification))
+                .onErrorResume(e -> {
+                    log.warn("Classification lookup failed for customer {}: {}", customerId, e.getMessage());
+                    return Mono.empty();
+                }), LOOKUP_CONCURRENCY)
+            .collectMap(Map.Entry::getKey, Map.Entry::getValue)
+            .block();
+        return classifications != null ? classifications : Map.of();
+    }
+
+    private static <T> T column(List<T> values, int row, T defaultValue) {
+        if (values == null || values.isEmpty()) {
+            return defaultValue;
+        }
+        T value = values.size() == 1 ? values.get(0) : values.get(row);
+        return value != null ? value : defaultValue;
+    }
+}
@@ -3,19 +3,27 @@ package com.app.calculator.service;
 import com.app.calculator.dto.MonthlyBreakdown;
 import com.app.calculator.enums.CompoundingFrequency;
 import com.app.calculator.enums.TenureUnit;
+import com.app.common.calculation.CompoundInterestEngine;
+import com.app.common.calculation.CompoundInterestEngine.GrowthFactors;
+import com.app.common.calculation.FdMaturityCalculator;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.time.LocalDate;
-import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Service for Compound Interest calculations
  * Formula: M = P × (1 + r/n)^(nt)
  * Where n = compounding frequency per year
+ * Growth factors come from the shared CompoundInterestEngine (exact decimal arithmetic, cached per rate)
  */
 @Service
 @Slf4j
@@ -51,29 +59,10 @@ public class CompoundInterestCalculator {
     public BigDecimal calculateMaturityAmountBeforeTDS(BigDecimal principal, BigDecimal rate,
                                                        int tenure, TenureUnit tenureUnit,
                                                        CompoundingFrequency frequency) {
-        double tenureInYears = tenureUnit.toYears(tenure);
-        int n = frequency.getPeriodsPerYear(); // Compounding periods per year
-        
-        // Convert rate from percentage to decimal: r/100
-        double rateDecimal = rate.doubleValue() / 100.0;
-        
-        // Formula: M = P × (1 + r/n)^(nt)
-        // Where:
-        // P = Principal
-        // r = Annual interest rate (as decimal)
-        // n = Number of compounding periods per year
-        // t = Time in years
-        
-        double ratePerPeriod = rateDecimal / n; // r/n
-        double numberOfPeriods = n * tenureInYears; // nt
-        
-        double compoundFactor = Math.pow(1 + ratePerPeriod, numberOfPeriods);
-        double maturityValue = principal.doubleValue() * compoundFactor;
-        
-        BigDecimal maturityAmount = BigDecimal.valueOf(maturityValue)
-            .setScale(2, RoundingMode.HALF_UP);
-        
-        return maturityAmount;
+        // Formula: M = P × (1 + r/n)^(nt), n = compounding periods per year
+        int periodsPerYear = frequency.getPeriodsPerYear();
+        return CompoundInterestEngine.factors(rate, periodsPerYear)
+                .maturity(principal, periodsPerYear * tenureUnit.toYears(tenure));
     }
     
     /**
@@ -94,13 +83,7 @@ public class CompoundInterestCalculator {
      * Calculate TDS on interest
      */
     public BigDecimal calculateTDS(BigDecimal interest, BigDecimal tdsRate) {
-        if (tdsRate == null || tdsRate.compareTo(BigDecimal.ZERO) == 0) {
-            return BigDecimal.ZERO;
-        }
-        
-        return interest
-            .multiply(tdsRate)
-            .divide(BigDecimal.valueOf(100), 2, RoundingMode.HALF_UP);
+        return FdMaturityCalculator.tds(interest, tdsRate);
     }
     
     /**
@@ -111,62 +94,171 @@ public class CompoundInterestCalculator {
                                                            int tenureMonths,
                                                            CompoundingFrequency frequency,
                                                            LocalDate startDate) {
-        List<MonthlyBreakdown> breakdown = new ArrayList<>();
-        
-        int n = frequency.getPeriodsPerYear();
-        double rateDecimal = annualRate.doubleValue() / 100.0;
-        double ratePerPeriod = rateDecimal / n;
-        
-        BigDecimal openingBalance = principal;
-        BigDecimal cumulativeInterest = BigDecimal.ZERO;
-        
-        for (int month = 1; month <= tenureMonths; month++) {
-            LocalDate monthEndDate = startDate.plusMonths(month);
-            
-            // Determine if compounding happens this month
-            boolean isCompoundingMonth = switch (frequency) {
-                case DAILY -> true; // Approximate daily as continuous
-                case MONTHLY -> true; // Every month
-                case QUARTERLY -> (month % 3 == 0);
-                case SEMI_ANNUALLY -> (month % 6 == 0);
-                case ANNUALLY -> (month % 12 == 0);
-            };
-            
-            BigDecimal monthlyInterest;
-            BigDecimal closingBalance;
-            
-            if (isCompoundingMonth || frequency == CompoundingFrequency.DAILY) {
-                // Calculate compound interest for the period
-                double periodsElapsed = month / (12.0 / n);
-                double compoundFactor = Math.pow(1 + ratePerPeriod, periodsElapsed);
-                closingBalance = principal.multiply(BigDecimal.valueOf(compoundFactor))
-                    .setScale(2, RoundingMode.HALF_UP);
-                
-                monthlyInterest = closingBalance.subtract(openingBalance);
-                cumulativeInterest = closingBalance.subtract(principal);
+        return schedule(principal, annualRate, frequency, startDate, 1, tenureMonths).toList();
+    }
+    
+    /**
+     * Monthly breakdown rows fromMonth..toMonth, generated on demand
+     * Compounding months: closing = principal × (1 + r/n)^(periods elapsed), grown by one precomputed
+     * step factor per compounding month (no per-row pow); other months accrue one month of simple interest.
+     * Balances are tracked in long paise when the principal is a whole number of paise.
+     * Months before fromMonth are accrued without building rows, so a page matches the full schedule.
+     */
+    public Stream<MonthlyBreakdown> schedule(BigDecimal principal,
+                                             BigDecimal annualRate,
+                                             CompoundingFrequency frequency,
+                                             LocalDate startDate,
+                                             int fromMonth,
+                                             int toMonth) {
+        GrowthFactors factors = CompoundInterestEngine.factors(annualRate, frequency.getPeriodsPerYear());
+        
+        // DAILY compounds (approximately) every month; the others every 12/n months
+        int monthsPerStep = frequency == CompoundingFrequency.DAILY ? 1 : 12 / frequency.getPeriodsPerYear();
+        BigDecimal stepGrowth = factors.growth(monthsPerStep * frequency.getPeriodsPerYear() / 12.0);
+        
+        long principalPaise = CompoundInterestEngine.toPaise(principal);
+        ScheduleIterator rows = principalPaise >= 0
+            ? new PaiseSchedule(principalPaise, factors, stepGrowth, monthsPerStep, startDate, toMonth)
+            : new DecimalSchedule(principal, factors, stepGrowth, monthsPerStep, startDate, toMonth);
+        rows.skipTo(fromMonth);
+        
+        return StreamSupport.stream(Spliterators.spliterator(rows, Math.max(toMonth - Math.max(fromMonth, 1) + 1, 0),
+            Spliterator.ORDERED | Spliterator.NONNULL | Spliterator.IMMUTABLE), false);
+    }
+    
+    /**
+     * Walks the schedule one month at a time; subclasses hold the balances
+     */
+    private abstract static class ScheduleIterator implements Iterator<MonthlyBreakdown> {
+        
+        protected final GrowthFactors factors;
+        private final BigDecimal stepGrowth;
+        private final int monthsPerStep;
+        private final LocalDate startDate;
+        private final int toMonth;
+        
+        private int month;
+        private BigDecimal growth = BigDecimal.ONE;
+        
+        ScheduleIterator(GrowthFactors factors, BigDecimal stepGrowth, int monthsPerStep,
+                         LocalDate startDate, int toMonth) {
+            this.factors = factors;
+            this.stepGrowth = stepGrowth;
+            this.monthsPerStep = monthsPerStep;
+            this.startDate = startDate;
+            this.toMonth = toMonth;
+        }
+        
+        void skipTo(int fromMonth) {
+            while (month < fromMonth - 1) {
+                advance();
+            }
+        }
+        
+        @Override
+        public boolean hasNext() {
+            return month < toMonth;
+        }
+        
+        @Override
+        public MonthlyBreakdown next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            advance();
+            return row(month, startDate.plusMonths(month));
+        }
+        
+        private void advance() {
+            month++;
+            if (month % monthsPerStep == 0) {
+                growth = growth.multiply(stepGrowth, CompoundInterestEngine.PRECISION);
+                compound(growth);
             } else {
-                // Simple interest for non-compounding months
-                monthlyInterest = openingBalance
-                    .multiply(BigDecimal.valueOf(rateDecimal / 12))
-                    .setScale(2, RoundingMode.HALF_UP);
-                
-                closingBalance = openingBalance.add(monthlyInterest);
-                cumulativeInterest = cumulativeInterest.add(monthlyInterest);
+                accrueSimpleMonth();
             }
-            
-            MonthlyBreakdown entry = MonthlyBreakdown.builder()
-                .month(month)
-                .date(monthEndDate)
-                .openingBalance(openingBalance)
-                .interestEarned(monthlyInterest)
-                .closingBalance(closingBalance)
-                .cumulativeInterest(cumulativeInterest)
-                .build();
-            
-            breakdown.add(entry);
-            openingBalance = closingBalance;
         }
         
-        return breakdown;
+        protected abstract void compound(BigDecimal growth);
+        
+        protected abstract void accrueSimpleMonth();
+        
+        protected abstract MonthlyBreakdown row(int month, LocalDate date);
+    }
+    
+    private static final class PaiseSchedule extends ScheduleIterator {
+        
+        private final long principalPaise;
+        private long openingPaise;
+        private long interestPaise;
+        private long closingPaise;
+        private long cumulativePaise;
+        
+        PaiseSchedule(long principalPaise, GrowthFactors factors, BigDecimal stepGrowth,
+                      int monthsPerStep, LocalDate startDate, int toMonth) {
+            super(factors, stepGrowth, monthsPerStep, startDate, toMonth);
+            this.principalPaise = principalPaise;
+            this.closingPaise = principalPaise;
+        }
+        
+        @Override
+        protected void compound(BigDecimal growth) {
+            openingPaise = closingPaise;
+            closingPaise = factors.growPaise(principalPaise, growth);
+            interestPaise = closingPaise - openingPaise;
+            cumulativePaise = closingPaise - principalPaise;
+        }
+        
+        @Override
+        protected void accrueSimpleMonth() {
+            openingPaise = closingPaise;
+            interestPaise = factors.simpleMonthInterestPaise(openingPaise);
+            closingPaise = openingPaise + interestPaise;
+            cumulativePaise += interestPaise;
+        }
+        
+        @Override
+        protected MonthlyBreakdown row(int month, LocalDate date) {
+            return new MonthlyBreakdown(month, date, BigDecimal.valueOf(openingPaise, 2),
+                BigDecimal.valueOf(interestPaise, 2), BigDecimal.valueOf(closingPaise, 2),
+                BigDecimal.valueOf(cumulativePaise, 2));
+        }
+    }
+    
+    private static final class DecimalSchedule extends ScheduleIterator {
+        
+        private final BigDecimal principal;
+        private BigDecimal opening;
+        private BigDecimal interest;
+        private BigDecimal closing;
+        private BigDecimal cumulativeInterest = BigDecimal.ZERO;
+        
+        DecimalSchedule(BigDecimal principal, GrowthFactors factors, BigDecimal stepGrowth,
+                        int monthsPerStep, LocalDate startDate, int toMonth) {
+            super(factors, stepGrowth, monthsPerStep, startDate, toMonth);
+            this.principal = principal;
+            this.closing = principal;
+        }
+        
+        @Override
+        protected void compound(BigDecimal growth) {
+            opening = closing;
+            closing = factors.grow(principal, growth);
+            interest = closing.subtract(opening);
+            cumulativeInterest = closing.subtract(principal);
+        }
+        
+        @Override
+        protected void accrueSimpleMonth() {
+            opening = closing;
+            interest = factors.simpleMonthInterest(opening);
+            closing = opening.add(interest);
+            cumulativeInterest = cumulativeInterest.add(interest);
+        }
+        
+        @Override
+        protected MonthlyBreakdown row(int month, LocalDate date) {
+            return new MonthlyBreakdown(month, date, opening, interest, closing, cumulativeInterest);
+        }
     }
 }
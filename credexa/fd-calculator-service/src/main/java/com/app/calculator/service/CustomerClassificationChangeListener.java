@@ -0,0 +1,63 @@
+package com.app.calculator.service;
+
+import com.app.calculator.event.CustomerClassificationChangedEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Service;
+
+/**
+ * Evicts a customer's cached classification and rate categories when customer-service announces a change
+ * Only activates if kafka.enabled=true (otherwise the cache TTL bounds staleness)
+ * Every instance uses its own consumer group so each one sees every change
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "kafka.enabled", havingValue = "true", matchIfMissing = false)
+public class CustomerClassificationChangeListener {
+
+    private static final String CLASSIFICATIONS = "customerClassifications";
+    private static final String CATEGORIES = "customerCategories";
+
+    private final CacheManager cacheManager;
+    private final ObjectMapper objectMapper;
+
+    @KafkaListener(
+            topics = "${kafka.topics.customer-classification-changed:customer-classification-changed}",
+            groupId = "fd-calculator-customer-cache-${random.uuid}",
+            properties = "auto.offset.reset=latest")
+    public void onClassificationChanged(String message) {
+        try {
+            CustomerClassificationChangedEvent event = objectMapper.readValue(message, CustomerClassificationChangedEvent.class);
+            log.info("Customer {} classification {} -> {}: evicting cached classification and categories",
+                    event.getCustomerId(), event.getPreviousClassification(), event.getClassification());
+            evict(CLASSIFICATIONS, event.getCustomerId());
+            evict(CATEGORIES, event.getUsername());
+        } catch (JsonProcessingException e) {
+            // Unreadable event: drop everything rather than risk pricing with a stale classification
+            log.error("Unreadable CustomerClassificationChangedEvent, clearing customer caches: {}", e.getMessage());
+            clear(CLASSIFICATIONS);
+            clear(CATEGORIES);
+        }
+    }
+
+    private void evict(String cacheName, Object key) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null && key != null) {
+            cache.evict(key);
+        }
+    }
+
+    private void clear(String cacheName) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null) {
+            cache.clear();
+        }
+    }
+}
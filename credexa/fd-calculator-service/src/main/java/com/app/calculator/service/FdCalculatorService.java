@@ -1,5 +1,6 @@
 package com.app.calculator.service;
 
+import com.app.calculator.config.CacheConfig;
 import com.app.calculator.dto.*;
 import com.app.calculator.dto.external.InterestRateDto;
 import com.app.calculator.dto.external.ProductDto;
@@ -8,6 +9,8 @@ import com.app.calculator.enums.CompoundingFrequency;
 import com.app.calculator.enums.TenureUnit;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
@@ -29,7 +32,10 @@ public class FdCalculatorService {
     private final SimpleInterestCalculator simpleInterestCalculator;
     private final CompoundInterestCalculator compoundInterestCalculator;
     private final ProductIntegrationService productIntegrationService;
+    private final RateCardService rateCardService;
     private final CustomerIntegrationService customerIntegrationService;
+    private final ScheduleService scheduleService;
+    private final CacheManager cacheManager;
     
     /**
      * Lab L10: Calculate FD with authentication and automatic category fetching
@@ -101,7 +107,25 @@ public class FdCalculatorService {
      */
     public CalculationResponse calculateStandalone(StandaloneCalculationRequest request) {
         log.info("Processing standalone calculation for principal: {}", request.getPrincipalAmount());
-        
+        return calculateStandalone(request, Boolean.TRUE.equals(request.getIncludeBreakdown()));
+    }
+    
+    /**
+     * Calculate FD with standalone inputs (no product, no logging per call)
+     * @param includeBreakdown whether to include the full monthly breakdown (it can always be paged by calculation ID)
+     */
+    public CalculationResponse calculateStandalone(StandaloneCalculationRequest request, boolean includeBreakdown) {
+        return calculateStandalone(request, includeBreakdown, true);
+    }
+
+    /**
+     * Calculate FD with standalone inputs (no product, no logging per call)
+     * @param includeBreakdown whether to include the full monthly breakdown
+     * @param registerSchedule whether to keep the schedule under a calculation ID for paging
+     *                         (batch rows skip this so they do not evict interactive users' schedules)
+     */
+    public CalculationResponse calculateStandalone(StandaloneCalculationRequest request, boolean includeBreakdown,
+                                                   boolean registerSchedule) {
         // Apply customer classification bonuses
         BigDecimal finalRate = request.getInterestRate();
         BigDecimal additionalRate = BigDecimal.ZERO;
@@ -120,61 +144,25 @@ public class FdCalculatorService {
             finalRate = globalMaxRate;
         }
         
-        // Calculate interest based on type
-        BigDecimal interest;
-        List<MonthlyBreakdown> breakdown = null;
-        
         int tenureInMonths = request.getTenureUnit().toMonths(request.getTenure());
         LocalDate startDate = LocalDate.now();
         LocalDate maturityDate = calculateMaturityDate(startDate, request.getTenure(), request.getTenureUnit());
         
-        if (request.getCalculationType() == CalculationType.SIMPLE) {
-            interest = simpleInterestCalculator.calculateInterest(
-                request.getPrincipalAmount(),
-                finalRate,
-                request.getTenure(),
-                request.getTenureUnit()
-            );
-            
-            if (tenureInMonths > 0 && tenureInMonths <= 120) {
-                breakdown = simpleInterestCalculator.generateMonthlyBreakdown(
-                    request.getPrincipalAmount(),
-                    finalRate,
-                    tenureInMonths,
-                    startDate
-                );
-            }
-        } else {
-            CompoundingFrequency frequency = request.getCompoundingFrequency() != null 
-                ? request.getCompoundingFrequency() 
-                : CompoundingFrequency.QUARTERLY;
-            
-            interest = compoundInterestCalculator.calculateInterest(
-                request.getPrincipalAmount(),
-                finalRate,
-                request.getTenure(),
-                request.getTenureUnit(),
-                frequency
-            );
-            
-            if (tenureInMonths > 0 && tenureInMonths <= 120) {
-                breakdown = compoundInterestCalculator.generateMonthlyBreakdown(
-                    request.getPrincipalAmount(),
-                    finalRate,
-                    tenureInMonths,
-                    frequency,
-                    startDate
-                );
-            }
-        }
-        
-        // Calculate TDS
+        CompoundingFrequency frequency = request.getCompoundingFrequency() != null 
+            ? request.getCompoundingFrequency() 
+            : CompoundingFrequency.QUARTERLY;
         BigDecimal tdsRate = request.getTdsRate() != null ? request.getTdsRate() : BigDecimal.ZERO;
-        BigDecimal tdsAmount = interest.multiply(tdsRate).divide(BigDecimal.valueOf(100), 2, RoundingMode.HALF_UP);
-        BigDecimal netInterest = interest.subtract(tdsAmount);
-        BigDecimal maturityAmount = request.getPrincipalAmount().add(netInterest);
+        
+        // Calculate interest and TDS (memoized per normalized inputs)
+        CalculationResult result = calculate(request.getPrincipalAmount(), finalRate, request.getTenure(),
+            request.getTenureUnit(), request.getCalculationType(), frequency, tdsRate, startDate);
+        
+        // Monthly schedule: kept as inputs under the calculation ID, rows generated only when asked for
+        ScheduleService.ScheduleInputs schedule = new ScheduleService.ScheduleInputs(request.getCalculationType(),
+            request.getPrincipalAmount(), finalRate, frequency, tenureInMonths, startDate);
         
         return CalculationResponse.builder()
+            .calculationId(registerSchedule ? scheduleService.register(schedule) : null)
             .principalAmount(request.getPrincipalAmount())
             .interestRate(finalRate)
             .baseInterestRate(request.getInterestRate())
@@ -184,15 +172,16 @@ public class FdCalculatorService {
             .tenureInYears(request.getTenureUnit().toYears(request.getTenure()))
             .calculationType(request.getCalculationType())
             .compoundingFrequency(request.getCompoundingFrequency())
-            .interestEarned(interest)
-            .tdsAmount(tdsAmount)
+            .interestEarned(result.interest())
+            .tdsAmount(result.tdsAmount())
             .tdsRate(tdsRate)
-            .maturityAmount(maturityAmount)
-            .netInterest(netInterest)
+            .maturityAmount(result.maturityAmount())
+            .netInterest(result.netInterest())
             .startDate(startDate)
             .maturityDate(maturityDate)
             .customerClassifications(request.getCustomerClassifications())
-            .monthlyBreakdown(breakdown)
+            .monthlyBreakdown(includeBreakdown ? scheduleService.firstPage(schedule) : null)
+            .breakdownNextFromMonth(includeBreakdown ? scheduleService.afterFirstPage(schedule) : null)
             .build();
     }
     
@@ -216,8 +205,8 @@ public class FdCalculatorService {
         BigDecimal baseRate = product.getBaseInterestRate();
         List<String> classifications = resolveCustomerClassifications(request);
         
-        // Try to get rate from product-pricing-service
-        InterestRateDto applicableRate = productIntegrationService.getApplicableRate(
+        // Evaluate the rate against the local copy of product-pricing-service's rate card
+        InterestRateDto applicableRate = rateCardService.getApplicableRate(
             request.getProductId(),
             request.getPrincipalAmount(),
             tenureInMonths,
@@ -278,58 +267,24 @@ public class FdCalculatorService {
             ? request.getCompoundingFrequency()
             : determineCompoundingFrequency(product.getInterestPayoutFrequency());
         
-        // Calculate interest
-        BigDecimal interest;
-        List<MonthlyBreakdown> breakdown = null;
         LocalDate startDate = LocalDate.now();
         LocalDate maturityDate = calculateMaturityDate(startDate, request.getTenure(), request.getTenureUnit());
         
-        if (calcType == CalculationType.SIMPLE) {
-            interest = simpleInterestCalculator.calculateInterest(
-                request.getPrincipalAmount(),
-                finalRate,
-                request.getTenure(),
-                request.getTenureUnit()
-            );
-            
-            if (tenureInMonths > 0 && tenureInMonths <= 120) {
-                breakdown = simpleInterestCalculator.generateMonthlyBreakdown(
-                    request.getPrincipalAmount(),
-                    finalRate,
-                    tenureInMonths,
-                    startDate
-                );
-            }
-        } else {
-            interest = compoundInterestCalculator.calculateInterest(
-                request.getPrincipalAmount(),
-                finalRate,
-                request.getTenure(),
-                request.getTenureUnit(),
-                frequency
-            );
-            
-            if (tenureInMonths > 0 && tenureInMonths <= 120) {
-                breakdown = compoundInterestCalculator.generateMonthlyBreakdown(
-                    request.getPrincipalAmount(),
-                    finalRate,
-                    tenureInMonths,
-                    frequency,
-                    startDate
-                );
-            }
-        }
-        
-        // Calculate TDS
         Boolean applyTds = request.getApplyTds() != null ? request.getApplyTds() : product.getTdsApplicable();
         BigDecimal tdsRate = (applyTds != null && applyTds && product.getTdsRate() != null) 
             ? product.getTdsRate() 
             : BigDecimal.ZERO;
-        BigDecimal tdsAmount = interest.multiply(tdsRate).divide(BigDecimal.valueOf(100), 2, RoundingMode.HALF_UP);
-        BigDecimal netInterest = interest.subtract(tdsAmount);
-        BigDecimal maturityAmount = request.getPrincipalAmount().add(netInterest);
+        
+        // Calculate interest and TDS (memoized per normalized inputs)
+        CalculationResult result = calculate(request.getPrincipalAmount(), finalRate, request.getTenure(),
+            request.getTenureUnit(), calcType, frequency, tdsRate, startDate);
+        
+        // Monthly schedule: kept as inputs under the calculation ID, rows generated only when asked for
+        ScheduleService.ScheduleInputs schedule = new ScheduleService.ScheduleInputs(calcType,
+            request.getPrincipalAmount(), finalRate, frequency, tenureInMonths, startDate);
         
         return CalculationResponse.builder()
+            .calculationId(scheduleService.register(schedule))
             .principalAmount(request.getPrincipalAmount())
             .interestRate(finalRate)
             .baseInterestRate(baseRate)
@@ -339,18 +294,20 @@ public class FdCalculatorService {
             .tenureInYears(request.getTenureUnit().toYears(request.getTenure()))
             .calculationType(calcType)
             .compoundingFrequency(frequency)
-            .interestEarned(interest)
-            .tdsAmount(tdsAmount)
+            .interestEarned(result.interest())
+            .tdsAmount(result.tdsAmount())
             .tdsRate(tdsRate)
-            .maturityAmount(maturityAmount)
-            .netInterest(netInterest)
+            .maturityAmount(result.maturityAmount())
+            .netInterest(result.netInterest())
             .startDate(startDate)
             .maturityDate(maturityDate)
             .productId(product.getId())
             .productName(product.getProductName())
             .productCode(product.getProductCode())
             .customerClassifications(classifications)
-            .monthlyBreakdown(breakdown)
+            .monthlyBreakdown(Boolean.TRUE.equals(request.getIncludeBreakdown()) ? scheduleService.firstPage(schedule) : null)
+            .breakdownNextFromMonth(Boolean.TRUE.equals(request.getIncludeBreakdown())
+                ? scheduleService.afterFirstPage(schedule) : null)
             .build();
     }
     
@@ -392,6 +349,44 @@ public class FdCalculatorService {
     
     // Helper methods
     
+    /**
+     * Interest, TDS and maturity for fully resolved inputs (rate after bonuses and caps)
+     * Served from the calculationResults cache; the key includes the start date so entries
+     * are never shared across days (see CacheConfig)
+     */
+    private CalculationResult calculate(BigDecimal principal, BigDecimal finalRate, int tenure, TenureUnit tenureUnit,
+                                        CalculationType calculationType, CompoundingFrequency frequency,
+                                        BigDecimal tdsRate, LocalDate startDate) {
+        CalculationKey key = CalculationKey.of(principal, finalRate, tenure, tenureUnit,
+            calculationType, frequency, tdsRate, startDate);
+        Cache results = cacheManager.getCache(CacheConfig.CALCULATION_RESULTS);
+        return results != null ? results.get(key, () -> compute(key)) : compute(key);
+    }
+    
+    private CalculationResult compute(CalculationKey key) {
+        BigDecimal interest;
+        if (key.calculationType() == CalculationType.SIMPLE) {
+            interest = simpleInterestCalculator.calculateInterest(
+                key.principal(),
+                key.rate(),
+                key.tenure(),
+                key.tenureUnit()
+            );
+        } else {
+            interest = compoundInterestCalculator.calculateInterest(
+                key.principal(),
+                key.rate(),
+                key.tenure(),
+                key.tenureUnit(),
+                key.frequency()
+            );
+        }
+        
+        BigDecimal tdsAmount = interest.multiply(key.tdsRate()).divide(BigDecimal.valueOf(100), 2, RoundingMode.HALF_UP);
+        BigDecimal netInterest = interest.subtract(tdsAmount);
+        return new CalculationResult(interest, tdsAmount, netInterest, key.principal().add(netInterest));
+    }
+    
     private List<String> resolveCustomerClassifications(ProductBasedCalculationRequest request) {
         List<String> classifications = new ArrayList<>();
         
@@ -482,4 +477,25 @@ public class FdCalculatorService {
             case YEARS -> startDate.plusYears(tenure);
         };
     }
+    
+    /**
+     * Canonical calculation inputs: amounts without trailing zeros (100000 and 100000.00 are one key),
+     * no compounding frequency for simple interest
+     */
+    record CalculationKey(BigDecimal principal, BigDecimal rate, int tenure, TenureUnit tenureUnit,
+                          CalculationType calculationType, CompoundingFrequency frequency,
+                          BigDecimal tdsRate, LocalDate startDate) {
+        
+        static CalculationKey of(BigDecimal principal, BigDecimal rate, int tenure, TenureUnit tenureUnit,
+                                 CalculationType calculationType, CompoundingFrequency frequency,
+                                 BigDecimal tdsRate, LocalDate startDate) {
+            return new CalculationKey(principal.stripTrailingZeros(), rate.stripTrailingZeros(), tenure, tenureUnit,
+                calculationType, calculationType == CalculationType.SIMPLE ? null : frequency,
+                tdsRate.stripTrailingZeros(), startDate);
+        }
+    }
+    
+    record CalculationResult(BigDecimal interest, BigDecimal tdsAmount, BigDecimal netInterest,
+                             BigDecimal maturityAmount) {
+    }
 }
@@ -1,182 +1,248 @@
 package com.app.calculator.service;
 
 import com.app.calculator.dto.CalculationResponse;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import lombok.RequiredArgsConstructor;
+import com.app.calculator.dto.ReportHandle;
+import com.app.calculator.enums.ReportStatus;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.Scheduler;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import java.io.*;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
 import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Lab L11: FD Report Generation Service
- * Integrates Python script execution for generating CSV reports
+ * Streams calculations straight to a CSV file on a dedicated executor (bounded write buffer, no
+ * intermediate JSON file or Python subprocess). Callers get a handle immediately and download the
+ * report once it is COMPLETED; report files are deleted when their handle expires.
  */
 @Service
 @Slf4j
-@RequiredArgsConstructor
 public class FdReportService {
 
-    private final ObjectMapper objectMapper;
-    
-    @Value("${report.script.path:scripts/generate_fd_report.py}")
-    private String scriptPath;
-    
-    @Value("${report.output.directory:reports}")
-    private String reportOutputDirectory;
-    
-    @Value("${report.python.command:python}")
-    private String pythonCommand;
-    
+    private static final String[] HEADERS = {
+        "Username", "Principal", "Term", "BaseRate", "CategoryAddOn", "FinalRate",
+        "Maturity", "InterestEarned", "Categories", "CalculationType", "GeneratedAt"
+    };
+
+    private static final DateTimeFormatter GENERATED_AT_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    // Characters buffered before each write to disk
+    private static final int WRITE_BUFFER_CHARS = 64 * 1024;
+
+    private static final String LINE_END = "\r\n";
+
+    private final Path reportDirectory;
+    private final ThreadPoolExecutor executor;
+    private final Cache<String, ReportJob> reports;
+
+    public FdReportService(@Value("${report.output.directory:reports}") String reportOutputDirectory,
+                           @Value("${report.executor.threads:2}") int threads,
+                           @Value("${report.executor.queue-capacity:100}") int queueCapacity,
+                           @Value("${report.retention:PT1H}") Duration retention) {
+        this.reportDirectory = Paths.get(reportOutputDirectory);
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "fd-report-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+
+        this.reports = Caffeine.newBuilder()
+                .expireAfterWrite(retention)
+                .scheduler(Scheduler.systemScheduler())
+                .removalListener((String reportId, ReportJob job, RemovalCause cause) -> {
+                    if (job != null) {
+                        deleteReportFile(job.file());
+                    }
+                })
+                .build();
+    }
+
     /**
-     * Lab L11: Generate FD calculation report using Python script
-     * 
+     * Lab L11: Queue a CSV report of the calculations and return its handle
+     *
      * @param calculations List of FD calculations
-     * @param username Username for report identification
-     * @return Path to generated CSV report
+     * @param username Username for report identification (and download access)
+     * @return Handle with the report ID (PENDING until the file is written)
+     * @throws java.util.concurrent.RejectedExecutionException if the report queue is full
      */
-    public String generateReport(List<CalculationResponse> calculations, String username) {
-        log.info("Lab L11: Generating FD report for user: {} with {} calculations", username, calculations.size());
-        
-        try {
-            // Create reports directory if it doesn't exist
-            Path reportDir = Paths.get(reportOutputDirectory);
-            if (!Files.exists(reportDir)) {
-                Files.createDirectories(reportDir);
-            }
-            
-            // Create temporary JSON file with calculation data
-            String timestamp = String.valueOf(System.currentTimeMillis());
-            String jsonFileName = String.format("fd_calculations_%s_%s.json", username, timestamp);
-            Path jsonFilePath = reportDir.resolve(jsonFileName);
-            
-            // Prepare calculation data for Python script
-            objectMapper.writeValue(jsonFilePath.toFile(), calculations);
-            
-            // Output CSV file path
-            String csvFileName = String.format("fd_report_%s_%s.csv", username, timestamp);
-            Path csvFilePath = reportDir.resolve(csvFileName);
-            
-            // Execute Python script
-            boolean success = executePythonScript(jsonFilePath.toString(), csvFilePath.toString());
-            
-            if (success) {
-                log.info("Lab L11: Report generated successfully: {}", csvFilePath);
-                
-                // Clean up temporary JSON file
-                Files.deleteIfExists(jsonFilePath);
-                
-                return csvFilePath.toString();
-            } else {
-                log.error("Lab L11: Failed to generate report");
-                return null;
-            }
-            
-        } catch (Exception e) {
-            log.error("Lab L11: Error generating report: {}", e.getMessage(), e);
-            return null;
-        }
+    public ReportHandle submitReport(List<CalculationResponse> calculations, String username) {
+        String reportId = UUID.randomUUID().toString();
+        Path file = reportDirectory.resolve("fd_report_" + reportId + ".csv");
+        List<CalculationResponse> rows = List.copyOf(calculations);
+
+        CompletableFuture<LocalDateTime> completed = CompletableFuture.supplyAsync(() -> writeCsv(rows, username, file), executor);
+        ReportJob job = new ReportJob(reportId, username, rows.size(), file, LocalDateTime.now(), completed);
+        reports.put(reportId, job);
+
+        log.info("Lab L11: Report {} queued for user: {} with {} calculations", reportId, username, rows.size());
+        return job.toHandle();
     }
-    
+
     /**
-     * Execute Python script using Runtime.exec()
-     * 
-     * @param inputJsonFile Path to input JSON file
-     * @param outputCsvFile Path to output CSV file
-     * @return true if execution successful, false otherwise
+     * Handle of a report owned by the user (empty if unknown, expired or someone else's)
      */
-    private boolean executePythonScript(String inputJsonFile, String outputCsvFile) {
+    public Optional<ReportHandle> getReport(String reportId, String username) {
+        return findJob(reportId, username).map(ReportJob::toHandle);
+    }
+
+    /**
+     * File of a COMPLETED report owned by the user
+     */
+    public Optional<Path> getReportFile(String reportId, String username) {
+        return findJob(reportId, username)
+                .filter(job -> job.toHandle().getStatus() == ReportStatus.COMPLETED)
+                .map(ReportJob::file);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private Optional<ReportJob> findJob(String reportId, String username) {
+        return Optional.ofNullable(reports.getIfPresent(reportId))
+                .filter(job -> job.username().equals(username));
+    }
+
+    /**
+     * Write the header and one line per calculation; returns when the report was completed
+     */
+    private LocalDateTime writeCsv(List<CalculationResponse> calculations, String username, Path file) {
+        long startTime = System.nanoTime();
+        String generatedAt = LocalDateTime.now().format(GENERATED_AT_FORMAT);
+
         try {
-            // Build command
-            String[] command = {
-                pythonCommand,
-                scriptPath,
-                inputJsonFile,
-                outputCsvFile
-            };
-            
-            log.info("Lab L11: Executing Python script: {} {} {} {}", 
-                    command[0], command[1], command[2], command[3]);
-            
-            // Execute command
-            Process process = Runtime.getRuntime().exec(command);
-            
-            // Capture output
-            BufferedReader stdInput = new BufferedReader(new InputStreamReader(process.getInputStream()));
-            BufferedReader stdError = new BufferedReader(new InputStreamReader(process.getErrorStream()));
-            
-            // Wait for process to complete (with timeout)
-            boolean completed = process.waitFor(30, TimeUnit.SECONDS);
-            
-            if (!completed) {
-                log.error("Lab L11: Python script execution timed out");
-                process.destroy();
-                return false;
-            }
-            
-            int exitCode = process.exitValue();
-            
-            // Log output
-            String line;
-            StringBuilder output = new StringBuilder();
-            while ((line = stdInput.readLine()) != null) {
-                output.append(line).append("\n");
-            }
-            
-            StringBuilder errorOutput = new StringBuilder();
-            while ((line = stdError.readLine()) != null) {
-                errorOutput.append(line).append("\n");
-            }
-            
-            if (exitCode == 0) {
-                log.info("Lab L11: Python script executed successfully");
-                log.debug("Lab L11: Script output:\n{}", output);
-                return true;
-            } else {
-                log.error("Lab L11: Python script failed with exit code: {}", exitCode);
-                log.error("Lab L11: Error output:\n{}", errorOutput);
-                return false;
+            Files.createDirectories(reportDirectory);
+            try (Writer out = new BufferedWriter(new OutputStreamWriter(Files.newOutputStream(file),
+                    StandardCharsets.UTF_8), WRITE_BUFFER_CHARS)) {
+                StringBuilder line = new StringBuilder(256);
+                for (String header : HEADERS) {
+                    appendField(line, header);
+                }
+                out.append(line, 0, line.length() - 1).append(LINE_END);
+
+                for (CalculationResponse calculation : calculations) {
+                    line.setLength(0);
+                    appendRow(line, calculation, username, generatedAt);
+                    out.append(line, 0, line.length() - 1).append(LINE_END);
+                }
             }
-            
         } catch (IOException e) {
-            log.error("Lab L11: IOException executing Python script: {}", e.getMessage());
-            return false;
-        } catch (InterruptedException e) {
-            log.error("Lab L11: Python script execution interrupted: {}", e.getMessage());
-            Thread.currentThread().interrupt();
-            return false;
+            log.error("Lab L11: Error writing report {}: {}", file, e.getMessage());
+            deleteReportFile(file);
+            throw new UncheckedIOException("Failed to write report", e);
         }
+
+        log.info("Lab L11: Report generated successfully: {} ({} rows in {} µs)",
+                file, calculations.size(), (System.nanoTime() - startTime) / 1_000);
+        return LocalDateTime.now();
     }
-    
-    /**
-     * Generate report from single calculation
-     * 
-     * @param calculation Single FD calculation
-     * @param username Username
-     * @return Path to generated report
-     */
-    public String generateReport(CalculationResponse calculation, String username) {
-        return generateReport(List.of(calculation), username);
+
+    private static void appendRow(StringBuilder line, CalculationResponse calculation,
+                                  String username, String generatedAt) {
+        appendField(line, username);
+        appendField(line, plain(calculation.getPrincipalAmount()));
+        appendField(line, (calculation.getTenure() != null ? calculation.getTenure() : 0)
+                + (calculation.getTenureUnit() != null ? calculation.getTenureUnit().name().substring(0, 1) : "M"));
+        appendField(line, plain(calculation.getBaseInterestRate()));
+        appendField(line, plain(calculation.getAdditionalInterestRate()));
+        appendField(line, plain(calculation.getInterestRate()));
+        appendField(line, plain(calculation.getMaturityAmount()));
+        appendField(line, plain(calculation.getInterestEarned()));
+        appendField(line, calculation.getCustomerClassifications() != null
+                ? String.join(", ", calculation.getCustomerClassifications()) : "");
+        appendField(line, calculation.getCalculationType() != null ? calculation.getCalculationType().name() : "");
+        appendField(line, generatedAt);
     }
-    
+
     /**
-     * Read generated CSV report content
-     * 
-     * @param reportPath Path to CSV report
-     * @return CSV content as string
+     * Append a field and a trailing comma, quoted (RFC 4180) only when it contains , " CR or LF
      */
-    public String readReport(String reportPath) {
+    static void appendField(StringBuilder line, String value) {
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\r' || c == '\n';
+        }
+
+        if (quote) {
+            line.append('"');
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (c == '"') {
+                    line.append('"');
+                }
+                line.append(c);
+            }
+            line.append('"');
+        } else {
+            line.append(value);
+        }
+        line.append(',');
+    }
+
+    private static String plain(BigDecimal value) {
+        return value != null ? value.toPlainString() : "";
+    }
+
+    private static void deleteReportFile(Path file) {
         try {
-            return Files.readString(Paths.get(reportPath));
+            Files.deleteIfExists(file);
         } catch (IOException e) {
-            log.error("Lab L11: Error reading report: {}", e.getMessage());
-            return null;
+            log.warn("Lab L11: Could not delete report file {}: {}", file, e.getMessage());
+        }
+    }
+
+    private record ReportJob(String reportId, String username, int rowCount, Path file,
+                             LocalDateTime requestedAt, CompletableFuture<LocalDateTime> completed) {
+
+        ReportHandle toHandle() {
+            ReportHandle.ReportHandleBuilder handle = ReportHandle.builder()
+                    .reportId(reportId)
+                    .rowCount(rowCount)
+                    .requestedAt(requestedAt);
+
+            if (!completed.isDone()) {
+                return handle.status(ReportStatus.PENDING).build();
+            }
+            try {
+                return handle.status(ReportStatus.COMPLETED)
+                        .downloadUrl("/report/" + reportId + "/download")
+                        .completedAt(completed.join())
+                        .build();
+            } catch (CompletionException e) {
+                Throwable cause = e.getCause() != null ? e.getCause() : e;
+                return handle.status(ReportStatus.FAILED).error(cause.getMessage()).build();
+            }
         }
     }
 }
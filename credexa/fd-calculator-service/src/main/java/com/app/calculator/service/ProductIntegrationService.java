@@ -2,98 +2,126 @@ package com.app.calculator.service;
 
 import com.app.calculator.dto.external.InterestRateDto;
 import com.app.calculator.dto.external.ProductDto;
+import com.app.calculator.dto.external.RateCardDto;
 import com.app.common.dto.ApiResponse;
-import lombok.RequiredArgsConstructor;
+import com.app.common.http.DownstreamClient;
+import com.app.common.http.DownstreamClientFactory;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
-import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
 
 import java.math.BigDecimal;
 
 /**
  * Service for integrating with product-pricing-service
+ * The *Async variants are not cached; use them to fan out lookups that miss the cache
  */
 @Service
 @Slf4j
-@RequiredArgsConstructor
 public class ProductIntegrationService {
     
-    private final WebClient.Builder webClientBuilder;
+    private final DownstreamClient productPricing;
     
-    @Value("${services.product-pricing.url}")
-    private String productPricingUrl;
+    public ProductIntegrationService(DownstreamClientFactory downstreamClients) {
+        this.productPricing = downstreamClients.create("product-pricing");
+    }
     
     /**
      * Get product details by ID (cached)
      */
     @Cacheable(value = "products", key = "#productId")
     public ProductDto getProduct(Long productId) {
-        log.info("Fetching product details for ID: {}", productId);
-        
         try {
-            WebClient webClient = webClientBuilder.baseUrl(productPricingUrl).build();
-            
-            // Product Pricing context-path is /api/products, ProductController has empty @RequestMapping
-            // So full URL is: http://localhost:8084/api/products/{id}
-            ApiResponse<ProductDto> response = webClient.get()
-                .uri("/{id}", productId)
-                .retrieve()
-                .bodyToMono(new ParameterizedTypeReference<ApiResponse<ProductDto>>() {})
-                .block();
-            
-            if (response != null && response.isSuccess() && response.getData() != null) {
-                log.debug("Successfully fetched product: {}", response.getData().getProductCode());
-                return response.getData();
-            }
-            
-            throw new RuntimeException("Product not found with ID: " + productId);
+            return getProductAsync(productId).block();
         } catch (Exception e) {
             log.error("Failed to fetch product {}: {}", productId, e.getMessage());
             throw new RuntimeException("Unable to fetch product details: " + e.getMessage(), e);
         }
     }
     
+    /**
+     * Get product details by ID without blocking
+     */
+    public Mono<ProductDto> getProductAsync(Long productId) {
+        log.info("Fetching product details for ID: {}", productId);
+        
+        // Product Pricing context-path is /api/products, ProductController has empty @RequestMapping
+        // So full URL is: http://localhost:8084/api/products/{id}
+        return productPricing.call(productPricing.webClient().get()
+                .uri("/{id}", productId)
+                .retrieve()
+                .bodyToMono(new ParameterizedTypeReference<ApiResponse<ProductDto>>() {}))
+            .flatMap(response -> response.isSuccess() && response.getData() != null
+                ? Mono.just(response.getData())
+                : Mono.empty())
+            .doOnNext(product -> log.debug("Successfully fetched product: {}", product.getProductCode()))
+            .switchIfEmpty(Mono.error(() -> new RuntimeException("Product not found with ID: " + productId)));
+    }
+    
     /**
      * Get applicable interest rate (cached)
      */
     @Cacheable(value = "interestRates", key = "#productId + '-' + #amount + '-' + #termMonths + '-' + #classification")
     public InterestRateDto getApplicableRate(Long productId, BigDecimal amount, 
                                             Integer termMonths, String classification) {
-        log.info("Fetching applicable rate for product: {}, amount: {}, term: {} months, classification: {}", 
-                productId, amount, termMonths, classification);
-        
         try {
-            WebClient webClient = webClientBuilder.baseUrl(productPricingUrl).build();
-            
-            // InterestRateController has @RequestMapping("/products/{productId}/interest-rates")
-            // Combined with context-path /api/products, full URL becomes:
-            // http://localhost:8084/api/products/products/{productId}/interest-rates/applicable
-            String uri = String.format("/products/%d/interest-rates/applicable?amount=%s&termMonths=%d", 
-                                     productId, amount.toString(), termMonths);
-            
-            if (classification != null && !classification.isBlank()) {
-                uri += "&classification=" + classification;
-            }
-            
-            ApiResponse<InterestRateDto> response = webClient.get()
-                .uri(uri)
-                .retrieve()
-                .bodyToMono(new ParameterizedTypeReference<ApiResponse<InterestRateDto>>() {})
-                .block();
-            
-            if (response != null && response.isSuccess() && response.getData() != null) {
-                log.debug("Found applicable rate: {}%", response.getData().getTotalRate());
-                return response.getData();
-            }
-            
-            log.warn("No applicable rate found for product {}", productId);
-            return null;
+            return getApplicableRateAsync(productId, amount, termMonths, classification).block();
         } catch (Exception e) {
             log.error("Failed to fetch interest rate: {}", e.getMessage());
             return null; // Return null to fallback to product base rate
         }
     }
+    
+    /**
+     * Get applicable interest rate without blocking (empty if no rate applies)
+     */
+    public Mono<InterestRateDto> getApplicableRateAsync(Long productId, BigDecimal amount,
+                                                       Integer termMonths, String classification) {
+        log.info("Fetching applicable rate for product: {}, amount: {}, term: {} months, classification: {}", 
+                productId, amount, termMonths, classification);
+        
+        // InterestRateController has @RequestMapping("/products/{productId}/interest-rates")
+        // Combined with context-path /api/products, full URL becomes:
+        // http://localhost:8084/api/products/products/{productId}/interest-rates/applicable
+        String uri = String.format("/products/%d/interest-rates/applicable?amount=%s&termMonths=%d", 
+                                 productId, amount.toString(), termMonths);
+        
+        if (classification != null && !classification.isBlank()) {
+            uri += "&classification=" + classification;
+        }
+        
+        return productPricing.call(productPricing.webClient().get()
+                .uri(uri)
+                .retrieve()
+                .bodyToMono(new ParameterizedTypeReference<ApiResponse<InterestRateDto>>() {}))
+            .flatMap(response -> response.isSuccess() && response.getData() != null
+                ? Mono.just(response.getData())
+                : Mono.empty())
+            .doOnNext(rate -> log.debug("Found applicable rate: {}%", rate.getTotalRate()))
+            .switchIfEmpty(Mono.fromRunnable(() -> log.warn("No applicable rate found for product {}", productId)));
+    }
+
+    /**
+     * Download the rate card of all products with a conditional GET
+     * Completes empty when the card still matches etag (304 Not Modified); the result carries the new ETag
+     * authorization is sent as-is since refreshes run outside any user request
+     */
+    public Mono<ResponseEntity<ApiResponse<RateCardDto>>> getRateCardAsync(String etag, String authorization) {
+        return productPricing.call(productPricing.webClient().get()
+                .uri("/rate-card")
+                .header(HttpHeaders.AUTHORIZATION, authorization)
+                .headers(headers -> {
+                    if (etag != null) {
+                        headers.setIfNoneMatch(etag);
+                    }
+                })
+                .retrieve()
+                .toEntity(new ParameterizedTypeReference<ApiResponse<RateCardDto>>() {}))
+            .filter(response -> response.getStatusCode() != HttpStatus.NOT_MODIFIED);
+    }
 }
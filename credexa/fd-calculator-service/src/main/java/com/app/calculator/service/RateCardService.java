@@ -0,0 +1,146 @@
+package com.app.calculator.service;
+
+import com.app.calculator.dto.external.InterestRateDto;
+import com.app.calculator.dto.external.RateCardDto;
+import com.app.common.dto.ApiResponse;
+import com.app.common.util.JwtUtil;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Local copy of product-pricing-service's rate card
+ * Applicable rates are evaluated in-process against the downloaded slabs, so a new principal amount
+ * or term no longer costs a remote call. The card is revalidated periodically with a conditional GET
+ * (ETag / If-None-Match) and only re-downloaded when its version changes.
+ * Until a card has been loaded, lookups fall back to the per-request applicable-rate endpoint.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class RateCardService {
+
+    private static final String SERVICE_PRINCIPAL = "fd-calculator-service";
+
+    private final ProductIntegrationService productIntegrationService;
+    private final JwtUtil jwtUtil;
+
+    @Value("${rate-card.enabled:true}")
+    private boolean enabled;
+
+    private volatile LocalRateCard rateCard;
+
+    /**
+     * Best applicable rate for the criteria, or null if no slab applies (caller uses the product base rate)
+     */
+    public InterestRateDto getApplicableRate(Long productId, BigDecimal amount,
+                                             Integer termMonths, String classification) {
+        LocalRateCard card = rateCard;
+        if (card == null) {
+            return productIntegrationService.getApplicableRate(productId, amount, termMonths, classification);
+        }
+
+        List<InterestRateDto> slabs = card.slabsByProduct().getOrDefault(productId, List.of());
+        LocalDate today = LocalDate.now();
+        for (InterestRateDto slab : slabs) {
+            if (applies(slab, amount, termMonths, classification, today)) {
+                log.debug("Rate card v{}: applicable rate for product {} is {}%", card.version(), productId, slab.getTotalRate());
+                return slab;
+            }
+        }
+        log.debug("Rate card v{}: no applicable rate for product {}", card.version(), productId);
+        return null;
+    }
+
+    /**
+     * Download the card on startup, then revalidate it on a fixed delay
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${rate-card.refresh-interval-ms:60000}",
+               initialDelayString = "${rate-card.refresh-interval-ms:60000}")
+    public void refresh() {
+        if (!enabled) {
+            return;
+        }
+
+        LocalRateCard current = rateCard;
+        String authorization = "Bearer " + jwtUtil.generateServiceToken(SERVICE_PRINCIPAL);
+        try {
+            ResponseEntity<ApiResponse<RateCardDto>> response = productIntegrationService
+                    .getRateCardAsync(current != null ? current.etag() : null, authorization)
+                    .block();
+            if (response == null) {
+                log.debug("Rate card is up to date (304 Not Modified)");
+                return;
+            }
+            if (response.getBody() == null || response.getBody().getData() == null) {
+                log.warn("Rate card response had no data, keeping the current card");
+                return;
+            }
+
+            RateCardDto downloaded = response.getBody().getData();
+            rateCard = LocalRateCard.of(downloaded, response.getHeaders().getETag());
+            log.info("Rate card v{} loaded for {} products", downloaded.getVersion(), downloaded.getProducts().size());
+        } catch (Exception e) {
+            log.warn("Rate card refresh failed{}: {}",
+                    current != null ? ", keeping v" + current.version() : ", using remote rate lookups", e.getMessage());
+        }
+    }
+
+    /**
+     * Same matching rules as product-pricing-service's rate index
+     */
+    private static boolean applies(InterestRateDto slab, BigDecimal amount, Integer termMonths,
+                                   String classification, LocalDate date) {
+        if (slab.getEffectiveDate() != null && slab.getEffectiveDate().isAfter(date)) {
+            return false;
+        }
+        String slabClassification = slab.getCustomerClassification();
+        if (slabClassification != null && !slabClassification.isBlank()
+                && (classification == null || !slabClassification.trim().equalsIgnoreCase(classification.trim()))) {
+            return false;
+        }
+        if (amount != null) {
+            if (slab.getMinAmount() != null && amount.compareTo(slab.getMinAmount()) < 0) {
+                return false;
+            }
+            if (slab.getMaxAmount() != null && amount.compareTo(slab.getMaxAmount()) > 0) {
+                return false;
+            }
+        }
+        if (termMonths != null) {
+            if (slab.getMinTermMonths() != null && termMonths < slab.getMinTermMonths()) {
+                return false;
+            }
+            if (slab.getMaxTermMonths() != null && termMonths > slab.getMaxTermMonths()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Immutable downloaded card: slabs per product (best first) plus the ETag to revalidate with
+     */
+    private record LocalRateCard(long version, String etag, Map<Long, List<InterestRateDto>> slabsByProduct) {
+
+        static LocalRateCard of(RateCardDto card, String etag) {
+            Map<Long, List<InterestRateDto>> slabsByProduct = card.getProducts().stream()
+                    .collect(Collectors.toUnmodifiableMap(RateCardDto.ProductRateCard::getProductId,
+                            product -> List.copyOf(product.getSlabs())));
+            return new LocalRateCard(card.getVersion(), etag != null ? etag : "\"" + card.getVersion() + "\"",
+                    slabsByProduct);
+        }
+    }
+}
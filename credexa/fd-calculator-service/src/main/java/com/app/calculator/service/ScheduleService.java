@@ -0,0 +1,128 @@
+package com.app.calculator.service;
+
+import com.app.calculator.dto.MonthlyBreakdown;
+import com.app.calculator.dto.ScheduleResponse;
+import com.app.calculator.enums.CalculationType;
+import com.app.calculator.enums.CompoundingFrequency;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * Monthly schedules of recent calculations, served page by page
+ * Only the inputs of a calculation are kept (under its calculation ID); rows are generated on demand
+ * for the requested month range, so schedules of any tenure cost nothing until they are read.
+ */
+@Service
+@Slf4j
+public class ScheduleService {
+
+    private final SimpleInterestCalculator simpleInterestCalculator;
+    private final CompoundInterestCalculator compoundInterestCalculator;
+    private final Cache<String, ScheduleInputs> schedules;
+    private final int maxPageSize;
+
+    public ScheduleService(SimpleInterestCalculator simpleInterestCalculator,
+                           CompoundInterestCalculator compoundInterestCalculator,
+                           @Value("${calculator.schedule.maximum-size:50000}") long maximumSize,
+                           @Value("${calculator.schedule.ttl:PT1H}") Duration ttl,
+                           @Value("${calculator.schedule.max-page-size:360}") int maxPageSize) {
+        this.simpleInterestCalculator = simpleInterestCalculator;
+        this.compoundInterestCalculator = compoundInterestCalculator;
+        this.schedules = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterAccess(ttl)
+                .build();
+        this.maxPageSize = maxPageSize;
+    }
+
+    /**
+     * Keep a calculation's schedule inputs and return its calculation ID
+     */
+    public String register(ScheduleInputs inputs) {
+        String calculationId = UUID.randomUUID().toString();
+        schedules.put(calculationId, inputs);
+        return calculationId;
+    }
+
+    /**
+     * Rows fromMonth..toMonth of a schedule, generated as the stream is consumed
+     */
+    public Stream<MonthlyBreakdown> rows(ScheduleInputs inputs, int fromMonth, int toMonth) {
+        if (inputs.calculationType() == CalculationType.SIMPLE) {
+            return simpleInterestCalculator.schedule(inputs.principal(), inputs.annualRate(),
+                    inputs.startDate(), fromMonth, toMonth);
+        }
+        return compoundInterestCalculator.schedule(inputs.principal(), inputs.annualRate(),
+                inputs.frequency(), inputs.startDate(), fromMonth, toMonth);
+    }
+
+    /**
+     * First page of a schedule (the inline breakdown of a calculation; later months are paged by calculation ID)
+     */
+    public List<MonthlyBreakdown> firstPage(ScheduleInputs inputs) {
+        return rows(inputs, 1, Math.min(inputs.tenureMonths(), maxPageSize)).toList();
+    }
+
+    /**
+     * Month the schedule continues from after its first page, or null if the first page is the whole schedule
+     */
+    public Integer afterFirstPage(ScheduleInputs inputs) {
+        return inputs.tenureMonths() > maxPageSize ? maxPageSize + 1 : null;
+    }
+
+    /**
+     * One page of a registered schedule
+     * @param fromMonth first month (default 1)
+     * @param toMonth last month (default: a full page, capped at the tenure)
+     * @throws NoSuchElementException if the calculation ID is unknown or has expired
+     * @throws IllegalArgumentException if the month range is invalid or larger than a page
+     */
+    public ScheduleResponse getSchedule(String calculationId, Integer fromMonth, Integer toMonth) {
+        ScheduleInputs inputs = schedules.getIfPresent(calculationId);
+        if (inputs == null) {
+            throw new NoSuchElementException("No schedule for calculation " + calculationId + " (unknown or expired)");
+        }
+
+        int tenureMonths = inputs.tenureMonths();
+        int from = fromMonth != null ? fromMonth : 1;
+        if (from < 1 || from > Math.max(tenureMonths, 1)) {
+            throw new IllegalArgumentException("from must be between 1 and " + Math.max(tenureMonths, 1));
+        }
+        int to = Math.min(toMonth != null ? toMonth : from + maxPageSize - 1, tenureMonths);
+        if (toMonth != null && toMonth < from) {
+            throw new IllegalArgumentException("to must not be before from");
+        }
+        if (to - from + 1 > maxPageSize) {
+            throw new IllegalArgumentException("At most " + maxPageSize + " months can be requested per page");
+        }
+
+        log.debug("Schedule {}: months {}..{} of {}", calculationId, from, to, tenureMonths);
+        return ScheduleResponse.builder()
+                .calculationId(calculationId)
+                .tenureMonths(tenureMonths)
+                .fromMonth(from)
+                .toMonth(to)
+                .nextFromMonth(to < tenureMonths ? to + 1 : null)
+                .rows(rows(inputs, from, to).toList())
+                .build();
+    }
+
+    /**
+     * Everything needed to regenerate a calculation's monthly schedule
+     * (frequency is ignored for SIMPLE calculations)
+     */
+    public record ScheduleInputs(CalculationType calculationType, BigDecimal principal, BigDecimal annualRate,
+                                 CompoundingFrequency frequency, int tenureMonths, LocalDate startDate) {
+    }
+}
@@ -3,14 +3,16 @@ package com.app.calculator.service;
 import com.app.calculator.dto.CalculationResponse;
 import com.app.calculator.dto.MonthlyBreakdown;
 import com.app.calculator.enums.TenureUnit;
+import com.app.common.calculation.FdMaturityCalculator;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.LocalDate;
-import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 /**
  * Service for Simple Interest calculations
@@ -33,13 +35,8 @@ public class SimpleInterestCalculator {
         log.debug("Calculating simple interest: P={}, R={}, T={} {}", 
                  principal, rate, tenure, tenureUnit);
         
-        double tenureInYears = tenureUnit.toYears(tenure);
-        
         // Formula: Interest = (P × r × t) / 100
-        BigDecimal interest = principal
-            .multiply(rate)
-            .multiply(BigDecimal.valueOf(tenureInYears))
-            .divide(BigDecimal.valueOf(100), 2, RoundingMode.HALF_UP);
+        BigDecimal interest = FdMaturityCalculator.simpleInterest(principal, rate, tenureUnit.toYears(tenure));
         
         log.debug("Calculated simple interest: {}", interest);
         return interest;
@@ -68,13 +65,7 @@ public class SimpleInterestCalculator {
      * Calculate TDS on interest
      */
     public BigDecimal calculateTDS(BigDecimal interest, BigDecimal tdsRate) {
-        if (tdsRate == null || tdsRate.compareTo(BigDecimal.ZERO) == 0) {
-            return BigDecimal.ZERO;
-        }
-        
-        return interest
-            .multiply(tdsRate)
-            .divide(BigDecimal.valueOf(100), 2, RoundingMode.HALF_UP);
+        return FdMaturityCalculator.tds(interest, tdsRate);
     }
     
     /**
@@ -84,36 +75,28 @@ public class SimpleInterestCalculator {
                                                            BigDecimal annualRate,
                                                            int tenureMonths,
                                                            LocalDate startDate) {
-        List<MonthlyBreakdown> breakdown = new ArrayList<>();
-        
+        return schedule(principal, annualRate, startDate, 1, tenureMonths).toList();
+    }
+    
+    /**
+     * Monthly breakdown rows fromMonth..toMonth, generated on demand
+     * Every month earns the same interest (P × r/12 / 100), so any row is computed directly
+     */
+    public Stream<MonthlyBreakdown> schedule(BigDecimal principal,
+                                             BigDecimal annualRate,
+                                             LocalDate startDate,
+                                             int fromMonth,
+                                             int toMonth) {
         // Monthly rate = Annual rate / 12
         BigDecimal monthlyRate = annualRate.divide(BigDecimal.valueOf(1200), 6, RoundingMode.HALF_UP);
         
-        BigDecimal cumulativeInterest = BigDecimal.ZERO;
-        
-        for (int month = 1; month <= tenureMonths; month++) {
-            LocalDate monthEndDate = startDate.plusMonths(month);
-            
-            // Simple interest for one month: P × (r/12) / 100
-            BigDecimal monthlyInterest = principal.multiply(monthlyRate);
-            monthlyInterest = monthlyInterest.setScale(2, RoundingMode.HALF_UP);
-            
-            cumulativeInterest = cumulativeInterest.add(monthlyInterest);
-            
-            BigDecimal closingBalance = principal.add(cumulativeInterest);
-            
-            MonthlyBreakdown entry = MonthlyBreakdown.builder()
-                .month(month)
-                .date(monthEndDate)
-                .openingBalance(principal)
-                .interestEarned(monthlyInterest)
-                .closingBalance(closingBalance)
-                .cumulativeInterest(cumulativeInterest)
-                .build();
-            
-            breakdown.add(entry);
-        }
+        // Simple interest for one month: P × (r/12) / 100
+        BigDecimal monthlyInterest = principal.multiply(monthlyRate).setScale(2, RoundingMode.HALF_UP);
         
-        return breakdown;
+        return IntStream.rangeClosed(Math.max(fromMonth, 1), toMonth).mapToObj(month -> {
+            BigDecimal cumulativeInterest = monthlyInterest.multiply(BigDecimal.valueOf(month));
+            return new MonthlyBreakdown(month, startDate.plusMonths(month), principal,
+                monthlyInterest, principal.add(cumulativeInterest), cumulativeInterest);
+        });
     }
 }
@@ -0,0 +1,21 @@
+package com.app.calculator.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.Test;
+
+class CacheConfigTest {
+
+    @Test
+    void calculationResultsExpireAtTheNextMidnight() {
+        assertThat(CacheConfig.untilMidnight(LocalDateTime.of(2025, 11, 8, 0, 0)))
+                .isEqualTo(Duration.ofDays(1));
+        assertThat(CacheConfig.untilMidnight(LocalDateTime.of(2025, 11, 8, 18, 30)))
+                .isEqualTo(Duration.ofHours(5).plusMinutes(30));
+        assertThat(CacheConfig.untilMidnight(LocalDateTime.of(2025, 12, 31, 23, 59, 59, 999_000_000)))
+                .isEqualTo(Duration.ofMillis(1));
+    }
+}
@@ -0,0 +1,62 @@
+package com.app.calculator.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import org.junit.jupiter.api.Test;
+
+import com.app.calculator.enums.CalculationType;
+import com.app.calculator.enums.CompoundingFrequency;
+import com.app.calculator.enums.TenureUnit;
+import com.app.calculator.service.FdCalculatorService.CalculationKey;
+
+class CalculationKeyTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2025, 11, 8);
+
+    @Test
+    void amountsAreEqualRegardlessOfScale() {
+        assertThat(key("100000", "7.5", "10"))
+                .isEqualTo(key("100000.00", "7.50", "10.0"))
+                .hasSameHashCodeAs(key("100000.00", "7.50", "10.0"));
+        assertThat(key("1E+5", "7.500", "10.00")).isEqualTo(key("100000", "7.5", "10"));
+    }
+
+    @Test
+    void simpleInterestIgnoresTheCompoundingFrequency() {
+        CalculationKey quarterly = CalculationKey.of(new BigDecimal("100000"), new BigDecimal("7.5"), 12,
+                TenureUnit.MONTHS, CalculationType.SIMPLE, CompoundingFrequency.QUARTERLY, BigDecimal.TEN, TODAY);
+        CalculationKey none = CalculationKey.of(new BigDecimal("100000"), new BigDecimal("7.5"), 12,
+                TenureUnit.MONTHS, CalculationType.SIMPLE, null, BigDecimal.TEN, TODAY);
+
+        assertThat(quarterly).isEqualTo(none);
+        assertThat(quarterly.frequency()).isNull();
+    }
+
+    @Test
+    void differentInputsGiveDifferentKeys() {
+        CalculationKey base = key("100000", "7.5", "10");
+
+        assertThat(base).isNotEqualTo(key("100000.01", "7.5", "10"));
+        assertThat(base).isNotEqualTo(key("100000", "7.51", "10"));
+        assertThat(base).isNotEqualTo(key("100000", "7.5", "0"));
+        // Classifications are folded into the final rate (0.25% each) before the key is built
+        assertThat(base).isNotEqualTo(key("100000", "7.75", "10"));
+        assertThat(base).isNotEqualTo(CalculationKey.of(new BigDecimal("100000"), new BigDecimal("7.5"), 1,
+                TenureUnit.YEARS, CalculationType.COMPOUND, CompoundingFrequency.QUARTERLY, BigDecimal.TEN, TODAY));
+        assertThat(base).isNotEqualTo(CalculationKey.of(new BigDecimal("100000"), new BigDecimal("7.5"), 12,
+                TenureUnit.MONTHS, CalculationType.COMPOUND, CompoundingFrequency.MONTHLY, BigDecimal.TEN, TODAY));
+        assertThat(base).isNotEqualTo(CalculationKey.of(new BigDecimal("100000"), new BigDecimal("7.5"), 12,
+                TenureUnit.MONTHS, CalculationType.SIMPLE, CompoundingFrequency.QUARTERLY, BigDecimal.TEN, TODAY));
+        assertThat(base).isNotEqualTo(CalculationKey.of(new BigDecimal("100000"), new BigDecimal("7.5"), 12,
+                TenureUnit.MONTHS, CalculationType.COMPOUND, CompoundingFrequency.QUARTERLY, BigDecimal.TEN,
+                TODAY.plusDays(1)));
+    }
+
+    private static CalculationKey key(String principal, String rate, String tdsRate) {
+        return CalculationKey.of(new BigDecimal(principal), new BigDecimal(rate), 12, TenureUnit.MONTHS,
+                CalculationType.COMPOUND, CompoundingFrequency.QUARTERLY, new BigDecimal(tdsRate), TODAY);
+    }
+}
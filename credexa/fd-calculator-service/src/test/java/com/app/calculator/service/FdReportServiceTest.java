@@ -0,0 +1,42 @@
+package com.app.calculator.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class FdReportServiceTest {
+
+    @Test
+    void plainFieldsAreWrittenAsIs() {
+        assertThat(csv("alice", "100000.00", "12M", "")).isEqualTo("alice,100000.00,12M,,");
+    }
+
+    @Test
+    void fieldsWithCommasAreQuoted() {
+        assertThat(csv("SENIOR_CITIZEN, PREMIUM")).isEqualTo("\"SENIOR_CITIZEN, PREMIUM\",");
+    }
+
+    @Test
+    void embeddedQuotesAreDoubled() {
+        assertThat(csv("say \"hi\"")).isEqualTo("\"say \"\"hi\"\"\",");
+        assertThat(csv("\"")).isEqualTo("\"\"\"\",");
+    }
+
+    @Test
+    void lineBreaksAreQuoted() {
+        assertThat(csv("first\nsecond", "a\rb")).isEqualTo("\"first\nsecond\",\"a\rb\",");
+    }
+
+    @Test
+    void otherPunctuationIsNotQuoted() {
+        assertThat(csv("o'brien; x=1 'y'")).isEqualTo("o'brien; x=1 'y',");
+    }
+
+    private static String csv(String... values) {
+        StringBuilder line = new StringBuilder();
+        for (String value : values) {
+            FdReportService.appendField(line, value);
+        }
+        return line.toString();
+    }
+}
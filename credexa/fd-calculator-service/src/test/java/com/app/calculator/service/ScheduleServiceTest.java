@@ -0,0 +1,143 @@
+package com.app.calculator.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import com.app.calculator.dto.MonthlyBreakdown;
+import com.app.calculator.dto.ScheduleResponse;
+import com.app.calculator.enums.CalculationType;
+import com.app.calculator.enums.CompoundingFrequency;
+import com.app.common.calculation.FdMaturityCalculator;
+
+class ScheduleServiceTest {
+
+    private static final LocalDate START = LocalDate.of(2025, 1, 31);
+    private static final int MAX_PAGE_SIZE = 360;
+
+    private final SimpleInterestCalculator simpleInterestCalculator = new SimpleInterestCalculator();
+    private final CompoundInterestCalculator compoundInterestCalculator = new CompoundInterestCalculator();
+    private final ScheduleService scheduleService = new ScheduleService(simpleInterestCalculator,
+            compoundInterestCalculator, 1000, Duration.ofHours(1), MAX_PAGE_SIZE);
+
+    @Test
+    void compoundPagesMatchTheFullSchedule() {
+        Random random = new Random(21);
+        CompoundingFrequency[] frequencies = CompoundingFrequency.values();
+
+        for (int i = 0; i < 2_000; i++) {
+            // Whole paise use the long-paise schedule, sub-paisa principals the decimal one
+            BigDecimal principal = random.nextBoolean()
+                    ? BigDecimal.valueOf(random.nextInt(1_000_000_000) + 1, 2)
+                    : BigDecimal.valueOf(random.nextInt(1_000_000_000) + 1, 3);
+            BigDecimal rate = BigDecimal.valueOf(random.nextInt(1500) + 1, 2);
+            CompoundingFrequency frequency = frequencies[random.nextInt(frequencies.length)];
+            int tenureMonths = random.nextInt(240) + 1;
+            int from = random.nextInt(tenureMonths) + 1;
+            int to = from + random.nextInt(tenureMonths - from + 1);
+
+            List<MonthlyBreakdown> full = compoundInterestCalculator.generateMonthlyBreakdown(
+                    principal, rate, tenureMonths, frequency, START);
+            List<MonthlyBreakdown> page = compoundInterestCalculator.schedule(
+                    principal, rate, frequency, START, from, to).toList();
+
+            assertThat(full).hasSize(tenureMonths);
+            assertThat(page)
+                    .as("P=%s r=%s %s months %d..%d of %d", principal, rate, frequency, from, to, tenureMonths)
+                    .isEqualTo(full.subList(from - 1, to));
+        }
+    }
+
+    @Test
+    void simplePagesMatchTheFullSchedule() {
+        Random random = new Random(12);
+
+        for (int i = 0; i < 500; i++) {
+            BigDecimal principal = BigDecimal.valueOf(random.nextInt(1_000_000_000) + 1, 2);
+            BigDecimal rate = BigDecimal.valueOf(random.nextInt(1500) + 1, 2);
+            int tenureMonths = random.nextInt(240) + 1;
+            int from = random.nextInt(tenureMonths) + 1;
+            int to = from + random.nextInt(tenureMonths - from + 1);
+
+            List<MonthlyBreakdown> full = simpleInterestCalculator.generateMonthlyBreakdown(
+                    principal, rate, tenureMonths, START);
+
+            assertThat(simpleInterestCalculator.schedule(principal, rate, START, from, to).toList())
+                    .isEqualTo(full.subList(from - 1, to));
+        }
+    }
+
+    @Test
+    void compoundScheduleClosesAtTheMaturityAmount() {
+        Random random = new Random(3);
+
+        for (int i = 0; i < 500; i++) {
+            BigDecimal principal = BigDecimal.valueOf(random.nextInt(10_000_000) + 1);
+            BigDecimal rate = BigDecimal.valueOf(random.nextInt(1500) + 1, 2);
+            int years = random.nextInt(10) + 1;
+
+            List<MonthlyBreakdown> full = compoundInterestCalculator.generateMonthlyBreakdown(
+                    principal, rate, years * 12, CompoundingFrequency.QUARTERLY, START);
+
+            // Step factors are multiplied up instead of raised once: agree to the paisa
+            assertThat(full.get(full.size() - 1).getClosingBalance())
+                    .isCloseTo(FdMaturityCalculator.compoundMaturityBeforeTds(principal, rate, years, 4),
+                            within(new BigDecimal("0.01")));
+        }
+    }
+
+    @Test
+    void inlineBreakdownIsCappedAtOnePage() {
+        // 3650 YEARS passes request validation
+        ScheduleService.ScheduleInputs longest = inputs(3650 * 12);
+
+        assertThat(scheduleService.firstPage(longest)).hasSize(MAX_PAGE_SIZE);
+        assertThat(scheduleService.afterFirstPage(longest)).isEqualTo(MAX_PAGE_SIZE + 1);
+
+        ScheduleService.ScheduleInputs tenYears = inputs(120);
+        assertThat(scheduleService.firstPage(tenYears)).hasSize(120);
+        assertThat(scheduleService.afterFirstPage(tenYears)).isNull();
+    }
+
+    @Test
+    void registeredScheduleIsPagedToTheEnd() {
+        ScheduleService.ScheduleInputs inputs = inputs(400);
+        String calculationId = scheduleService.register(inputs);
+
+        ScheduleResponse first = scheduleService.getSchedule(calculationId, null, null);
+        ScheduleResponse second = scheduleService.getSchedule(calculationId, first.getNextFromMonth(), null);
+
+        assertThat(first.getRows()).isEqualTo(scheduleService.firstPage(inputs));
+        assertThat(first.getNextFromMonth()).isEqualTo(MAX_PAGE_SIZE + 1);
+        assertThat(second.getRows()).hasSize(400 - MAX_PAGE_SIZE);
+        assertThat(second.getNextFromMonth()).isNull();
+    }
+
+    @Test
+    void invalidPagesAreRejected() {
+        String calculationId = scheduleService.register(inputs(600));
+
+        assertThatThrownBy(() -> scheduleService.getSchedule(calculationId, 1, MAX_PAGE_SIZE + 1))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> scheduleService.getSchedule(calculationId, 10, 9))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> scheduleService.getSchedule(calculationId, 601, null))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> scheduleService.getSchedule("unknown", null, null))
+                .isInstanceOf(NoSuchElementException.class);
+    }
+
+    private static ScheduleService.ScheduleInputs inputs(int tenureMonths) {
+        return new ScheduleService.ScheduleInputs(CalculationType.COMPOUND, new BigDecimal("100000"),
+                new BigDecimal("7.25"), CompoundingFrequency.QUARTERLY, tenureMonths, START);
+    }
+}
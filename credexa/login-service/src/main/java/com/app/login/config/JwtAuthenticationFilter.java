@@ -1,6 +1,7 @@
 package com.app.login.config;
 
 import com.app.common.util.JwtUtil;
+import com.app.common.util.VerifiedJwt;
 import com.app.login.service.CustomUserDetailsService;
 import com.app.login.service.SessionService;
 import jakarta.servlet.FilterChain;
@@ -44,28 +45,29 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
             if (authHeader != null && authHeader.startsWith("Bearer ")) {
                 String token = authHeader.substring(7);
-                String username = jwtUtil.extractUsername(token);
+
+                // Verify signature and expiry once; an invalid token throws
+                VerifiedJwt verified = jwtUtil.verify(token);
+                String username = verified.username();
 
                 if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
                     UserDetails userDetails = userDetailsService.loadUserByUsername(username);
 
-                    if (jwtUtil.validateToken(token, username)) {
-                        List<String> roles = jwtUtil.extractRoles(token);
-                        List<SimpleGrantedAuthority> authorities = roles.stream()
-                                .map(SimpleGrantedAuthority::new)
-                                .collect(Collectors.toList());
+                    List<String> roles = verified.roles();
+                    List<SimpleGrantedAuthority> authorities = roles.stream()
+                            .map(SimpleGrantedAuthority::new)
+                            .collect(Collectors.toList());
 
-                        UsernamePasswordAuthenticationToken authToken =
-                            new UsernamePasswordAuthenticationToken(userDetails, null, authorities);
+                    UsernamePasswordAuthenticationToken authToken =
+                        new UsernamePasswordAuthenticationToken(userDetails, null, authorities);
 
-                        authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                        SecurityContextHolder.getContext().setAuthentication(authToken);
+                    authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                    SecurityContextHolder.getContext().setAuthentication(authToken);
 
-                        // Update session activity to track last activity time
-                        sessionService.updateSessionActivity(token);
+                    // Update session activity to track last activity time
+                    sessionService.updateSessionActivity(token);
 
-                        log.debug("JWT authentication successful for user: {}", username);
-                    }
+                    log.debug("JWT authentication successful for user: {}", username);
                 }
             }
         } catch (Exception e) {
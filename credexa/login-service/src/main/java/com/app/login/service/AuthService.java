@@ -15,6 +15,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.app.common.util.JwtUtil;
+import com.app.common.util.VerifiedJwt;
 import com.app.login.client.CustomerServiceClient;
 import com.app.login.dto.AdminCreateCustomerRequest;
 import com.app.login.dto.AdminCreateCustomerResponse;
@@ -295,8 +296,10 @@ public class AuthService {
     public TokenValidationResponse validateToken(String token) {
         try {
             if (jwtUtil.validateToken(token)) {
-                String username = jwtUtil.extractUsername(token);
-                List<String> roles = jwtUtil.extractRoles(token);
+                // Served from the verified-token cache populated by validateToken
+                VerifiedJwt verified = jwtUtil.verify(token);
+                String username = verified.username();
+                List<String> roles = verified.roles();
                 
                 User user = userRepository.findByUsername(username)
                         .orElse(null);
@@ -14,7 +14,7 @@ import org.springframework.cache.annotation.EnableCaching;
  * - Charges, fees, and taxes
  * - Product caching for performance
  */
-@SpringBootApplication
+@SpringBootApplication(scanBasePackages = {"com.app.product", "com.app.common"})
 @EnableCaching
 public class ProductPricingApplication {
 
@@ -122,7 +122,7 @@ public class ProductController {
     }
 
     @GetMapping("/code/{code}")
-    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER', 'CUSTOMER')")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER', 'CUSTOMER', 'SERVICE')")
     @Operation(summary = "Get product by code", 
                description = "Retrieves product by unique product code")
     @ApiResponses(value = {
@@ -213,7 +213,7 @@ public class ProductController {
     }
 
     @GetMapping("/active")
-    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER', 'CUSTOMER')")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER', 'CUSTOMER', 'SERVICE')")
     @Operation(summary = "Get all active products", 
                description = "Retrieves all products with ACTIVE status")
     @ApiResponses(value = {
@@ -0,0 +1,81 @@
+package com.app.product.controller;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+import com.app.product.dto.ApiResponse;
+import com.app.product.dto.RateCardResponse;
+import com.app.product.service.InterestRateIndex;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * REST Controller for the rate card export
+ * Responses carry the index version as an ETag; send it back in If-None-Match to get 304 when nothing changed
+ */
+@RestController
+@RequestMapping("/rate-card")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Rate Card", description = "Versioned export of interest rate slabs for downstream caching")
+public class RateCardController {
+
+    private final InterestRateIndex interestRateIndex;
+
+    @GetMapping
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER', 'CUSTOMER', 'SERVICE')")
+    @Operation(summary = "Export rate card",
+               description = "Active interest rate slabs of all products, best first; supports If-None-Match")
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Rate card exported"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "304", description = "Rate card unchanged")
+    })
+    public ResponseEntity<ApiResponse<RateCardResponse>> getRateCard(WebRequest webRequest) {
+        String etag = "\"" + interestRateIndex.getVersion() + "\"";
+        if (webRequest.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+
+        RateCardResponse rateCard = interestRateIndex.exportRateCard();
+        log.info("REST: Exporting rate card version {} ({} products)", rateCard.getVersion(), rateCard.getProducts().size());
+        return ResponseEntity.ok()
+                .eTag("\"" + rateCard.getVersion() + "\"")
+                .cacheControl(CacheControl.noCache())
+                .body(ApiResponse.success(rateCard));
+    }
+
+    @GetMapping("/{productId}")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER', 'CUSTOMER', 'SERVICE')")
+    @Operation(summary = "Export product rate card",
+               description = "Active interest rate slabs of one product, best first; supports If-None-Match")
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Rate card exported"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "304", description = "Rate card unchanged")
+    })
+    public ResponseEntity<ApiResponse<RateCardResponse.ProductRateCard>> getProductRateCard(
+            @Parameter(description = "Product ID") @PathVariable Long productId,
+            WebRequest webRequest) {
+        String etag = "\"" + productId + "-" + interestRateIndex.getVersion(productId) + "\"";
+        if (webRequest.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+
+        RateCardResponse.ProductRateCard rateCard = interestRateIndex.exportRateCard(productId);
+        return ResponseEntity.ok()
+                .eTag("\"" + productId + "-" + rateCard.getVersion() + "\"")
+                .cacheControl(CacheControl.noCache())
+                .body(ApiResponse.success(rateCard));
+    }
+}
@@ -17,5 +17,9 @@ public class InterestRateMatrixRequest {
     private String customerClassification;
     @NotNull private BigDecimal interestRate;
     private BigDecimal additionalRate;
+    private BigDecimal minAmount;     // null = no lower bound
+    private BigDecimal maxAmount;     // null = no upper bound
+    private Integer minTermMonths;    // null = no lower bound
+    private Integer maxTermMonths;    // null = no upper bound
     @NotNull private LocalDate effectiveDate;
 }
@@ -18,6 +18,10 @@ public class InterestRateMatrixResponse {
     private String customerClassification;
     private BigDecimal interestRate;
     private BigDecimal additionalRate;
+    private BigDecimal minAmount;
+    private BigDecimal maxAmount;
+    private Integer minTermMonths;
+    private Integer maxTermMonths;
     private LocalDate effectiveDate;
     private BigDecimal totalRate; // computed: interestRate + additionalRate
 }
@@ -0,0 +1,33 @@
+package com.app.product.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Versioned export of the interest rate matrix for downstream caching
+ * Slabs are ordered best first: the first slab that applies to a request is its rate
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RateCardResponse {
+
+    private Long version; // also sent as the ETag
+    private List<ProductRateCard> products;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class ProductRateCard {
+
+        private Long productId;
+        private Long version;
+        private List<InterestRateMatrixResponse> slabs; // active slabs only
+    }
+}
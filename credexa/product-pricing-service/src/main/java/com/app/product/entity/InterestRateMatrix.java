@@ -52,6 +52,20 @@ public class InterestRateMatrix {
     @Builder.Default
     private BigDecimal additionalRate = BigDecimal.ZERO;
 
+    // Amount slab this rate applies to (inclusive; null = unbounded)
+    @Column(precision = 19, scale = 2)
+    private BigDecimal minAmount;
+
+    @Column(precision = 19, scale = 2)
+    private BigDecimal maxAmount;
+
+    // Term slab this rate applies to, in months (inclusive; null = unbounded)
+    @Column
+    private Integer minTermMonths;
+
+    @Column
+    private Integer maxTermMonths;
+
     // Effective date for this rate
     @NotNull(message = "Effective date is required")
     @Column(nullable = false)
@@ -6,6 +6,8 @@ import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
+import org.hibernate.annotations.BatchSize;
+
 import com.app.product.enums.ProductStatus;
 import com.app.product.enums.ProductType;
 
@@ -26,7 +28,9 @@ import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 /**
  * Main Product Entity
@@ -133,17 +137,28 @@ public class Product {
     private Boolean tdsApplicable = true;
     
     // ==================== RELATIONSHIPS ====================
+    // Lazy; initialised in batches of up to 50 products per collection (no per-product select),
+    // and excluded from toString/equals/hashCode so logging a product never loads them
     
     @OneToMany(mappedBy = "product", cascade = CascadeType.ALL, orphanRemoval = true)
+    @BatchSize(size = 50)
     @Builder.Default
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private List<ProductRole> allowedRoles = new ArrayList<>();
     
     @OneToMany(mappedBy = "product", cascade = CascadeType.ALL, orphanRemoval = true)
+    @BatchSize(size = 50)
     @Builder.Default
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private List<ProductCharge> charges = new ArrayList<>();
     
     @OneToMany(mappedBy = "product", cascade = CascadeType.ALL, orphanRemoval = true)
+    @BatchSize(size = 50)
     @Builder.Default
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private List<InterestRateMatrix> interestRateMatrix = new ArrayList<>();
     
     // ==================== AUDIT FIELDS ====================
@@ -177,13 +192,14 @@ public class Product {
      * Check if product is active on a given date
      */
     public boolean isActiveOn(LocalDate date) {
-        if (status != ProductStatus.ACTIVE) {
-            return false;
-        }
-        if (effectiveDate.isAfter(date)) {
-            return false;
-        }
-        return true;
+        return isActiveOn(status, effectiveDate, date);
+    }
+
+    /**
+     * Active-on rule shared with ProductSummaryView: ACTIVE and effective on or before the date
+     */
+    public static boolean isActiveOn(ProductStatus status, LocalDate effectiveDate, LocalDate date) {
+        return status == ProductStatus.ACTIVE && effectiveDate != null && !effectiveDate.isAfter(date);
     }
     
     /**
@@ -0,0 +1,47 @@
+package com.app.product.event;
+
+import java.time.LocalDateTime;
+
+import com.app.product.entity.Product;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Event published after a product is created, updated, has its status changed or is deleted
+ * Consumers holding product snapshots (e.g. account-service) evict the product on receipt
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductChangedEvent {
+
+    public enum ChangeType {
+        CREATED, UPDATED, STATUS_CHANGED, DELETED
+    }
+
+    private Long productId;
+    private String productCode;
+    // Code before this change, set only when the change renamed the product (consumers evict both)
+    private String previousProductCode;
+    private ChangeType changeType;
+    private String status;
+    private String changedBy;
+    private LocalDateTime changedAt;
+
+    /**
+     * Something embedded in the product (charges, allowed roles) changed - cached responses must be evicted
+     */
+    public static ProductChangedEvent updated(Product product) {
+        return ProductChangedEvent.builder()
+                .productId(product.getId())
+                .productCode(product.getProductCode())
+                .changeType(ChangeType.UPDATED)
+                .status(product.getStatus() != null ? product.getStatus().name() : null)
+                .changedAt(LocalDateTime.now())
+                .build();
+    }
+}
@@ -1,6 +1,7 @@
 package com.app.product.mapper;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -22,6 +23,7 @@ import com.app.product.entity.Product;
 import com.app.product.entity.ProductCharge;
 import com.app.product.entity.ProductRole;
 import com.app.product.enums.ProductStatus;
+import com.app.product.repository.ProductSummaryView;
 
 /**
  * Mapper utility for converting between entities and DTOs
@@ -169,7 +171,7 @@ public class ProductMapper {
                 .build();
     }
 
-    public ProductSummaryResponse toSummaryResponse(Product product) {
+    public ProductSummaryResponse toSummaryResponse(ProductSummaryView product) {
         return ProductSummaryResponse.builder()
                 .productId(product.getId())
                 .productName(product.getProductName())
@@ -183,7 +185,7 @@ public class ProductMapper {
                 .maxAmount(product.getMaxAmount())
                 .minTermMonths(product.getMinTermMonths() != null ? product.getMinTermMonths().intValue() : null)
                 .maxTermMonths(product.getMaxTermMonths() != null ? product.getMaxTermMonths().intValue() : null)
-                .currentlyActive(product.isCurrentlyActive())
+                .currentlyActive(product.isActiveOn(LocalDate.now()))
                 .build();
     }
 
@@ -257,6 +259,10 @@ public class ProductMapper {
                 .customerClassification(request.getCustomerClassification())
                 .interestRate(request.getInterestRate())
                 .additionalRate(request.getAdditionalRate())
+                .minAmount(request.getMinAmount())
+                .maxAmount(request.getMaxAmount())
+                .minTermMonths(request.getMinTermMonths())
+                .maxTermMonths(request.getMaxTermMonths())
                 .effectiveDate(request.getEffectiveDate())
                 .build();
     }
@@ -267,6 +273,10 @@ public class ProductMapper {
                 .customerClassification(rate.getCustomerClassification())
                 .interestRate(rate.getInterestRate())
                 .additionalRate(rate.getAdditionalRate())
+                .minAmount(rate.getMinAmount())
+                .maxAmount(rate.getMaxAmount())
+                .minTermMonths(rate.getMinTermMonths())
+                .maxTermMonths(rate.getMaxTermMonths())
                 .effectiveDate(rate.getEffectiveDate())
                 .totalRate(rate.getTotalRate())
                 .build();
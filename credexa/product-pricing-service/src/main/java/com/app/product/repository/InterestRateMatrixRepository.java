@@ -1,9 +1,7 @@
 package com.app.product.repository;
 
-import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
-import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
@@ -20,38 +18,6 @@ public interface InterestRateMatrixRepository extends JpaRepository<InterestRate
      */
     List<InterestRateMatrix> findByProductId(Long productId);
 
-    /**
-     * Find applicable interest rate for given criteria
-     */
-    @Query("SELECT i FROM InterestRateMatrix i WHERE i.product.id = :productId " +
-           "AND (:customerClassification IS NULL OR i.customerClassification IS NULL " +
-           "    OR i.customerClassification = :customerClassification) " +
-           "AND i.effectiveDate <= :currentDate " +
-           "ORDER BY i.interestRate DESC")
-    List<InterestRateMatrix> findApplicableRates(
-        @Param("productId") Long productId,
-        @Param("amount") BigDecimal amount,
-        @Param("termMonths") Integer termMonths,
-        @Param("customerClassification") String customerClassification,
-        @Param("currentDate") LocalDate currentDate
-    );
-
-    /**
-     * Find the best (highest) applicable interest rate
-     */
-    default Optional<InterestRateMatrix> findBestApplicableRate(
-        Long productId,
-        BigDecimal amount,
-        Integer termMonths,
-        String customerClassification,
-        LocalDate currentDate
-    ) {
-        List<InterestRateMatrix> rates = findApplicableRates(
-            productId, amount, termMonths, customerClassification, currentDate
-        );
-        return rates.isEmpty() ? Optional.empty() : Optional.of(rates.get(0));
-    }
-
     /**
      * Find active rate slabs for a product on a specific date
      */
@@ -18,6 +18,13 @@ import com.app.product.enums.ProductType;
 @Repository
 public interface ProductRepository extends JpaRepository<Product, Long> {
 
+    // Select list for ProductSummaryView queries (aliases must match the projection's getters)
+    String SUMMARY_COLUMNS = "p.id AS id, p.productName AS productName, p.productCode AS productCode, " +
+           "p.productType AS productType, p.description AS description, p.status AS status, " +
+           "p.effectiveDate AS effectiveDate, p.baseInterestRate AS baseInterestRate, " +
+           "p.minAmount AS minAmount, p.maxAmount AS maxAmount, " +
+           "p.minTermMonths AS minTermMonths, p.maxTermMonths AS maxTermMonths";
+
     /**
      * Find product by unique product code
      */
@@ -29,20 +36,29 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
     boolean existsByProductCode(String productCode);
 
     /**
-     * Find all products by type
+     * Summaries of all products (paged)
+     */
+    @Query(value = "SELECT " + SUMMARY_COLUMNS + " FROM Product p",
+           countQuery = "SELECT COUNT(p) FROM Product p")
+    Page<ProductSummaryView> findAllSummaries(Pageable pageable);
+
+    /**
+     * Summaries of all products by type
      */
-    List<Product> findByProductType(ProductType productType);
+    @Query("SELECT " + SUMMARY_COLUMNS + " FROM Product p WHERE p.productType = :productType")
+    List<ProductSummaryView> findSummariesByProductType(@Param("productType") ProductType productType);
 
     /**
-     * Find all products by status
+     * Summaries of all products by status
      */
-    List<Product> findByStatus(ProductStatus status);
+    @Query("SELECT " + SUMMARY_COLUMNS + " FROM Product p WHERE p.status = :status")
+    List<ProductSummaryView> findSummariesByStatus(@Param("status") ProductStatus status);
 
     /**
-     * Find all active products (status = ACTIVE)
+     * Summaries of all active products (status = ACTIVE)
      */
-    @Query("SELECT p FROM Product p WHERE p.status = 'ACTIVE'")
-    List<Product> findActiveProducts();
+    @Query("SELECT " + SUMMARY_COLUMNS + " FROM Product p WHERE p.status = 'ACTIVE'")
+    List<ProductSummaryView> findActiveProducts();
 
     /**
      * Find products created by a specific user
@@ -50,22 +66,28 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
     List<Product> findByCreatedBy(String createdBy);
 
     /**
-     * Find currently active products (status=ACTIVE and date is within effective range)
+     * Summaries of currently active products (status=ACTIVE and date is within effective range)
      */
-    @Query("SELECT p FROM Product p WHERE p.status = 'ACTIVE' " +
+    @Query("SELECT " + SUMMARY_COLUMNS + " FROM Product p WHERE p.status = 'ACTIVE' " +
            "AND p.effectiveDate <= :currentDate")
-    List<Product> findCurrentlyActiveProducts(@Param("currentDate") LocalDate currentDate);
+    List<ProductSummaryView> findCurrentlyActiveProducts(@Param("currentDate") LocalDate currentDate);
 
     /**
-     * Complex search with multiple criteria
+     * Complex search with multiple criteria (summaries)
      */
-    @Query("SELECT p FROM Product p WHERE " +
+    @Query(value = "SELECT " + SUMMARY_COLUMNS + " FROM Product p WHERE " +
+           "(:productName IS NULL OR LOWER(p.productName) LIKE LOWER(CONCAT('%', :productName, '%'))) AND " +
+           "(:productCode IS NULL OR p.productCode = :productCode) AND " +
+           "(:productType IS NULL OR p.productType = :productType) AND " +
+           "(:status IS NULL OR p.status = :status) AND " +
+           "(:createdBy IS NULL OR p.createdBy = :createdBy)",
+           countQuery = "SELECT COUNT(p) FROM Product p WHERE " +
            "(:productName IS NULL OR LOWER(p.productName) LIKE LOWER(CONCAT('%', :productName, '%'))) AND " +
            "(:productCode IS NULL OR p.productCode = :productCode) AND " +
            "(:productType IS NULL OR p.productType = :productType) AND " +
            "(:status IS NULL OR p.status = :status) AND " +
            "(:createdBy IS NULL OR p.createdBy = :createdBy)")
-    Page<Product> searchProducts(
+    Page<ProductSummaryView> searchProducts(
         @Param("productName") String productName,
         @Param("productCode") String productCode,
         @Param("productType") ProductType productType,
@@ -0,0 +1,47 @@
+package com.app.product.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import com.app.product.entity.Product;
+import com.app.product.enums.ProductStatus;
+import com.app.product.enums.ProductType;
+
+/**
+ * Summary projection of Product for list and search reads
+ * Selects only these columns: no entity is loaded into the persistence context
+ * and the role / charge / rate collections are never touched
+ */
+public interface ProductSummaryView {
+
+    Long getId();
+
+    String getProductName();
+
+    String getProductCode();
+
+    ProductType getProductType();
+
+    String getDescription();
+
+    ProductStatus getStatus();
+
+    LocalDate getEffectiveDate();
+
+    BigDecimal getBaseInterestRate();
+
+    BigDecimal getMinAmount();
+
+    BigDecimal getMaxAmount();
+
+    BigDecimal getMinTermMonths();
+
+    BigDecimal getMaxTermMonths();
+
+    /**
+     * Same rule as Product.isActiveOn
+     */
+    default boolean isActiveOn(LocalDate date) {
+        return Product.isActiveOn(getStatus(), getEffectiveDate(), date);
+    }
+}
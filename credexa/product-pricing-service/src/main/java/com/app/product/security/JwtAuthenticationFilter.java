@@ -12,7 +12,9 @@ import org.springframework.security.web.authentication.WebAuthenticationDetailsS
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
-import io.jsonwebtoken.Claims;
+import com.app.common.util.JwtUtil;
+import com.app.common.util.VerifiedJwt;
+
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -70,40 +72,36 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         try {
             // Extract JWT token
             jwt = authHeader.substring(7);
-            username = jwtUtil.extractUsername(jwt);
+
+            // Verify signature and expiry once; an invalid token throws
+            VerifiedJwt token = jwtUtil.verify(jwt);
+            username = token.username();
 
             // If username is extracted and no authentication is set
             if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                // Validate token
-                if (jwtUtil.validateToken(jwt)) {
-                    // Extract roles from JWT
-                    Claims claims = jwtUtil.extractClaims(jwt);
-                    @SuppressWarnings("unchecked")
-                    List<String> roles = (List<String>) claims.get("roles");
-                    
-                    // Convert roles to GrantedAuthority
-                    List<GrantedAuthority> authorities = roles.stream()
-                            .map(SimpleGrantedAuthority::new)
-                            .collect(Collectors.toList());
-
-                    // Create authentication token
-                    UsernamePasswordAuthenticationToken authToken = 
-                            new UsernamePasswordAuthenticationToken(
-                                    username, 
-                                    null, 
-                                    authorities
-                            );
-                    
-                    authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                    
-                    // Set authentication in SecurityContext
-                    SecurityContextHolder.getContext().setAuthentication(authToken);
-                    
-                    log.debug("JWT authentication successful for user: {} with roles: {} on path: {}", 
-                             username, roles, requestPath);
-                } else {
-                    log.warn("Invalid JWT token for path: {}", requestPath);
-                }
+                // Extract roles from JWT
+                List<String> roles = token.roles();
+                
+                // Convert roles to GrantedAuthority
+                List<GrantedAuthority> authorities = roles.stream()
+                        .map(SimpleGrantedAuthority::new)
+                        .collect(Collectors.toList());
+
+                // Create authentication token
+                UsernamePasswordAuthenticationToken authToken = 
+                        new UsernamePasswordAuthenticationToken(
+                                username, 
+                                null, 
+                                authorities
+                        );
+                
+                authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                
+                // Set authentication in SecurityContext
+                SecurityContextHolder.getContext().setAuthentication(authToken);
+                
+                log.debug("JWT authentication successful for user: {} with roles: {} on path: {}", 
+                         username, roles, requestPath);
             }
         } catch (Exception e) {
             log.error("Cannot set user authentication: {}", e.getMessage());
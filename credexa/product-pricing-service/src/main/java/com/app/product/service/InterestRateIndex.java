@@ -0,0 +1,316 @@
+package com.app.product.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.app.product.dto.InterestRateMatrixResponse;
+import com.app.product.dto.RateCardResponse;
+import com.app.product.entity.InterestRateMatrix;
+import com.app.product.event.ProductChangedEvent;
+import com.app.product.repository.InterestRateMatrixRepository;
+import com.app.product.repository.ProductRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-memory index of interest rate slabs, one immutable snapshot per product
+ *
+ * Each snapshot holds the product's active slabs grouped by customer classification, every group
+ * sorted by interest rate (highest first), so a lookup walks one or two arrays and stops at the
+ * first slab whose amount/term range and effective date match - no query, no sorting, no streams.
+ * Snapshots are built on first use (all products at startup) and replaced wholesale after a
+ * product change commits, so readers never see a half-built index. Only existing products are
+ * indexed; an unknown product id answers with an empty snapshot that is not kept.
+ *
+ * Inactive slabs (active = false) are left out, as InterestRateMatrix.isApplicable does.
+ *
+ * Every snapshot carries a version; the highest published version identifies the whole index and
+ * is exported with the rate card so downstream services can revalidate it with a conditional GET.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class InterestRateIndex {
+
+    // Group key for slabs that apply to every classification
+    private static final String ANY_CLASSIFICATION = "";
+
+    private final InterestRateMatrixRepository interestRateMatrixRepository;
+    private final ProductRepository productRepository;
+
+    private final Map<Long, ProductRates> productRates = new ConcurrentHashMap<>();
+
+    // Seeded from the clock so versions keep increasing across restarts
+    private final AtomicLong versionSequence = new AtomicLong(System.currentTimeMillis());
+    private final AtomicLong publishedVersion = new AtomicLong(versionSequence.get());
+
+    /**
+     * Best (highest interest rate) slab of a product applicable to the given criteria
+     * amount / termMonths may be null to skip that dimension; a null classification only matches generic slabs
+     */
+    public RateSlab findBestRate(Long productId, BigDecimal amount, Integer termMonths,
+                                 String classification, LocalDate date) {
+        return ratesFor(productId).findBest(amount, termMonths, classification, date);
+    }
+
+    /**
+     * Version of the whole index (changes whenever any product's slabs change)
+     */
+    public long getVersion() {
+        return publishedVersion.get();
+    }
+
+    /**
+     * Version of one product's slabs
+     */
+    public long getVersion(Long productId) {
+        return ratesFor(productId).version;
+    }
+
+    /**
+     * Rate card for one product: its active slabs, best first
+     */
+    public RateCardResponse.ProductRateCard exportRateCard(Long productId) {
+        return ratesFor(productId).export(productId);
+    }
+
+    /**
+     * Rate card for every indexed product
+     * The version is read before the snapshots, so the card is never older than its version
+     */
+    public RateCardResponse exportRateCard() {
+        long version = publishedVersion.get();
+        List<RateCardResponse.ProductRateCard> products = productRates.entrySet().stream()
+                .filter(entry -> !entry.getValue().isEmpty())
+                .sorted(Map.Entry.comparingByKey())
+                .map(entry -> entry.getValue().export(entry.getKey()))
+                .toList();
+        return RateCardResponse.builder()
+                .version(version)
+                .products(products)
+                .build();
+    }
+
+    /**
+     * Rebuild every product's snapshot with a single query
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildAll() {
+        Map<Long, List<InterestRateMatrix>> rowsByProduct = interestRateMatrixRepository.findAll().stream()
+                .collect(Collectors.groupingBy(rate -> rate.getProduct().getId()));
+
+        // Replace entries in place (readers keep seeing the previous snapshot until each swap)
+        long version = versionSequence.incrementAndGet();
+        rowsByProduct.forEach((productId, rows) -> productRates.put(productId, ProductRates.build(rows, version)));
+        productRates.keySet().retainAll(rowsByProduct.keySet());
+        publish(version);
+        log.info("Interest rate index built for {} products (version {})", rowsByProduct.size(), version);
+    }
+
+    /**
+     * Swap in a fresh snapshot once a product change (including its rate matrix) has committed
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onProductChanged(ProductChangedEvent event) {
+        if (event.getChangeType() == ProductChangedEvent.ChangeType.DELETED) {
+            productRates.remove(event.getProductId());
+            publish(versionSequence.incrementAndGet());
+        } else {
+            ProductRates rates = load(event.getProductId());
+            productRates.put(event.getProductId(), rates);
+            publish(rates.version);
+        }
+        log.debug("Interest rate index refreshed for product {}", event.getProductId());
+    }
+
+    private ProductRates ratesFor(Long productId) {
+        ProductRates rates = productRates.get(productId);
+        if (rates == null) {
+            // Loaded outside computeIfAbsent so the query does not run under the map's bin lock
+            rates = load(productId);
+            if (rates.isEmpty() && !productRepository.existsById(productId)) {
+                // Not cached, so ids taken from request paths cannot grow the index
+                return ProductRates.EMPTY;
+            }
+            ProductRates raced = productRates.putIfAbsent(productId, rates);
+            if (raced != null) {
+                rates = raced;
+            } else if (!rates.isEmpty()) {
+                publish(rates.version);
+            }
+        }
+        return rates;
+    }
+
+    private ProductRates load(Long productId) {
+        return ProductRates.build(interestRateMatrixRepository.findByProductId(productId), versionSequence.incrementAndGet());
+    }
+
+    // Published only after the snapshot is in the map, and never moves backwards
+    private void publish(long version) {
+        publishedVersion.accumulateAndGet(version, Math::max);
+    }
+
+    /**
+     * Immutable copy of one slab (detached from JPA, safe to share between threads)
+     */
+    public record RateSlab(Long id, String customerClassification, BigDecimal interestRate,
+                           BigDecimal additionalRate, BigDecimal totalRate, LocalDate effectiveDate,
+                           BigDecimal minAmount, BigDecimal maxAmount, Integer minTermMonths, Integer maxTermMonths) {
+
+        static RateSlab of(InterestRateMatrix rate) {
+            return new RateSlab(rate.getId(), rate.getCustomerClassification(), rate.getInterestRate(),
+                    rate.getAdditionalRate(), rate.getTotalRate(), rate.getEffectiveDate(),
+                    rate.getMinAmount(), rate.getMaxAmount(), rate.getMinTermMonths(), rate.getMaxTermMonths());
+        }
+
+        boolean matches(BigDecimal amount, Integer termMonths, LocalDate date) {
+            if (effectiveDate.isAfter(date)) {
+                return false;
+            }
+            if (amount != null) {
+                if (minAmount != null && amount.compareTo(minAmount) < 0) {
+                    return false;
+                }
+                if (maxAmount != null && amount.compareTo(maxAmount) > 0) {
+                    return false;
+                }
+            }
+            if (termMonths != null) {
+                if (minTermMonths != null && termMonths < minTermMonths) {
+                    return false;
+                }
+                if (maxTermMonths != null && termMonths > maxTermMonths) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        public InterestRateMatrixResponse toResponse() {
+            return InterestRateMatrixResponse.builder()
+                    .id(id)
+                    .customerClassification(customerClassification)
+                    .interestRate(interestRate)
+                    .additionalRate(additionalRate)
+                    .minAmount(minAmount)
+                    .maxAmount(maxAmount)
+                    .minTermMonths(minTermMonths)
+                    .maxTermMonths(maxTermMonths)
+                    .effectiveDate(effectiveDate)
+                    .totalRate(totalRate)
+                    .build();
+        }
+    }
+
+    /**
+     * One product's active slabs: classification (upper-cased, "" = any) -> slabs by interest rate, highest first
+     */
+    private static final class ProductRates {
+
+        private static final RateSlab[] NONE = new RateSlab[0];
+
+        // Snapshot of a product that does not exist
+        static final ProductRates EMPTY = new ProductRates(Map.of(), 0);
+
+        // Same ordering as the former query (interest rate desc); newer slabs win ties
+        private static final Comparator<RateSlab> BEST_FIRST = Comparator
+                .comparing(RateSlab::interestRate).reversed()
+                .thenComparing(RateSlab::effectiveDate, Comparator.reverseOrder());
+
+        // Export order: best first, and on a tie a classification-specific slab before a generic one
+        private static final Comparator<RateSlab> EXPORT_ORDER = BEST_FIRST
+                .thenComparing(slab -> groupKey(slab.customerClassification()).isEmpty());
+
+        private final Map<String, RateSlab[]> byClassification;
+        private final long version;
+
+        private ProductRates(Map<String, RateSlab[]> byClassification, long version) {
+            this.byClassification = byClassification;
+            this.version = version;
+        }
+
+        static ProductRates build(List<InterestRateMatrix> rows, long version) {
+            Map<String, List<RateSlab>> grouped = new HashMap<>();
+            for (InterestRateMatrix row : rows) {
+                if (Boolean.FALSE.equals(row.getActive())) {
+                    continue;
+                }
+                grouped.computeIfAbsent(groupKey(row.getCustomerClassification()), key -> new ArrayList<>())
+                        .add(RateSlab.of(row));
+            }
+
+            Map<String, RateSlab[]> byClassification = new HashMap<>();
+            grouped.forEach((key, slabs) -> {
+                slabs.sort(BEST_FIRST);
+                byClassification.put(key, slabs.toArray(NONE));
+            });
+            return new ProductRates(Map.copyOf(byClassification), version);
+        }
+
+        boolean isEmpty() {
+            return byClassification.isEmpty();
+        }
+
+        RateCardResponse.ProductRateCard export(Long productId) {
+            List<InterestRateMatrixResponse> slabs = byClassification.values().stream()
+                    .flatMap(Arrays::stream)
+                    .sorted(EXPORT_ORDER)
+                    .map(RateSlab::toResponse)
+                    .toList();
+            return RateCardResponse.ProductRateCard.builder()
+                    .productId(productId)
+                    .version(version)
+                    .slabs(slabs)
+                    .build();
+        }
+
+        RateSlab findBest(BigDecimal amount, Integer termMonths, String classification, LocalDate date) {
+            RateSlab generic = firstMatch(byClassification.get(ANY_CLASSIFICATION), amount, termMonths, date);
+            if (classification == null || classification.isBlank()) {
+                return generic;
+            }
+
+            RateSlab specific = firstMatch(byClassification.get(groupKey(classification)), amount, termMonths, date);
+            if (specific == null) {
+                return generic;
+            }
+            return generic == null || BEST_FIRST.compare(specific, generic) <= 0 ? specific : generic;
+        }
+
+        private static RateSlab firstMatch(RateSlab[] slabs, BigDecimal amount, Integer termMonths, LocalDate date) {
+            if (slabs == null) {
+                return null;
+            }
+            for (RateSlab slab : slabs) {
+                if (slab.matches(amount, termMonths, date)) {
+                    return slab;
+                }
+            }
+            return null;
+        }
+
+        private static String groupKey(String classification) {
+            return classification == null || classification.isBlank()
+                    ? ANY_CLASSIFICATION
+                    : classification.trim().toUpperCase(Locale.ROOT);
+        }
+    }
+}
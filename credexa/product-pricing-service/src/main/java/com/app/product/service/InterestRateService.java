@@ -9,7 +9,6 @@ import java.util.stream.Collectors;
 import org.springframework.stereotype.Service;
 
 import com.app.product.dto.InterestRateMatrixResponse;
-import com.app.product.entity.InterestRateMatrix;
 import com.app.product.mapper.ProductMapper;
 import com.app.product.repository.InterestRateMatrixRepository;
 
@@ -25,6 +24,7 @@ import lombok.extern.slf4j.Slf4j;
 public class InterestRateService {
 
     private final InterestRateMatrixRepository interestRateMatrixRepository;
+    private final InterestRateIndex interestRateIndex;
     private final ProductMapper productMapper;
 
     /**
@@ -51,7 +51,8 @@ public class InterestRateService {
 
     /**
      * Find applicable interest rate for given criteria
-     * Returns the best (highest) applicable rate
+     * Returns the best (highest) applicable rate whose amount and term slab cover the request
+     * Served from the in-memory InterestRateIndex (no database round-trip once the product is indexed)
      */
     public Optional<InterestRateMatrixResponse> findApplicableRate(
             Long productId,
@@ -64,14 +65,14 @@ public class InterestRateService {
 
         LocalDate currentDate = LocalDate.now();
         
-        Optional<InterestRateMatrix> bestRate = interestRateMatrixRepository.findBestApplicableRate(
+        InterestRateIndex.RateSlab bestRate = interestRateIndex.findBestRate(
                 productId, amount, termMonths, customerClassification, currentDate
         );
 
-        return bestRate.map(rate -> {
+        return Optional.ofNullable(bestRate).map(rate -> {
             log.info("Found applicable rate: {}% (total: {}%)", 
-                    rate.getInterestRate(), rate.getTotalRate());
-            return productMapper.toInterestRateResponse(rate);
+                    rate.interestRate(), rate.totalRate());
+            return rate.toResponse();
         });
     }
 
@@ -0,0 +1,111 @@
+package com.app.product.service;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.app.product.dto.ProductResponse;
+import com.app.product.event.ProductChangedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Two-level cache for full product responses
+ *
+ * Products are stored once, by ID; the code map only holds code -> ID, so a lookup by code and a
+ * lookup by ID return the same entry and one eviction covers both. Misses are loaded once per key
+ * (concurrent callers wait for the in-flight load instead of all hitting the database).
+ * Entries are evicted individually after a product change commits; stats are exported as
+ * cache.* metrics under the names productsById / productIdsByCode.
+ */
+@Component
+@Slf4j
+public class ProductCache {
+
+    private final Cache<Long, ProductResponse> productsById;
+    private final Cache<String, Long> productIdsByCode;
+
+    public ProductCache(@Value("${cache.products.maximum-size:1000}") long maximumSize,
+                        @Value("${cache.products.ttl:PT1H}") Duration ttl,
+                        MeterRegistry meterRegistry) {
+        this.productsById = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        this.productIdsByCode = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, productsById, "productsById");
+        CaffeineCacheMetrics.monitor(meterRegistry, productIdsByCode, "productIdsByCode");
+    }
+
+    /**
+     * Cached product by ID, loaded with loader on a miss (exceptions are propagated, not cached)
+     */
+    public ProductResponse getById(Long productId, Function<Long, ProductResponse> loader) {
+        ProductResponse product = productsById.get(productId, loader);
+        productIdsByCode.put(product.getProductCode(), productId);
+        return product;
+    }
+
+    /**
+     * Cached product by code, loaded with loader on a miss (exceptions are propagated, not cached)
+     */
+    public ProductResponse getByCode(String productCode, Function<String, ProductResponse> loader) {
+        Long productId = productIdsByCode.get(productCode, code -> store(loader.apply(code)));
+        ProductResponse product = productsById.getIfPresent(productId);
+        if (product != null && productCode.equals(product.getProductCode())) {
+            return product;
+        }
+
+        // The mapping outlived its entry (evicted by size, or the product's code changed)
+        productIdsByCode.invalidate(productCode);
+        ProductResponse reloaded = productsById.getIfPresent(
+                productIdsByCode.get(productCode, code -> store(loader.apply(code))));
+        return reloaded != null ? reloaded : loader.apply(productCode);
+    }
+
+    /**
+     * Evict one product from both levels
+     *
+     * The code mapping goes first: invalidating it waits for an in-flight load by code, whose store()
+     * writes into productsById, so clearing productsById afterwards also drops what that load stored.
+     */
+    public void evict(Long productId, String productCode) {
+        if (productCode != null) {
+            productIdsByCode.invalidate(productCode);
+        }
+        if (productId != null) {
+            productsById.invalidate(productId);
+        }
+    }
+
+    /**
+     * Evict a product once its change has committed (so a concurrent read cannot re-cache the old row)
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        if (event.getPreviousProductCode() != null) {
+            productIdsByCode.invalidate(event.getPreviousProductCode());
+        }
+        evict(event.getProductId(), event.getProductCode());
+        log.debug("Evicted product {} ({}) from cache", event.getProductId(), event.getProductCode());
+    }
+
+    private Long store(ProductResponse product) {
+        productsById.put(product.getProductId(), product);
+        return product.getProductId();
+    }
+}
@@ -3,6 +3,7 @@ package com.app.product.service;
 import java.util.List;
 import java.util.stream.Collectors;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -10,6 +11,7 @@ import com.app.product.dto.ProductChargeRequest;
 import com.app.product.dto.ProductChargeResponse;
 import com.app.product.entity.Product;
 import com.app.product.entity.ProductCharge;
+import com.app.product.event.ProductChangedEvent;
 import com.app.product.exception.ProductNotFoundException;
 import com.app.product.repository.ProductChargeRepository;
 import com.app.product.repository.ProductRepository;
@@ -24,6 +26,7 @@ public class ProductChargeService {
 
     private final ProductChargeRepository chargeRepository;
     private final ProductRepository productRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Add a charge to a product
@@ -46,6 +49,7 @@ public class ProductChargeService {
                 .build();
         
         charge = chargeRepository.save(charge);
+        eventPublisher.publishEvent(ProductChangedEvent.updated(charge.getProduct()));
         return toResponse(charge);
     }
 
@@ -87,6 +91,7 @@ public class ProductChargeService {
         if (request.getFrequency() != null) charge.setFrequency(request.getFrequency());
         
         charge = chargeRepository.save(charge);
+        eventPublisher.publishEvent(ProductChangedEvent.updated(charge.getProduct()));
         return toResponse(charge);
     }
 
@@ -96,7 +101,10 @@ public class ProductChargeService {
     @Transactional
     public void deleteCharge(Long chargeId) {
         log.info("Deleting charge {}", chargeId);
-        chargeRepository.deleteById(chargeId);
+        chargeRepository.findById(chargeId).ifPresent(charge -> {
+            chargeRepository.delete(charge);
+            eventPublisher.publishEvent(ProductChangedEvent.updated(charge.getProduct()));
+        });
     }
 
     /**
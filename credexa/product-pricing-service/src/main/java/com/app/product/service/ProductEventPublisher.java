@@ -0,0 +1,49 @@
+package com.app.product.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.app.product.event.ProductChangedEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Forwards product change events to Kafka once the change has committed
+ * Only activates if kafka.enabled=true
+ * Fails gracefully if Kafka is not available (subscribers fall back to their cache TTL)
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnProperty(name = "kafka.enabled", havingValue = "true", matchIfMissing = false)
+public class ProductEventPublisher {
+
+    private final KafkaTemplate<String, String> kafkaTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Value("${kafka.topics.product-changed:product-changed}")
+    private String productChangedTopic;
+
+    @TransactionalEventListener
+    public void publishProductChanged(ProductChangedEvent event) {
+        try {
+            String eventJson = objectMapper.writeValueAsString(event);
+            kafkaTemplate.send(productChangedTopic, event.getProductCode(), eventJson)
+                    .whenComplete((result, ex) -> {
+                        if (ex == null) {
+                            log.info("Published ProductChangedEvent {} for product: {}", event.getChangeType(), event.getProductCode());
+                        } else {
+                            log.error("Failed to publish ProductChangedEvent for {}: {}", event.getProductCode(), ex.getMessage());
+                        }
+                    });
+        } catch (JsonProcessingException e) {
+            log.error("Error serializing ProductChangedEvent: {}", e.getMessage());
+        }
+    }
+}
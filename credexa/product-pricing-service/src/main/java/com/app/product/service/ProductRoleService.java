@@ -3,6 +3,7 @@ package com.app.product.service;
 import java.util.List;
 import java.util.stream.Collectors;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -10,6 +11,7 @@ import com.app.product.dto.ProductRoleRequest;
 import com.app.product.dto.ProductRoleResponse;
 import com.app.product.entity.Product;
 import com.app.product.entity.ProductRole;
+import com.app.product.event.ProductChangedEvent;
 import com.app.product.exception.ProductNotFoundException;
 import com.app.product.repository.ProductRepository;
 import com.app.product.repository.ProductRoleRepository;
@@ -24,6 +26,7 @@ public class ProductRoleService {
 
     private final ProductRoleRepository roleRepository;
     private final ProductRepository productRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public ProductRoleResponse addRole(Long productId, ProductRoleRequest request) {
@@ -39,6 +42,7 @@ public class ProductRoleService {
                 .build();
         
         role = roleRepository.save(role);
+        eventPublisher.publishEvent(ProductChangedEvent.updated(role.getProduct()));
         return toResponse(role);
     }
 
@@ -67,13 +71,17 @@ public class ProductRoleService {
         if (request.getDescription() != null) role.setDescription(request.getDescription());
         
         role = roleRepository.save(role);
+        eventPublisher.publishEvent(ProductChangedEvent.updated(role.getProduct()));
         return toResponse(role);
     }
 
     @Transactional
     public void deleteRole(Long roleId) {
         log.info("Deleting role {}", roleId);
-        roleRepository.deleteById(roleId);
+        roleRepository.findById(roleId).ifPresent(role -> {
+            roleRepository.delete(role);
+            eventPublisher.publishEvent(ProductChangedEvent.updated(role.getProduct()));
+        });
     }
 
     public List<ProductRoleResponse> getRolesByType(Long productId, String roleType) {
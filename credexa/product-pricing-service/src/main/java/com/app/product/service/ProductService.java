@@ -1,18 +1,24 @@
 package com.app.product.service;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Objects;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.cache.annotation.Caching;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import com.app.product.dto.CreateProductRequest;
 import com.app.product.dto.ProductListResponse;
@@ -21,6 +27,7 @@ import com.app.product.dto.ProductSearchCriteria;
 import com.app.product.dto.ProductSummaryResponse;
 import com.app.product.dto.UpdateProductRequest;
 import com.app.product.entity.Product;
+import com.app.product.event.ProductChangedEvent;
 import com.app.product.enums.ProductStatus;
 import com.app.product.enums.ProductType;
 import com.app.product.exception.DuplicateProductCodeException;
@@ -31,6 +38,7 @@ import com.app.product.repository.InterestRateMatrixRepository;
 import com.app.product.repository.ProductChargeRepository;
 import com.app.product.repository.ProductRepository;
 import com.app.product.repository.ProductRoleRepository;
+import com.app.product.repository.ProductSummaryView;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -38,6 +46,8 @@ import lombok.extern.slf4j.Slf4j;
 /**
  * Service layer for Product operations
  * Implements caching strategy for improved performance
+ * Single products are cached in ProductCache (evicted per product after commit);
+ * the list caches (productsByType, activeProducts) are cleared on every change
  */
 @Service
 @RequiredArgsConstructor
@@ -49,6 +59,9 @@ public class ProductService {
     private final ProductChargeRepository productChargeRepository;
     private final ProductRoleRepository productRoleRepository;
     private final ProductMapper productMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ProductCache productCache;
+    private final PlatformTransactionManager transactionManager;
 
     /**
      * Create a new product
@@ -56,8 +69,6 @@ public class ProductService {
      */
     @Transactional
     @Caching(evict = {
-        @CacheEvict(value = "products", allEntries = true),
-        @CacheEvict(value = "productsByCode", allEntries = true),
         @CacheEvict(value = "productsByType", allEntries = true),
         @CacheEvict(value = "activeProducts", allEntries = true)
     })
@@ -71,7 +82,6 @@ public class ProductService {
      */
     @Transactional
     @Caching(evict = {
-        @CacheEvict(value = "productsByCode", allEntries = true),
         @CacheEvict(value = "productsByType", allEntries = true),
         @CacheEvict(value = "activeProducts", allEntries = true)
     })
@@ -92,6 +102,7 @@ public class ProductService {
         product.setUpdatedBy(createdBy);
         Product savedProduct = productRepository.save(product);
 
+        publishChange(savedProduct, ProductChangedEvent.ChangeType.CREATED, createdBy);
         log.info("Product created successfully with ID: {} by user: {}", savedProduct.getId(), createdBy);
         return productMapper.toResponse(savedProduct);
     }
@@ -102,8 +113,6 @@ public class ProductService {
      */
     @Transactional
     @Caching(evict = {
-        @CacheEvict(value = "products", key = "#productId"),
-        @CacheEvict(value = "productsByCode", allEntries = true),
         @CacheEvict(value = "productsByType", allEntries = true),
         @CacheEvict(value = "activeProducts", allEntries = true)
     })
@@ -117,8 +126,6 @@ public class ProductService {
      */
     @Transactional
     @Caching(evict = {
-        @CacheEvict(value = "products", key = "#productId"),
-        @CacheEvict(value = "productsByCode", allEntries = true),
         @CacheEvict(value = "productsByType", allEntries = true),
         @CacheEvict(value = "activeProducts", allEntries = true)
     })
@@ -130,44 +137,46 @@ public class ProductService {
 
         // Validate business rules for update
         validateProductUpdateRules(product, request);
+        String previousProductCode = product.getProductCode();
 
         // Update entity
         productMapper.updateEntity(product, request);
         product.setUpdatedBy(updatedBy);
         Product updatedProduct = productRepository.save(product);
 
+        publishChange(updatedProduct, ProductChangedEvent.ChangeType.UPDATED, updatedBy, previousProductCode);
         log.info("Product updated successfully: {} by user: {}", productId, updatedBy);
         return productMapper.toResponse(updatedProduct);
     }
 
     /**
      * Get product by ID
-     * Cached by product ID
+     * Cached in ProductCache (shared with lookups by code); a hit needs no transaction or connection
      */
-    @Transactional(readOnly = true)
-    // @Cacheable(value = "products", key = "#productId")  // Temporarily disabled for debugging
     public ProductResponse getProductById(Long productId) {
-        log.info("Fetching product by ID: {}", productId);
+        return productCache.getById(productId, id -> inReadOnlyTransaction(() -> {
+            log.info("Fetching product by ID: {}", id);
 
-        Product product = productRepository.findById(productId)
-                .orElseThrow(() -> new ProductNotFoundException(productId));
+            Product product = productRepository.findById(id)
+                    .orElseThrow(() -> new ProductNotFoundException(id));
 
-        return productMapper.toResponse(product);
+            return productMapper.toResponse(product);
+        }));
     }
 
     /**
      * Get product by code
-     * Cached by product code
+     * Cached in ProductCache (shared with lookups by ID); a hit needs no transaction or connection
      */
-    @Transactional(readOnly = true)
-    // @Cacheable(value = "productsByCode", key = "#productCode")  // Temporarily disabled for debugging
     public ProductResponse getProductByCode(String productCode) {
-        log.info("Fetching product by code: {}", productCode);
+        return productCache.getByCode(productCode, code -> inReadOnlyTransaction(() -> {
+            log.info("Fetching product by code: {}", code);
 
-        Product product = productRepository.findByProductCode(productCode)
-                .orElseThrow(() -> new ProductNotFoundException("productCode", productCode));
+            Product product = productRepository.findByProductCode(code)
+                    .orElseThrow(() -> new ProductNotFoundException("productCode", code));
 
-        return productMapper.toResponse(product);
+            return productMapper.toResponse(product);
+        }));
     }
 
     /**
@@ -181,7 +190,7 @@ public class ProductService {
                 : Sort.by(sortBy).descending();
         
         Pageable pageable = PageRequest.of(page, size, sort);
-        Page<Product> productPage = productRepository.findAll(pageable);
+        Page<ProductSummaryView> productPage = productRepository.findAllSummaries(pageable);
 
         return buildProductListResponse(productPage);
     }
@@ -198,7 +207,7 @@ public class ProductService {
 
         Pageable pageable = PageRequest.of(criteria.getPage(), criteria.getSize(), sort);
 
-        Page<Product> productPage = productRepository.searchProducts(
+        Page<ProductSummaryView> productPage = productRepository.searchProducts(
                 criteria.getProductName(),
                 criteria.getProductCode(),
                 criteria.getProductType(),
@@ -218,7 +227,7 @@ public class ProductService {
     public List<ProductSummaryResponse> getProductsByType(ProductType productType) {
         log.info("Fetching products by type: {}", productType);
 
-        return productRepository.findByProductType(productType).stream()
+        return productRepository.findSummariesByProductType(productType).stream()
                 .map(productMapper::toSummaryResponse)
                 .collect(Collectors.toList());
     }
@@ -229,7 +238,7 @@ public class ProductService {
     public List<ProductSummaryResponse> getProductsByStatus(ProductStatus status) {
         log.info("Fetching products by status: {}", status);
 
-        return productRepository.findByStatus(status).stream()
+        return productRepository.findSummariesByStatus(status).stream()
                 .map(productMapper::toSummaryResponse)
                 .collect(Collectors.toList());
     }
@@ -265,8 +274,6 @@ public class ProductService {
      */
     @Transactional
     @Caching(evict = {
-        @CacheEvict(value = "products", key = "#productId"),
-        @CacheEvict(value = "productsByCode", allEntries = true),
         @CacheEvict(value = "activeProducts", allEntries = true)
     })
     public ProductResponse updateProductStatus(Long productId, ProductStatus newStatus) {
@@ -279,8 +286,6 @@ public class ProductService {
      */
     @Transactional
     @Caching(evict = {
-        @CacheEvict(value = "products", key = "#productId"),
-        @CacheEvict(value = "productsByCode", allEntries = true),
         @CacheEvict(value = "activeProducts", allEntries = true)
     })
     public ProductResponse updateProductStatus(Long productId, ProductStatus newStatus, String updatedBy) {
@@ -293,6 +298,7 @@ public class ProductService {
         product.setUpdatedBy(updatedBy);
         Product updatedProduct = productRepository.save(product);
 
+        publishChange(updatedProduct, ProductChangedEvent.ChangeType.STATUS_CHANGED, updatedBy);
         log.info("Product status updated successfully by user: {}", updatedBy);
         return productMapper.toResponse(updatedProduct);
     }
@@ -303,8 +309,6 @@ public class ProductService {
      */
     @Transactional
     @Caching(evict = {
-        @CacheEvict(value = "products", key = "#productId"),
-        @CacheEvict(value = "productsByCode", allEntries = true),
         @CacheEvict(value = "productsByType", allEntries = true),
         @CacheEvict(value = "activeProducts", allEntries = true)
     })
@@ -319,8 +323,6 @@ public class ProductService {
      */
     @Transactional
     @Caching(evict = {
-        @CacheEvict(value = "products", key = "#productId"),
-        @CacheEvict(value = "productsByCode", allEntries = true),
         @CacheEvict(value = "productsByType", allEntries = true),
         @CacheEvict(value = "activeProducts", allEntries = true)
     })
@@ -333,6 +335,7 @@ public class ProductService {
         product.setStatus(ProductStatus.CLOSED);
         product.setUpdatedBy(deletedBy);
         productRepository.save(product);
+        publishChange(product, ProductChangedEvent.ChangeType.STATUS_CHANGED, deletedBy);
 
         log.info("Product soft-deleted successfully by user: {}", deletedBy);
     }
@@ -343,8 +346,6 @@ public class ProductService {
      */
     @Transactional
     @Caching(evict = {
-        @CacheEvict(value = "products", key = "#productId"),
-        @CacheEvict(value = "productsByCode", allEntries = true),
         @CacheEvict(value = "productsByType", allEntries = true),
         @CacheEvict(value = "activeProducts", allEntries = true)
     })
@@ -359,8 +360,6 @@ public class ProductService {
      */
     @Transactional
     @Caching(evict = {
-        @CacheEvict(value = "products", key = "#productId"),
-        @CacheEvict(value = "productsByCode", allEntries = true),
         @CacheEvict(value = "productsByType", allEntries = true),
         @CacheEvict(value = "activeProducts", allEntries = true)
     })
@@ -371,13 +370,46 @@ public class ProductService {
                 .orElseThrow(() -> new ProductNotFoundException(productId));
 
         productRepository.delete(product);
+        publishChange(product, ProductChangedEvent.ChangeType.DELETED, deletedBy);
 
         log.warn("Product permanently deleted by user: {}", deletedBy);
     }
 
     // ==================== Helper Methods ====================
 
-    private ProductListResponse buildProductListResponse(Page<Product> productPage) {
+    /**
+     * Run a cache loader in its own read-only transaction (lazy collections are mapped inside it)
+     */
+    private <T> T inReadOnlyTransaction(Supplier<T> work) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(true);
+        return template.execute(status -> work.get());
+    }
+
+    /**
+     * Announce a product change (delivered to Kafka after the transaction commits)
+     */
+    private void publishChange(Product product, ProductChangedEvent.ChangeType changeType, String changedBy) {
+        publishChange(product, changeType, changedBy, product.getProductCode());
+    }
+
+    /**
+     * Announce a product change that may have renamed the product (previousProductCode is its code before)
+     */
+    private void publishChange(Product product, ProductChangedEvent.ChangeType changeType, String changedBy,
+                               String previousProductCode) {
+        eventPublisher.publishEvent(ProductChangedEvent.builder()
+                .productId(product.getId())
+                .productCode(product.getProductCode())
+                .previousProductCode(Objects.equals(previousProductCode, product.getProductCode()) ? null : previousProductCode)
+                .changeType(changeType)
+                .status(product.getStatus() != null ? product.getStatus().name() : null)
+                .changedBy(changedBy)
+                .changedAt(LocalDateTime.now())
+                .build());
+    }
+
+    private ProductListResponse buildProductListResponse(Page<ProductSummaryView> productPage) {
         List<ProductSummaryResponse> products = productPage.getContent().stream()
                 .map(productMapper::toSummaryResponse)
                 .collect(Collectors.toList());
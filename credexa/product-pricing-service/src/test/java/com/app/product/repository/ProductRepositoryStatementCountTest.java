@@ -0,0 +1,142 @@
+package com.app.product.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import com.app.product.entity.InterestRateMatrix;
+import com.app.product.entity.Product;
+import com.app.product.entity.ProductCharge;
+import com.app.product.entity.ProductRole;
+import com.app.product.enums.ChargeFrequency;
+import com.app.product.enums.ProductStatus;
+import com.app.product.enums.ProductType;
+import com.app.product.enums.RoleType;
+
+/**
+ * Statements issued when listing products must not grow with the number of products
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false"
+})
+class ProductRepositoryStatementCountTest {
+
+    // Below the collections' @BatchSize (50), so each collection type loads in one batch
+    private static final int PRODUCTS = 30;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < PRODUCTS; i++) {
+            entityManager.persist(product(i));
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void listingSummariesIsOneStatement() {
+        List<ProductSummaryView> summaries = productRepository.findActiveProducts();
+        summaries.forEach(summary -> summary.getProductCode());
+
+        assertThat(summaries).hasSize(PRODUCTS);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    void filteredSummariesAreOneStatement() {
+        assertThat(productRepository.findSummariesByProductType(ProductType.FIXED_DEPOSIT)).hasSize(PRODUCTS);
+        assertThat(productRepository.findCurrentlyActiveProducts(LocalDate.now())).hasSize(PRODUCTS);
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    void pagedSummariesAreOneSelectAndOneCount() {
+        Page<ProductSummaryView> page = productRepository.findAllSummaries(PageRequest.of(0, 10));
+
+        assertThat(page.getContent()).hasSize(10);
+        assertThat(page.getTotalElements()).isEqualTo(PRODUCTS);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    void fullProductCollectionsAreBatchFetched() {
+        List<Product> products = productRepository.findAll();
+        for (Product product : products) {
+            assertThat(product.getAllowedRoles()).hasSize(2);
+            assertThat(product.getCharges()).hasSize(2);
+            assertThat(product.getInterestRateMatrix()).hasSize(2);
+        }
+
+        // One select for the products and one per collection, not one per product and collection
+        assertThat(products).hasSize(PRODUCTS);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1 + 3);
+    }
+
+    private static Product product(int index) {
+        Product product = Product.builder()
+                .productName("Fixed Deposit " + index)
+                .productCode("FD-" + index)
+                .productType(ProductType.FIXED_DEPOSIT)
+                .effectiveDate(LocalDate.now().minusDays(1))
+                .bankBranchCode("BR001")
+                .currencyCode("INR")
+                .status(ProductStatus.ACTIVE)
+                .baseInterestRate(new BigDecimal("6.50"))
+                .build();
+
+        for (RoleType roleType : List.of(RoleType.OWNER, RoleType.CO_OWNER)) {
+            product.getAllowedRoles().add(ProductRole.builder()
+                    .product(product)
+                    .roleType(roleType)
+                    .build());
+        }
+        for (String chargeName : List.of("Processing Fee", "Premature Penalty")) {
+            product.getCharges().add(ProductCharge.builder()
+                    .product(product)
+                    .chargeName(chargeName)
+                    .chargeType("FEE")
+                    .fixedAmount(new BigDecimal("100.00"))
+                    .frequency(ChargeFrequency.ONE_TIME)
+                    .build());
+        }
+        for (String classification : List.of("REGULAR", "SENIOR_CITIZEN")) {
+            product.getInterestRateMatrix().add(InterestRateMatrix.builder()
+                    .product(product)
+                    .customerClassification(classification)
+                    .interestRate(new BigDecimal("7.00"))
+                    .effectiveDate(LocalDate.now().minusDays(1))
+                    .build());
+        }
+        return product;
+    }
+}
@@ -0,0 +1,131 @@
+package com.app.product.service;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.app.product.entity.InterestRateMatrix;
+import com.app.product.entity.Product;
+import com.app.product.repository.InterestRateMatrixRepository;
+import com.app.product.repository.ProductRepository;
+
+/**
+ * InterestRateIndex.findBestRate on one product with thousands of slabs
+ * Run from product-pricing-service: mvn -Pbenchmark test -Djmh.benchmarks=InterestRateIndexBenchmark
+ *
+ * Slabs cover a grid of amount bands x term bands x classifications (one generic, four specific)
+ * with unrelated rates, so a lookup's first match can sit anywhere in the best-first array.
+ * Queries are drawn up front from a fixed seed; noMatch scans both arrays to the end.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class InterestRateIndexBenchmark {
+
+    private static final Long PRODUCT_ID = 1L;
+    private static final LocalDate TODAY = LocalDate.of(2025, 11, 8);
+    private static final String[] CLASSIFICATIONS = {null, "REGULAR", "SENIOR_CITIZEN", "PREMIUM", "VIP"};
+    private static final int TERM_BANDS = 20;
+    private static final int MONTHS_PER_TERM_BAND = 6;
+    private static final long AMOUNT_BAND = 100_000;
+    private static final int QUERIES = 1024;
+
+    @Param({"1000", "5000", "20000"})
+    private int slabs;
+
+    private InterestRateIndex index;
+    private BigDecimal[] amounts;
+    private int[] terms;
+    private String[] classifications;
+    private BigDecimal aboveEverySlab;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        int amountBands = Math.max(slabs / (TERM_BANDS * CLASSIFICATIONS.length), 1);
+        Random random = new Random(15);
+
+        List<InterestRateMatrix> rows = new ArrayList<>();
+        long id = 1;
+        for (String classification : CLASSIFICATIONS) {
+            for (int amountBand = 0; amountBand < amountBands; amountBand++) {
+                for (int termBand = 0; termBand < TERM_BANDS; termBand++) {
+                    rows.add(InterestRateMatrix.builder()
+                            .id(id++)
+                            .product(Product.builder().id(PRODUCT_ID).build())
+                            .customerClassification(classification)
+                            .interestRate(BigDecimal.valueOf(300 + random.nextInt(600), 2))
+                            .effectiveDate(TODAY.minusDays(random.nextInt(720)))
+                            .minAmount(BigDecimal.valueOf(amountBand * AMOUNT_BAND))
+                            .maxAmount(BigDecimal.valueOf((amountBand + 1) * AMOUNT_BAND - 1))
+                            .minTermMonths(termBand * MONTHS_PER_TERM_BAND + 1)
+                            .maxTermMonths((termBand + 1) * MONTHS_PER_TERM_BAND)
+                            .build());
+                }
+            }
+        }
+
+        InterestRateMatrixRepository matrixRepository = mock(InterestRateMatrixRepository.class);
+        ProductRepository productRepository = mock(ProductRepository.class);
+        when(matrixRepository.findByProductId(PRODUCT_ID)).thenReturn(rows);
+        when(productRepository.existsById(PRODUCT_ID)).thenReturn(true);
+        index = new InterestRateIndex(matrixRepository, productRepository);
+
+        amounts = new BigDecimal[QUERIES];
+        terms = new int[QUERIES];
+        classifications = new String[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            amounts[i] = BigDecimal.valueOf(random.nextLong(amountBands * AMOUNT_BAND));
+            terms[i] = random.nextInt(TERM_BANDS * MONTHS_PER_TERM_BAND) + 1;
+            classifications[i] = CLASSIFICATIONS[random.nextInt(CLASSIFICATIONS.length)];
+        }
+        aboveEverySlab = BigDecimal.valueOf(amountBands * AMOUNT_BAND);
+
+        // Build the snapshot outside the measurement
+        index.findBestRate(PRODUCT_ID, null, null, null, TODAY);
+    }
+
+    @Benchmark
+    public InterestRateIndex.RateSlab generic() {
+        int i = nextQuery();
+        return index.findBestRate(PRODUCT_ID, amounts[i], terms[i], null, TODAY);
+    }
+
+    @Benchmark
+    public InterestRateIndex.RateSlab withClassification() {
+        int i = nextQuery();
+        return index.findBestRate(PRODUCT_ID, amounts[i], terms[i], classifications[i], TODAY);
+    }
+
+    @Benchmark
+    public InterestRateIndex.RateSlab noMatch() {
+        int i = nextQuery();
+        return index.findBestRate(PRODUCT_ID, aboveEverySlab, terms[i], "PREMIUM", TODAY);
+    }
+
+    private int nextQuery() {
+        next = (next + 1) & (QUERIES - 1);
+        return next;
+    }
+}
@@ -0,0 +1,168 @@
+package com.app.product.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.app.product.entity.InterestRateMatrix;
+import com.app.product.entity.Product;
+import com.app.product.repository.InterestRateMatrixRepository;
+import com.app.product.repository.ProductRepository;
+
+class InterestRateIndexTest {
+
+    private static final Long PRODUCT_ID = 1L;
+    private static final LocalDate TODAY = LocalDate.of(2025, 11, 8);
+
+    private InterestRateMatrixRepository matrixRepository;
+    private ProductRepository productRepository;
+    private InterestRateIndex index;
+
+    @BeforeEach
+    void setUp() {
+        matrixRepository = mock(InterestRateMatrixRepository.class);
+        productRepository = mock(ProductRepository.class);
+        index = new InterestRateIndex(matrixRepository, productRepository);
+    }
+
+    @Test
+    void highestRateWithinAmountAndTermSlabWins() {
+        givenSlabs(
+                slab(1L, null, "6.50", TODAY.minusYears(1)).minAmount(amount("0")).maxAmount(amount("99999.99")).build(),
+                slab(2L, null, "7.00", TODAY.minusYears(1)).minAmount(amount("100000")).build(),
+                slab(3L, null, "7.50", TODAY.minusYears(1)).minAmount(amount("100000")).minTermMonths(24).build());
+
+        assertThat(index.findBestRate(PRODUCT_ID, amount("50000"), 12, null, TODAY).id()).isEqualTo(1L);
+        assertThat(index.findBestRate(PRODUCT_ID, amount("100000"), 12, null, TODAY).id()).isEqualTo(2L);
+        assertThat(index.findBestRate(PRODUCT_ID, amount("100000"), 24, null, TODAY).id()).isEqualTo(3L);
+        // Null amount / term skip that dimension
+        assertThat(index.findBestRate(PRODUCT_ID, null, null, null, TODAY).id()).isEqualTo(3L);
+    }
+
+    @Test
+    void slabBoundsAreInclusive() {
+        givenSlabs(slab(1L, null, "7.00", TODAY).minAmount(amount("10000")).maxAmount(amount("20000"))
+                .minTermMonths(12).maxTermMonths(36).build());
+
+        assertThat(index.findBestRate(PRODUCT_ID, amount("10000"), 12, null, TODAY)).isNotNull();
+        assertThat(index.findBestRate(PRODUCT_ID, amount("20000"), 36, null, TODAY)).isNotNull();
+        assertThat(index.findBestRate(PRODUCT_ID, amount("20000.01"), 36, null, TODAY)).isNull();
+        assertThat(index.findBestRate(PRODUCT_ID, amount("20000"), 37, null, TODAY)).isNull();
+        assertThat(index.findBestRate(PRODUCT_ID, amount("9999.99"), 12, null, TODAY)).isNull();
+        assertThat(index.findBestRate(PRODUCT_ID, amount("10000"), 11, null, TODAY)).isNull();
+    }
+
+    @Test
+    void futureAndInactiveSlabsAreSkipped() {
+        givenSlabs(
+                slab(1L, null, "6.00", TODAY.minusDays(1)).build(),
+                slab(2L, null, "8.00", TODAY.plusDays(1)).build(),
+                slab(3L, null, "9.00", TODAY.minusDays(1)).active(false).build());
+
+        assertThat(index.findBestRate(PRODUCT_ID, null, null, null, TODAY).id()).isEqualTo(1L);
+        assertThat(index.findBestRate(PRODUCT_ID, null, null, null, TODAY.plusDays(1)).id()).isEqualTo(2L);
+    }
+
+    @Test
+    void equalRatesPreferTheNewerSlab() {
+        givenSlabs(
+                slab(1L, null, "7.00", TODAY.minusYears(1)).build(),
+                slab(2L, null, "7.00", TODAY.minusMonths(1)).build());
+
+        assertThat(index.findBestRate(PRODUCT_ID, null, null, null, TODAY).id()).isEqualTo(2L);
+    }
+
+    @Test
+    void classificationSlabOnlyAppliesToThatClassification() {
+        givenSlabs(
+                slab(1L, null, "7.00", TODAY).build(),
+                slab(2L, "SENIOR_CITIZEN", "7.50", TODAY).build());
+
+        assertThat(index.findBestRate(PRODUCT_ID, null, null, null, TODAY).id()).isEqualTo(1L);
+        assertThat(index.findBestRate(PRODUCT_ID, null, null, "REGULAR", TODAY).id()).isEqualTo(1L);
+        assertThat(index.findBestRate(PRODUCT_ID, null, null, " senior_citizen ", TODAY).id()).isEqualTo(2L);
+    }
+
+    @Test
+    void genericSlabWinsWhenItPaysMore() {
+        givenSlabs(
+                slab(1L, null, "8.00", TODAY).build(),
+                slab(2L, "PREMIUM", "7.50", TODAY).build());
+
+        assertThat(index.findBestRate(PRODUCT_ID, null, null, "PREMIUM", TODAY).id()).isEqualTo(1L);
+    }
+
+    @Test
+    void classificationSlabWinsAnExactTie() {
+        givenSlabs(
+                slab(1L, null, "7.50", TODAY).build(),
+                slab(2L, "PREMIUM", "7.50", TODAY).build());
+
+        assertThat(index.findBestRate(PRODUCT_ID, null, null, "PREMIUM", TODAY).id()).isEqualTo(2L);
+        assertThat(index.exportRateCard(PRODUCT_ID).getSlabs())
+                .extracting("id")
+                .containsExactly(2L, 1L);
+    }
+
+    @Test
+    void existingProductIsLoadedOnce() {
+        givenSlabs(slab(1L, null, "7.00", TODAY).build());
+
+        index.findBestRate(PRODUCT_ID, null, null, null, TODAY);
+        index.findBestRate(PRODUCT_ID, null, null, null, TODAY);
+
+        verify(matrixRepository, times(1)).findByProductId(PRODUCT_ID);
+    }
+
+    @Test
+    void unknownProductIsNotIndexed() {
+        Long unknown = 404L;
+        when(matrixRepository.findByProductId(unknown)).thenReturn(List.of());
+        when(productRepository.existsById(unknown)).thenReturn(false);
+
+        assertThat(index.findBestRate(unknown, null, null, null, TODAY)).isNull();
+        assertThat(index.getVersion(unknown)).isZero();
+
+        verify(matrixRepository, times(2)).findByProductId(unknown);
+        assertThat(index.exportRateCard().getProducts()).isEmpty();
+    }
+
+    @Test
+    void existingProductWithoutSlabsKeepsAStableVersion() {
+        when(matrixRepository.findByProductId(PRODUCT_ID)).thenReturn(List.of());
+        when(productRepository.existsById(PRODUCT_ID)).thenReturn(true);
+
+        long version = index.getVersion(PRODUCT_ID);
+
+        assertThat(index.getVersion(PRODUCT_ID)).isEqualTo(version).isPositive();
+        verify(matrixRepository, times(1)).findByProductId(PRODUCT_ID);
+    }
+
+    private void givenSlabs(InterestRateMatrix... slabs) {
+        when(matrixRepository.findByProductId(PRODUCT_ID)).thenReturn(List.of(slabs));
+        when(productRepository.existsById(PRODUCT_ID)).thenReturn(true);
+    }
+
+    private static InterestRateMatrix.InterestRateMatrixBuilder slab(Long id, String classification,
+                                                                     String rate, LocalDate effectiveDate) {
+        return InterestRateMatrix.builder()
+                .id(id)
+                .product(Product.builder().id(PRODUCT_ID).build())
+                .customerClassification(classification)
+                .interestRate(new BigDecimal(rate))
+                .effectiveDate(effectiveDate);
+    }
+
+    private static BigDecimal amount(String value) {
+        return new BigDecimal(value);
+    }
+}
@@ -0,0 +1,88 @@
+package com.app.product.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.app.product.dto.ProductResponse;
+import com.app.product.event.ProductChangedEvent;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class ProductCacheTest {
+
+    private static final Long PRODUCT_ID = 1L;
+    private static final String PRODUCT_CODE = "FD-STD";
+
+    private ProductCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new ProductCache(100, Duration.ofHours(1), new SimpleMeterRegistry());
+    }
+
+    @Test
+    void evictionRacingALoadByCodeDoesNotLeaveTheOldProductCachedById() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        // A by-code load that read the row before the update committed
+        Thread reader = new Thread(() -> cache.getByCode(PRODUCT_CODE, code -> {
+            loading.countDown();
+            await(release);
+            return product("Old name");
+        }));
+        reader.start();
+        assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // The update commits and its eviction arrives while that load is still running
+        Thread evictor = new Thread(() -> cache.onProductChanged(ProductChangedEvent.builder()
+                .productId(PRODUCT_ID)
+                .productCode(PRODUCT_CODE)
+                .changeType(ProductChangedEvent.ChangeType.UPDATED)
+                .build()));
+        evictor.start();
+        waitUntilBlocked(evictor);
+
+        release.countDown();
+        reader.join(5000);
+        evictor.join(5000);
+        assertThat(reader.isAlive()).isFalse();
+        assertThat(evictor.isAlive()).isFalse();
+
+        assertThat(cache.getById(PRODUCT_ID, id -> product("New name")).getProductName()).isEqualTo("New name");
+        assertThat(cache.getByCode(PRODUCT_CODE, code -> product("New name")).getProductName()).isEqualTo("New name");
+    }
+
+    private static ProductResponse product(String name) {
+        return ProductResponse.builder()
+                .productId(PRODUCT_ID)
+                .productCode(PRODUCT_CODE)
+                .productName(name)
+                .build();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void waitUntilBlocked(Thread thread) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (System.nanoTime() < deadline) {
+            Thread.State state = thread.getState();
+            if (state == Thread.State.BLOCKED || state == Thread.State.WAITING || state == Thread.State.TERMINATED) {
+                return;
+            }
+            Thread.sleep(1);
+        }
+    }
+}